@@ -19,12 +19,14 @@ package com.ygmodesto.modernfit.volley;
 
 import androidx.annotation.Nullable;
 
+import com.android.volley.Request;
 import com.android.volley.RequestQueue;
 import com.android.volley.Response;
 import com.android.volley.VolleyError;
 import com.android.volley.toolbox.RequestFuture;
 import com.android.volley.toolbox.Volley;
 import com.ygmodesto.modernfit.services.ResponseCallback;
+import com.ygmodesto.modernfit.services.Cancellable;
 import com.ygmodesto.modernfit.services.DiscreteBody;
 import com.ygmodesto.modernfit.services.HttpClient;
 import com.ygmodesto.modernfit.services.HttpMethod;
@@ -33,11 +35,18 @@ import com.ygmodesto.modernfit.services.MultipartBody;
 import com.ygmodesto.modernfit.services.RequestInfo;
 import com.ygmodesto.modernfit.services.ResponseContent;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
 
 /** Class that implements the {@link HttpClient} interface using
  * from the Volley library through the {@link RequestQueue} object.
+ *
+ * <p>Every asynchronous request is tagged with its {@link RequestInfo} and its listener, and
+ * cancelling it cancels it with {@link RequestQueue#cancelAll(Object)}. The requests can also be
+ * cancelled by the tags of their {@link RequestInfo} with {@link #cancelAll(Object)}. Since Volley
+ * delivers nothing for a cancelled request, the callbacks are notified of the cancellation here.
  */
 public class ClientVolley implements HttpClient {
 
@@ -108,7 +117,7 @@ public class ClientVolley implements HttpClient {
         //Request.Method and HttpMethod coincide in the ordinal
         DiscreteRequest discreteRequest = createRequest(requestInfo.getHttpMethod(), requestInfo.getUrl(), requestInfo.getHeaders(), body, volleyListener, volleyListener);
 
-        mRequestQueue.add(discreteRequest);
+        enqueue(requestInfo, discreteRequest, volleyListener);
 
     }
 
@@ -147,10 +156,49 @@ public class ClientVolley implements HttpClient {
 
         MultipartRequest multipartRequest = createVolleyMultipartRequest(requestInfo.getHttpMethod(), requestInfo.getUrl(), requestInfo.getHeaders(),  body, volleyListener, volleyListener);
 
-        mRequestQueue.add(multipartRequest);
+        enqueue(requestInfo, multipartRequest, volleyListener);
     }
 
 
+    /**
+     * Cancels the asynchronous requests whose {@link RequestInfo} is tagged with {@code tag}, see
+     * {@link RequestInfo#hasTag(Object)}.
+     */
+    public void cancelAll(final Object tag) {
+        final List<VolleyListener<?>> cancelled = new ArrayList<>();
+        mRequestQueue.cancelAll(new RequestQueue.RequestFilter() {
+            @Override
+            public boolean apply(Request<?> request) {
+                if ((request.getTag() instanceof RequestTag)
+                        && ((RequestTag) request.getTag()).requestInfo.hasTag(tag)) {
+                    cancelled.add(((RequestTag) request.getTag()).volleyListener);
+                    return true;
+                }
+                return false;
+            }
+        });
+        // Volley does not deliver anything for a cancelled request.
+        for (VolleyListener<?> volleyListener : cancelled) {
+            volleyListener.getCallback().cancel();
+        }
+    }
+
+    private <T> void enqueue(final RequestInfo requestInfo, Request<?> request,
+                             final VolleyListener<T> volleyListener) {
+
+        final RequestTag requestTag = new RequestTag(requestInfo, volleyListener);
+        request.setTag(requestTag);
+        volleyListener.getCallback().setCancellable(new Cancellable() {
+            @Override
+            public void cancel() {
+                mRequestQueue.cancelAll(requestTag);
+                // Volley does not deliver anything for a cancelled request.
+                volleyListener.notifyCancelled();
+            }
+        });
+        mRequestQueue.add(request);
+    }
+
     private DiscreteRequest createRequest(HttpMethod method, String url,
                                           final Map<String, String> headers,
                                           final DiscreteBody body,
@@ -170,4 +218,16 @@ public class ClientVolley implements HttpClient {
         return new MultipartRequest(method.ordinal(), url, headers, body, listener, errorListener);
     }
 
+    /** Tag of an asynchronous request, which is cancelled through its listener. */
+    private static final class RequestTag {
+
+        private final RequestInfo requestInfo;
+        private final VolleyListener<?> volleyListener;
+
+        RequestTag(RequestInfo requestInfo, VolleyListener<?> volleyListener) {
+            this.requestInfo = requestInfo;
+            this.volleyListener = volleyListener;
+        }
+    }
+
 }
@@ -29,7 +29,12 @@ import com.ygmodesto.modernfit.services.ResponseContent;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -126,7 +131,9 @@ public class MultipartRequest extends ResponseContentRequest {
         List<Part> volleyParts = new ArrayList<>();
 
         for(com.ygmodesto.modernfit.services.Part part : mMultipartBody.getParts()) {
-            volleyParts.add(Part.create(part.getName(), part.getFileName(), part.getContent(), part.getContentType()));
+            volleyParts.add(part.isStreaming()
+                    ? Part.create(part.getName(), part.getFileName(), part.getFile(), part.getContentType())
+                    : Part.create(part.getName(), part.getFileName(), part.getContent(), part.getContentType()));
         }
         return volleyParts;
     }
@@ -144,17 +151,42 @@ public class MultipartRequest extends ResponseContentRequest {
         }
         dataOutputStream.writeBytes(lineEnd);
 
-        dataOutputStream.write(part.getContent());
+        if (part.getFile() != null) {
+            transferFile(part.getFile(), dataOutputStream);
+        } else {
+            dataOutputStream.write(part.getContent());
+        }
 
         dataOutputStream.writeBytes(lineEnd);
     }
 
+    /**
+     * Volley only accepts the body as a byte array, so the file is transferred straight into the
+     * body instead of being read into an intermediate array first.
+     */
+    private void transferFile(File file, DataOutputStream dataOutputStream) throws IOException {
+        WritableByteChannel target = Channels.newChannel(dataOutputStream);
+        try (FileInputStream inputStream = new FileInputStream(file);
+             FileChannel channel = inputStream.getChannel()) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long transferred = channel.transferTo(position, size - position, target);
+                if (transferred == 0) {
+                    break;
+                }
+                position += transferred;
+            }
+        }
+    }
+
 
 
     public static final class Part {
         private String name;
         private String fileName;
         private byte[] content;
+        private File file;
         private String contentType;
 
 
@@ -162,6 +194,12 @@ public class MultipartRequest extends ResponseContentRequest {
             return new Part(name, fileName, data, contentType);
         }
 
+        public static Part create(String name, String fileName, File file, String contentType){
+            Part part = new Part(name, fileName, null, contentType);
+            part.file = file;
+            return part;
+        }
+
         /**
          * Constructor with mime data type.
          *
@@ -200,6 +238,15 @@ public class MultipartRequest extends ResponseContentRequest {
             return content;
         }
 
+        /**
+         * Getter file, null when the content is held in memory.
+         *
+         * @return file with the data
+         */
+        public File getFile() {
+            return file;
+        }
+
         /**
          * Getter content type.
          *
@@ -22,6 +22,9 @@ import com.ygmodesto.modernfit.services.ResponseCallback;
 import com.ygmodesto.modernfit.services.ModernfitException;
 import com.ygmodesto.modernfit.services.ResponseContent;
 
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * Encapsulates a parsed response for delivery through a ResponseCallback.
  *
@@ -30,18 +33,34 @@ import com.ygmodesto.modernfit.services.ResponseContent;
 public class VolleyListener<T> implements Response.Listener<ResponseContent>, Response.ErrorListener {
 
     private ResponseCallback<T> callback;
+    private final AtomicBoolean notified = new AtomicBoolean();
 
     public VolleyListener(ResponseCallback<T> callback){
         this.callback = callback;
     }
 
+    public ResponseCallback<T> getCallback() {
+        return callback;
+    }
+
     @Override
     public void onResponse(ResponseContent response) {
-        callback.notifySuccess(response);
+        if (notified.compareAndSet(false, true)) {
+            callback.notifySuccess(response);
+        }
     }
 
     @Override
     public void onErrorResponse(VolleyError error) {
-        callback.notifyFailure(new ModernfitException(error));
+        if (notified.compareAndSet(false, true)) {
+            callback.notifyFailure(new ModernfitException(error));
+        }
+    }
+
+    /** Notifies the cancellation of a request that has not been delivered yet. */
+    public void notifyCancelled() {
+        if (notified.compareAndSet(false, true)) {
+            callback.notifyFailure(new ModernfitException(new IOException("Canceled")));
+        }
     }
 }
@@ -0,0 +1,333 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.javahttp;
+
+import com.ygmodesto.modernfit.services.Deadline;
+import com.ygmodesto.modernfit.services.DeadlineExceededException;
+import com.ygmodesto.modernfit.services.DiscreteBody;
+import com.ygmodesto.modernfit.services.HttpClient;
+import com.ygmodesto.modernfit.services.ModernfitException;
+import com.ygmodesto.modernfit.services.MultipartBody;
+import com.ygmodesto.modernfit.services.RequestInfo;
+import com.ygmodesto.modernfit.services.ResponseCallback;
+import com.ygmodesto.modernfit.services.ResponseContent;
+import com.ygmodesto.modernfit.services.TimeoutPolicy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Class that implements the {@link HttpClient HttpClient} interface using the
+ * {@link java.net.http.HttpClient java.net.http.HttpClient} of the JDK 11+.
+ *
+ * <p>The default client negotiates HTTP/2, so the requests to the same host are multiplexed over a
+ * single connection. Asynchronous methods use {@code sendAsync} and do not block any thread while
+ * the request is in flight.
+ *
+ * <p>The read timeout of the {@link TimeoutPolicy TimeoutPolicy} of a request, bounded by its
+ * {@link Deadline Deadline}, is applied as the timeout of the {@link HttpRequest HttpRequest}. The
+ * connect timeout can only be configured in the {@link java.net.http.HttpClient
+ * java.net.http.HttpClient} itself.
+ */
+public class ClientJavaHttp implements HttpClient {
+
+  private static final String HEADER_CONTENT_TYPE = "Content-Type";
+  private static final String CHARSET_PARAMETER = "charset";
+
+  private java.net.http.HttpClient javaHttpClient;
+
+  /**
+   * Create an instance using a default {@link java.net.http.HttpClient java.net.http.HttpClient}
+   * instance that prefers HTTP/2.
+   */
+  public static ClientJavaHttp create() {
+    return new ClientJavaHttp(java.net.http.HttpClient.newBuilder()
+        .version(java.net.http.HttpClient.Version.HTTP_2)
+        .build());
+  }
+
+  /**
+   * Create an instance using a {@code javaHttpClient} instance for using as HTTP client.
+   *
+   * @param javaHttpClient a {@link java.net.http.HttpClient java.net.http.HttpClient} instance.
+   */
+  public static ClientJavaHttp create(java.net.http.HttpClient javaHttpClient) {
+    return new ClientJavaHttp(javaHttpClient);
+  }
+
+  private ClientJavaHttp(java.net.http.HttpClient javaHttpClient) {
+    this.javaHttpClient = javaHttpClient;
+  }
+
+  public void setJavaHttpClient(java.net.http.HttpClient javaHttpClient) {
+    this.javaHttpClient = javaHttpClient;
+  }
+
+  @Override
+  public ResponseContent callMethod(RequestInfo requestInfo, DiscreteBody body)
+      throws ModernfitException {
+
+    HttpRequest request =
+        prepareRequest(requestInfo, body.getContentType(), toBodyPublisher(body));
+
+    return send(request, requestInfo);
+  }
+
+  @Override
+  public <T> void callMethod(RequestInfo requestInfo, DiscreteBody body,
+      ResponseCallback<T> callback) throws ModernfitException {
+
+    sendAsync(() -> prepareRequest(requestInfo, body.getContentType(), toBodyPublisher(body)),
+        body.isDeferred(), requestInfo, callback);
+  }
+
+  @Override
+  public ResponseContent callMethod(RequestInfo requestInfo, MultipartBody body)
+      throws ModernfitException {
+
+    MultipartBodyPublisher multipart = new MultipartBodyPublisher(body);
+    HttpRequest request =
+        prepareRequest(requestInfo, multipart.getContentType(), multipart.toBodyPublisher());
+
+    return send(request, requestInfo);
+  }
+
+  @Override
+  public <T> void callMethod(RequestInfo requestInfo, MultipartBody body,
+      ResponseCallback<T> callback) throws ModernfitException {
+
+    sendAsync(() -> {
+      MultipartBodyPublisher multipart = new MultipartBodyPublisher(body);
+      return prepareRequest(requestInfo, multipart.getContentType(), multipart.toBodyPublisher());
+    }, body.isDeferred(), requestInfo, callback);
+  }
+
+  private ResponseContent send(HttpRequest request, RequestInfo requestInfo)
+      throws ModernfitException {
+
+    try {
+
+      return toResponseContent(
+          javaHttpClient.send(request, toBodyHandler(requestInfo.isStreaming())));
+
+    } catch (IOException e) {
+      throw toModernfitException(requestInfo, e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ModernfitException(e);
+    }
+  }
+
+  /**
+   * Sends the request built by {@code request}. If the body of the request has not been converted
+   * yet, the request is built in the executor of the client so the converters do not run in the
+   * calling thread, and their errors are notified to {@code callback}.
+   */
+  private <T> void sendAsync(Supplier<HttpRequest> request, boolean deferred,
+      RequestInfo requestInfo, ResponseCallback<T> callback) throws ModernfitException {
+
+    if (!deferred) {
+      sendAsync(request.get(), requestInfo, callback);
+      return;
+    }
+
+    Executor executor = javaHttpClient.executor().orElse(ForkJoinPool.commonPool());
+    try {
+      executor.execute(() -> {
+        if (callback.isCancelled()) {
+          callback.notifyFailure(new ModernfitException(new IOException("Canceled")));
+          return;
+        }
+        try {
+          sendAsync(request.get(), requestInfo, callback);
+        } catch (ModernfitException e) {
+          callback.notifyFailure(e);
+        } catch (RuntimeException e) {
+          callback.notifyFailure(new ModernfitException(e));
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      throw new ModernfitException(e);
+    }
+  }
+
+  private <T> void sendAsync(HttpRequest request, RequestInfo requestInfo,
+      ResponseCallback<T> callback) {
+
+    CompletableFuture<? extends HttpResponse<?>> future =
+        javaHttpClient.sendAsync(request, toBodyHandler(requestInfo.isStreaming()));
+    callback.setCancellable(() -> future.cancel(true));
+    future.whenComplete((response, throwable) -> {
+      // The calls made from the callback inherit the deadline of the request.
+      try (Deadline.Scope scope = Deadline.attach(requestInfo.getDeadline())) {
+        notify(callback, requestInfo, response, throwable);
+      }
+    });
+  }
+
+  private static <T> void notify(ResponseCallback<T> callback, RequestInfo requestInfo,
+      HttpResponse<?> response, Throwable throwable) {
+
+    if (throwable != null) {
+      callback.notifyFailure(toModernfitException(requestInfo, throwable));
+      return;
+    }
+    // A streaming body is only readable while the callback is running.
+    try (ResponseContent responseContent = toResponseContent(response)) {
+      callback.notifySuccess(responseContent);
+    } catch (ModernfitException e) {
+      callback.notifyFailure(e);
+    }
+  }
+
+  /**
+   * The body of the response is handed to the converters as it is received: the byte array
+   * collected by the client or, for {@code @Streaming} methods, the stream of the connection.
+   */
+  private static BodyHandler<?> toBodyHandler(boolean streaming) {
+    return streaming ? BodyHandlers.ofInputStream() : BodyHandlers.ofByteArray();
+  }
+
+  private static BodyPublisher toBodyPublisher(DiscreteBody body) {
+
+    if (body.isStreaming()) {
+      return BodyPublishers.ofInputStream(() -> PipedBodyInputStream.write(body::writeTo));
+    }
+    byte[] content = body.getContent();
+    return content == null ? null : BodyPublishers.ofByteArray(content);
+  }
+
+  private static HttpRequest prepareRequest(
+      RequestInfo requestInfo, String contentType, BodyPublisher bodyPublisher) {
+
+    if (requestInfo.isDeadlineExpired()) {
+      throw new DeadlineExceededException("Deadline exceeded before sending "
+          + requestInfo.getHttpMethod() + " " + requestInfo.getUrl());
+    }
+
+    try {
+
+      HttpRequest.Builder requestBuilder = HttpRequest.newBuilder(URI.create(requestInfo.getUrl()));
+      long timeoutNanos = timeoutNanos(requestInfo);
+      if (timeoutNanos > 0) {
+        requestBuilder.timeout(Duration.ofNanos(timeoutNanos));
+      }
+      Map<String, String> headers = requestInfo.getHeaders();
+      if (headers != null) {
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+          requestBuilder.header(header.getKey(), header.getValue());
+        }
+      }
+
+      if (bodyPublisher == null) {
+        bodyPublisher = BodyPublishers.noBody();
+      } else if (contentType != null) {
+        requestBuilder.setHeader(HEADER_CONTENT_TYPE, contentType);
+      }
+      return requestBuilder.method(requestInfo.getHttpMethod().name(), bodyPublisher).build();
+
+    } catch (IllegalArgumentException e) {
+      throw new ModernfitException(e);
+    }
+  }
+
+  /** Returns the read timeout bounded by the deadline of the request, or 0 if there is none. */
+  private static long timeoutNanos(RequestInfo requestInfo) {
+
+    TimeoutPolicy timeoutPolicy = requestInfo.getTimeoutPolicy();
+    long timeoutNanos = timeoutPolicy == null ? 0 : timeoutPolicy.getReadNanos();
+    Deadline deadline = requestInfo.getDeadline();
+    if (deadline != null) {
+      long remaining = Math.max(1, deadline.timeRemaining(TimeUnit.NANOSECONDS));
+      timeoutNanos = timeoutNanos > 0 ? Math.min(timeoutNanos, remaining) : remaining;
+    }
+    return timeoutNanos;
+  }
+
+  private static ResponseContent toResponseContent(HttpResponse<?> response) {
+
+    Map<String, String> headersMap = new TreeMap<String, String>(String.CASE_INSENSITIVE_ORDER);
+    for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+      if (!header.getValue().isEmpty()) {
+        headersMap.put(header.getKey(), header.getValue().get(0));
+      }
+    }
+
+    String contentType = null;
+    Charset charset = null;
+    String contentTypeHeader = headersMap.get(HEADER_CONTENT_TYPE);
+    if (contentTypeHeader != null) {
+      String[] params = contentTypeHeader.split(";");
+      contentType = contentTypeHeader.trim();
+      for (int i = 1; i < params.length; i++) {
+        String[] pair = params[i].trim().split("=", 2);
+        if ((pair.length == 2) && pair[0].trim().equalsIgnoreCase(CHARSET_PARAMETER)) {
+          charset = Charset.forName(pair[1].trim().replace("\"", ""));
+        }
+      }
+    }
+
+    Object body = response.body();
+    return body instanceof InputStream
+        ? new ResponseContent(
+            response.statusCode(), headersMap, contentType, charset, (InputStream) body)
+        : new ResponseContent(
+            response.statusCode(), headersMap, contentType, charset, (byte[]) body);
+  }
+
+  /**
+   * Returns the {@link ModernfitException ModernfitException} thrown while writing a streaming
+   * request body, or wraps {@code throwable} otherwise.
+   */
+  private static ModernfitException toModernfitException(
+      RequestInfo requestInfo, Throwable throwable) {
+
+    for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+      if (cause instanceof ModernfitException) {
+        return (ModernfitException) cause;
+      }
+      if (!(cause instanceof CompletionException) && !(cause instanceof IOException)) {
+        break;
+      }
+    }
+    if (requestInfo.isDeadlineExpired()) {
+      return new DeadlineExceededException("Deadline exceeded waiting for "
+          + requestInfo.getHttpMethod() + " " + requestInfo.getUrl(), throwable);
+    }
+    return (throwable instanceof CompletionException) && (throwable.getCause() != null)
+        ? new ModernfitException(throwable.getCause())
+        : new ModernfitException(throwable);
+  }
+}
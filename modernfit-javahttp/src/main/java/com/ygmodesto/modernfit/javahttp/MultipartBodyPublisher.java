@@ -0,0 +1,157 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.javahttp;
+
+import com.ygmodesto.modernfit.services.MediaType;
+import com.ygmodesto.modernfit.services.ModernfitException;
+import com.ygmodesto.modernfit.services.MultipartBody;
+import com.ygmodesto.modernfit.services.Part;
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/**
+ * Builds the multipart/form-data body of a {@link MultipartBody MultipartBody}, which is not
+ * supported by {@link java.net.http.HttpClient java.net.http.HttpClient}. File backed parts are
+ * read from disk while the body is sent, and the length of the body is computed without reading
+ * them.
+ */
+final class MultipartBodyPublisher {
+
+  private static final byte[] CRLF = "\r\n".getBytes(StandardCharsets.UTF_8);
+  private static final String TWO_HYPHENS = "--";
+
+  private final String boundary = UUID.randomUUID().toString();
+  private final List<Part> parts;
+  private final List<byte[]> partHeaders;
+  private final byte[] closeDelimiter;
+
+  MultipartBodyPublisher(MultipartBody multipartBody) {
+
+    this.parts = multipartBody.getParts();
+    this.partHeaders = new ArrayList<>(parts.size());
+    for (Part part : parts) {
+      partHeaders.add(toPartHeader(part));
+    }
+    this.closeDelimiter = ascii(TWO_HYPHENS + boundary + TWO_HYPHENS + "\r\n");
+  }
+
+  String getContentType() {
+    return MediaType.MULTIPART + ";boundary=" + boundary;
+  }
+
+  /** Returns the publisher of the body, or null if there are no parts. */
+  BodyPublisher toBodyPublisher() {
+
+    if (parts.isEmpty()) {
+      return null;
+    }
+
+    long contentLength = closeDelimiter.length;
+    for (int i = 0; i < parts.size(); i++) {
+      contentLength += partHeaders.get(i).length + parts.get(i).getContentLength() + CRLF.length;
+    }
+    return BodyPublishers.fromPublisher(
+        BodyPublishers.ofInputStream(() -> new SequenceInputStream(new PartsEnumeration())),
+        contentLength);
+  }
+
+  private byte[] toPartHeader(Part part) {
+
+    StringBuilder header = new StringBuilder()
+        .append(TWO_HYPHENS).append(boundary).append("\r\n")
+        .append("Content-Disposition: form-data; name=\"").append(escape(part.getName()))
+        .append('"');
+    if (part.getFileName() != null) {
+      header.append("; filename=\"").append(escape(part.getFileName())).append('"');
+    }
+    header.append("\r\n");
+    if ((part.getContentType() != null) && !part.getContentType().trim().isEmpty()) {
+      header.append("Content-Type: ").append(part.getContentType()).append("\r\n");
+    }
+    header.append("\r\n");
+    return header.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static String escape(String value) {
+    return value.replace("\r", "%0D").replace("\n", "%0A").replace("\"", "%22");
+  }
+
+  private static byte[] ascii(String value) {
+    return value.getBytes(StandardCharsets.US_ASCII);
+  }
+
+  private static InputStream toInputStream(Part part) {
+
+    if (!part.isStreaming()) {
+      byte[] content = part.getContent();
+      return new ByteArrayInputStream(content == null ? new byte[0] : content);
+    }
+    try {
+      return new FileInputStream(part.getFile());
+    } catch (FileNotFoundException e) {
+      throw new ModernfitException(e);
+    }
+  }
+
+  /**
+   * Enumerates the header, content and trailing CRLF of each part followed by the close delimiter.
+   * The content of a part is opened only when the previous streams have been read.
+   */
+  private final class PartsEnumeration implements Enumeration<InputStream> {
+
+    private static final int STREAMS_PER_PART = 3;
+
+    private int index = 0;
+
+    @Override
+    public boolean hasMoreElements() {
+      return index <= parts.size() * STREAMS_PER_PART;
+    }
+
+    @Override
+    public InputStream nextElement() {
+
+      if (!hasMoreElements()) {
+        throw new NoSuchElementException();
+      }
+      int current = index++;
+      if (current == parts.size() * STREAMS_PER_PART) {
+        return new ByteArrayInputStream(closeDelimiter);
+      }
+      int partIndex = current / STREAMS_PER_PART;
+      switch (current % STREAMS_PER_PART) {
+        case 0:
+          return new ByteArrayInputStream(partHeaders.get(partIndex));
+        case 1:
+          return toInputStream(parts.get(partIndex));
+        default:
+          return new ByteArrayInputStream(CRLF);
+      }
+    }
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.javahttp;
+
+import com.ygmodesto.modernfit.services.BodyContent.ContentWriter;
+import com.ygmodesto.modernfit.services.ModernfitException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link PipedInputStream PipedInputStream} fed by a {@link ContentWriter ContentWriter} running
+ * in another thread. It lets a streaming request body be sent through
+ * {@link java.net.http.HttpRequest.BodyPublishers#ofInputStream BodyPublishers.ofInputStream}
+ * without holding the whole body in memory. If the writer fails, the failure is thrown when the
+ * end of the stream is reached, so a truncated body is never sent as complete.
+ */
+final class PipedBodyInputStream extends PipedInputStream {
+
+  private static final int PIPE_SIZE = 64 * 1024;
+
+  private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+  private static final Executor WRITER_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+    Thread thread = new Thread(runnable, "modernfit-body-writer-" + THREAD_COUNT.incrementAndGet());
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private volatile Exception failure;
+
+  private PipedBodyInputStream() {
+    super(PIPE_SIZE);
+  }
+
+  /**
+   * Starts writing the body with {@code contentWriter} and returns the stream to read it.
+   *
+   * @param contentWriter writes the request body.
+   * @return the stream with the request body.
+   * @throws ModernfitException if the pipe can not be created.
+   */
+  static InputStream write(ContentWriter contentWriter) {
+
+    PipedBodyInputStream inputStream = new PipedBodyInputStream();
+    PipedOutputStream outputStream;
+    try {
+      outputStream = new PipedOutputStream(inputStream);
+    } catch (IOException e) {
+      throw new ModernfitException(e);
+    }
+
+    WRITER_EXECUTOR.execute(() -> {
+      try {
+        contentWriter.writeTo(outputStream);
+      } catch (IOException | RuntimeException e) {
+        // Set before closing, the reader checks it when it receives the end of the stream.
+        inputStream.failure = e;
+      } finally {
+        try {
+          outputStream.close();
+        } catch (IOException e) {
+          // The reader has already closed the pipe.
+        }
+      }
+    });
+    return inputStream;
+  }
+
+  @Override
+  public int read() throws IOException {
+    int read = super.read();
+    if (read == -1) {
+      checkFailure();
+    }
+    return read;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    int read = super.read(b, off, len);
+    if (read == -1) {
+      checkFailure();
+    }
+    return read;
+  }
+
+  private void checkFailure() throws IOException {
+    if (failure != null) {
+      throw new IOException(failure);
+    }
+  }
+}
@@ -18,9 +18,15 @@ package com.ygmodesto.modernfit.processor;
 
 import com.google.auto.service.AutoService;
 import com.squareup.javapoet.JavaFile;
+import com.ygmodesto.modernfit.annotations.BatchedBy;
 import com.ygmodesto.modernfit.annotations.Body;
+import com.ygmodesto.modernfit.annotations.Bulk;
+import com.ygmodesto.modernfit.annotations.Bulkhead;
+import com.ygmodesto.modernfit.annotations.Cacheable;
+import com.ygmodesto.modernfit.annotations.CircuitBreaker;
 import com.ygmodesto.modernfit.annotations.ComponentModel;
 import com.ygmodesto.modernfit.annotations.DELETE;
+import com.ygmodesto.modernfit.annotations.EventStream;
 import com.ygmodesto.modernfit.annotations.Field;
 import com.ygmodesto.modernfit.annotations.FieldMap;
 import com.ygmodesto.modernfit.annotations.FormUrlEncoded;
@@ -29,6 +35,7 @@ import com.ygmodesto.modernfit.annotations.HEAD;
 import com.ygmodesto.modernfit.annotations.Header;
 import com.ygmodesto.modernfit.annotations.HeaderMap;
 import com.ygmodesto.modernfit.annotations.Headers;
+import com.ygmodesto.modernfit.annotations.Hedge;
 import com.ygmodesto.modernfit.annotations.Modernfit;
 import com.ygmodesto.modernfit.annotations.Multipart;
 import com.ygmodesto.modernfit.annotations.OPTIONS;
@@ -40,6 +47,12 @@ import com.ygmodesto.modernfit.annotations.PartMap;
 import com.ygmodesto.modernfit.annotations.Path;
 import com.ygmodesto.modernfit.annotations.Query;
 import com.ygmodesto.modernfit.annotations.QueryMap;
+import com.ygmodesto.modernfit.annotations.RateLimit;
+import com.ygmodesto.modernfit.annotations.Retry;
+import com.ygmodesto.modernfit.annotations.SingleFlight;
+import com.ygmodesto.modernfit.annotations.Streaming;
+import com.ygmodesto.modernfit.annotations.Tag;
+import com.ygmodesto.modernfit.annotations.Timeout;
 import com.ygmodesto.modernfit.annotations.Url;
 import com.ygmodesto.modernfit.processor.generator.CodeGenerator;
 import com.ygmodesto.modernfit.processor.generator.CodeGeneratorStandalone;
@@ -146,6 +159,7 @@ public class ModernfitProcessor extends AbstractProcessor {
     annotations.add(DELETE.class.getCanonicalName());
     annotations.add(Body.class.getCanonicalName());
     annotations.add(Url.class.getCanonicalName());
+    annotations.add(Tag.class.getCanonicalName());
     annotations.add(Header.class.getCanonicalName());
     annotations.add(Headers.class.getCanonicalName());
     annotations.add(HeaderMap.class.getCanonicalName());
@@ -158,6 +172,18 @@ public class ModernfitProcessor extends AbstractProcessor {
     annotations.add(Multipart.class.getCanonicalName());
     annotations.add(Part.class.getCanonicalName());
     annotations.add(PartMap.class.getCanonicalName());
+    annotations.add(Streaming.class.getCanonicalName());
+    annotations.add(EventStream.class.getCanonicalName());
+    annotations.add(SingleFlight.class.getCanonicalName());
+    annotations.add(Cacheable.class.getCanonicalName());
+    annotations.add(Retry.class.getCanonicalName());
+    annotations.add(Hedge.class.getCanonicalName());
+    annotations.add(CircuitBreaker.class.getCanonicalName());
+    annotations.add(Bulkhead.class.getCanonicalName());
+    annotations.add(RateLimit.class.getCanonicalName());
+    annotations.add(Timeout.class.getCanonicalName());
+    annotations.add(Bulk.class.getCanonicalName());
+    annotations.add(BatchedBy.class.getCanonicalName());
     return annotations;
   }
 
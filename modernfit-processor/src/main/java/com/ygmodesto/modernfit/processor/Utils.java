@@ -258,6 +258,19 @@ public class Utils {
     return isSameTypeByClassName(types.erasure(typeMirror), clazz);
   }
 
+  /**
+   * Determines if typeMirror is the generic type named canonicalName, for the types that can not
+   * be referenced as a Class by the processor.
+   */
+  public boolean isSameGenericTypeByClassName(TypeMirror typeMirror, String canonicalName) {
+
+    if (typeMirror == null) {
+      return false;
+    }
+
+    return types.erasure(typeMirror).toString().equals(canonicalName);
+  }
+
   /**
    * Determines if clazz is a subtype of typeMirror.
    * Any type is considered to be a subtype of itself.
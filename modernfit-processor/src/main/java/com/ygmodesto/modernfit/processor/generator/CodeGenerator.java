@@ -24,11 +24,20 @@ import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
+import com.ygmodesto.modernfit.annotations.Bulkhead;
+import com.ygmodesto.modernfit.annotations.Cacheable;
+import com.ygmodesto.modernfit.annotations.CircuitBreaker;
+import com.ygmodesto.modernfit.annotations.Hedge;
+import com.ygmodesto.modernfit.annotations.RateLimit;
+import com.ygmodesto.modernfit.annotations.Retry;
+import com.ygmodesto.modernfit.annotations.Timeout;
 import com.ygmodesto.modernfit.converters.Converter;
 import com.ygmodesto.modernfit.processor.ModernfitProcessorException;
 import com.ygmodesto.modernfit.processor.Utils;
 import com.ygmodesto.modernfit.processor.model.AbstractBodyInformation;
 import com.ygmodesto.modernfit.processor.model.AnnotationInformation;
+import com.ygmodesto.modernfit.processor.model.BatchedByInformation;
+import com.ygmodesto.modernfit.processor.model.BulkMethodInformation;
 import com.ygmodesto.modernfit.processor.model.DiscreteBodyInformation;
 import com.ygmodesto.modernfit.processor.model.FormUrlEncodedBodyInformation;
 import com.ygmodesto.modernfit.processor.model.HeadersInformation;
@@ -39,16 +48,30 @@ import com.ygmodesto.modernfit.processor.model.ReturnInformation;
 import com.ygmodesto.modernfit.processor.model.UrlInformation;
 import com.ygmodesto.modernfit.processor.model.UrlInformation.Segment;
 import com.ygmodesto.modernfit.services.AbstractInterfaceImpl;
+import com.ygmodesto.modernfit.services.BatchLoader;
 import com.ygmodesto.modernfit.services.BodyContent;
+import com.ygmodesto.modernfit.services.BulkCalls;
+import com.ygmodesto.modernfit.services.BulkResult;
+import com.ygmodesto.modernfit.services.BulkheadPolicy;
+import com.ygmodesto.modernfit.services.Cancellable;
+import com.ygmodesto.modernfit.services.CircuitBreakerPolicy;
 import com.ygmodesto.modernfit.services.CustomType;
+import com.ygmodesto.modernfit.services.ElementIterator;
+import com.ygmodesto.modernfit.services.EventCallback;
 import com.ygmodesto.modernfit.services.FormUrlEncodedBody;
+import com.ygmodesto.modernfit.services.HedgePolicy;
 import com.ygmodesto.modernfit.services.HttpMethod;
+import com.ygmodesto.modernfit.services.MethodCache;
 import com.ygmodesto.modernfit.services.ModernfitException;
 import com.ygmodesto.modernfit.services.MultipartBody;
 import com.ygmodesto.modernfit.services.OneObjectDiscreteBody;
+import com.ygmodesto.modernfit.services.RateLimitPolicy;
 import com.ygmodesto.modernfit.services.RequestInfo;
 import com.ygmodesto.modernfit.services.ResponseContent;
+import com.ygmodesto.modernfit.services.RetryPolicy;
+import com.ygmodesto.modernfit.services.TimeoutPolicy;
 import com.ygmodesto.modernfit.services.TypedContent;
+import io.reactivex.ObservableSource;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.functions.Supplier;
 import java.util.ArrayList;
@@ -56,10 +79,17 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.TypeMirror;
+import org.reactivestreams.Publisher;
+import reactor.adapter.JdkFlowAdapter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * Class that generates the code necessary to implement the interfaces annotated with 
@@ -73,6 +103,24 @@ public abstract class CodeGenerator {
   public static final String REQUESTCONVERTER_NAME_PREFIX = "requestConverter";
   public static final String RESPONSECONVERTER_NAME_PREFIX = "responseConverter";
   public static final String HTTPRESPONSECONVERTER_NAME_PREFIX = "httpResponseConverter";
+  public static final String ELEMENTCONVERTER_NAME_PREFIX = "elementConverter";
+  public static final String ITERATOR_NAME_PREFIX = "iterator";
+  public static final String EMITTER_NAME_PREFIX = "emitter";
+  public static final String SINK_NAME_PREFIX = "sink";
+  public static final String EVENTCALLBACK_NAME_PREFIX = "eventCallback";
+  public static final String CANCELLABLE_NAME_PREFIX = "cancellable";
+  public static final String METHODCACHE_NAME_PREFIX = "methodCache";
+  public static final String RETRYPOLICY_NAME_PREFIX = "retryPolicy";
+  public static final String HEDGEPOLICY_NAME_PREFIX = "hedgePolicy";
+  public static final String CIRCUITBREAKERPOLICY_NAME_PREFIX = "circuitBreakerPolicy";
+  public static final String BULKHEADPOLICY_NAME_PREFIX = "bulkheadPolicy";
+  public static final String INTERFACE_BULKHEADPOLICY_NAME = "interfaceBulkheadPolicy";
+  public static final String RATELIMITPOLICY_NAME_PREFIX = "rateLimitPolicy";
+  public static final String INTERFACE_RATELIMITPOLICY_NAME = "interfaceRateLimitPolicy";
+  public static final String TIMEOUTPOLICY_NAME_PREFIX = "timeoutPolicy";
+  public static final String BATCHLOADER_NAME_PREFIX = "batchLoader";
+  public static final String UNCACHED_METHOD_SUFFIX = "Uncached";
+  public static final String ASYNC_TARGET_METHOD_SUFFIX = "Future";
 
   public static final String CONVERTERFACTORY_NAME = "converterFactory";
   public static final String HTTPCLIENT_NAME = "httpClient";
@@ -89,6 +137,8 @@ public abstract class CodeGenerator {
   public static final ClassName supplierClassName = ClassName.get(Supplier.class);
   public static final TypeName bodyContentTypeName = TypeName.get(BodyContent.class);
   public static final TypeName responseContentTypeName = TypeName.get(ResponseContent.class);
+  public static final ClassName elementIteratorClassName = ClassName.get(ElementIterator.class);
+  public static final ClassName eventCallbackClassName = ClassName.get(EventCallback.class);
 
   protected ClassName customType = ClassName.get(CustomType.class);
   protected MetaSpec metaSpec;
@@ -97,6 +147,9 @@ public abstract class CodeGenerator {
 
   private Utils utils;
 
+  /** The names of the {@link BatchLoader BatchLoader} fields of the methods with @BatchedBy. */
+  private Map<MethodInformation, String> batchLoaderNames = new HashMap<>();
+
   public CodeGenerator(Utils utils) {
     this.utils = utils;
   }
@@ -147,6 +200,10 @@ public abstract class CodeGenerator {
     for (MethodInformation mi : interfaceImplementationInformation.getMethodsInformation()) {
       metaSpec.addInterfaceMethod(generateMethod(mi));
     }
+    for (BulkMethodInformation bmi :
+        interfaceImplementationInformation.getBulkMethodsInformation()) {
+      metaSpec.addInterfaceMethod(generateBulkMethod(bmi));
+    }
 
     return buildAll();
   }
@@ -164,20 +221,209 @@ public abstract class CodeGenerator {
     ExecutableElement executableElement = methodInformation.getExecutableElement();
     HeadersInformation headersInformation = methodInformation.getHeaderInformation();
     UrlInformation urlInformation = methodInformation.getUrlInformation();
-    AbstractBodyInformation bodyInformation = methodInformation.getBodyInformation();
 
     // Method signature
+    MethodSpec.Builder methodBuilder = methodInformation.getCacheable() == null
+        ? methodSkeleton(methodInformation, executableElement)
+        : uncachedMethodSkeleton(methodInformation, executableElement);
+
+    // The request is built in a block of its own, so the asynchronous method called by the
+    // @Bulk and @BatchedBy methods builds it with the same code and policies.
+    MethodSpec.Builder requestBuilder = MethodSpec.methodBuilder(methodInformation.getMethodName());
+    generateUrlBlock(requestBuilder, urlInformation);
+    generateHeadersBlock(requestBuilder, headersInformation);
+    generateTagBlock(requestBuilder, methodInformation);
+    generateStreamingBlock(requestBuilder, methodInformation);
+    generateSingleFlightBlock(requestBuilder, methodInformation);
+    generateRetryBlock(requestBuilder, methodInformation);
+    generateHedgeBlock(requestBuilder, methodInformation);
+    generateCircuitBreakerBlock(requestBuilder, methodInformation);
+    generateBulkheadBlock(requestBuilder, methodInformation);
+    generateRateLimitBlock(requestBuilder, methodInformation);
+    generateTimeoutBlock(requestBuilder, methodInformation);
+    generateBodyBlock(requestBuilder, methodInformation.getBodyInformation());
+    CodeBlock requestBlock = requestBuilder.build().code;
+
+    if (methodInformation.getBatchedByInformation() != null) {
+      generateBatchedBlock(methodBuilder, methodInformation.getBatchedByInformation());
+    } else {
+      methodBuilder.addCode(requestBlock);
+      generateReturnStatement(methodBuilder, methodInformation.getReturnInformation());
+    }
+
+    if (methodInformation.isAsyncTarget()
+        && (!methodInformation.getReturnInformation().isFuture()
+            || methodInformation.getBatchedByInformation() != null)) {
+      metaSpec.addInterfaceMethod(
+          generateAsyncTargetMethod(methodInformation, executableElement, requestBlock));
+    }
+
+    if (methodInformation.getCacheable() != null) {
+      metaSpec.addInterfaceMethod(methodBuilder);
+      return generateCacheableMethod(methodInformation, executableElement);
+    }
+
+    return methodBuilder;
+  }
+
+  /**
+   * Generates the method of the interface annotated with {@code @Cacheable}, which looks up the
+   * response in a {@link MethodCache MethodCache} field before calling the uncached method.
+   */
+  private MethodSpec.Builder generateCacheableMethod(
+      MethodInformation methodInformation, ExecutableElement executableElement) {
+
+    Cacheable cacheable = methodInformation.getCacheable();
+    TypeName returnTypeName =
+        TypeName.get(methodInformation.getReturnInformation().getReturnType());
+    returnTypeName = returnTypeName.isPrimitive() ? returnTypeName.box() : returnTypeName;
+
+    FieldSpec methodCacheField =
+        FieldSpec.builder(
+                ParameterizedTypeName.get(ClassName.get(MethodCache.class), returnTypeName),
+                metaSpec.generateFieldName(METHODCACHE_NAME_PREFIX))
+            .addModifiers(Modifier.PRIVATE, Modifier.FINAL)
+            .initializer("$T.create($LL, $LL, $T.$L, $L)", MethodCache.class, cacheable.ttl(),
+                cacheable.staleWhileRevalidate(), TimeUnit.class, cacheable.unit().name(),
+                cacheable.maxEntries())
+            .build();
+    metaSpec.addField(methodCacheField);
+
+    List<String> parameters = new ArrayList<>();
+    for (VariableElement va : executableElement.getParameters()) {
+      parameters.add(va.getSimpleName().toString());
+    }
+    String arguments = String.join(", ", parameters);
+
     MethodSpec.Builder methodBuilder = methodSkeleton(methodInformation, executableElement);
+    methodBuilder.addStatement("return this.$N.get($T.key(new Object[] {$L}), () -> this.$L($L))",
+        methodCacheField, MethodCache.class, arguments,
+        methodInformation.getMethodName() + UNCACHED_METHOD_SUFFIX, arguments);
 
-    generateUrlBlock(methodBuilder, urlInformation);
-    generateHeadersBlock(methodBuilder, headersInformation);
-    generateBodyBlock(methodBuilder, bodyInformation);
+    return methodBuilder;
+  }
 
-    generateReturnStatement(methodBuilder, methodInformation.getReturnInformation());
+
+  /**
+   * Generates the asynchronous version of a method called by a {@code @Bulk} or a
+   * {@code @BatchedBy} method, which builds the request with {@code requestBlock} and returns a
+   * {@link CompletableFuture CompletableFuture} of the converted response.
+   */
+  private MethodSpec.Builder generateAsyncTargetMethod(MethodInformation methodInformation,
+      ExecutableElement executableElement, CodeBlock requestBlock) {
+
+    ReturnInformation returnInformation = methodInformation.getReturnInformation();
+    TypeName returnTypeName = TypeName.get(returnInformation.getReturnType());
+    returnTypeName = returnTypeName.isPrimitive() ? returnTypeName.box() : returnTypeName;
+
+    MethodSpec.Builder methodBuilder =
+        MethodSpec.methodBuilder(methodInformation.getMethodName() + ASYNC_TARGET_METHOD_SUFFIX)
+        .addModifiers(Modifier.PRIVATE)
+        .returns(returnInformation.isFuture()
+            ? returnTypeName
+            : ParameterizedTypeName.get(ClassName.get(CompletableFuture.class), returnTypeName));
+
+    for (VariableElement va : executableElement.getParameters()) {
+      methodBuilder.addParameter(TypeName.get(va.asType()), va.getSimpleName().toString());
+    }
+
+    methodBuilder.addCode(requestBlock);
+    if (returnInformation.isFuture()) {
+      generateReturnStatement(methodBuilder, returnInformation);
+    } else {
+      futureHttpCallStatement(methodBuilder, returnInformation);
+    }
 
     return methodBuilder;
   }
 
+  /**
+   * Generates a {@link BatchLoader BatchLoader} field for a method annotated with
+   * {@code @BatchedBy}, which loads single keys with the asynchronous version of the method and
+   * batches with the asynchronous version of the batch method, and the statement returning the
+   * value of the key from it.
+   */
+  private void generateBatchedBlock(
+      MethodSpec.Builder methodBuilder, BatchedByInformation batchedByInformation) {
+
+    MethodInformation methodInformation = batchedByInformation.getMethodInformation();
+    MethodInformation batchMethod = batchedByInformation.getBatchMethod();
+    TypeName keyTypeName = TypeName.get(batchedByInformation.getKeyType());
+    TypeName valueTypeName = TypeName.get(batchedByInformation.getValueType());
+    String batchMethodName = batchMethod.getReturnInformation().isFuture()
+        ? batchMethod.getMethodName()
+        : batchMethod.getMethodName() + ASYNC_TARGET_METHOD_SUFFIX;
+
+    FieldSpec batchLoaderField =
+        FieldSpec.builder(
+                ParameterizedTypeName.get(
+                    ClassName.get(BatchLoader.class), keyTypeName, valueTypeName),
+                metaSpec.generateFieldName(BATCHLOADER_NAME_PREFIX))
+            .addModifiers(Modifier.PRIVATE, Modifier.FINAL)
+            .initializer("$T.<$T, $T>$L($L, $LL, $T.$L, this::$L, this::$L)", BatchLoader.class,
+                keyTypeName, valueTypeName, batchedByInformation.isMap() ? "ofMap" : "ofList",
+                batchedByInformation.getMaxBatch(), batchedByInformation.getWindow(),
+                TimeUnit.class, batchedByInformation.getUnit(),
+                methodInformation.getMethodName() + ASYNC_TARGET_METHOD_SUFFIX, batchMethodName)
+            .build();
+    metaSpec.addField(batchLoaderField);
+    batchLoaderNames.put(methodInformation, "this." + batchLoaderField.name);
+
+    String key =
+        methodInformation.getExecutableElement().getParameters().get(0).getSimpleName().toString();
+    methodBuilder.addStatement("return this.$N.$L($N)", batchLoaderField,
+        methodInformation.getReturnInformation().isFuture() ? "load" : "get", key);
+  }
+
+  /**
+   * Generates a method annotated with {@code @Bulk}, which calls the asynchronous version of its
+   * target for each key through {@link BulkCalls BulkCalls}.
+   */
+  private MethodSpec.Builder generateBulkMethod(BulkMethodInformation bulkMethodInformation) {
+
+    ExecutableElement executableElement = bulkMethodInformation.getExecutableElement();
+    MethodInformation target = bulkMethodInformation.getTarget();
+
+    MethodSpec.Builder methodBuilder =
+        MethodSpec.methodBuilder(bulkMethodInformation.getMethodName())
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .addException(ModernfitException.class)
+        .returns(TypeName.get(executableElement.getReturnType()));
+
+    for (VariableElement va : executableElement.getParameters()) {
+      methodBuilder.addParameter(TypeName.get(va.asType()), va.getSimpleName().toString());
+    }
+
+    String targetName = batchLoaderNames.containsKey(target)
+        ? batchLoaderNames.get(target) + "::load"
+        : target.getReturnInformation().isFuture()
+            ? "this::" + target.getMethodName()
+            : "this::" + target.getMethodName() + ASYNC_TARGET_METHOD_SUFFIX;
+    CodeBlock calls = CodeBlock.of("$T.<$T, $T>$L($N, $N, $L, $L)",
+        BulkCalls.class,
+        TypeName.get(bulkMethodInformation.getKeyType()),
+        TypeName.get(bulkMethodInformation.getValueType()),
+        bulkMethodInformation.isStream() ? "stream" : "call",
+        bulkMethodInformation.getKeysParameter().getSimpleName().toString(),
+        bulkMethodInformation.getParallelismParameter().getSimpleName().toString(),
+        bulkMethodInformation.isFailFast(),
+        targetName);
+
+    if (bulkMethodInformation.isStream()) {
+      methodBuilder.addStatement("return $L", calls);
+    } else if (bulkMethodInformation.isFuture() && bulkMethodInformation.isList()) {
+      methodBuilder.addStatement("return $L.thenApply($T::getValues)", calls, BulkResult.class);
+    } else if (bulkMethodInformation.isFuture()) {
+      methodBuilder.addStatement("return $L", calls);
+    } else if (bulkMethodInformation.isList()) {
+      methodBuilder.addStatement("return $T.await($L).getValues()", BulkCalls.class, calls);
+    } else {
+      methodBuilder.addStatement("return $T.await($L)", BulkCalls.class, calls);
+    }
+
+    return methodBuilder;
+  }
 
   private ConverterSpec registerUrlConvertersField(TypeName sourceTypeName) {
 
@@ -256,6 +502,29 @@ public abstract class CodeGenerator {
     }
   }
 
+  private ConverterSpec registerElementConvertersField(ReturnInformation returnInformation) {
+
+    TypeName elementTypeName = TypeName.get(returnInformation.getReturnBodyType());
+    ParameterizedTypeName elementConverterTypeName =
+        ParameterizedTypeName.get(converterClassName, responseContentTypeName,
+            ParameterizedTypeName.get(elementIteratorClassName, elementTypeName));
+
+    FieldSpec elementConverterField =
+        FieldSpec.builder(
+                elementConverterTypeName,
+                ELEMENTCONVERTER_NAME_PREFIX + metaSpec.getElementConverters().size())
+            .addModifiers(Modifier.PRIVATE)
+            .build();
+
+    ConverterSpec converterSpec =
+        new ConverterSpec(elementConverterField, responseContentTypeName, elementTypeName);
+    if (metaSpec.addElementConverter(converterSpec)) {
+      return converterSpec;
+    } else {
+      return metaSpec.getElementConverterByDestination(elementTypeName);
+    }
+  }
+
   /**
    * Generates the code part of the method that defines the body 
    * of the FormUrlEncodedBodyInformation request.
@@ -568,6 +837,265 @@ public abstract class CodeGenerator {
     }
   }
 
+  /** Tags the request with the parameters annotated with {@code @Tag}. */
+  public void generateTagBlock(
+      MethodSpec.Builder methodBuilder, MethodInformation methodInformation) {
+
+    for (VariableElement tag : methodInformation.getTags()) {
+      methodBuilder.addStatement(
+          "$N.addTag($N)", metaSpec.getRequestInfoBuilderName(), tag.getSimpleName().toString());
+    }
+  }
+
+  /**
+   * Generates the code part of the method that marks the response to be read as a stream, also
+   * for the methods whose elements are decoded one at a time.
+   *
+   * @param methodBuilder a {@code MethodSpec.Builder} in which to insert the code.
+   * @param methodInformation the information of the method.
+   */
+  public void generateStreamingBlock(
+      MethodSpec.Builder methodBuilder, MethodInformation methodInformation) {
+
+    if (methodInformation.isStreaming()
+        || methodInformation.getReturnInformation().isElementStreaming()) {
+      methodBuilder.addStatement(
+          "$N.setStreaming(true)", metaSpec.getRequestInfoBuilderName());
+    }
+  }
+
+  /**
+   * Generates the code part of the method that marks the request to be coalesced with identical
+   * requests in flight.
+   *
+   * @param methodBuilder a {@code MethodSpec.Builder} in which to insert the code.
+   * @param methodInformation the information of the method.
+   */
+  public void generateSingleFlightBlock(
+      MethodSpec.Builder methodBuilder, MethodInformation methodInformation) {
+
+    if (methodInformation.isSingleFlight()) {
+      methodBuilder.addStatement(
+          "$N.setSingleFlight(true)", metaSpec.getRequestInfoBuilderName());
+    }
+  }
+
+  /**
+   * Generates a {@link RetryPolicy RetryPolicy} field from the {@code @Retry} annotation of the
+   * method and sets it in the request.
+   */
+  public void generateRetryBlock(
+      MethodSpec.Builder methodBuilder, MethodInformation methodInformation) {
+
+    Retry retry = methodInformation.getRetry();
+    if (retry == null) {
+      return;
+    }
+
+    CodeBlock.Builder initializer = CodeBlock.builder()
+        .add("$T.builder()", RetryPolicy.class)
+        .add("\n.setMaxAttempts($L)", retry.maxAttempts())
+        .add("\n.setBackoff($LL, $LL, $T.$L)", retry.backoff(), retry.maxBackoff(),
+            TimeUnit.class, retry.unit().name());
+    for (TypeMirror retryOn : methodInformation.getRetryOn()) {
+      initializer.add("\n.addRetryOn($T.class)", TypeName.get(retryOn));
+    }
+    for (int code : retry.retryOnStatus()) {
+      initializer.add("\n.addRetryOnStatus($L)", code);
+    }
+    initializer
+        .add("\n.setIdempotentOnly($L)", retry.idempotentOnly())
+        .add("\n.build()");
+
+    FieldSpec retryPolicyField =
+        FieldSpec.builder(
+                RetryPolicy.class, metaSpec.generateFieldName(RETRYPOLICY_NAME_PREFIX))
+            .addModifiers(Modifier.PRIVATE, Modifier.FINAL)
+            .initializer(initializer.build())
+            .build();
+    metaSpec.addField(retryPolicyField);
+
+    methodBuilder.addStatement(
+        "$N.setRetryPolicy(this.$N)", metaSpec.getRequestInfoBuilderName(), retryPolicyField);
+  }
+
+  /**
+   * Generates a {@link HedgePolicy HedgePolicy} field from the {@code @Hedge} annotation of the
+   * method and sets it in the request.
+   */
+  public void generateHedgeBlock(
+      MethodSpec.Builder methodBuilder, MethodInformation methodInformation) {
+
+    Hedge hedge = methodInformation.getHedge();
+    if (hedge == null) {
+      return;
+    }
+
+    FieldSpec hedgePolicyField =
+        FieldSpec.builder(
+                HedgePolicy.class, metaSpec.generateFieldName(HEDGEPOLICY_NAME_PREFIX))
+            .addModifiers(Modifier.PRIVATE, Modifier.FINAL)
+            .initializer(
+                CodeBlock.builder()
+                    .add("$T.builder()", HedgePolicy.class)
+                    .add("\n.setDelay($LL, $T.$L)", hedge.delay(), TimeUnit.class,
+                        hedge.unit().name())
+                    .add("\n.setPercentile($L)", hedge.percentile())
+                    .add("\n.setMaxHedges($L)", hedge.maxHedges())
+                    .add("\n.build()")
+                    .build())
+            .build();
+    metaSpec.addField(hedgePolicyField);
+
+    methodBuilder.addStatement(
+        "$N.setHedgePolicy(this.$N)", metaSpec.getRequestInfoBuilderName(), hedgePolicyField);
+  }
+
+  /**
+   * Generates a {@link CircuitBreakerPolicy CircuitBreakerPolicy} field from the
+   * {@code @CircuitBreaker} annotation of the method or the interface and sets it in the request.
+   */
+  public void generateCircuitBreakerBlock(
+      MethodSpec.Builder methodBuilder, MethodInformation methodInformation) {
+
+    CircuitBreaker circuitBreaker = methodInformation.getCircuitBreaker();
+    if (circuitBreaker == null) {
+      return;
+    }
+
+    FieldSpec circuitBreakerPolicyField =
+        FieldSpec.builder(
+                CircuitBreakerPolicy.class,
+                metaSpec.generateFieldName(CIRCUITBREAKERPOLICY_NAME_PREFIX))
+            .addModifiers(Modifier.PRIVATE, Modifier.FINAL)
+            .initializer(
+                CodeBlock.builder()
+                    .add("$T.builder()", CircuitBreakerPolicy.class)
+                    .add("\n.setRateThresholds($Lf, $Lf)", circuitBreaker.failureRateThreshold(),
+                        circuitBreaker.slowCallRateThreshold())
+                    .add("\n.setWindow($L, $L)", circuitBreaker.windowSize(),
+                        circuitBreaker.minimumCalls())
+                    .add("\n.setDurations($LL, $LL, $T.$L)", circuitBreaker.slowCallDuration(),
+                        circuitBreaker.waitInOpen(), TimeUnit.class, circuitBreaker.unit().name())
+                    .add("\n.setHalfOpenCalls($L)", circuitBreaker.halfOpenCalls())
+                    .add("\n.setPerHost($L)", circuitBreaker.perHost())
+                    .add("\n.build()")
+                    .build())
+            .build();
+    metaSpec.addField(circuitBreakerPolicyField);
+
+    methodBuilder.addStatement("$N.setCircuitBreakerPolicy(this.$N)",
+        metaSpec.getRequestInfoBuilderName(), circuitBreakerPolicyField);
+  }
+
+  /**
+   * Generates a {@link BulkheadPolicy BulkheadPolicy} field from the {@code @Bulkhead} annotation
+   * of the method and sets it in the request. The methods without annotation use a single field
+   * generated from the annotation of the interface, so they share its lane.
+   */
+  public void generateBulkheadBlock(
+      MethodSpec.Builder methodBuilder, MethodInformation methodInformation) {
+
+    Bulkhead bulkhead = methodInformation.getBulkhead();
+    if (bulkhead == null) {
+      return;
+    }
+
+    String fieldName = methodInformation.isInterfaceBulkhead()
+        ? INTERFACE_BULKHEADPOLICY_NAME
+        : metaSpec.generateFieldName(BULKHEADPOLICY_NAME_PREFIX);
+    if (!isFieldGenerated(fieldName)) {
+      metaSpec.addField(
+          FieldSpec.builder(BulkheadPolicy.class, fieldName)
+              .addModifiers(Modifier.PRIVATE, Modifier.FINAL)
+              .initializer(
+                  CodeBlock.builder()
+                      .add("$T.builder()", BulkheadPolicy.class)
+                      .add("\n.setLimits($L, $L)", bulkhead.maxConcurrentCalls(),
+                          bulkhead.maxQueueDepth())
+                      .add("\n.setName($S)", bulkhead.name())
+                      .add("\n.build()")
+                      .build())
+              .build());
+    }
+
+    methodBuilder.addStatement(
+        "$N.setBulkheadPolicy(this.$N)", metaSpec.getRequestInfoBuilderName(), fieldName);
+  }
+
+  /**
+   * Generates a {@link RateLimitPolicy RateLimitPolicy} field from the {@code @RateLimit}
+   * annotation of the method and sets it in the request. The methods without annotation use a
+   * single field generated from the annotation of the interface, so they share its limit.
+   */
+  public void generateRateLimitBlock(
+      MethodSpec.Builder methodBuilder, MethodInformation methodInformation) {
+
+    RateLimit rateLimit = methodInformation.getRateLimit();
+    if (rateLimit == null) {
+      return;
+    }
+
+    String fieldName = methodInformation.isInterfaceRateLimit()
+        ? INTERFACE_RATELIMITPOLICY_NAME
+        : metaSpec.generateFieldName(RATELIMITPOLICY_NAME_PREFIX);
+    if (!isFieldGenerated(fieldName)) {
+      metaSpec.addField(
+          FieldSpec.builder(RateLimitPolicy.class, fieldName)
+              .addModifiers(Modifier.PRIVATE, Modifier.FINAL)
+              .initializer(
+                  CodeBlock.builder()
+                      .add("$T.builder()", RateLimitPolicy.class)
+                      .add("\n.setRate($L, $LL, $T.$L)", rateLimit.permits(), rateLimit.per(),
+                          TimeUnit.class, rateLimit.unit().name())
+                      .add("\n.setFailFast($L)", rateLimit.failFast())
+                      .add("\n.build()")
+                      .build())
+              .build());
+    }
+
+    methodBuilder.addStatement(
+        "$N.setRateLimitPolicy(this.$N)", metaSpec.getRequestInfoBuilderName(), fieldName);
+  }
+
+  /**
+   * Generates a {@link TimeoutPolicy TimeoutPolicy} field from the {@code @Timeout} annotation of
+   * the method, or of its interface, and sets it in the request.
+   */
+  public void generateTimeoutBlock(
+      MethodSpec.Builder methodBuilder, MethodInformation methodInformation) {
+
+    Timeout timeout = methodInformation.getTimeout();
+    if (timeout == null) {
+      return;
+    }
+
+    String fieldName = metaSpec.generateFieldName(TIMEOUTPOLICY_NAME_PREFIX);
+    metaSpec.addField(
+        FieldSpec.builder(TimeoutPolicy.class, fieldName)
+            .addModifiers(Modifier.PRIVATE, Modifier.FINAL)
+            .initializer(
+                CodeBlock.builder()
+                    .add("$T.builder()", TimeoutPolicy.class)
+                    .add("\n.setTimeouts($LL, $LL, $LL, $T.$L)", timeout.connect(),
+                        timeout.read(), timeout.call(), TimeUnit.class, timeout.unit().name())
+                    .add("\n.build()")
+                    .build())
+            .build());
+
+    methodBuilder.addStatement(
+        "$N.setTimeoutPolicy(this.$N)", metaSpec.getRequestInfoBuilderName(), fieldName);
+  }
+
+  private boolean isFieldGenerated(String fieldName) {
+    for (FieldSpec field : metaSpec.getFields()) {
+      if (field.name.equals(fieldName)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   private MethodSpec.Builder methodSkeleton(
       MethodInformation methodInformation, ExecutableElement executableElement) {
 
@@ -585,13 +1113,45 @@ public abstract class CodeGenerator {
     return methodBuilder;
   }
 
+  private MethodSpec.Builder uncachedMethodSkeleton(
+      MethodInformation methodInformation, ExecutableElement executableElement) {
+
+    MethodSpec.Builder methodBuilder =
+        MethodSpec.methodBuilder(methodInformation.getMethodName() + UNCACHED_METHOD_SUFFIX)
+        .addModifiers(Modifier.PRIVATE)
+        .addException(ModernfitException.class)
+        .returns(TypeName.get(methodInformation.getReturnInformation().getReturnType()));
+
+    for (VariableElement va : executableElement.getParameters()) {
+      methodBuilder.addParameter(TypeName.get(va.asType()), va.getSimpleName().toString());
+    }
+
+    return methodBuilder;
+  }
+
   private void generateReturnStatement(
       MethodSpec.Builder methodBuilder, ReturnInformation returnInformation) {
 
-    if (returnInformation.isRxJava2()) {
+    if (returnInformation.isRxJava2() && returnInformation.isEventStream()) {
+      rxJava2EventStreamHttpCallStatement(methodBuilder, returnInformation);
+    } else if (returnInformation.isRxJava3() && returnInformation.isEventStream()) {
+      rxJava3EventStreamHttpCallStatement(methodBuilder, returnInformation);
+    } else if (returnInformation.isEventStream()) {
+      eventStreamHttpCallStatement(methodBuilder, returnInformation);
+    } else if (returnInformation.isRxJava2() && returnInformation.isElementStreaming()) {
+      rxJava2ElementsHttpCallStatement(methodBuilder, returnInformation);
+    } else if (returnInformation.isRxJava2()) {
       rxJava2HttpCallStatement(methodBuilder, returnInformation);
+    } else if (returnInformation.isRxJava3() && returnInformation.isElementStreaming()) {
+      rxJava3ElementsHttpCallStatement(methodBuilder, returnInformation);
     } else if (returnInformation.isRxJava3()) {
       rxJava3HttpCallStatement(methodBuilder, returnInformation);
+    } else if (returnInformation.isReactor()) {
+      reactorHttpCallStatement(methodBuilder, returnInformation);
+    } else if (returnInformation.isIterator() || returnInformation.isStream()) {
+      elementsHttpCallStatement(methodBuilder, returnInformation);
+    } else if (returnInformation.isFuture()) {
+      futureHttpCallStatement(methodBuilder, returnInformation);
     } else if (returnInformation.isAsynchronos()) {
       asyncHttpCallStatement(methodBuilder, returnInformation);
     } else {
@@ -608,9 +1168,11 @@ public abstract class CodeGenerator {
           metaSpec.getRequestInfoBuilderName(),
           metaSpec.getBodyBuilderName());
     } else {
+      String convertMethodName = getConvertMethodName(returnInformation);
       String statement =
-          (returnInformation.isHttpInfo())
-          ? "return this.toHttpInfo(this.$N, this.httpClient.callMethod($N.build(), $L.build()))"
+          (convertMethodName != null)
+          ? "return this." + convertMethodName
+              + "(this.$N, this.httpClient.callMethod($N.build(), $L.build()))"
               : "return this.$N.convert(this.httpClient.callMethod($N.build(), $L.build()))";
 
       ConverterSpec converterSpec = registerResponseConvertersFields(returnInformation);
@@ -630,13 +1192,48 @@ public abstract class CodeGenerator {
 
     methodBuilder.addStatement("$L.setConverter(this.$N)", callbackName, converterSpec.getField());
     methodBuilder.addStatement(
-        "this.httpClient.callMethod($N.build(), $L.build(), $L)",
+        "this.enqueue($N.build(), $L.build(), $L)",
         metaSpec.getRequestInfoBuilderName(),
         metaSpec.getBodyBuilderName(),
         callbackName);
+    if (returnInformation.isCancellable()) {
+      methodBuilder.addStatement("return $L", callbackName);
+    }
   }
 
-  private void rxJava2HttpCallStatement(
+  private void futureHttpCallStatement(
+      MethodSpec.Builder methodBuilder, ReturnInformation returnInformation) {
+
+    String callMethodName =
+        returnInformation.isHttpInfo() ? "callMethodAsHttpInfoFuture" : "callMethodAsFuture";
+    ConverterSpec converterSpec = registerResponseConvertersFields(returnInformation);
+
+    methodBuilder.addStatement(
+        "return this." + callMethodName + "($N.build(), $L.build(), this.$N)",
+        metaSpec.getRequestInfoBuilderName(),
+        metaSpec.getBodyBuilderName(),
+        converterSpec.getField());
+  }
+
+  private void elementsHttpCallStatement(
+      MethodSpec.Builder methodBuilder, ReturnInformation returnInformation) {
+
+    String callMethodName =
+        returnInformation.isStream() ? "callMethodAsStream" : "callMethodAsIterator";
+    ConverterSpec converterSpec = registerElementConvertersField(returnInformation);
+
+    methodBuilder.addStatement(
+        "return this." + callMethodName + "($N.build(), $L.build(), this.$N)",
+        metaSpec.getRequestInfoBuilderName(),
+        metaSpec.getBodyBuilderName(),
+        converterSpec.getField());
+  }
+
+  /**
+   * Generates a {@code Flowable} or an {@code Observable} of RxJava2 that makes the request on each
+   * subscription and emits the elements of the response as they are decoded.
+   */
+  private void rxJava2ElementsHttpCallStatement(
       MethodSpec.Builder methodBuilder, ReturnInformation returnInformation) {
 
     String interfaceImplementationName =
@@ -645,70 +1242,202 @@ public abstract class CodeGenerator {
         .getInterfaceImplementationInformation()
         .getImplementationName();
 
-    TypeName returnTypeName = TypeName.get(returnInformation.getReturnType());
     TypeName rxJavaTypeName = TypeName.get(utils.getErasureType(returnInformation.getReturnType()));
-    ParameterizedTypeName callableTypeName =
-        ParameterizedTypeName.get(callableClassName, returnTypeName);
+    TypeName elementTypeName = TypeName.get(returnInformation.getReturnBodyType());
+    TypeName iteratorTypeName =
+        ParameterizedTypeName.get(elementIteratorClassName, elementTypeName);
+    TypeName sourceTypeName = ParameterizedTypeName.get(
+        utils.isSameType(utils.getErasureType(returnInformation.getReturnType()),
+            io.reactivex.Flowable.class)
+            ? ClassName.get(Publisher.class)
+            : ClassName.get(ObservableSource.class),
+        elementTypeName);
+    ConverterSpec converterSpec = registerElementConvertersField(returnInformation);
+
+    TypeSpec resourceSupplier =
+        TypeSpec.anonymousClassBuilder("")
+        .addSuperinterface(ParameterizedTypeName.get(callableClassName, iteratorTypeName))
+        .addMethod(
+            MethodSpec.methodBuilder("call")
+            .addModifiers(Modifier.PUBLIC)
+            .addStatement(
+                "return $L.this.callMethodAsIterator($N.build(), $L.build(), $L.this.$N)",
+                interfaceImplementationName,
+                metaSpec.getRequestInfoBuilderName(),
+                metaSpec.getBodyBuilderName(),
+                interfaceImplementationName,
+                converterSpec.getField())
+            .returns(iteratorTypeName)
+            .build())
+        .build();
 
-    if (utils.isSameType(returnInformation.getReturnType(), io.reactivex.Completable.class)) {
+    TypeSpec sourceSupplier =
+        TypeSpec.anonymousClassBuilder("")
+        .addSuperinterface(ParameterizedTypeName.get(
+            ClassName.get(io.reactivex.functions.Function.class), iteratorTypeName,
+            sourceTypeName))
+        .addMethod(
+            MethodSpec.methodBuilder("apply")
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(iteratorTypeName, ITERATOR_NAME_PREFIX)
+            .addStatement("return $T.fromIterable(iterable($L))", rxJavaTypeName,
+                ITERATOR_NAME_PREFIX)
+            .returns(sourceTypeName)
+            .build())
+        .build();
 
-      TypeSpec anonymousCallable =
+    TypeSpec resourceDisposer =
+        TypeSpec.anonymousClassBuilder("")
+        .addSuperinterface(ParameterizedTypeName.get(
+            ClassName.get(io.reactivex.functions.Consumer.class), iteratorTypeName))
+        .addMethod(
+            MethodSpec.methodBuilder("accept")
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(iteratorTypeName, ITERATOR_NAME_PREFIX)
+            .addStatement("$L.close()", ITERATOR_NAME_PREFIX)
+            .build())
+        .build();
+
+    methodBuilder.addStatement("return $T.using($L, $L, $L)", rxJavaTypeName, resourceSupplier,
+        sourceSupplier, resourceDisposer);
+  }
+
+  /**
+   * Generates a {@code Single}, a {@code Maybe} or a {@code Completable} of RxJava2 that enqueues
+   * the request on each subscription and cancels it when the subscription is disposed, so no
+   * thread waits while the request is in flight. A {@code Flowable} or an {@code Observable} whose
+   * only element is the whole response is built from a {@code Single}.
+   */
+  private void rxJava2HttpCallStatement(
+      MethodSpec.Builder methodBuilder, ReturnInformation returnInformation) {
+
+    String interfaceImplementationName =
+        returnInformation
+        .getMethodInformation()
+        .getInterfaceImplementationInformation()
+        .getImplementationName();
+
+    TypeMirror returnType = returnInformation.getReturnType();
+    TypeName emitterTypeName;
+    TypeName onSubscribeTypeName;
+    CodeBlock callMethod;
+
+    TypeSpec onFailure =
+        TypeSpec.anonymousClassBuilder("")
+        .addSuperinterface(ParameterizedTypeName.get(
+            ClassName.get(java.util.function.Consumer.class),
+            ClassName.get(ModernfitException.class)))
+        .addMethod(
+            MethodSpec.methodBuilder("accept")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(ModernfitException.class, "e")
+            .addStatement("$L.tryOnError(e)", EMITTER_NAME_PREFIX)
+            .build())
+        .build();
+
+    if (utils.isSameType(returnType, io.reactivex.Completable.class)) {
+
+      emitterTypeName = ClassName.get(io.reactivex.CompletableEmitter.class);
+      onSubscribeTypeName = ClassName.get(io.reactivex.CompletableOnSubscribe.class);
+
+      TypeSpec onComplete =
           TypeSpec.anonymousClassBuilder("")
-          .addSuperinterface(callableTypeName)
+          .addSuperinterface(Runnable.class)
           .addMethod(
-              MethodSpec.methodBuilder("call")
+              MethodSpec.methodBuilder("run")
+              .addAnnotation(Override.class)
               .addModifiers(Modifier.PUBLIC)
-              .beginControlFlow("try")
-              .addStatement(
-                  "$L.this.httpClient.callMethod($N.build(), $L.build())",
-                  interfaceImplementationName,
-                  metaSpec.getRequestInfoBuilderName(),
-                  metaSpec.getBodyBuilderName())
-              .addStatement("return $T.complete()", rxJavaTypeName)
-              .nextControlFlow("catch ($T e)", Exception.class)
-              .addStatement("return $T.error(e)", rxJavaTypeName)
-              .endControlFlow()
-              .returns(returnTypeName)
+              .addStatement("$L.onComplete()", EMITTER_NAME_PREFIX)
               .build())
           .build();
 
-      methodBuilder.addStatement("return $T.defer($L)", rxJavaTypeName, anonymousCallable);
+      callMethod = CodeBlock.of(
+          "$L.this.callMethodAsync($N.build(), $L.build(), $L, $L)",
+          interfaceImplementationName,
+          metaSpec.getRequestInfoBuilderName(),
+          metaSpec.getBodyBuilderName(),
+          onComplete,
+          onFailure);
     } else {
-      String statement =
-          (returnInformation.isHttpInfo())
-          ? String.format(
-              "return $T.just(%s.this.toHttpInfo("
-              + "$L.this.$N, $L.this.httpClient.callMethod($N.build(), $L.build())))",
-              interfaceImplementationName)
-              : "return $T.just("
-                  + "$L.this.$N.convert($L.this.httpClient.callMethod($N.build(), $L.build())))";
+
+      TypeName valueTypeName = TypeName.get(utils.getFirstTypeArgument(returnType));
+      boolean maybe = utils.isSameType(utils.getErasureType(returnType), io.reactivex.Maybe.class);
+      emitterTypeName = ParameterizedTypeName.get(
+          maybe
+              ? ClassName.get(io.reactivex.MaybeEmitter.class)
+              : ClassName.get(io.reactivex.SingleEmitter.class),
+          valueTypeName);
+      onSubscribeTypeName = ParameterizedTypeName.get(
+          maybe
+              ? ClassName.get(io.reactivex.MaybeOnSubscribe.class)
+              : ClassName.get(io.reactivex.SingleOnSubscribe.class),
+          valueTypeName);
       ConverterSpec converterSpec = registerResponseConvertersFields(returnInformation);
-      TypeSpec anonymousCallable =
+
+      TypeSpec onSuccess =
           TypeSpec.anonymousClassBuilder("")
-          .addSuperinterface(callableTypeName)
+          .addSuperinterface(ParameterizedTypeName.get(
+              ClassName.get(java.util.function.Consumer.class), valueTypeName))
           .addMethod(
-              MethodSpec.methodBuilder("call")
+              MethodSpec.methodBuilder("accept")
+              .addAnnotation(Override.class)
               .addModifiers(Modifier.PUBLIC)
-              .beginControlFlow("try")
-              .addStatement(
-                  statement,
-                  rxJavaTypeName,
-                  interfaceImplementationName,
-                  converterSpec.getField(),
-                  interfaceImplementationName,
-                  metaSpec.getRequestInfoBuilderName(),
-                  metaSpec.getBodyBuilderName())
-              .nextControlFlow("catch ($T e)", Exception.class)
-              .addStatement("return $T.error(e)", rxJavaTypeName)
-              .endControlFlow()
-              .returns(returnTypeName)
+              .addParameter(valueTypeName, "value")
+              .addStatement("$L.onSuccess(value)", EMITTER_NAME_PREFIX)
               .build())
           .build();
 
-      methodBuilder.addStatement("return $T.defer($L)", rxJavaTypeName, anonymousCallable);
+      callMethod = CodeBlock.of(
+          "$L.this.$L($N.build(), $L.build(), $L.this.$N, $L, $L)",
+          interfaceImplementationName,
+          getCallMethodAsyncName(returnInformation),
+          metaSpec.getRequestInfoBuilderName(),
+          metaSpec.getBodyBuilderName(),
+          interfaceImplementationName,
+          converterSpec.getField(),
+          onSuccess,
+          onFailure);
     }
+
+    TypeSpec cancellable =
+        TypeSpec.anonymousClassBuilder("")
+        .addSuperinterface(io.reactivex.functions.Cancellable.class)
+        .addMethod(
+            MethodSpec.methodBuilder("cancel")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .addStatement("$L.cancel()", CANCELLABLE_NAME_PREFIX)
+            .build())
+        .build();
+
+    TypeSpec onSubscribe =
+        TypeSpec.anonymousClassBuilder("")
+        .addSuperinterface(onSubscribeTypeName)
+        .addMethod(
+            MethodSpec.methodBuilder("subscribe")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(emitterTypeName, EMITTER_NAME_PREFIX, Modifier.FINAL)
+            .addStatement("final $T $L = $L", Cancellable.class, CANCELLABLE_NAME_PREFIX,
+                callMethod)
+            .addStatement("$L.setCancellable($L)", EMITTER_NAME_PREFIX, cancellable)
+            .build())
+        .build();
+
+    methodBuilder.addStatement("return $T.create($L)$L",
+        getRxJavaSourceTypeName(returnType, io.reactivex.Single.class),
+        onSubscribe,
+        getRxJavaConversion(returnType, io.reactivex.Flowable.class,
+            io.reactivex.Observable.class));
   }
 
+  /**
+   * Generates a {@code Single}, a {@code Maybe} or a {@code Completable} of RxJava3 that enqueues
+   * the request on each subscription and cancels it when the subscription is disposed, so no
+   * thread waits while the request is in flight. A {@code Flowable} or an {@code Observable} whose
+   * only element is the whole response is built from a {@code Single}.
+   */
   private void rxJava3HttpCallStatement(
       MethodSpec.Builder methodBuilder, ReturnInformation returnInformation) {
 
@@ -718,46 +1447,400 @@ public abstract class CodeGenerator {
             .getInterfaceImplementationInformation()
             .getImplementationName();
 
-    TypeName rxJavaTypeName = TypeName.get(utils.getErasureType(returnInformation.getReturnType()));
+    List<String> conflictsNames = new ArrayList<>();
+    conflictsNames.add(metaSpec.getRequestInfoBuilderName());
+    conflictsNames.add(metaSpec.getBodyBuilderName());
+    for (VariableElement va :
+        returnInformation.getMethodInformation().getExecutableElement().getParameters()) {
+      conflictsNames.add(va.getSimpleName().toString());
+    }
+    String emitterName = nameHelper.generateFreeName(EMITTER_NAME_PREFIX, conflictsNames);
 
-    if (utils.isSameType(returnInformation.getReturnType(), Completable.class)) {
+    TypeMirror returnType = returnInformation.getReturnType();
+    if (utils.isSameType(returnType, Completable.class)) {
 
-      Builder supplierGetBuilder = CodeBlock.builder();
-      supplierGetBuilder.beginControlFlow("");
-      supplierGetBuilder.addStatement(
-          "$L.this.httpClient.callMethod($N.build(), $L.build())",
+      methodBuilder.addStatement(
+          "return $T.create($L -> $L.setCancellable($L.this.callMethodAsync($N.build(), "
+              + "$L.build(), $L::onComplete, $L::tryOnError)::cancel))",
+          Completable.class,
+          emitterName,
+          emitterName,
           interfaceImplementationName,
           metaSpec.getRequestInfoBuilderName(),
-          metaSpec.getBodyBuilderName());
-      supplierGetBuilder.addStatement("return $T.complete()", rxJavaTypeName);
-      supplierGetBuilder.endControlFlow(")");
-      CodeBlock supplierGet = supplierGetBuilder.build();
-      methodBuilder.addCode("return $T.defer(() -> ", rxJavaTypeName);
-      methodBuilder.addCode(supplierGet);
-
+          metaSpec.getBodyBuilderName(),
+          emitterName,
+          emitterName);
     } else {
 
-      String statement =
-          (returnInformation.isHttpInfo())
-              ? String.format(
-                  "return $T.defer(() -> $T.just(%s.this.toHttpInfo("
-                  + "$L.this.$N, $L.this.httpClient.callMethod($N.build(), $L.build()))))",
-                  interfaceImplementationName)
-              : "return $T.defer(() -> $T.just("
-                  + "$L.this.$N.convert($L.this.httpClient.callMethod($N.build(), $L.build()))))";
-
       ConverterSpec converterSpec = registerResponseConvertersFields(returnInformation);
+      String conversion = getRxJavaConversion(returnType,
+          io.reactivex.rxjava3.core.Flowable.class, io.reactivex.rxjava3.core.Observable.class);
+      TypeName sourceTypeName =
+          getRxJavaSourceTypeName(returnType, io.reactivex.rxjava3.core.Single.class);
+      // The type of the Single can not be inferred from the lambda when it is converted.
+      CodeBlock create = conversion.isEmpty()
+          ? CodeBlock.of("$T.create", sourceTypeName)
+          : CodeBlock.of("$T.<$T>create", sourceTypeName,
+              TypeName.get(utils.getFirstTypeArgument(returnType)));
 
       methodBuilder.addStatement(
-          statement,
-          rxJavaTypeName,
-          rxJavaTypeName,
+          "return $L($L -> $L.setCancellable($L.this.$L($N.build(), $L.build(), "
+              + "$L.this.$N, $L::onSuccess, $L::tryOnError)::cancel))$L",
+          create,
+          emitterName,
+          emitterName,
+          interfaceImplementationName,
+          getCallMethodAsyncName(returnInformation),
+          metaSpec.getRequestInfoBuilderName(),
+          metaSpec.getBodyBuilderName(),
+          interfaceImplementationName,
+          converterSpec.getField(),
+          emitterName,
+          emitterName,
+          conversion);
+    }
+  }
+
+  private String getCallMethodAsyncName(ReturnInformation returnInformation) {
+    return returnInformation.isHttpInfo() ? "callMethodAsHttpInfoAsync" : "callMethodAsync";
+  }
+
+  /**
+   * Returns the RxJava type whose {@code create} enqueues the request: the return type itself, or
+   * {@code single} for a {@code Flowable} or an {@code Observable}.
+   */
+  private TypeName getRxJavaSourceTypeName(TypeMirror returnType, Class<?> single) {
+    if (isRxJavaFlowableOrObservable(returnType)) {
+      return ClassName.get(single);
+    }
+    return TypeName.get(utils.getErasureType(returnType));
+  }
+
+  /**
+   * Returns the conversion of the {@code Single} to a {@code Flowable} or an {@code Observable}, or
+   * an empty string for the other RxJava types.
+   */
+  private String getRxJavaConversion(TypeMirror returnType, Class<?> flowable,
+      Class<?> observable) {
+    TypeMirror rxJavaType = utils.getErasureType(returnType);
+    if (utils.isSameType(rxJavaType, flowable)) {
+      return ".toFlowable()";
+    }
+    if (utils.isSameType(rxJavaType, observable)) {
+      return ".toObservable()";
+    }
+    return "";
+  }
+
+  private boolean isRxJavaFlowableOrObservable(TypeMirror returnType) {
+    TypeMirror rxJavaType = utils.getErasureType(returnType);
+    return utils.isSameType(rxJavaType, io.reactivex.Flowable.class)
+        || utils.isSameType(rxJavaType, io.reactivex.Observable.class)
+        || utils.isSameType(rxJavaType, io.reactivex.rxjava3.core.Flowable.class)
+        || utils.isSameType(rxJavaType, io.reactivex.rxjava3.core.Observable.class);
+  }
+
+  /**
+   * Generates a {@code Flowable} or an {@code Observable} of RxJava3 that makes the request on each
+   * subscription and emits the elements of the response as they are decoded.
+   */
+  private void rxJava3ElementsHttpCallStatement(
+      MethodSpec.Builder methodBuilder, ReturnInformation returnInformation) {
+
+    List<String> conflictsNames = new ArrayList<>();
+    conflictsNames.add(metaSpec.getRequestInfoBuilderName());
+    conflictsNames.add(metaSpec.getBodyBuilderName());
+    for (VariableElement va :
+        returnInformation.getMethodInformation().getExecutableElement().getParameters()) {
+      conflictsNames.add(va.getSimpleName().toString());
+    }
+    String iteratorName = nameHelper.generateFreeName(ITERATOR_NAME_PREFIX, conflictsNames);
+
+    String interfaceImplementationName =
+        returnInformation
+            .getMethodInformation()
+            .getInterfaceImplementationInformation()
+            .getImplementationName();
+
+    TypeName rxJavaTypeName = TypeName.get(utils.getErasureType(returnInformation.getReturnType()));
+    ConverterSpec converterSpec = registerElementConvertersField(returnInformation);
+
+    methodBuilder.addStatement(
+        "return $T.using(() -> $L.this.callMethodAsIterator($N.build(), $L.build(), $L.this.$N), "
+            + "$L -> $T.fromIterable(iterable($L)), $T::close)",
+        rxJavaTypeName,
+        interfaceImplementationName,
+        metaSpec.getRequestInfoBuilderName(),
+        metaSpec.getBodyBuilderName(),
+        interfaceImplementationName,
+        converterSpec.getField(),
+        iteratorName,
+        rxJavaTypeName,
+        iteratorName,
+        ElementIterator.class);
+  }
+
+  /**
+   * Generates a Reactor {@code Mono} or {@code Flux}, or a {@code Flow.Publisher} adapted from it,
+   * that makes the request on each subscription. The whole response is emitted from the
+   * asynchronous callback, while the elements of a {@code Flux} are decoded as they are requested
+   * on a thread of {@code Schedulers.boundedElastic()}, as reading them blocks.
+   */
+  private void reactorHttpCallStatement(
+      MethodSpec.Builder methodBuilder, ReturnInformation returnInformation) {
+
+    String interfaceImplementationName =
+        returnInformation
+            .getMethodInformation()
+            .getInterfaceImplementationInformation()
+            .getImplementationName();
+
+    TypeMirror returnType = returnInformation.getReturnType();
+    boolean flowPublisher =
+        utils.isSameGenericTypeByClassName(returnType, ReturnInformation.FLOW_PUBLISHER_NAME);
+
+    List<String> conflictsNames = new ArrayList<>();
+    conflictsNames.add(metaSpec.getRequestInfoBuilderName());
+    conflictsNames.add(metaSpec.getBodyBuilderName());
+    for (VariableElement va :
+        returnInformation.getMethodInformation().getExecutableElement().getParameters()) {
+      conflictsNames.add(va.getSimpleName().toString());
+    }
+
+    CodeBlock publisher;
+    if (returnInformation.isElementStreaming()) {
+
+      ConverterSpec converterSpec = registerElementConvertersField(returnInformation);
+      String iteratorName = nameHelper.generateFreeName(ITERATOR_NAME_PREFIX, conflictsNames);
+
+      publisher = CodeBlock.of(
+          "$T.using(() -> $L.this.callMethodAsIterator($N.build(), $L.build(), $L.this.$N), "
+              + "$L -> $T.fromIterable(iterable($L)), $T::close).subscribeOn($T.boundedElastic())",
+          Flux.class,
+          interfaceImplementationName,
+          metaSpec.getRequestInfoBuilderName(),
+          metaSpec.getBodyBuilderName(),
           interfaceImplementationName,
           converterSpec.getField(),
+          iteratorName,
+          Flux.class,
+          iteratorName,
+          ElementIterator.class,
+          Schedulers.class);
+    } else {
+
+      ConverterSpec converterSpec = registerResponseConvertersFields(returnInformation);
+      String sinkName = nameHelper.generateFreeName(SINK_NAME_PREFIX, conflictsNames);
+      boolean mono = utils.isSameGenericTypeByClassName(returnType, Mono.class);
+      // The type of the Mono can not be inferred from the lambda when it is converted or adapted.
+      CodeBlock create = mono
+          ? CodeBlock.of("$T.create", Mono.class)
+          : CodeBlock.of("$T.<$T>create", Mono.class,
+              TypeName.get(utils.getFirstTypeArgument(returnType)));
+
+      publisher = CodeBlock.of(
+          "$L($L -> $L.onCancel($L.this.$L($N.build(), $L.build(), $L.this.$N, $L::success, "
+              + "$L::error)::cancel))$L",
+          create,
+          sinkName,
+          sinkName,
           interfaceImplementationName,
+          getCallMethodAsyncName(returnInformation),
           metaSpec.getRequestInfoBuilderName(),
-          metaSpec.getBodyBuilderName());
+          metaSpec.getBodyBuilderName(),
+          interfaceImplementationName,
+          converterSpec.getField(),
+          sinkName,
+          sinkName,
+          mono || flowPublisher ? "" : ".flux()");
     }
+
+    if (flowPublisher) {
+      methodBuilder.addStatement(
+          "return $T.publisherToFlowPublisher($L)", JdkFlowAdapter.class, publisher);
+    } else {
+      methodBuilder.addStatement("return $L", publisher);
+    }
+  }
+
+  private void eventStreamHttpCallStatement(
+      MethodSpec.Builder methodBuilder, ReturnInformation returnInformation) {
+
+    String callbackName = returnInformation.getCallback().getSimpleName().toString();
+    ConverterSpec converterSpec = registerResponseConvertersFields(returnInformation);
+
+    methodBuilder.addStatement(
+        (returnInformation.isCancellable() ? "return " : "")
+            + "this.openEventStream($N.build(), $L.build(), this.$N, $L)",
+        metaSpec.getRequestInfoBuilderName(),
+        metaSpec.getBodyBuilderName(),
+        converterSpec.getField(),
+        callbackName);
+  }
+
+  /**
+   * Generates a {@code Flowable} or an {@code Observable} of RxJava2 that opens a stream of
+   * Server-Sent Events on each subscription and closes it when the subscription is disposed.
+   */
+  private void rxJava2EventStreamHttpCallStatement(
+      MethodSpec.Builder methodBuilder, ReturnInformation returnInformation) {
+
+    String interfaceImplementationName =
+        returnInformation
+        .getMethodInformation()
+        .getInterfaceImplementationInformation()
+        .getImplementationName();
+
+    TypeName rxJavaTypeName = TypeName.get(utils.getErasureType(returnInformation.getReturnType()));
+    TypeName eventTypeName = TypeName.get(returnInformation.getReturnBodyType());
+    TypeName eventCallbackTypeName =
+        ParameterizedTypeName.get(eventCallbackClassName, eventTypeName);
+    boolean flowable = utils.isSameType(
+        utils.getErasureType(returnInformation.getReturnType()), io.reactivex.Flowable.class);
+    TypeName emitterTypeName = ParameterizedTypeName.get(
+        flowable
+            ? ClassName.get(io.reactivex.FlowableEmitter.class)
+            : ClassName.get(io.reactivex.ObservableEmitter.class),
+        eventTypeName);
+    TypeName onSubscribeTypeName = ParameterizedTypeName.get(
+        flowable
+            ? ClassName.get(io.reactivex.FlowableOnSubscribe.class)
+            : ClassName.get(io.reactivex.ObservableOnSubscribe.class),
+        eventTypeName);
+    ConverterSpec converterSpec = registerResponseConvertersFields(returnInformation);
+
+    TypeSpec eventCallback =
+        TypeSpec.anonymousClassBuilder("")
+        .superclass(eventCallbackTypeName)
+        .addMethod(
+            MethodSpec.methodBuilder("onEvent")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(eventTypeName, "event")
+            .addStatement("$L.onNext(event)", EMITTER_NAME_PREFIX)
+            .build())
+        .addMethod(
+            MethodSpec.methodBuilder("onFailure")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(ModernfitException.class, "e")
+            .addStatement("$L.onError(e)", EMITTER_NAME_PREFIX)
+            .build())
+        .addMethod(
+            MethodSpec.methodBuilder("onComplete")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .addStatement("$L.onComplete()", EMITTER_NAME_PREFIX)
+            .build())
+        .build();
+
+    TypeSpec cancellable =
+        TypeSpec.anonymousClassBuilder("")
+        .addSuperinterface(io.reactivex.functions.Cancellable.class)
+        .addMethod(
+            MethodSpec.methodBuilder("cancel")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .addStatement("$L.cancel()", EVENTCALLBACK_NAME_PREFIX)
+            .build())
+        .build();
+
+    TypeSpec onSubscribe =
+        TypeSpec.anonymousClassBuilder("")
+        .addSuperinterface(onSubscribeTypeName)
+        .addMethod(
+            MethodSpec.methodBuilder("subscribe")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(emitterTypeName, EMITTER_NAME_PREFIX, Modifier.FINAL)
+            .addStatement(
+                "final $T $L = $L.this.openEventStream($N.build(), $L.build(), $L.this.$N, $L)",
+                eventCallbackTypeName,
+                EVENTCALLBACK_NAME_PREFIX,
+                interfaceImplementationName,
+                metaSpec.getRequestInfoBuilderName(),
+                metaSpec.getBodyBuilderName(),
+                interfaceImplementationName,
+                converterSpec.getField(),
+                eventCallback)
+            .addStatement("$L.setCancellable($L)", EMITTER_NAME_PREFIX, cancellable)
+            .build())
+        .build();
+
+    if (flowable) {
+      methodBuilder.addStatement("return $T.create($L, $T.BUFFER)", rxJavaTypeName, onSubscribe,
+          io.reactivex.BackpressureStrategy.class);
+    } else {
+      methodBuilder.addStatement("return $T.create($L)", rxJavaTypeName, onSubscribe);
+    }
+  }
+
+  /**
+   * Generates a {@code Flowable} or an {@code Observable} of RxJava3 that opens a stream of
+   * Server-Sent Events on each subscription and closes it when the subscription is disposed.
+   */
+  private void rxJava3EventStreamHttpCallStatement(
+      MethodSpec.Builder methodBuilder, ReturnInformation returnInformation) {
+
+    List<String> conflictsNames = new ArrayList<>();
+    conflictsNames.add(metaSpec.getRequestInfoBuilderName());
+    conflictsNames.add(metaSpec.getBodyBuilderName());
+    for (VariableElement va :
+        returnInformation.getMethodInformation().getExecutableElement().getParameters()) {
+      conflictsNames.add(va.getSimpleName().toString());
+    }
+    String emitterName = nameHelper.generateFreeName(EMITTER_NAME_PREFIX, conflictsNames);
+
+    String interfaceImplementationName =
+        returnInformation
+            .getMethodInformation()
+            .getInterfaceImplementationInformation()
+            .getImplementationName();
+
+    TypeName rxJavaTypeName = TypeName.get(utils.getErasureType(returnInformation.getReturnType()));
+    ConverterSpec converterSpec = registerResponseConvertersFields(returnInformation);
+
+    CodeBlock onSubscribe = CodeBlock.of(
+        "$L -> $L.setCancellable($L.this.openEventStream($N.build(), $L.build(), $L.this.$N, "
+            + "$T.create($L::onNext, $L::onError, $L::onComplete))::cancel)",
+        emitterName,
+        emitterName,
+        interfaceImplementationName,
+        metaSpec.getRequestInfoBuilderName(),
+        metaSpec.getBodyBuilderName(),
+        interfaceImplementationName,
+        converterSpec.getField(),
+        eventCallbackClassName,
+        emitterName,
+        emitterName,
+        emitterName);
+
+    if (utils.isSameType(utils.getErasureType(returnInformation.getReturnType()),
+        io.reactivex.rxjava3.core.Flowable.class)) {
+      methodBuilder.addStatement("return $T.create($L, $T.BUFFER)", rxJavaTypeName, onSubscribe,
+          io.reactivex.rxjava3.core.BackpressureStrategy.class);
+    } else {
+      methodBuilder.addStatement("return $T.create($L)", rxJavaTypeName, onSubscribe);
+    }
+  }
+
+  /**
+   * Returns the name of the method of {@code AbstractInterfaceImpl} used to convert the response,
+   * or null if the response converter is called directly.
+   */
+  private String getConvertMethodName(ReturnInformation returnInformation) {
+
+    boolean close =
+        returnInformation.getMethodInformation().isStreaming()
+            && !utils.isSameType(returnInformation.getReturnBodyType(), ResponseContent.class);
+
+    if (returnInformation.isHttpInfo()) {
+      return close ? "toHttpInfoAndClose" : "toHttpInfo";
+    }
+    if (close) {
+      return "convertAndClose";
+    }
+    return returnInformation.getMethodInformation().isSingleFlight() ? "convert" : null;
   }
 
   private List<String> getConflictsNames(
@@ -771,6 +1854,13 @@ public abstract class CodeGenerator {
         conflictsNames.add(va.getSimpleName().toString());
       }
     }
+    for (BulkMethodInformation bulkMethodInformation :
+        interfaceImplementationInformation.getBulkMethodsInformation()) {
+
+      for (VariableElement va : bulkMethodInformation.getExecutableElement().getParameters()) {
+        conflictsNames.add(va.getSimpleName().toString());
+      }
+    }
 
     return conflictsNames;
   }
@@ -27,7 +27,13 @@ import com.squareup.javapoet.TypeSpec;
 import com.squareup.javapoet.TypeSpec.Builder;
 import com.ygmodesto.modernfit.processor.Utils;
 import com.ygmodesto.modernfit.processor.model.InterfaceImplementationInformation;
+import com.ygmodesto.modernfit.services.BulkheadHttpClient;
+import com.ygmodesto.modernfit.services.CircuitBreakerHttpClient;
+import com.ygmodesto.modernfit.services.HedgingHttpClient;
 import com.ygmodesto.modernfit.services.HttpClient;
+import com.ygmodesto.modernfit.services.RateLimitingHttpClient;
+import com.ygmodesto.modernfit.services.RetryingHttpClient;
+import com.ygmodesto.modernfit.services.SingleFlightHttpClient;
 import java.util.Map;
 import javax.lang.model.element.Modifier;
 
@@ -76,7 +82,7 @@ public class CodeGeneratorStandalone extends CodeGenerator {
         .addModifiers(Modifier.PRIVATE)
         .addParameter(builderClassName, BUILDER_FIELDNAME)
         .addStatement("baseUrl = $S", interfaceImplementationInformation.getBaseUrl())
-        .addCode(getHttpClientInitializer(httpClient))
+        .addCode(getHttpClientInitializer(httpClient, interfaceImplementationInformation))
         .addCode(getConverterInitializer(converterFactory));
 
     MethodSpec builderMethod =
@@ -97,7 +103,7 @@ public class CodeGeneratorStandalone extends CodeGenerator {
     MethodSpec addHttpClient =
         MethodSpec.methodBuilder(BUILDER_ADDHTTPCLIENTNAME)
         .addModifiers(Modifier.PUBLIC)
-        .addParameter(ParameterSpec.builder(httpClient, HTTPCLIENT_NAME).build())
+        .addParameter(ParameterSpec.builder(HttpClient.class, HTTPCLIENT_NAME).build())
         .returns(builderClassName)
         .addStatement("this.$N = $N", HTTPCLIENT_NAME, HTTPCLIENT_NAME)
         .addStatement("return this")
@@ -163,6 +169,17 @@ public class CodeGeneratorStandalone extends CodeGenerator {
       instantiateResponseConvertersFields(metaSpecStandalone.getConstructor(), responseConverter);
     }
 
+    for (Map.Entry<TypeName, ConverterSpec> entry :
+        metaSpecStandalone.getElementConverters().entrySet()) {
+      ConverterSpec elementConverter = entry.getValue();
+      implementationBuilder.addField(elementConverter.getField());
+      instantiateElementConverterField(metaSpecStandalone.getConstructor(), elementConverter);
+    }
+
+    for (FieldSpec field : metaSpecStandalone.getFields()) {
+      implementationBuilder.addField(field);
+    }
+
     for (MethodSpec.Builder interfaceMethodBuilder : metaSpecStandalone.getInterfaceMethods()) {
       implementationBuilder.addMethod(interfaceMethodBuilder.build());
     }
@@ -209,6 +226,19 @@ public class CodeGeneratorStandalone extends CodeGenerator {
         ParameterizedTypeName.get(customType, responseConverter.getDestination()));
   }
 
+  private void instantiateElementConverterField(
+      MethodSpec.Builder constructorBuilder, ConverterSpec elementConverter) {
+    String zombieFieldName = "zombie" + elementConverter.getField().name;
+    constructorBuilder.addStatement(
+        "$T $L = null", elementConverter.getDestination(), zombieFieldName);
+    constructorBuilder.addStatement(
+        "$N = $L.getElementConverter($L, new $T() {})",
+        elementConverter.getField(),
+        CONVERTERFACTORY_NAME,
+        zombieFieldName,
+        ParameterizedTypeName.get(customType, elementConverter.getDestination()));
+  }
+
   private CodeBlock getConverterInitializer(ClassName converter) {
 
     CodeBlock.Builder builderInitializer = CodeBlock.builder();
@@ -224,7 +254,8 @@ public class CodeGeneratorStandalone extends CodeGenerator {
     return builderInitializer.build();
   }
 
-  private CodeBlock getHttpClientInitializer(ClassName httpClient) {
+  private CodeBlock getHttpClientInitializer(ClassName httpClient,
+      InterfaceImplementationInformation interfaceImplementationInformation) {
 
     CodeBlock.Builder builderInitializer = CodeBlock.builder();
 
@@ -237,6 +268,31 @@ public class CodeGeneratorStandalone extends CodeGenerator {
         BUILDER_FIELDNAME,
         HTTPCLIENT_NAME);
 
+    if (interfaceImplementationInformation.isBulkhead()) {
+      builderInitializer.addStatement(
+          "$N = $T.create($N)", HTTPCLIENT_NAME, BulkheadHttpClient.class, HTTPCLIENT_NAME);
+    }
+    if (interfaceImplementationInformation.isRateLimit()) {
+      builderInitializer.addStatement(
+          "$N = $T.create($N)", HTTPCLIENT_NAME, RateLimitingHttpClient.class, HTTPCLIENT_NAME);
+    }
+    if (interfaceImplementationInformation.isCircuitBreaker()) {
+      builderInitializer.addStatement(
+          "$N = $T.create($N)", HTTPCLIENT_NAME, CircuitBreakerHttpClient.class, HTTPCLIENT_NAME);
+    }
+    if (interfaceImplementationInformation.isHedge()) {
+      builderInitializer.addStatement(
+          "$N = $T.create($N)", HTTPCLIENT_NAME, HedgingHttpClient.class, HTTPCLIENT_NAME);
+    }
+    if (interfaceImplementationInformation.isRetry()) {
+      builderInitializer.addStatement(
+          "$N = $T.create($N)", HTTPCLIENT_NAME, RetryingHttpClient.class, HTTPCLIENT_NAME);
+    }
+    if (interfaceImplementationInformation.isSingleFlight()) {
+      builderInitializer.addStatement(
+          "$N = $T.create($N)", HTTPCLIENT_NAME, SingleFlightHttpClient.class, HTTPCLIENT_NAME);
+    }
+
     return builderInitializer.build();
   }
 }
@@ -16,6 +16,7 @@
 
 package com.ygmodesto.modernfit.processor.generator;
 
+import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
@@ -38,6 +39,9 @@ public abstract class MetaSpec {
   protected Map<TypeName, ConverterSpec> urlConverters = new LinkedHashMap<>();
   protected Map<TypeName, ConverterSpec> requestConverters = new LinkedHashMap<>();
   protected Map<TypeName, ConverterSpec> responseConverters = new LinkedHashMap<>();
+  protected Map<TypeName, ConverterSpec> elementConverters = new LinkedHashMap<>();
+
+  protected List<FieldSpec> fields = new ArrayList<>();
 
   protected String requestInfoBuilderName;
   protected String bodyBuilderName;
@@ -67,6 +71,26 @@ public abstract class MetaSpec {
     interfaceMethods.add(interfaceMethod);
   }
 
+  /** Returns the fields initialized in their declaration, such as caches and policies. */
+  public List<FieldSpec> getFields() {
+    return fields;
+  }
+
+  public void addField(FieldSpec field) {
+    fields.add(field);
+  }
+
+  /** Returns {@code prefix} followed by the number of fields whose name starts with it. */
+  public String generateFieldName(String prefix) {
+    int count = 0;
+    for (FieldSpec field : fields) {
+      if (field.name.startsWith(prefix)) {
+        count++;
+      }
+    }
+    return prefix + count;
+  }
+
   public ConverterSpec getUrlConverterBySource(TypeName source) {
     return urlConverters.get(source);
   }
@@ -143,6 +167,32 @@ public abstract class MetaSpec {
     return false;
   }
 
+  public ConverterSpec getElementConverterByDestination(TypeName destination) {
+    return elementConverters.get(destination);
+  }
+
+  public Map<TypeName, ConverterSpec> getElementConverters() {
+    return elementConverters;
+  }
+
+  public void setElementConverters(Map<TypeName, ConverterSpec> elementConverters) {
+    this.elementConverters = elementConverters;
+  }
+
+  /**
+   * Add a ConverterSpec to the elementConverters list, its destination is the type of the
+   * elements.
+   *
+   * @param elementConverter a ConverterSpec.
+   */
+  public boolean addElementConverter(ConverterSpec elementConverter) {
+    if (!elementConverters.containsKey(elementConverter.getDestination())) {
+      elementConverters.put(elementConverter.getDestination(), elementConverter);
+      return true;
+    }
+    return false;
+  }
+
   public String getRequestInfoBuilderName() {
     return requestInfoBuilderName;
   }
@@ -31,7 +31,7 @@ public class NameHelper {
   private static final int WINDOW_LIMIT = 26;
   private static final int MARGIN_RANDOM_LENGTH = 2;
 
-  private static Random random;
+  private static Random random = new Random();
 
 
   /**
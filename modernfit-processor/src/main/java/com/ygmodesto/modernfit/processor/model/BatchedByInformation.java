@@ -0,0 +1,226 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.processor.model;
+
+import com.ygmodesto.modernfit.annotations.BatchedBy;
+import com.ygmodesto.modernfit.processor.ModernfitProcessorException;
+import com.ygmodesto.modernfit.processor.Utils;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * Defines the information necessary to generate a method annotated with
+ * {@link BatchedBy @BatchedBy}, whose concurrent calls are grouped into calls of a batch method of
+ * the same interface.
+ *
+ * <p>The annotated method has a single parameter of type K and returns V, or a
+ * {@code CompletableFuture} or {@code CompletionStage} of it. The batch method has a single
+ * parameter to which a {@code List<K>} is assignable and returns a {@code List<V>} or a
+ * {@code Map<K, V>}, or a {@code CompletableFuture} or {@code CompletionStage} of them.
+ */
+public class BatchedByInformation {
+
+  private Utils utils = Utils.getInstance();
+
+  private MethodInformation methodInformation;
+  private BatchedBy batchedBy;
+  private MethodInformation batchMethod;
+
+  private TypeMirror keyType;
+  private TypeMirror valueType;
+  private boolean map;
+
+  private BatchedByInformation(Builder builder) throws ModernfitProcessorException {
+
+    this.methodInformation = builder.methodInformation;
+    this.batchedBy = methodInformation.getExecutableElement().getAnnotation(BatchedBy.class);
+
+    checkLimits();
+    extractKeyAndValueTypes();
+    extractBatchMethod(builder.methodsInformation);
+    extractBatchReturnType();
+  }
+
+  /** Returns the method annotated with {@link BatchedBy @BatchedBy}. */
+  public MethodInformation getMethodInformation() {
+    return methodInformation;
+  }
+
+  /** Returns the method called with the keys of a batch. */
+  public MethodInformation getBatchMethod() {
+    return batchMethod;
+  }
+
+  public int getMaxBatch() {
+    return batchedBy.maxBatch();
+  }
+
+  public long getWindow() {
+    return batchedBy.window();
+  }
+
+  public String getUnit() {
+    return batchedBy.unit().name();
+  }
+
+  public TypeMirror getKeyType() {
+    return keyType;
+  }
+
+  public TypeMirror getValueType() {
+    return valueType;
+  }
+
+  /** Returns true if the batch method returns the values in a Map instead of a List. */
+  public boolean isMap() {
+    return map;
+  }
+
+  private void checkLimits() throws ModernfitProcessorException {
+
+    if (batchedBy.maxBatch() <= 0 || batchedBy.window() < 0) {
+      throw new ModernfitProcessorException(
+          "@BatchedBy maxBatch must be greater than 0 and window not negative",
+          methodInformation.getExecutableElement());
+    }
+  }
+
+  private void extractKeyAndValueTypes() throws ModernfitProcessorException {
+
+    ExecutableElement executableElement = methodInformation.getExecutableElement();
+    if (executableElement.getParameters().size() != 1
+        || !isSynchronousOrFuture(methodInformation)) {
+      throw new ModernfitProcessorException(
+          "@BatchedBy needs a single parameter and a synchronous, CompletableFuture or "
+              + "CompletionStage return, without @Streaming or @Cacheable",
+          executableElement);
+    }
+
+    keyType = box(executableElement.getParameters().get(0).asType());
+    TypeMirror returnType = methodInformation.getReturnInformation().getReturnType();
+    valueType = methodInformation.getReturnInformation().isFuture()
+        ? utils.getFirstTypeArgument(returnType)
+        : box(returnType);
+  }
+
+  private void extractBatchMethod(List<MethodInformation> methodsInformation)
+      throws ModernfitProcessorException {
+
+    for (MethodInformation candidate : methodsInformation) {
+      if (candidate.getMethodName().equals(batchedBy.value())
+          && candidate.getExecutableElement().getParameters().size() == 1
+          && candidate != methodInformation) {
+        batchMethod = candidate;
+      }
+    }
+    if (batchMethod == null) {
+      throw new ModernfitProcessorException(
+          String.format("@BatchedBy needs a method %s with a single parameter", batchedBy.value()),
+          methodInformation.getExecutableElement());
+    }
+
+    TypeMirror keysType = utils.getTypes().getDeclaredType(
+        utils.getElements().getTypeElement(List.class.getCanonicalName()), keyType);
+    TypeMirror parameterType = batchMethod.getExecutableElement().getParameters().get(0).asType();
+    if (!utils.getTypes().isAssignable(keysType, parameterType)) {
+      throw new ModernfitProcessorException(
+          String.format("@BatchedBy needs a List of keys assignable to the parameter of %s",
+              batchedBy.value()),
+          methodInformation.getExecutableElement());
+    }
+  }
+
+  private void extractBatchReturnType() throws ModernfitProcessorException {
+
+    TypeMirror returnType = batchMethod.getReturnInformation().getReturnType();
+    if (utils.isSameGenericTypeByClassName(returnType, CompletableFuture.class)
+        || utils.isSameGenericTypeByClassName(returnType, CompletionStage.class)) {
+      returnType = utils.getFirstTypeArgument(returnType);
+    }
+
+    if (isSynchronousOrFuture(batchMethod)) {
+      if (utils.isSameGenericTypeByClassName(returnType, List.class)
+          && isSameType(utils.getFirstTypeArgument(returnType), valueType)) {
+        return;
+      }
+      if (utils.isSameGenericTypeByClassName(returnType, Map.class)
+          && isSameType(utils.getFirstTypeArgument(returnType), keyType)
+          && isSameType(utils.getSecondTypeArgument(returnType), valueType)) {
+        map = true;
+        return;
+      }
+    }
+
+    throw new ModernfitProcessorException(
+        String.format("@BatchedBy needs %s to return a List<V> or a Map<K, V>, or a "
+            + "CompletableFuture or CompletionStage of them, without @Streaming or @Cacheable, "
+            + "where K and V are the key and the value of the annotated method", batchedBy.value()),
+        methodInformation.getExecutableElement());
+  }
+
+  private boolean isSynchronousOrFuture(MethodInformation method) {
+    ReturnInformation returnInformation = method.getReturnInformation();
+    return (returnInformation.isSynchronos() || returnInformation.isFuture())
+        && !utils.isVoid(returnInformation.getReturnType())
+        && !method.isStreaming()
+        && method.getCacheable() == null;
+  }
+
+  private boolean isSameType(TypeMirror typeMirror, TypeMirror expected) {
+    return typeMirror != null && utils.getTypes().isSameType(typeMirror, expected);
+  }
+
+  private TypeMirror box(TypeMirror typeMirror) {
+    return typeMirror.getKind().isPrimitive()
+        ? utils.getTypes().boxedClass(utils.getTypes().getPrimitiveType(typeMirror.getKind()))
+            .asType()
+        : typeMirror;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Builder class for {@link BatchedByInformation BatchedByInformation}.
+   */
+  public static final class Builder {
+
+    private MethodInformation methodInformation;
+    private List<MethodInformation> methodsInformation;
+
+    public Builder addMethodInformation(MethodInformation methodInformation) {
+      this.methodInformation = methodInformation;
+      return this;
+    }
+
+    /** Adds the methods of the interface, between which is the batch method. */
+    public Builder addMethodsInformation(List<MethodInformation> methodsInformation) {
+      this.methodsInformation = methodsInformation;
+      return this;
+    }
+
+    public BatchedByInformation build() throws ModernfitProcessorException {
+
+      return new BatchedByInformation(this);
+    }
+  }
+}
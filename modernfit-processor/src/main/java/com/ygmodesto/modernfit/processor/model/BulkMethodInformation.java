@@ -0,0 +1,247 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.processor.model;
+
+import com.ygmodesto.modernfit.annotations.Bulk;
+import com.ygmodesto.modernfit.processor.ModernfitProcessorException;
+import com.ygmodesto.modernfit.processor.Utils;
+import com.ygmodesto.modernfit.services.BulkOutcome;
+import com.ygmodesto.modernfit.services.BulkResult;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Stream;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+
+/**
+ * Defines the information necessary to generate a method annotated with {@link Bulk @Bulk}, which
+ * calls a single-argument method of the same interface once for each key.
+ *
+ * <p>The bulk method has the parameters {@code (Iterable<K> keys, int parallelism)} and returns
+ * the values of the called method as a {@code List<V>} or a {@code BulkResult<K, V>}, or a
+ * {@code CompletableFuture} or {@code CompletionStage} of them, or a
+ * {@code Stream<BulkOutcome<K, V>>}. V is the return type of the called method, or the type of
+ * its future if it returns one.
+ */
+public class BulkMethodInformation {
+
+  private Utils utils = Utils.getInstance();
+
+  private ExecutableElement executableElement;
+  private Bulk bulk;
+  private MethodInformation target;
+
+  private TypeMirror keyType;
+  private TypeMirror valueType;
+  private boolean future;
+  private boolean list;
+  private boolean stream;
+
+  private BulkMethodInformation(Builder builder) throws ModernfitProcessorException {
+
+    this.executableElement = builder.executableElement;
+    this.bulk = executableElement.getAnnotation(Bulk.class);
+
+    extractKeyType();
+    extractTarget(builder.methodsInformation);
+    extractReturnType();
+  }
+
+  public ExecutableElement getExecutableElement() {
+    return executableElement;
+  }
+
+  public String getMethodName() {
+    return executableElement.getSimpleName().toString();
+  }
+
+  /** Returns the method called for each key. */
+  public MethodInformation getTarget() {
+    return target;
+  }
+
+  public boolean isFailFast() {
+    return bulk.failFast();
+  }
+
+  public TypeMirror getKeyType() {
+    return keyType;
+  }
+
+  public TypeMirror getValueType() {
+    return valueType;
+  }
+
+  /** Returns true if the method returns a CompletableFuture or a CompletionStage. */
+  public boolean isFuture() {
+    return future;
+  }
+
+  /** Returns true if the method returns the values as a List instead of a BulkResult. */
+  public boolean isList() {
+    return list;
+  }
+
+  /** Returns true if the method returns a Stream of the outcomes in the order they complete. */
+  public boolean isStream() {
+    return stream;
+  }
+
+  public VariableElement getKeysParameter() {
+    return executableElement.getParameters().get(0);
+  }
+
+  public VariableElement getParallelismParameter() {
+    return executableElement.getParameters().get(1);
+  }
+
+  private void extractKeyType() throws ModernfitProcessorException {
+
+    List<? extends VariableElement> parameters = executableElement.getParameters();
+    if (parameters.size() == 2
+        && utils.isSubtype(parameters.get(0).asType(), Iterable.class)
+        && parameters.get(1).asType().getKind() == TypeKind.INT) {
+      keyType = utils.getFirstTypeArgument(parameters.get(0).asType());
+      if (keyType instanceof WildcardType) {
+        keyType = ((WildcardType) keyType).getExtendsBound();
+      }
+    }
+    if (keyType == null) {
+      throw new ModernfitProcessorException(
+          "@Bulk needs the parameters (Iterable<K> keys, int parallelism)", executableElement);
+    }
+  }
+
+  private void extractTarget(List<MethodInformation> methodsInformation)
+      throws ModernfitProcessorException {
+
+    for (MethodInformation methodInformation : methodsInformation) {
+      if (methodInformation.getMethodName().equals(bulk.value())
+          && methodInformation.getExecutableElement().getParameters().size() == 1) {
+        target = methodInformation;
+      }
+    }
+    if (target == null) {
+      throw new ModernfitProcessorException(
+          String.format("@Bulk needs a method %s with a single parameter", bulk.value()),
+          executableElement);
+    }
+
+    TypeMirror parameterType = target.getExecutableElement().getParameters().get(0).asType();
+    if (!utils.getTypes().isAssignable(keyType, parameterType)) {
+      throw new ModernfitProcessorException(
+          String.format("@Bulk keys are not assignable to the parameter of %s", bulk.value()),
+          executableElement);
+    }
+
+    ReturnInformation returnInformation = target.getReturnInformation();
+    TypeMirror returnType = returnInformation.getReturnType();
+    if ((!returnInformation.isSynchronos() && !returnInformation.isFuture())
+        || utils.isVoid(returnType) || target.isStreaming() || target.getCacheable() != null) {
+      throw new ModernfitProcessorException(
+          String.format("@Bulk needs %s to be synchronous or to return a CompletableFuture or a "
+              + "CompletionStage, without @Streaming or @Cacheable", bulk.value()),
+          executableElement);
+    }
+    if (returnInformation.isFuture()) {
+      valueType = utils.getFirstTypeArgument(returnType);
+    } else if (returnType.getKind().isPrimitive()) {
+      valueType = utils.getTypes().boxedClass(utils.getTypes().getPrimitiveType(
+          returnType.getKind())).asType();
+    } else {
+      valueType = returnType;
+    }
+  }
+
+  private void extractReturnType() throws ModernfitProcessorException {
+
+    TypeMirror returnType = executableElement.getReturnType();
+    if (utils.isSameGenericTypeByClassName(returnType, CompletableFuture.class)
+        || utils.isSameGenericTypeByClassName(returnType, CompletionStage.class)) {
+      future = true;
+      returnType = utils.getFirstTypeArgument(returnType);
+    }
+
+    if (utils.isSameGenericTypeByClassName(returnType, List.class)) {
+      list = true;
+      if (isValueType(utils.getFirstTypeArgument(returnType))) {
+        return;
+      }
+    } else if (utils.isSameGenericTypeByClassName(returnType, BulkResult.class)) {
+      if (isKeyAndValueTypes(returnType)) {
+        return;
+      }
+    } else if (!future && utils.isSameGenericTypeByClassName(returnType, Stream.class)) {
+      stream = true;
+      TypeMirror outcomeType = utils.getFirstTypeArgument(returnType);
+      if (utils.isSameGenericTypeByClassName(outcomeType, BulkOutcome.class)
+          && isKeyAndValueTypes(outcomeType)) {
+        return;
+      }
+    }
+
+    throw new ModernfitProcessorException(
+        String.format("@Bulk needs a List<V>, a BulkResult<K, V>, a CompletableFuture or "
+            + "CompletionStage of them, or a Stream<BulkOutcome<K, V>> in method return, where V "
+            + "is the value returned by %s", bulk.value()),
+        executableElement);
+  }
+
+  private boolean isKeyAndValueTypes(TypeMirror typeMirror) {
+    TypeMirror key = utils.getFirstTypeArgument(typeMirror);
+    return key != null
+        && utils.getTypes().isSameType(key, keyType)
+        && isValueType(utils.getSecondTypeArgument(typeMirror));
+  }
+
+  private boolean isValueType(TypeMirror typeMirror) {
+    return typeMirror != null && utils.getTypes().isSameType(typeMirror, valueType);
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Builder class for {@link BulkMethodInformation BulkMethodInformation}.
+   */
+  public static final class Builder {
+
+    private ExecutableElement executableElement;
+    private List<MethodInformation> methodsInformation;
+
+    public Builder addExecutableElement(ExecutableElement executableElement) {
+      this.executableElement = executableElement;
+      return this;
+    }
+
+    /** Adds the methods of the interface, between which is the method called for each key. */
+    public Builder addMethodsInformation(List<MethodInformation> methodsInformation) {
+      this.methodsInformation = methodsInformation;
+      return this;
+    }
+
+    public BulkMethodInformation build() throws ModernfitProcessorException {
+
+      return new BulkMethodInformation(this);
+    }
+  }
+}
@@ -16,6 +16,8 @@
 
 package com.ygmodesto.modernfit.processor.model;
 
+import com.ygmodesto.modernfit.annotations.BatchedBy;
+import com.ygmodesto.modernfit.annotations.Bulk;
 import com.ygmodesto.modernfit.annotations.ComponentModel;
 import com.ygmodesto.modernfit.annotations.Modernfit;
 import com.ygmodesto.modernfit.processor.ModernfitProcessorException;
@@ -48,6 +50,7 @@ public class InterfaceImplementationInformation {
   private ComponentModel componentModel;
 
   private List<MethodInformation> methodsInformation;
+  private List<BulkMethodInformation> bulkMethodsInformation = new ArrayList<>();
 
   private InterfaceImplementationInformation(Builder builder) throws ModernfitProcessorException {
 
@@ -85,6 +88,71 @@ public class InterfaceImplementationInformation {
     return methodsInformation;
   }
 
+  /** Returns the methods annotated with {@link Bulk @Bulk}. */
+  public List<BulkMethodInformation> getBulkMethodsInformation() {
+    return bulkMethodsInformation;
+  }
+
+  /** Returns true if any method coalesces identical requests in flight. */
+  public boolean isSingleFlight() {
+    for (MethodInformation methodInformation : methodsInformation) {
+      if (methodInformation.isSingleFlight()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Returns true if any method retries its failed requests. */
+  public boolean isRetry() {
+    for (MethodInformation methodInformation : methodsInformation) {
+      if (methodInformation.getRetry() != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Returns true if any method hedges its requests. */
+  public boolean isHedge() {
+    for (MethodInformation methodInformation : methodsInformation) {
+      if (methodInformation.getHedge() != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Returns true if any method has a circuit breaker. */
+  public boolean isCircuitBreaker() {
+    for (MethodInformation methodInformation : methodsInformation) {
+      if (methodInformation.getCircuitBreaker() != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Returns true if any method is isolated in a lane. */
+  public boolean isBulkhead() {
+    for (MethodInformation methodInformation : methodsInformation) {
+      if (methodInformation.getBulkhead() != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Returns true if the rate of any method is limited. */
+  public boolean isRateLimit() {
+    for (MethodInformation methodInformation : methodsInformation) {
+      if (methodInformation.getRateLimit() != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   public TypeElement getConverterFactory() {
     return converterFactory;
   }
@@ -111,7 +179,12 @@ public class InterfaceImplementationInformation {
         ElementFilter.methodsIn(interfaceElement.getEnclosedElements());
     List<MethodInformation> methods = new ArrayList<>(methodsIn.size());
 
+    List<ExecutableElement> bulkMethodsIn = new ArrayList<>();
     for (ExecutableElement methodElement : methodsIn) {
+      if (methodElement.getAnnotation(Bulk.class) != null) {
+        bulkMethodsIn.add(methodElement);
+        continue;
+      }
       try {
 
         MethodInformation.Builder methodBuilder =
@@ -125,6 +198,41 @@ public class InterfaceImplementationInformation {
       }
     }
 
+    for (MethodInformation methodInformation : methods) {
+      ExecutableElement methodElement = methodInformation.getExecutableElement();
+      if (methodElement.getAnnotation(BatchedBy.class) == null) {
+        continue;
+      }
+      try {
+
+        BatchedByInformation batchedByInformation = BatchedByInformation.builder()
+            .addMethodInformation(methodInformation)
+            .addMethodsInformation(methods)
+            .build();
+        methodInformation.setBatchedByInformation(batchedByInformation);
+        methodInformation.setAsyncTarget();
+        batchedByInformation.getBatchMethod().setAsyncTarget();
+
+      } catch (RuntimeException e) {
+        throw new ModernfitProcessorException("Unexpected exception processing", methodElement);
+      }
+    }
+
+    for (ExecutableElement methodElement : bulkMethodsIn) {
+      try {
+
+        BulkMethodInformation bulkMethodInformation = BulkMethodInformation.builder()
+            .addExecutableElement(methodElement)
+            .addMethodsInformation(methods)
+            .build();
+        bulkMethodInformation.getTarget().setAsyncTarget();
+        bulkMethodsInformation.add(bulkMethodInformation);
+
+      } catch (RuntimeException e) {
+        throw new ModernfitProcessorException("Unexpected exception processing", methodElement);
+      }
+    }
+
     return methods;
   }
 
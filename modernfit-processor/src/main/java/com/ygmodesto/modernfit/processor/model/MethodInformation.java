@@ -17,7 +17,11 @@
 package com.ygmodesto.modernfit.processor.model;
 
 import com.ygmodesto.modernfit.annotations.Body;
+import com.ygmodesto.modernfit.annotations.Bulkhead;
+import com.ygmodesto.modernfit.annotations.Cacheable;
+import com.ygmodesto.modernfit.annotations.CircuitBreaker;
 import com.ygmodesto.modernfit.annotations.DELETE;
+import com.ygmodesto.modernfit.annotations.EventStream;
 import com.ygmodesto.modernfit.annotations.Field;
 import com.ygmodesto.modernfit.annotations.FieldMap;
 import com.ygmodesto.modernfit.annotations.FormUrlEncoded;
@@ -26,6 +30,7 @@ import com.ygmodesto.modernfit.annotations.HEAD;
 import com.ygmodesto.modernfit.annotations.Header;
 import com.ygmodesto.modernfit.annotations.HeaderMap;
 import com.ygmodesto.modernfit.annotations.Headers;
+import com.ygmodesto.modernfit.annotations.Hedge;
 import com.ygmodesto.modernfit.annotations.Multipart;
 import com.ygmodesto.modernfit.annotations.OPTIONS;
 import com.ygmodesto.modernfit.annotations.PATCH;
@@ -36,13 +41,25 @@ import com.ygmodesto.modernfit.annotations.PartMap;
 import com.ygmodesto.modernfit.annotations.Path;
 import com.ygmodesto.modernfit.annotations.Query;
 import com.ygmodesto.modernfit.annotations.QueryMap;
+import com.ygmodesto.modernfit.annotations.RateLimit;
+import com.ygmodesto.modernfit.annotations.Retry;
+import com.ygmodesto.modernfit.annotations.SingleFlight;
+import com.ygmodesto.modernfit.annotations.Streaming;
+import com.ygmodesto.modernfit.annotations.Tag;
+import com.ygmodesto.modernfit.annotations.Timeout;
 import com.ygmodesto.modernfit.annotations.Url;
 import com.ygmodesto.modernfit.processor.ModernfitProcessorException;
 import com.ygmodesto.modernfit.processor.Utils;
+import com.ygmodesto.modernfit.services.EventCallback;
 import com.ygmodesto.modernfit.services.HttpMethod;
 import com.ygmodesto.modernfit.services.ResponseCallback;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.MirroredTypesException;
+import javax.lang.model.type.TypeMirror;
 
 /**
  * Defines all the information necessary to generate a method that performs an HTTP request.
@@ -58,6 +75,22 @@ public class MethodInformation {
 
   private ExecutableElement executableElement;
   private String methodName;
+  private boolean streaming;
+  private boolean eventStream;
+  private boolean singleFlight;
+  private Cacheable cacheable;
+  private Retry retry;
+  private Hedge hedge;
+  private CircuitBreaker circuitBreaker;
+  private Bulkhead bulkhead;
+  private boolean interfaceBulkhead;
+  private RateLimit rateLimit;
+  private boolean interfaceRateLimit;
+  private Timeout timeout;
+  private boolean asyncTarget;
+  private BatchedByInformation batchedByInformation;
+  private List<VariableElement> tags = new ArrayList<>();
+  private List<? extends TypeMirror> retryOn = Collections.emptyList();
 
   private AbstractBodyInformation bodyInformation;
   private UrlInformation urlInformation;
@@ -79,10 +112,20 @@ public class MethodInformation {
     final ReturnInformation.Builder builderReturn = ReturnInformation.builder();
 
     methodName = executableElement.getSimpleName().toString();
+    streaming = executableElement.getAnnotation(Streaming.class) != null;
+    eventStream = executableElement.getAnnotation(EventStream.class) != null;
 
     builderBody = extractBodyType(executableElement);
     extractHeaders(builderHeaders);
     extractBodyInfo(builderUrl);
+    extractSingleFlight();
+    extractCacheable();
+    extractRetry();
+    extractHedge();
+    extractCircuitBreaker();
+    extractBulkhead();
+    extractRateLimit();
+    extractTimeout();
     builderUrl.addBaseUrl(builder.baseUrl);
     extractParametersInfo(builderBody, builderUrl, builderHeaders, builderReturn);
 
@@ -106,6 +149,115 @@ public class MethodInformation {
     return methodName;
   }
 
+  public boolean isStreaming() {
+    return streaming;
+  }
+
+  /** Returns true if the method is annotated with {@link EventStream @EventStream}. */
+  public boolean isEventStream() {
+    return eventStream;
+  }
+
+  public boolean isSingleFlight() {
+    return singleFlight;
+  }
+
+  /** Returns the {@link Cacheable @Cacheable} annotation of the method, or null if it has none. */
+  public Cacheable getCacheable() {
+    return cacheable;
+  }
+
+  /**
+   * Returns the {@link Retry @Retry} annotation of the method or, if it has none, of the
+   * interface. Null if the method is not retried.
+   */
+  public Retry getRetry() {
+    return retry;
+  }
+
+  /** Returns the exceptions retried, see {@link Retry#retryOn()}. */
+  public List<? extends TypeMirror> getRetryOn() {
+    return retryOn;
+  }
+
+  /** Returns the {@link Hedge @Hedge} annotation of the method, or null if it has none. */
+  public Hedge getHedge() {
+    return hedge;
+  }
+
+  /**
+   * Returns the {@link CircuitBreaker @CircuitBreaker} annotation of the method or, if it has
+   * none, of the interface. Null if the method has no circuit breaker.
+   */
+  public CircuitBreaker getCircuitBreaker() {
+    return circuitBreaker;
+  }
+
+  /**
+   * Returns the {@link Bulkhead @Bulkhead} annotation of the method or, if it has none, of the
+   * interface. Null if the method is not isolated.
+   */
+  public Bulkhead getBulkhead() {
+    return bulkhead;
+  }
+
+  /** Returns true if the method uses the lane of the interface, shared by all its methods. */
+  public boolean isInterfaceBulkhead() {
+    return interfaceBulkhead;
+  }
+
+  /**
+   * Returns the {@link RateLimit @RateLimit} annotation of the method or, if it has none, of the
+   * interface. Null if the rate of the method is not limited.
+   */
+  public RateLimit getRateLimit() {
+    return rateLimit;
+  }
+
+  /** Returns true if the method uses the rate limit of the interface, shared by all its methods. */
+  public boolean isInterfaceRateLimit() {
+    return interfaceRateLimit;
+  }
+
+  /**
+   * Returns the {@link Timeout @Timeout} annotation of the method or, if it has none, of the
+   * interface. Null if the method uses the timeouts of the HTTP client.
+   */
+  public Timeout getTimeout() {
+    return timeout;
+  }
+
+  /**
+   * Returns true if a method annotated with {@link com.ygmodesto.modernfit.annotations.Bulk @Bulk}
+   * or {@link com.ygmodesto.modernfit.annotations.BatchedBy @BatchedBy} calls the asynchronous
+   * version of this method.
+   */
+  public boolean isAsyncTarget() {
+    return asyncTarget;
+  }
+
+  void setAsyncTarget() {
+    this.asyncTarget = true;
+  }
+
+  /**
+   * Returns the information of the
+   * {@link com.ygmodesto.modernfit.annotations.BatchedBy @BatchedBy} annotation of the method, or
+   * null if it has none.
+   */
+  public BatchedByInformation getBatchedByInformation() {
+    return batchedByInformation;
+  }
+
+  void setBatchedByInformation(BatchedByInformation batchedByInformation) {
+    this.batchedByInformation = batchedByInformation;
+  }
+
+  /** Returns the parameters annotated with {@link Tag @Tag}. */
+  public List<VariableElement> getTags() {
+    return tags;
+  }
+
   public HttpMethod getHttpMethod() {
     return httpMethod;
   }
@@ -201,6 +353,166 @@ public class MethodInformation {
     }
   }
 
+  private void extractSingleFlight() throws ModernfitProcessorException {
+
+    if (executableElement.getAnnotation(SingleFlight.class) != null) {
+      if (httpMethod != HttpMethod.GET) {
+        throw new ModernfitProcessorException(
+            "@SingleFlight can only be used in GET methods", executableElement);
+      }
+      singleFlight = true;
+    } else {
+      singleFlight = httpMethod == HttpMethod.GET
+          && executableElement.getEnclosingElement().getAnnotation(SingleFlight.class) != null;
+    }
+  }
+
+  private void extractCacheable() throws ModernfitProcessorException {
+
+    cacheable = executableElement.getAnnotation(Cacheable.class);
+    if (cacheable == null) {
+      return;
+    }
+    if (cacheable.ttl() <= 0 || cacheable.staleWhileRevalidate() < 0) {
+      throw new ModernfitProcessorException(
+          "@Cacheable ttl must be greater than 0", executableElement);
+    }
+    if (cacheable.maxEntries() <= 0) {
+      throw new ModernfitProcessorException(
+          "@Cacheable maxEntries must be greater than 0", executableElement);
+    }
+    if (streaming) {
+      throw new ModernfitProcessorException(
+          "@Cacheable not supported together with @Streaming", executableElement);
+    }
+  }
+
+  private void extractRetry() throws ModernfitProcessorException {
+
+    retry = executableElement.getAnnotation(Retry.class);
+    if (retry != null) {
+      if (retry.idempotentOnly() && !httpMethod.isIdempotent()) {
+        throw new ModernfitProcessorException(
+            "@Retry in non idempotent methods needs idempotentOnly = false", executableElement);
+      }
+    } else {
+      retry = executableElement.getEnclosingElement().getAnnotation(Retry.class);
+      if (retry == null || (retry.idempotentOnly() && !httpMethod.isIdempotent())) {
+        retry = null;
+        return;
+      }
+    }
+    if (retry.maxAttempts() <= 0) {
+      throw new ModernfitProcessorException(
+          "@Retry maxAttempts must be greater than 0", executableElement);
+    }
+    if (retry.backoff() < 0 || retry.maxBackoff() < retry.backoff()) {
+      throw new ModernfitProcessorException(
+          "@Retry backoff must be between 0 and maxBackoff", executableElement);
+    }
+    try {
+      retry.retryOn();
+    } catch (MirroredTypesException mte) {
+      retryOn = mte.getTypeMirrors();
+    }
+  }
+
+  private void extractHedge() throws ModernfitProcessorException {
+
+    hedge = executableElement.getAnnotation(Hedge.class);
+    if (hedge == null) {
+      return;
+    }
+    if (!httpMethod.isIdempotent()) {
+      throw new ModernfitProcessorException(
+          "@Hedge can only be used in idempotent methods", executableElement);
+    }
+    if (streaming) {
+      throw new ModernfitProcessorException(
+          "@Hedge not supported together with @Streaming", executableElement);
+    }
+    if (hedge.maxHedges() <= 0) {
+      throw new ModernfitProcessorException(
+          "@Hedge maxHedges must be greater than 0", executableElement);
+    }
+    if (hedge.delay() < 0 || hedge.percentile() <= 0 || hedge.percentile() >= 100) {
+      throw new ModernfitProcessorException(
+          "@Hedge needs a delay not negative and a percentile between 0 and 100",
+          executableElement);
+    }
+  }
+
+  private void extractCircuitBreaker() throws ModernfitProcessorException {
+
+    circuitBreaker = executableElement.getAnnotation(CircuitBreaker.class);
+    if (circuitBreaker == null) {
+      circuitBreaker = executableElement.getEnclosingElement().getAnnotation(CircuitBreaker.class);
+    }
+    if (circuitBreaker == null) {
+      return;
+    }
+    if (circuitBreaker.failureRateThreshold() <= 0 || circuitBreaker.failureRateThreshold() > 100
+        || circuitBreaker.slowCallRateThreshold() <= 0
+        || circuitBreaker.slowCallRateThreshold() > 100) {
+      throw new ModernfitProcessorException(
+          "@CircuitBreaker thresholds must be between 0 and 100", executableElement);
+    }
+    if (circuitBreaker.windowSize() <= 0 || circuitBreaker.minimumCalls() <= 0
+        || circuitBreaker.halfOpenCalls() <= 0) {
+      throw new ModernfitProcessorException(
+          "@CircuitBreaker windowSize, minimumCalls and halfOpenCalls must be greater than 0",
+          executableElement);
+    }
+  }
+
+  private void extractBulkhead() throws ModernfitProcessorException {
+
+    bulkhead = executableElement.getAnnotation(Bulkhead.class);
+    if (bulkhead == null) {
+      bulkhead = executableElement.getEnclosingElement().getAnnotation(Bulkhead.class);
+      interfaceBulkhead = bulkhead != null;
+    }
+    if (bulkhead == null) {
+      return;
+    }
+    if (bulkhead.maxConcurrentCalls() <= 0 || bulkhead.maxQueueDepth() < 0) {
+      throw new ModernfitProcessorException(
+          "@Bulkhead maxConcurrentCalls must be greater than 0 and maxQueueDepth not negative",
+          executableElement);
+    }
+  }
+
+  private void extractRateLimit() throws ModernfitProcessorException {
+
+    rateLimit = executableElement.getAnnotation(RateLimit.class);
+    if (rateLimit == null) {
+      rateLimit = executableElement.getEnclosingElement().getAnnotation(RateLimit.class);
+      interfaceRateLimit = rateLimit != null;
+    }
+    if (rateLimit == null) {
+      return;
+    }
+    if (rateLimit.permits() <= 0 || rateLimit.per() <= 0) {
+      throw new ModernfitProcessorException(
+          "@RateLimit permits and per must be greater than 0", executableElement);
+    }
+  }
+
+  private void extractTimeout() throws ModernfitProcessorException {
+
+    timeout = executableElement.getAnnotation(Timeout.class);
+    if (timeout == null) {
+      timeout = executableElement.getEnclosingElement().getAnnotation(Timeout.class);
+    }
+    if (timeout == null) {
+      return;
+    }
+    if (timeout.connect() < 0 || timeout.read() < 0 || timeout.call() < 0) {
+      throw new ModernfitProcessorException(
+          "@Timeout values must not be negative", executableElement);
+    }
+  }
+
   private boolean notNullNotProcessYet(
       Object annotation, HttpMethod annotationHttpMethod, HttpMethod httpMethod)
       throws ModernfitProcessorException {
@@ -262,7 +574,10 @@ public class MethodInformation {
         builderBody.addPartMap(va);
       } else if (va.getAnnotation(Url.class) != null) {
         builderUrl.addParameterUrl(va);
-      } else if (utils.isSubtype(va.asType(), ResponseCallback.class)) {
+      } else if (va.getAnnotation(Tag.class) != null) {
+        tags.add(va);
+      } else if (utils.isSubtype(va.asType(), ResponseCallback.class)
+          || utils.isSubtype(va.asType(), EventCallback.class)) {
         builderReturn.addCallback(va);
       }
     }
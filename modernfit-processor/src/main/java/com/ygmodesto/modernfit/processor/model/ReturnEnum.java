@@ -5,6 +5,6 @@ package com.ygmodesto.modernfit.processor.model;
  */
 public enum ReturnEnum {
   
-  OBJECT, RXJAVA2, RXJAVA3, CALLBACK
+  OBJECT, RXJAVA2, RXJAVA3, REACTOR, CALLBACK, FUTURE, ITERATOR, STREAM
   
 }
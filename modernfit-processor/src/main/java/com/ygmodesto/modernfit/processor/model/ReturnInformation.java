@@ -18,29 +18,54 @@ package com.ygmodesto.modernfit.processor.model;
 
 import com.ygmodesto.modernfit.processor.ModernfitProcessorException;
 import com.ygmodesto.modernfit.processor.Utils;
+import com.ygmodesto.modernfit.services.Cancellable;
+import com.ygmodesto.modernfit.services.ElementIterator;
+import com.ygmodesto.modernfit.services.EventCallback;
 import com.ygmodesto.modernfit.services.HttpInfo;
+import com.ygmodesto.modernfit.services.ResponseContent;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.Single;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Stream;
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.TypeMirror;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * It defines all the information necessary to define how the response of an HTTP request 
  * will be returned in the generated method.
  * 
- * <p>It can be in four ways:
+ * <p>It can be in these ways:
  * <ul>
  * <li>Object in return</li>
  * <li>RxJava2 in return</li>
  * <li>RxJava3 in return</li>
+ * <li>Reactor Mono or Flux, or a Java 9 Flow.Publisher, in return</li>
+ * <li>CompletableFuture or CompletionStage in return</li>
+ * <li>Iterator or Stream in return</li>
  * <li>Through a Callback that is passed as a parameter</li>
  * </ul>
+ *
+ * <p>The elements of the response are decoded one at a time for Iterator, Stream, the RxJava
+ * Flowable and Observable, and the Reactor Flux and Flow.Publisher, unless the elements are a
+ * scalar, an HttpInfo or a collection, in which case the whole response is its only element.
+ *
+ * <p>The methods annotated with
+ * {@link com.ygmodesto.modernfit.annotations.EventStream @EventStream} receive each Server-Sent
+ * Event as an element of a Flowable or an Observable, or through an
+ * {@link EventCallback EventCallback}.
  */
 public class ReturnInformation {
 
+  public static final String FLOW_PUBLISHER_NAME = "java.util.concurrent.Flow.Publisher";
+
   private Utils utils = Utils.getInstance();
 
   private MethodInformation methodInformation;
@@ -52,6 +77,8 @@ public class ReturnInformation {
   private TypeMirror returnBodyType;
   
   private boolean httpInfo = false;
+  private boolean elementStreaming = false;
+  private boolean eventStream = false;
 
 
   private ReturnInformation(Builder builder) throws ModernfitProcessorException {
@@ -88,6 +115,11 @@ public class ReturnInformation {
     return callback != null;
   }
 
+  /** Returns true if an asynchronous method returns its callback as a cancellable handle. */
+  public boolean isCancellable() {
+    return callback != null && utils.isSameTypeByClassName(returnType, Cancellable.class);
+  }
+
   public boolean isRxJava2() {
     return returnEnum == ReturnEnum.RXJAVA2;
   }
@@ -95,11 +127,43 @@ public class ReturnInformation {
   public boolean isRxJava3() {
     return returnEnum == ReturnEnum.RXJAVA3;
   }
+
+  /** Returns true if the method returns a Mono, a Flux or a Flow.Publisher. */
+  public boolean isReactor() {
+    return returnEnum == ReturnEnum.REACTOR;
+  }
+
+  public boolean isFuture() {
+    return returnEnum == ReturnEnum.FUTURE;
+  }
   
+  public boolean isIterator() {
+    return returnEnum == ReturnEnum.ITERATOR;
+  }
+
+  public boolean isStream() {
+    return returnEnum == ReturnEnum.STREAM;
+  }
+
   public boolean isHttpInfo() {
     return httpInfo;
   }
 
+  /** Returns true if the elements of the response are decoded one at a time. */
+  public boolean isElementStreaming() {
+    return elementStreaming;
+  }
+
+  /** Returns true if the events of a stream of Server-Sent Events are the elements. */
+  public boolean isEventStream() {
+    return eventStream;
+  }
+
+  /** Returns true if the callback parameter receives Server-Sent Events. */
+  public boolean isEventCallback() {
+    return callback != null && utils.isSubtype(callback.asType(), EventCallback.class);
+  }
+
   private void build(VariableElement callback, TypeMirror returnType) {
 
     if (callback != null) {
@@ -123,6 +187,22 @@ public class ReturnInformation {
         || utils.isSameGenericTypeByClassName(returnType, Observable.class)) {
       returnEnum = ReturnEnum.RXJAVA3;
       returnBodyType = utils.getFirstTypeArgument(returnType);
+    } else if (utils.isSameGenericTypeByClassName(returnType, Mono.class)
+        || utils.isSameGenericTypeByClassName(returnType, Flux.class)
+        || utils.isSameGenericTypeByClassName(returnType, FLOW_PUBLISHER_NAME)) {
+      returnEnum = ReturnEnum.REACTOR;
+      returnBodyType = utils.getFirstTypeArgument(returnType);
+    } else if (utils.isSameGenericTypeByClassName(returnType, CompletableFuture.class)
+        || utils.isSameGenericTypeByClassName(returnType, CompletionStage.class)) {
+      returnEnum = ReturnEnum.FUTURE;
+      returnBodyType = utils.getFirstTypeArgument(returnType);
+    } else if (utils.isSameGenericTypeByClassName(returnType, Iterator.class)
+        || utils.isSameGenericTypeByClassName(returnType, ElementIterator.class)) {
+      returnEnum = ReturnEnum.ITERATOR;
+      returnBodyType = utils.getFirstTypeArgument(returnType);
+    } else if (utils.isSameGenericTypeByClassName(returnType, Stream.class)) {
+      returnEnum = ReturnEnum.STREAM;
+      returnBodyType = utils.getFirstTypeArgument(returnType);
     } else {
       returnEnum = ReturnEnum.OBJECT;
       returnBodyType = returnType;
@@ -132,12 +212,76 @@ public class ReturnInformation {
     if (httpInfo) {
       returnBodyType = utils.getFirstTypeArgument(returnBodyType);
     }
+
+    eventStream = methodInformation.isEventStream();
+    elementStreaming = returnEnum == ReturnEnum.ITERATOR
+        || returnEnum == ReturnEnum.STREAM
+        || ((isRxElements(returnType) || isReactorElements(returnType)) && !httpInfo && !eventStream
+            && !isWholeResponseElement(returnBodyType));
+  }
+
+  private boolean isRxElements(TypeMirror returnType) {
+    return utils.isSameGenericTypeByClassName(returnType, io.reactivex.Flowable.class)
+        || utils.isSameGenericTypeByClassName(returnType, io.reactivex.Observable.class)
+        || utils.isSameGenericTypeByClassName(returnType, Flowable.class)
+        || utils.isSameGenericTypeByClassName(returnType, Observable.class);
+  }
+
+  private boolean isReactorElements(TypeMirror returnType) {
+    return utils.isSameGenericTypeByClassName(returnType, Flux.class)
+        || utils.isSameGenericTypeByClassName(returnType, FLOW_PUBLISHER_NAME);
+  }
+
+  private boolean isWholeResponseElement(TypeMirror bodyType) {
+    return utils.isArrayType(bodyType)
+        || utils.isSubtype(bodyType, Iterable.class)
+        || utils.isSubtype(bodyType, Map.class)
+        || utils.isAnyType(bodyType, ResponseContent.class, String.class, Boolean.class,
+            Byte.class, Character.class, Double.class, Float.class, Integer.class, Long.class,
+            Short.class, Void.class);
   }
 
   private void validate() throws ModernfitProcessorException {
-    if ((returnEnum == ReturnEnum.CALLBACK) && !utils.isVoid(returnType)) {
+    if ((returnEnum == ReturnEnum.CALLBACK) && !utils.isVoid(returnType) && !isCancellable()) {
+      throw new ModernfitProcessorException(
+          "Async with Callback need void or Cancellable in method return",
+          methodInformation.getExecutableElement());
+    }
+    if (methodInformation.isStreaming()
+        && (utils.isVoid(returnBodyType)
+            || utils.isSameTypeByClassName(returnBodyType, Void.class)
+            || utils.isSameTypeByClassName(returnBodyType, io.reactivex.Completable.class)
+            || utils.isSameTypeByClassName(returnBodyType, Completable.class))) {
+      throw new ModernfitProcessorException(
+          "@Streaming need a response body in method return",
+          methodInformation.getExecutableElement());
+    }
+    if ((returnEnum == ReturnEnum.ITERATOR || returnEnum == ReturnEnum.STREAM)
+        && (httpInfo || utils.isSameTypeByClassName(returnBodyType, Void.class))) {
+      throw new ModernfitProcessorException(
+          "Iterator and Stream need the type of the elements in method return",
+          methodInformation.getExecutableElement());
+    }
+    if (isEventCallback() && !eventStream) {
+      throw new ModernfitProcessorException(
+          "EventCallback needs @EventStream in method",
+          methodInformation.getExecutableElement());
+    }
+    if (eventStream
+        && ((!isEventCallback() && !isRxElements(returnType))
+            || httpInfo
+            || utils.isSameTypeByClassName(returnBodyType, Void.class))) {
+      throw new ModernfitProcessorException(
+          "@EventStream needs a Flowable, an Observable or an EventCallback of the type of the "
+              + "events",
+          methodInformation.getExecutableElement());
+    }
+    if (methodInformation.getCacheable() != null
+        && (returnEnum != ReturnEnum.OBJECT
+            || utils.isVoid(returnBodyType)
+            || utils.isSameTypeByClassName(returnBodyType, Void.class))) {
       throw new ModernfitProcessorException(
-          "Async with Callback need void in method return",
+          "@Cacheable can only be used in synchronous methods with a response body",
           methodInformation.getExecutableElement());
     }
   }
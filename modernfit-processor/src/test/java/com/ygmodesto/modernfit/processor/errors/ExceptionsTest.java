@@ -223,7 +223,115 @@ public class ExceptionsTest {
 		hadErrorContainingMatch(			
 				"@GET(\"http://localhost:8080/api\") \n" +
 				"String getValue(ResponseCallback<String> reponseCallback);",
-				"Async with Callback need void in method return");
+				"Async with Callback need void or Cancellable in method return");
+	}
+
+	@Test
+	public void streamingWithoutResponseBodyTest() throws IOException {
+
+		hadErrorContainingMatch(
+				"@com.ygmodesto.modernfit.annotations.Streaming @GET(\"http://localhost:8080/api\") \n" +
+				"void getValue();",
+				"@Streaming need a response body in method return");
+	}
+
+	@Test
+	public void singleFlightNotGetTest() throws IOException {
+
+		hadErrorContainingMatch(
+				"@com.ygmodesto.modernfit.annotations.SingleFlight @POST(\"http://localhost:8080/api\") \n" +
+				"String postValue(@Body ModelTO modelTO);",
+				"@SingleFlight can only be used in GET methods");
+	}
+
+	@Test
+	public void cacheableVoidTest() throws IOException {
+
+		hadErrorContainingMatch(
+				"@com.ygmodesto.modernfit.annotations.Cacheable(ttl = 60) @GET(\"http://localhost:8080/api\") \n" +
+				"void getValue();",
+				"@Cacheable can only be used in synchronous methods with a response body");
+	}
+
+	@Test
+	public void retryNotIdempotentTest() throws IOException {
+
+		hadErrorContainingMatch(
+				"@com.ygmodesto.modernfit.annotations.Retry @POST(\"http://localhost:8080/api\") \n" +
+				"String postValue(@Body ModelTO modelTO);",
+				"@Retry in non idempotent methods needs idempotentOnly = false");
+	}
+
+	@Test
+	public void hedgeNotIdempotentTest() throws IOException {
+
+		hadErrorContainingMatch(
+				"@com.ygmodesto.modernfit.annotations.Hedge @POST(\"http://localhost:8080/api\") \n" +
+				"String postValue(@Body ModelTO modelTO);",
+				"@Hedge can only be used in idempotent methods");
+	}
+
+	@Test
+	public void circuitBreakerThresholdTest() throws IOException {
+
+		hadErrorContainingMatch(
+				"@com.ygmodesto.modernfit.annotations.CircuitBreaker(failureRateThreshold = 0) @GET(\"http://localhost:8080/api\") \n" +
+				"String getValue();",
+				"@CircuitBreaker thresholds must be between 0 and 100");
+	}
+
+	@Test
+	public void bulkheadLimitsTest() throws IOException {
+
+		hadErrorContainingMatch(
+				"@com.ygmodesto.modernfit.annotations.Bulkhead(maxConcurrentCalls = 0) @GET(\"http://localhost:8080/api\") \n" +
+				"String getValue();",
+				"@Bulkhead maxConcurrentCalls must be greater than 0");
+	}
+
+	@Test
+	public void rateLimitPermitsTest() throws IOException {
+
+		hadErrorContainingMatch(
+				"@com.ygmodesto.modernfit.annotations.RateLimit(permits = 0) @GET(\"http://localhost:8080/api\") \n" +
+				"String getValue();",
+				"@RateLimit permits and per must be greater than 0");
+	}
+
+	@Test
+	public void timeoutNegativeTest() throws IOException {
+
+		hadErrorContainingMatch(
+				"@com.ygmodesto.modernfit.annotations.Timeout(read = -1) @GET(\"http://localhost:8080/api\") \n" +
+				"String getValue();",
+				"@Timeout values must not be negative");
+	}
+
+	@Test
+	public void iteratorWithHttpInfoTest() throws IOException {
+
+		hadErrorContainingMatch(
+				"@GET(\"http://localhost:8080/api\") \n" +
+				"java.util.Iterator<com.ygmodesto.modernfit.services.HttpInfo<String>> getValues();",
+				"Iterator and Stream need the type of the elements in method return");
+	}
+
+	@Test
+	public void eventStreamWithoutRxOrCallbackTest() throws IOException {
+
+		hadErrorContainingMatch(
+				"@com.ygmodesto.modernfit.annotations.EventStream @GET(\"http://localhost:8080/api\") \n" +
+				"java.util.Iterator<String> getValues();",
+				"@EventStream needs a Flowable, an Observable or an EventCallback");
+	}
+
+	@Test
+	public void eventCallbackWithoutEventStreamTest() throws IOException {
+
+		hadErrorContainingMatch(
+				"@GET(\"http://localhost:8080/api\") \n" +
+				"void getValues(com.ygmodesto.modernfit.services.EventCallback<String> callback);",
+				"EventCallback needs @EventStream in method");
 	}
 
 	@Test
@@ -306,6 +414,44 @@ public class ExceptionsTest {
 				"String getValue();",
 				"@PUT and @POST founds, method can only contains one");
 	}
+
+	@Test
+	public void bulkWithoutTargetTest() throws IOException {
+
+		hadErrorContainingMatch(
+				"@com.ygmodesto.modernfit.annotations.Bulk(\"getValue\") \n" +
+				"java.util.List<String> getValues(Iterable<Long> ids, int parallelism);",
+				"@Bulk needs a method getValue with a single parameter");
+	}
+
+	@Test
+	public void bulkWithoutParallelismTest() throws IOException {
+
+		hadErrorContainingMatch(
+				"@com.ygmodesto.modernfit.annotations.Bulk(\"getValue\") \n" +
+				"java.util.List<String> getValues(Iterable<Long> ids);\n" +
+				"@GET(\"http://localhost:8080/api/{id}\") String getValue(@Path Long id);",
+				"@Bulk needs the parameters (Iterable<K> keys, int parallelism)");
+	}
+
+	@Test
+	public void batchedByWithoutBatchMethodTest() throws IOException {
+
+		hadErrorContainingMatch(
+				"@com.ygmodesto.modernfit.annotations.BatchedBy(\"getValues\") @GET(\"http://localhost:8080/api/{id}\") \n" +
+				"String getValue(@Path Long id);",
+				"@BatchedBy needs a method getValues with a single parameter");
+	}
+
+	@Test
+	public void batchedByWrongBatchReturnTest() throws IOException {
+
+		hadErrorContainingMatch(
+				"@com.ygmodesto.modernfit.annotations.BatchedBy(\"getValues\") @GET(\"http://localhost:8080/api/{id}\") \n" +
+				"String getValue(@Path Long id);\n" +
+				"@POST(\"http://localhost:8080/api\") java.util.List<Long> getValues(@Body java.util.List<Long> ids);",
+				"@BatchedBy needs getValues to return a List<V> or a Map<K, V>");
+	}
 	
 	
 	
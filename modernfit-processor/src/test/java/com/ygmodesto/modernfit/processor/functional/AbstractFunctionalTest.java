@@ -18,6 +18,10 @@ package com.ygmodesto.modernfit.processor.functional;
 
 import com.ygmodesto.modernfit.processor.ModernfitProcessor;
 import com.ygmodesto.modernfit.processor.server.SpringBootTestServer;
+import com.ygmodesto.modernfit.services.HttpClient;
+import com.ygmodesto.modernfit.services.HttpInfo;
+import com.ygmodesto.modernfit.services.HttpResponseCallback;
+import com.ygmodesto.modernfit.services.ModernfitException;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
@@ -27,6 +31,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.tools.Diagnostic;
@@ -78,7 +83,18 @@ public abstract class AbstractFunctionalTest {
     return util(clazz, clazz, implSuffix);
   }
 
+  protected static <T> T util(Class<T> clazz, String implSuffix, HttpClient httpClient)
+      throws Exception {
+    return util(clazz, clazz, implSuffix, httpClient);
+  }
+
   protected static <T> T util(Class<?> sourceFile, Class<T> clazz, String implSuffix) throws Exception {
+    return util(sourceFile, clazz, implSuffix, null);
+  }
+
+  protected static <T> T util(
+      Class<?> sourceFile, Class<T> clazz, String implSuffix, HttpClient httpClient)
+      throws Exception {
 
     Collection<JavaFileObject> inputs = new ArrayList<JavaFileObject>();
     JavaFileObject javaFileObject =
@@ -114,6 +130,52 @@ public abstract class AbstractFunctionalTest {
 
     Method builderMethod = implClass.getMethod("builder");
     Method buildMethod = builderClass.getMethod("build");
-    return clazz.cast(buildMethod.invoke(builderMethod.invoke(null)));
+    Object builder = builderMethod.invoke(null);
+    if (httpClient != null) {
+      builderClass.getMethod("addHttpClient", HttpClient.class).invoke(builder, httpClient);
+    }
+    return clazz.cast(buildMethod.invoke(builder));
+  }
+
+  /**
+   * Callback that stores the body of the response or the exception, and the name of the thread it
+   * was notified on, before counting down the latch.
+   */
+  protected static class RecordingCallback<T> extends HttpResponseCallback<T> {
+
+    private final CountDownLatch latch;
+    private volatile T body;
+    private volatile ModernfitException exception;
+    private volatile String threadName;
+
+    public RecordingCallback(CountDownLatch latch) {
+      this.latch = latch;
+    }
+
+    @Override
+    public void onSuccess(HttpInfo<T> httpInfo) {
+      body = httpInfo.getBody();
+      threadName = Thread.currentThread().getName();
+      latch.countDown();
+    }
+
+    @Override
+    public void onFailure(ModernfitException e) {
+      exception = e;
+      threadName = Thread.currentThread().getName();
+      latch.countDown();
+    }
+
+    public T getBody() {
+      return body;
+    }
+
+    public ModernfitException getException() {
+      return exception;
+    }
+
+    public String getThreadName() {
+      return threadName;
+    }
   }
 }
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.functional;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.ygmodesto.modernfit.processor.repository.AdaptiveConcurrencyEchoResponseRepository;
+import com.ygmodesto.modernfit.processor.server.EchoResponse;
+import com.ygmodesto.modernfit.services.AdaptiveConcurrencyHttpClient;
+import com.ygmodesto.modernfit.services.AdaptiveLimitPolicy;
+import com.ygmodesto.modernfit.services.ClientOkHttp;
+import com.ygmodesto.modernfit.services.ConcurrencyLimitExceededException;
+import com.ygmodesto.modernfit.services.Deadline;
+import com.ygmodesto.modernfit.services.HttpResponseCallback;
+import com.ygmodesto.modernfit.services.ModernfitException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class AdaptiveConcurrencyEchoResponseServerTest extends AbstractFunctionalTest {
+
+  private static final String ORIGIN = "http://localhost:8080";
+
+  private AdaptiveConcurrencyHttpClient adaptiveConcurrencyHttpClient;
+  private AdaptiveConcurrencyEchoResponseRepository adaptiveConcurrencyEchoResponseRepository;
+
+  @Test
+  public void rejectsOverLimitTest() throws Exception {
+
+    setUp(AdaptiveLimitPolicy.builder().setLimits(1, 1, 1).build());
+    CountDownLatch latch = new CountDownLatch(1);
+    RecordingCallback<EchoResponse> callback = new RecordingCallback<>(latch);
+    adaptiveConcurrencyEchoResponseRepository.getDelayedEcho(300L, callback);
+
+    try {
+      adaptiveConcurrencyEchoResponseRepository.getDelayedEcho(0L);
+      throw new AssertionError("Expected ConcurrencyLimitExceededException");
+    } catch (ConcurrencyLimitExceededException e) {
+      assertThat(e).hasMessageThat().contains("Concurrency limit of 1 exceeded");
+    }
+    assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(callback.getException()).isNull();
+    assertThat(adaptiveConcurrencyHttpClient.getInFlight(ORIGIN)).isEqualTo(0);
+  }
+
+  @Test
+  public void queuesOverLimitTest() throws Exception {
+
+    setUp(AdaptiveLimitPolicy.builder().setLimits(1, 1, 1).setMaxQueueDepth(2).build());
+    CountDownLatch latch = new CountDownLatch(3);
+    long start = System.nanoTime();
+    List<RecordingCallback<EchoResponse>> callbacks = getDelayedEcho(150L, latch);
+
+    assertThat(adaptiveConcurrencyHttpClient.getQueued(ORIGIN)).isEqualTo(2);
+    assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    assertNoException(callbacks);
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isAtLeast(450L);
+    assertThat(adaptiveConcurrencyHttpClient.getQueued(ORIGIN)).isEqualTo(0);
+  }
+
+  @Test
+  public void cancelDispatchedWaiterTest() throws Exception {
+
+    setUp(AdaptiveLimitPolicy.builder().setLimits(1, 1, 1).setMaxQueueDepth(1).build());
+    CountDownLatch first = new CountDownLatch(1);
+    adaptiveConcurrencyEchoResponseRepository.getDelayedEcho(100L, new RecordingCallback<>(first));
+    CountDownLatch second = new CountDownLatch(1);
+    RecordingCallback<EchoResponse> waiting = new RecordingCallback<>(second);
+    adaptiveConcurrencyEchoResponseRepository.getDelayedEcho(3000L, waiting);
+
+    assertThat(first.await(5, TimeUnit.SECONDS)).isTrue();
+    Thread.sleep(200);
+    waiting.cancel();
+
+    // Once dispatched, the call is cancelled in the underlying client and returns its permit.
+    assertThat(second.await(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(waiting.getException()).isNotNull();
+    assertThat(adaptiveConcurrencyHttpClient.getInFlight(ORIGIN)).isEqualTo(0);
+    assertThat(adaptiveConcurrencyHttpClient.getQueued(ORIGIN)).isEqualTo(0);
+  }
+
+  @Test
+  public void slowDeadlineCallbackDoesNotDelayOthersTest() throws Exception {
+
+    setUp(AdaptiveLimitPolicy.builder().setLimits(1, 1, 1).setMaxQueueDepth(2).build());
+    CountDownLatch first = new CountDownLatch(1);
+    adaptiveConcurrencyEchoResponseRepository.getDelayedEcho(1000L, new RecordingCallback<>(first));
+    CountDownLatch slowFailed = new CountDownLatch(1);
+    CountDownLatch failed = new CountDownLatch(1);
+    try (Deadline.Scope scope = Deadline.attach(Deadline.after(200, TimeUnit.MILLISECONDS))) {
+      adaptiveConcurrencyEchoResponseRepository.getDelayedEcho(0L,
+          new HttpResponseCallback<EchoResponse>() {
+
+            @Override
+            public void onFailure(ModernfitException e) {
+              slowFailed.countDown();
+              sleep(2000L);
+            }
+          });
+      adaptiveConcurrencyEchoResponseRepository.getDelayedEcho(0L, new RecordingCallback<>(failed));
+    }
+
+    // Both deadlines pass together, the slow callback of one does not hold back the other.
+    assertThat(slowFailed.await(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(failed.await(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(first.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  public void growsWhenFastTest() throws Exception {
+
+    setUp(AdaptiveLimitPolicy.builder().setLimits(2, 1, 50).build());
+
+    adaptiveConcurrencyEchoResponseRepository.getDelayedEcho(0L);
+
+    assertThat(adaptiveConcurrencyHttpClient.getLimit(ORIGIN)).isGreaterThan(2);
+  }
+
+  @Test
+  public void shrinksOnFailuresTest() throws Exception {
+
+    setUp(AdaptiveLimitPolicy.builder().setLimits(20, 1, 20).build());
+
+    for (int i = 0; i < 5; i++) {
+      assertThat(adaptiveConcurrencyEchoResponseRepository.getStatus(503).getCode())
+          .isEqualTo(503);
+    }
+
+    assertThat(adaptiveConcurrencyHttpClient.getLimit(ORIGIN)).isLessThan(20);
+  }
+
+  @Test
+  public void shrinksWhenLatencyRisesTest() throws Exception {
+
+    setUp(AdaptiveLimitPolicy.builder().setLimits(20, 1, 20).setMaxQueueDepth(20).build());
+    adaptiveConcurrencyEchoResponseRepository.getDelayedEcho(0L);
+
+    CountDownLatch latch = new CountDownLatch(20);
+    List<RecordingCallback<EchoResponse>> callbacks = getDelayedEcho(200L, latch);
+
+    assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+    assertNoException(callbacks);
+    assertThat(adaptiveConcurrencyHttpClient.getLimit(ORIGIN)).isLessThan(20);
+  }
+
+  private void setUp(AdaptiveLimitPolicy policy) throws Exception {
+    adaptiveConcurrencyHttpClient =
+        AdaptiveConcurrencyHttpClient.create(ClientOkHttp.create(), policy);
+    adaptiveConcurrencyEchoResponseRepository = util(
+        AdaptiveConcurrencyEchoResponseRepository.class, "Impl", adaptiveConcurrencyHttpClient);
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** Makes as many asynchronous calls as the count of the latch. */
+  private List<RecordingCallback<EchoResponse>> getDelayedEcho(Long millis, CountDownLatch latch) {
+    List<RecordingCallback<EchoResponse>> callbacks = new ArrayList<>();
+    for (long i = 0; i < latch.getCount(); i++) {
+      RecordingCallback<EchoResponse> callback = new RecordingCallback<>(latch);
+      callbacks.add(callback);
+      adaptiveConcurrencyEchoResponseRepository.getDelayedEcho(millis, callback);
+    }
+    return callbacks;
+  }
+
+  private static void assertNoException(List<RecordingCallback<EchoResponse>> callbacks) {
+    for (RecordingCallback<EchoResponse> callback : callbacks) {
+      assertThat(callback.getException()).isNull();
+    }
+  }
+}
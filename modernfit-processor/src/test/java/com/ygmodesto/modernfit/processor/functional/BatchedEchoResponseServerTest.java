@@ -0,0 +1,140 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.functional;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.ygmodesto.modernfit.processor.repository.BatchedEchoResponseRepository;
+import com.ygmodesto.modernfit.processor.server.EchoResponse;
+import com.ygmodesto.modernfit.services.ClientOkHttp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class BatchedEchoResponseServerTest extends AbstractFunctionalTest {
+
+  private CountingHttpClient countingHttpClient;
+  private BatchedEchoResponseRepository batchedEchoResponseRepository;
+  private ExecutorService executorService;
+
+  @Before
+  public void setUp() throws Exception {
+    countingHttpClient = new CountingHttpClient(ClientOkHttp.create());
+    batchedEchoResponseRepository =
+        util(BatchedEchoResponseRepository.class, "Impl", countingHttpClient);
+    executorService = Executors.newFixedThreadPool(5);
+  }
+
+  @After
+  public void tearDown() {
+    executorService.shutdownNow();
+  }
+
+  @Test
+  public void concurrentCallsBatchedTest() throws Exception {
+
+    List<Future<EchoResponse>> responses = new ArrayList<>();
+    for (long barcode = 1000; barcode < 1005; barcode++) {
+      long key = barcode;
+      responses.add(executorService.submit(() -> batchedEchoResponseRepository.getProduct(key)));
+    }
+
+    for (int i = 0; i < responses.size(); i++) {
+      EchoResponse echoResponse = responses.get(i).get(5, TimeUnit.SECONDS);
+      assertThat(echoResponse.getUrl()).isEqualTo("/api/echo/" + (1000 + i));
+      assertThat(echoResponse.getMethod()).isEqualTo("POST");
+    }
+    assertThat(countingHttpClient.requests.get()).isEqualTo(1);
+    assertThat(countingHttpClient.lastRequestInfo.getUrl()).endsWith("/lookup/echo");
+  }
+
+  @Test
+  public void singleCallTest() throws Exception {
+
+    EchoResponse echoResponse = batchedEchoResponseRepository.getProduct(7L);
+
+    assertThat(echoResponse.getUrl()).isEqualTo("/api/echo/7");
+    assertThat(echoResponse.getMethod()).isEqualTo("GET");
+    assertThat(countingHttpClient.requests.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void maxBatchTest() throws Exception {
+
+    List<Long> barcodes = LongStream.range(0, 20).boxed().collect(Collectors.toList());
+
+    long start = System.nanoTime();
+    List<EchoResponse> responses = batchedEchoResponseRepository.getProductAll(barcodes, 20);
+    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    assertThat(responses.stream().map(EchoResponse::getUrl).collect(Collectors.toList()))
+        .containsExactlyElementsIn(
+            barcodes.stream().map(barcode -> "/api/echo/" + barcode).collect(Collectors.toList()))
+        .inOrder();
+    assertThat(countingHttpClient.requests.get()).isEqualTo(2);
+    assertThat(elapsed).isLessThan(2000L);
+  }
+
+  @Test
+  public void mapBatchTest() throws Exception {
+
+    CompletableFuture<EchoResponse> first = batchedEchoResponseRepository.findProduct(5);
+    CompletableFuture<EchoResponse> duplicated = batchedEchoResponseRepository.findProduct(5);
+    CompletableFuture<EchoResponse> second = batchedEchoResponseRepository.findProduct(6);
+    CompletableFuture<EchoResponse> missing = batchedEchoResponseRepository.findProduct(-1);
+
+    assertThat(first.get(5, TimeUnit.SECONDS).getUrl()).isEqualTo("/api/echo/5");
+    assertThat(duplicated.get(5, TimeUnit.SECONDS)).isSameInstanceAs(first.get());
+    assertThat(second.get(5, TimeUnit.SECONDS).getUrl()).isEqualTo("/api/echo/6");
+    assertThat(missing.get(5, TimeUnit.SECONDS)).isNull();
+    assertThat(countingHttpClient.requests.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void batchFailsAllCallsTest() throws Exception {
+
+    CompletableFuture<EchoResponse> first = batchedEchoResponseRepository.findFirstProduct(1L);
+    CompletableFuture<EchoResponse> second = batchedEchoResponseRepository.findFirstProduct(2L);
+
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+    assertThat(e).hasCauseThat().hasMessageThat().contains("1 values for 2 keys");
+    assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void batchMethodCalledDirectlyTest() throws Exception {
+
+    List<EchoResponse> responses = batchedEchoResponseRepository.lookupProducts(List.of(1L, 2L));
+
+    assertThat(responses).hasSize(2);
+    assertThat(responses.get(1).getUrl()).isEqualTo("/api/echo/2");
+  }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.functional;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.ygmodesto.modernfit.processor.repository.BulkEchoResponseRepository;
+import com.ygmodesto.modernfit.processor.server.EchoResponse;
+import com.ygmodesto.modernfit.services.BulkOutcome;
+import com.ygmodesto.modernfit.services.BulkResult;
+import com.ygmodesto.modernfit.services.ClientOkHttp;
+import com.ygmodesto.modernfit.services.ModernfitException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class BulkEchoResponseServerTest extends AbstractFunctionalTest {
+
+  private CountingHttpClient countingHttpClient;
+  private BulkEchoResponseRepository bulkEchoResponseRepository;
+
+  @Before
+  public void setUp() throws Exception {
+    countingHttpClient = new CountingHttpClient(ClientOkHttp.create());
+    bulkEchoResponseRepository =
+        util(BulkEchoResponseRepository.class, "Impl", countingHttpClient);
+  }
+
+  @Test
+  public void orderedResultsTest() throws Exception {
+
+    List<Long> barcodes = barcodes(20);
+
+    List<EchoResponse> responses = bulkEchoResponseRepository.getProductAll(barcodes, 4);
+
+    assertThat(responses).hasSize(20);
+    for (int i = 0; i < barcodes.size(); i++) {
+      assertThat(responses.get(i).getUrl()).endsWith("/echo/" + barcodes.get(i));
+    }
+    assertThat(countingHttpClient.requests.get()).isEqualTo(20);
+  }
+
+  @Test
+  public void emptyKeysTest() throws Exception {
+
+    assertThat(bulkEchoResponseRepository.getProductAll(Collections.emptyList(), 4)).isEmpty();
+    assertThat(countingHttpClient.requests.get()).isEqualTo(0);
+  }
+
+  @Test
+  public void futureResultsTest() throws Exception {
+
+    List<Long> barcodes = barcodes(10);
+
+    List<EchoResponse> responses =
+        bulkEchoResponseRepository.getProductAllFuture(barcodes, 3).get(5, TimeUnit.SECONDS);
+
+    assertThat(responses.stream().map(EchoResponse::getUrl).collect(Collectors.toList()))
+        .containsExactlyElementsIn(
+            barcodes.stream()
+                .map(barcode -> "/api/echo/" + barcode)
+                .collect(Collectors.toList()))
+        .inOrder();
+  }
+
+  @Test
+  public void manyKeysTest() throws Exception {
+
+    List<EchoResponse> responses = bulkEchoResponseRepository.getProductAll(barcodes(200), 16);
+
+    assertThat(responses).hasSize(200);
+    assertThat(responses.get(199).getUrl()).endsWith("/echo/1199");
+  }
+
+  @Test
+  public void boundedParallelismTest() throws Exception {
+
+    List<Long> millis = Collections.nCopies(6, 200L);
+
+    long start = System.nanoTime();
+    BulkResult<Long, EchoResponse> result = bulkEchoResponseRepository.getDelayedAll(millis, 2);
+    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    assertThat(result.isSuccess()).isTrue();
+    assertThat(result.getValues()).hasSize(6);
+    assertThat(elapsed).isAtLeast(550L);
+  }
+
+  @Test
+  public void concurrentCallsTest() throws Exception {
+
+    List<Long> millis = Collections.nCopies(6, 300L);
+
+    long start = System.nanoTime();
+    bulkEchoResponseRepository.getDelayedAll(millis, 6);
+    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    assertThat(elapsed).isLessThan(1200L);
+  }
+
+  @Test
+  public void invalidParallelismTest() throws Exception {
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> bulkEchoResponseRepository.getProductAll(barcodes(2), 0));
+  }
+
+  @Test
+  public void failFastTest() throws Exception {
+
+    assertThrows(
+        ModernfitException.class,
+        () -> bulkEchoResponseRepository.getScalarAll(Arrays.asList("long", "string", "long"), 1));
+    assertThat(countingHttpClient.requests.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void collectErrorsTest() throws Exception {
+
+    BulkResult<String, Long> result =
+        bulkEchoResponseRepository.getScalarResults(Arrays.asList("long", "string", "long"), 2);
+
+    assertThat(result.size()).isEqualTo(3);
+    assertThat(result.isSuccess()).isFalse();
+    assertThat(result.getFailures()).hasSize(1);
+    BulkOutcome<String, Long> failure = result.getFailures().get(0);
+    assertThat(failure.getIndex()).isEqualTo(1);
+    assertThat(failure.getKey()).isEqualTo("string");
+    assertThat(failure.getError()).isInstanceOf(ModernfitException.class);
+    assertThat(result.getOutcomes().get(0).getValue()).isEqualTo(5L);
+    assertThat(result.getOutcomes().get(2).getValue()).isEqualTo(5L);
+    assertThrows(ModernfitException.class, result::getValues);
+  }
+
+  @Test
+  public void completionsStreamTest() throws Exception {
+
+    List<Long> barcodes = barcodes(12);
+    List<Long> keys = new ArrayList<>();
+
+    try (Stream<BulkOutcome<Long, EchoResponse>> outcomes =
+        bulkEchoResponseRepository.getProductCompletions(barcodes, 3)) {
+      outcomes.forEach(
+          outcome -> {
+            assertThat(outcome.isSuccess()).isTrue();
+            assertThat(outcome.getValue().getUrl()).endsWith("/echo/" + outcome.getKey());
+            keys.add(outcome.getKey());
+          });
+    }
+
+    assertThat(keys).containsExactlyElementsIn(barcodes);
+  }
+
+  @Test
+  public void completionsStreamClosedEarlyTest() throws Exception {
+
+    try (Stream<BulkOutcome<Long, EchoResponse>> outcomes =
+        bulkEchoResponseRepository.getProductCompletions(barcodes(50), 2)) {
+      assertThat(outcomes.limit(3).count()).isEqualTo(3L);
+    }
+
+    assertThat(countingHttpClient.requests.get()).isLessThan(50);
+  }
+
+  private static List<Long> barcodes(int count) {
+    return LongStream.range(1000, 1000 + count).boxed().collect(Collectors.toList());
+  }
+}
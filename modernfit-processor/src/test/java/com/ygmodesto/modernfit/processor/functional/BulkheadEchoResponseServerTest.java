@@ -0,0 +1,150 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.functional;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.ygmodesto.modernfit.processor.repository.BulkheadEchoResponseRepository;
+import com.ygmodesto.modernfit.processor.server.EchoResponse;
+import com.ygmodesto.modernfit.services.BulkheadFullException;
+import com.ygmodesto.modernfit.services.ClientOkHttp;
+import com.ygmodesto.modernfit.services.ModernfitException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class BulkheadEchoResponseServerTest extends AbstractFunctionalTest {
+
+  private BulkheadEchoResponseRepository bulkheadEchoResponseRepository;
+
+  @Before
+  public void setUp() throws Exception {
+    bulkheadEchoResponseRepository =
+        util(BulkheadEchoResponseRepository.class, "Impl", ClientOkHttp.create());
+  }
+
+  @Test
+  public void queuedCallsCompleteTest() throws Exception {
+
+    CountDownLatch latch = new CountDownLatch(2);
+    RecordingCallback<EchoResponse> first = new RecordingCallback<>(latch);
+    RecordingCallback<EchoResponse> second = new RecordingCallback<>(latch);
+    long start = System.nanoTime();
+    bulkheadEchoResponseRepository.getDelayedEcho(200L, first);
+    bulkheadEchoResponseRepository.getDelayedEcho(200L, second);
+
+    assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(first.getThreadName()).startsWith("modernfit-bulkhead-");
+    assertThat(second.getThreadName()).startsWith("modernfit-bulkhead-");
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isAtLeast(400L);
+  }
+
+  @Test
+  public void sentCallCancelledTest() throws Exception {
+
+    CountDownLatch latch = new CountDownLatch(1);
+    RecordingCallback<EchoResponse> callback = new RecordingCallback<>(latch);
+    long start = System.nanoTime();
+    bulkheadEchoResponseRepository.getDelayedEcho(2000L, callback);
+    Thread.sleep(200);
+    callback.cancel();
+
+    // The request is cancelled in the underlying client and its place in the lane is released.
+    assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(callback.getException()).isInstanceOf(ModernfitException.class);
+    assertThat(bulkheadEchoResponseRepository.getDelayedEcho(0L).getMethod()).isEqualTo("GET");
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(2000L);
+  }
+
+  @Test
+  public void rejectsWhenFullTest() throws Exception {
+
+    CountDownLatch latch = new CountDownLatch(2);
+    RecordingCallback<EchoResponse> first = new RecordingCallback<>(latch);
+    RecordingCallback<EchoResponse> second = new RecordingCallback<>(latch);
+    bulkheadEchoResponseRepository.getDelayedEcho(300L, first);
+    bulkheadEchoResponseRepository.getDelayedEcho(300L, second);
+
+    assertFull(() -> bulkheadEchoResponseRepository.getDelayedEcho(0L));
+    assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(bulkheadEchoResponseRepository.getDelayedEcho(0L).getMethod()).isEqualTo("GET");
+  }
+
+  @Test
+  public void asyncRejectedTest() throws Exception {
+
+    CountDownLatch latch = new CountDownLatch(3);
+    RecordingCallback<EchoResponse> first = new RecordingCallback<>(latch);
+    RecordingCallback<EchoResponse> second = new RecordingCallback<>(latch);
+    RecordingCallback<EchoResponse> third = new RecordingCallback<>(latch);
+    bulkheadEchoResponseRepository.getDelayedEcho(300L, first);
+    bulkheadEchoResponseRepository.getDelayedEcho(300L, second);
+    bulkheadEchoResponseRepository.getDelayedEcho(0L, third);
+
+    assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(first.getException()).isNull();
+    assertThat(second.getException()).isNull();
+    assertThat(third.getException()).isInstanceOf(BulkheadFullException.class);
+  }
+
+  @Test
+  public void lanesIsolatedTest() throws Exception {
+
+    Thread upload = new Thread(() -> bulkheadEchoResponseRepository.getDelayedUpload(500L));
+    upload.start();
+    Thread.sleep(150);
+
+    assertFull(() -> bulkheadEchoResponseRepository.getUpload());
+    assertThat(bulkheadEchoResponseRepository.getEcho().getMethod()).isEqualTo("GET");
+    assertThat(bulkheadEchoResponseRepository.getDelayedEcho(0L).getMethod()).isEqualTo("GET");
+    upload.join();
+    assertThat(bulkheadEchoResponseRepository.getUpload().getMethod()).isEqualTo("GET");
+  }
+
+  @Test
+  public void asyncLanesToSameHostIsolatedTest() throws Exception {
+
+    // More slow calls than the underlying client runs at once to a host.
+    CountDownLatch bulkLatch = new CountDownLatch(6);
+    for (int i = 0; i < 6; i++) {
+      bulkheadEchoResponseRepository.getDelayedBulk(1500L, new RecordingCallback<>(bulkLatch));
+    }
+    Thread.sleep(200);
+
+    CountDownLatch rpcLatch = new CountDownLatch(1);
+    RecordingCallback<EchoResponse> rpc = new RecordingCallback<>(rpcLatch);
+    bulkheadEchoResponseRepository.getRpc(rpc);
+
+    // The call of the other lane completes while every slow call is still in flight.
+    assertThat(rpcLatch.await(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(bulkLatch.getCount()).isEqualTo(6L);
+    assertThat(rpc.getThreadName()).startsWith("modernfit-bulkhead-rpc-");
+    assertThat(bulkLatch.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  private static void assertFull(Runnable call) {
+    try {
+      call.run();
+      throw new AssertionError("Expected BulkheadFullException");
+    } catch (BulkheadFullException e) {
+      assertThat(e).hasMessageThat().contains("full");
+    }
+  }
+}
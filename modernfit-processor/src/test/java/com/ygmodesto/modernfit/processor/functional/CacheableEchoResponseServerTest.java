@@ -0,0 +1,143 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.functional;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.ygmodesto.modernfit.processor.repository.CacheableEchoResponseRepository;
+import com.ygmodesto.modernfit.processor.server.EchoResponse;
+import com.ygmodesto.modernfit.services.ClientOkHttp;
+import com.ygmodesto.modernfit.services.HttpInfo;
+import com.ygmodesto.modernfit.services.MethodCache;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class CacheableEchoResponseServerTest extends AbstractFunctionalTest {
+
+  private static CountingHttpClient countingHttpClient;
+  private static CacheableEchoResponseRepository cacheableEchoResponseRepository;
+
+  @BeforeClass
+  public static void setUp() throws Exception {
+    countingHttpClient = new CountingHttpClient(ClientOkHttp.create());
+    cacheableEchoResponseRepository =
+        util(CacheableEchoResponseRepository.class, "Impl", countingHttpClient);
+  }
+
+  @Before
+  public void resetCount() {
+    countingHttpClient.requests.set(0);
+  }
+
+  @Test
+  public void cachedTest() throws Exception {
+
+    EchoResponse first = cacheableEchoResponseRepository.getEcho(1L, new String[] {"a", "b"});
+    EchoResponse second = cacheableEchoResponseRepository.getEcho(1L, new String[] {"a", "b"});
+
+    assertThat(countingHttpClient.requests.get()).isEqualTo(1);
+    assertThat(second).isSameInstanceAs(first);
+  }
+
+  @Test
+  public void differentArgumentsNotCachedTest() throws Exception {
+
+    cacheableEchoResponseRepository.getEcho(2L, new String[] {"a"});
+    cacheableEchoResponseRepository.getEcho(2L, new String[] {"b"});
+    cacheableEchoResponseRepository.getEcho(3L, new String[] {"a"});
+
+    assertThat(countingHttpClient.requests.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void httpInfoCachedTest() throws Exception {
+
+    HttpInfo<EchoResponse> first = cacheableEchoResponseRepository.getEchoWithHttpInfo(1L);
+    HttpInfo<EchoResponse> second = cacheableEchoResponseRepository.getEchoWithHttpInfo(1L);
+
+    assertThat(countingHttpClient.requests.get()).isEqualTo(1);
+    assertThat(second.getCode()).isEqualTo(200);
+    assertThat(second).isSameInstanceAs(first);
+  }
+
+  @Test
+  public void maxEntriesTest() throws Exception {
+
+    cacheableEchoResponseRepository.getEchoSmallCache(1L);
+    cacheableEchoResponseRepository.getEchoSmallCache(2L);
+    cacheableEchoResponseRepository.getEchoSmallCache(3L);
+    assertThat(countingHttpClient.requests.get()).isEqualTo(3);
+
+    cacheableEchoResponseRepository.getEchoSmallCache(3L);
+    assertThat(countingHttpClient.requests.get()).isEqualTo(3);
+
+    cacheableEchoResponseRepository.getEchoSmallCache(1L);
+    assertThat(countingHttpClient.requests.get()).isEqualTo(4);
+  }
+
+  @Test
+  public void expiredTest() throws Exception {
+
+    cacheableEchoResponseRepository.getEchoShortTtl(1L);
+    cacheableEchoResponseRepository.getEchoShortTtl(1L);
+    assertThat(countingHttpClient.requests.get()).isEqualTo(1);
+
+    Thread.sleep(300);
+    cacheableEchoResponseRepository.getEchoShortTtl(1L);
+    assertThat(countingHttpClient.requests.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void staleWhileRevalidateTest() throws Exception {
+
+    EchoResponse first = cacheableEchoResponseRepository.getEchoStaleWhileRevalidate(300L);
+    Thread.sleep(300);
+
+    // The stale response is returned without waiting for the refresh.
+    long start = System.nanoTime();
+    EchoResponse stale = cacheableEchoResponseRepository.getEchoStaleWhileRevalidate(300L);
+    assertThat(System.nanoTime() - start).isLessThan(200_000_000L);
+    assertThat(stale).isSameInstanceAs(first);
+
+    Thread.sleep(600);
+    assertThat(countingHttpClient.requests.get()).isEqualTo(2);
+    EchoResponse refreshed = cacheableEchoResponseRepository.getEchoStaleWhileRevalidate(300L);
+    assertThat(refreshed).isNotSameInstanceAs(first);
+  }
+
+  @Test
+  public void invalidatedEntriesEvictedInOrderTest() throws Exception {
+
+    MethodCache<String> cache = MethodCache.create(60, 0, TimeUnit.SECONDS, 2);
+    cache.get(1L, () -> "1");
+    cache.get(2L, () -> "2");
+    for (int i = 0; i < 10; i++) {
+      cache.invalidate(1L);
+      cache.get(1L, () -> "1");
+    }
+
+    // The key 2 is now the oldest inserted one.
+    cache.get(3L, () -> "3");
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.get(1L, () -> "reloaded")).isEqualTo("1");
+    assertThat(cache.get(2L, () -> "reloaded")).isEqualTo("reloaded");
+  }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.functional;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.ygmodesto.modernfit.processor.repository.CachingEchoResponseRepository;
+import com.ygmodesto.modernfit.processor.server.EchoResponse;
+import com.ygmodesto.modernfit.processor.server.ModelTO;
+import com.ygmodesto.modernfit.services.CachingHttpClient;
+import com.ygmodesto.modernfit.services.ClientOkHttp;
+import com.ygmodesto.modernfit.services.DiskCache;
+import com.ygmodesto.modernfit.services.HttpInfo;
+import com.ygmodesto.modernfit.services.HttpResponseCallback;
+import com.ygmodesto.modernfit.services.ModernfitException;
+import java.io.File;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class CachingEchoResponseServerTest extends AbstractFunctionalTest {
+
+  private static File cacheDirectory;
+  private static DiskCache diskCache;
+  private static CountingHttpClient countingHttpClient;
+  private static CachingEchoResponseRepository cachingEchoResponseRepository;
+
+  @BeforeClass
+  public static void setUp() throws Exception {
+    cacheDirectory = tmp.newFolder();
+    diskCache = DiskCache.create(cacheDirectory, 1024 * 1024);
+    countingHttpClient = new CountingHttpClient(ClientOkHttp.create());
+    cachingEchoResponseRepository =
+        util(
+            CachingEchoResponseRepository.class,
+            "Impl",
+            CachingHttpClient.create(countingHttpClient, diskCache));
+  }
+
+  @Before
+  public void clearCache() {
+    diskCache.evictAll();
+    countingHttpClient.requests.set(0);
+  }
+
+  @Test
+  public void freshResponseTest() {
+
+    HttpInfo<EchoResponse> first = cachingEchoResponseRepository.getMaxAge(60L);
+    HttpInfo<EchoResponse> second = cachingEchoResponseRepository.getMaxAge(60L);
+
+    assertThat(countingHttpClient.requests.get()).isEqualTo(1);
+    assertThat(second.getCode()).isEqualTo(200);
+    assertThat(second.getBody().getUrl()).isEqualTo(first.getBody().getUrl());
+    assertThat(diskCache.size()).isGreaterThan(0L);
+  }
+
+  @Test
+  public void requestNoCacheTest() {
+
+    cachingEchoResponseRepository.getMaxAge(60L);
+    cachingEchoResponseRepository.getMaxAge(60L, "no-cache");
+    assertThat(countingHttpClient.requests.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void onlyIfCachedTest() {
+
+    HttpInfo<EchoResponse> httpInfo = cachingEchoResponseRepository.getMaxAge(60L);
+    assertThat(cachingEchoResponseRepository.getMaxAge(60L, "only-if-cached").getUrl())
+        .isEqualTo(httpInfo.getBody().getUrl());
+    assertThat(countingHttpClient.requests.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void unsafeMethodInvalidatesTest() {
+
+    cachingEchoResponseRepository.getMaxAge(60L);
+    cachingEchoResponseRepository.postMaxAge(60L, new ModelTO(2L, "model", "@model"));
+    cachingEchoResponseRepository.getMaxAge(60L);
+    assertThat(countingHttpClient.requests.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void notStorableTest() {
+
+    cachingEchoResponseRepository.getEcho();
+    cachingEchoResponseRepository.getEcho();
+    assertThat(countingHttpClient.requests.get()).isEqualTo(2);
+    assertThat(diskCache.size()).isEqualTo(0L);
+  }
+
+  @Test
+  public void etagRevalidationTest() {
+
+    HttpInfo<EchoResponse> first = cachingEchoResponseRepository.getEtag("v1");
+    assertThat(countingHttpClient.lastRequestInfo.getHeaders()).doesNotContainKey("If-None-Match");
+
+    HttpInfo<EchoResponse> second = cachingEchoResponseRepository.getEtag("v1");
+
+    assertThat(countingHttpClient.requests.get()).isEqualTo(2);
+    assertThat(countingHttpClient.lastRequestInfo.getHeaders())
+        .containsEntry("If-None-Match", "\"v1\"");
+    assertThat(second.getCode()).isEqualTo(200);
+    assertThat(second.getBody().getUrl()).isEqualTo(first.getBody().getUrl());
+  }
+
+  @Test
+  public void etagRevalidationCallbackTest() throws Exception {
+
+    cachingEchoResponseRepository.getEtag("v2");
+
+    CountDownLatch latch = new CountDownLatch(1);
+    AtomicReference<HttpInfo<EchoResponse>> response = new AtomicReference<>();
+    cachingEchoResponseRepository.getEtag(
+        "v2",
+        new HttpResponseCallback<EchoResponse>() {
+
+          @Override
+          public void onSuccess(HttpInfo<EchoResponse> httpInfo) {
+            response.set(httpInfo);
+            latch.countDown();
+          }
+
+          @Override
+          public void onFailure(ModernfitException e) {
+            latch.countDown();
+          }
+        });
+
+    assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(countingHttpClient.lastRequestInfo.getHeaders())
+        .containsEntry("If-None-Match", "\"v2\"");
+    assertThat(response.get().getCode()).isEqualTo(200);
+    assertThat(response.get().getBody().getUrl()).isEqualTo("/api/cache/etag/v2/echo");
+  }
+
+  @Test
+  public void reloadTest() {
+
+    cachingEchoResponseRepository.getMaxAge(60L);
+    DiskCache reloaded = DiskCache.create(cacheDirectory, 1024 * 1024);
+    assertThat(reloaded.size()).isEqualTo(diskCache.size());
+  }
+
+  @Test
+  public void sizeBoundedTest() throws Exception {
+
+    DiskCache smallCache = DiskCache.create(tmp.newFolder(), 1024);
+    CachingEchoResponseRepository repository =
+        util(
+            CachingEchoResponseRepository.class,
+            "Impl",
+            CachingHttpClient.create(ClientOkHttp.create(), smallCache));
+
+    for (long seconds = 60; seconds < 70; seconds++) {
+      repository.getMaxAge(seconds);
+      assertThat(smallCache.size()).isAtMost(1024L);
+    }
+    assertThat(smallCache.size()).isGreaterThan(0L);
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.functional;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.ygmodesto.modernfit.processor.repository.CancellationEchoResponseRepository;
+import com.ygmodesto.modernfit.processor.server.EchoResponse;
+import com.ygmodesto.modernfit.services.Cancellable;
+import com.ygmodesto.modernfit.services.ClientOkHttp;
+import com.ygmodesto.modernfit.services.ModernfitException;
+import com.ygmodesto.modernfit.services.ResponseCallback;
+import com.ygmodesto.modernfit.services.ResponseContent;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class CancellationEchoResponseServerTest extends AbstractFunctionalTest {
+
+  private CancellationEchoResponseRepository cancellationEchoResponseRepository;
+
+  @Before
+  public void setUp() throws Exception {
+    cancellationEchoResponseRepository =
+        util(CancellationEchoResponseRepository.class, "Impl", ClientOkHttp.create());
+  }
+
+  @Test
+  public void cancellableHandleTest() throws Exception {
+
+    RecordingCallback callback = new RecordingCallback(1);
+    long start = System.nanoTime();
+    Cancellable cancellable = cancellationEchoResponseRepository.getDelayed(2000L, callback);
+    cancellable.cancel();
+
+    assertThat(callback.latch.await(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(callback.successes.get()).isEqualTo(0);
+    assertThat(callback.failure.get()).hasCauseThat().isInstanceOf(IOException.class);
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1000L);
+  }
+
+  @Test
+  public void cancelAllByTagTest() throws Exception {
+
+    RecordingCallback first = new RecordingCallback(1);
+    RecordingCallback second = new RecordingCallback(1);
+    RecordingCallback completed = new RecordingCallback(1);
+    cancellationEchoResponseRepository.getDelayed(2000L, "screen-a", first);
+    cancellationEchoResponseRepository.getDelayed(2000L, "screen-a", second);
+    cancellationEchoResponseRepository.getDelayed(500L, "screen-b", completed);
+    cancellationEchoResponseRepository.cancelAll("screen-a");
+
+    assertThat(first.latch.await(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(second.latch.await(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(first.successes.get() + second.successes.get()).isEqualTo(0);
+    assertThat(completed.latch.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(completed.successes.get()).isEqualTo(1);
+    assertThat(completed.failure.get()).isNull();
+  }
+
+  @Test
+  public void cancelAllInterfaceTest() throws Exception {
+
+    RecordingCallback untagged = new RecordingCallback(1);
+    RecordingCallback tagged = new RecordingCallback(1);
+    cancellationEchoResponseRepository.getDelayed(2000L, untagged);
+    cancellationEchoResponseRepository.getDelayed(2000L, "screen-a", tagged);
+    CompletableFuture<EchoResponse> future =
+        cancellationEchoResponseRepository.getDelayedFuture(2000L);
+    cancellationEchoResponseRepository.cancelAll();
+
+    assertThat(untagged.latch.await(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(tagged.latch.await(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(untagged.successes.get() + tagged.successes.get()).isEqualTo(0);
+    try {
+      future.get(1, TimeUnit.SECONDS);
+      throw new AssertionError("Expected ExecutionException");
+    } catch (ExecutionException e) {
+      assertThat(e).hasCauseThat().isInstanceOf(ModernfitException.class);
+    }
+  }
+
+  @Test
+  public void cancelledResponseNotConvertedTest() throws Exception {
+
+    AtomicInteger conversions = new AtomicInteger();
+    RecordingCallback callback = new RecordingCallback(1);
+    callback.setConverter(responseContent -> {
+      conversions.incrementAndGet();
+      return new EchoResponse();
+    });
+    callback.cancel();
+    callback.notifySuccess(new ResponseContent(
+        200, Collections.emptyMap(), "application/json", null, "{}".getBytes()));
+
+    assertThat(conversions.get()).isEqualTo(0);
+    assertThat(callback.successes.get()).isEqualTo(0);
+    assertThat(callback.failure.get()).hasCauseThat().hasMessageThat().isEqualTo("Canceled");
+  }
+
+  private static class RecordingCallback extends ResponseCallback<EchoResponse> {
+
+    private final CountDownLatch latch;
+    private final AtomicInteger successes = new AtomicInteger();
+    private final AtomicReference<ModernfitException> failure = new AtomicReference<>();
+
+    RecordingCallback(int count) {
+      this.latch = new CountDownLatch(count);
+    }
+
+    @Override
+    public void onSuccess(EchoResponse echoResponse) {
+      successes.incrementAndGet();
+      latch.countDown();
+    }
+
+    @Override
+    public void onFailure(ModernfitException e) {
+      failure.set(e);
+      latch.countDown();
+    }
+  }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.functional;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.ygmodesto.modernfit.processor.repository.CircuitBreakerEchoResponseRepository;
+import com.ygmodesto.modernfit.processor.server.EchoResponse;
+import com.ygmodesto.modernfit.services.BulkheadFullException;
+import com.ygmodesto.modernfit.services.CircuitBreakerOpenException;
+import com.ygmodesto.modernfit.services.ClientOkHttp;
+import com.ygmodesto.modernfit.services.HttpInfo;
+import com.ygmodesto.modernfit.services.HttpResponseCallback;
+import com.ygmodesto.modernfit.services.ModernfitException;
+import com.ygmodesto.modernfit.services.RateLimitExceededException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class CircuitBreakerEchoResponseServerTest extends AbstractFunctionalTest {
+
+  private CountingHttpClient countingHttpClient;
+  private CircuitBreakerEchoResponseRepository circuitBreakerEchoResponseRepository;
+
+  @Before
+  public void setUp() throws Exception {
+    countingHttpClient = new CountingHttpClient(ClientOkHttp.create());
+    circuitBreakerEchoResponseRepository =
+        util(CircuitBreakerEchoResponseRepository.class, "Impl", countingHttpClient);
+  }
+
+  @Test
+  public void opensOnFailuresTest() throws Exception {
+
+    open();
+
+    assertOpen(() -> circuitBreakerEchoResponseRepository.getStatus(200));
+    assertThat(countingHttpClient.requests.get()).isEqualTo(4);
+  }
+
+  @Test
+  public void notOpenUnderThresholdTest() throws Exception {
+
+    circuitBreakerEchoResponseRepository.getStatus(500);
+    for (int i = 0; i < 4; i++) {
+      circuitBreakerEchoResponseRepository.getStatus(200);
+    }
+
+    assertThat(circuitBreakerEchoResponseRepository.getStatus(500).getCode()).isEqualTo(500);
+    assertThat(countingHttpClient.requests.get()).isEqualTo(6);
+  }
+
+  @Test
+  public void otherMethodNotAffectedTest() throws Exception {
+
+    open();
+
+    assertThat(circuitBreakerEchoResponseRepository.getEcho().getMethod()).isEqualTo("GET");
+  }
+
+  @Test
+  public void halfOpenClosesTest() throws Exception {
+
+    open();
+    Thread.sleep(400);
+
+    assertThat(circuitBreakerEchoResponseRepository.getStatus(200).getCode()).isEqualTo(200);
+    assertThat(circuitBreakerEchoResponseRepository.getStatus(200).getCode()).isEqualTo(200);
+    assertThat(circuitBreakerEchoResponseRepository.getStatus(500).getCode()).isEqualTo(500);
+    assertThat(circuitBreakerEchoResponseRepository.getStatus(200).getCode()).isEqualTo(200);
+    assertThat(countingHttpClient.requests.get()).isEqualTo(8);
+  }
+
+  @Test
+  public void halfOpenReopensTest() throws Exception {
+
+    open();
+    Thread.sleep(400);
+
+    assertThat(circuitBreakerEchoResponseRepository.getStatus(500).getCode()).isEqualTo(500);
+    assertOpen(() -> circuitBreakerEchoResponseRepository.getStatus(200));
+    assertThat(countingHttpClient.requests.get()).isEqualTo(5);
+  }
+
+  @Test
+  public void asyncOpenTest() throws Exception {
+
+    for (int httpCode : new int[] {500, 200, 500, 200}) {
+      assertThat(callAsync(httpCode)).isNull();
+    }
+
+    assertThat(callAsync(200)).isInstanceOf(CircuitBreakerOpenException.class);
+    assertThat(countingHttpClient.requests.get()).isEqualTo(4);
+  }
+
+  @Test
+  public void perHostTest() throws Exception {
+
+    for (int i = 0; i < 4; i++) {
+      circuitBreakerEchoResponseRepository.getStatusPerHost(503);
+    }
+
+    assertOpen(() -> circuitBreakerEchoResponseRepository.getEchoPerHost());
+    assertThat(countingHttpClient.requests.get()).isEqualTo(4);
+  }
+
+  @Test
+  public void slowCallsTest() throws Exception {
+
+    circuitBreakerEchoResponseRepository.getDelayedEcho(150L);
+    circuitBreakerEchoResponseRepository.getDelayedEcho(150L);
+
+    assertOpen(() -> circuitBreakerEchoResponseRepository.getDelayedEcho(0L));
+    assertThat(countingHttpClient.requests.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void cancelledProbeReleasedTest() throws Exception {
+
+    for (int httpCode : new int[] {500, 200, 500, 200}) {
+      assertThat(callDelayedAsync(0L, httpCode)).isNull();
+    }
+    assertThat(callDelayedAsync(0L, 200)).isInstanceOf(CircuitBreakerOpenException.class);
+    Thread.sleep(400);
+
+    for (int i = 0; i < 2; i++) {
+      CountDownLatch latch = new CountDownLatch(1);
+      HttpResponseCallback<EchoResponse> probe = new HttpResponseCallback<EchoResponse>() {
+
+        @Override
+        public void onFailure(ModernfitException e) {
+          latch.countDown();
+        }
+      };
+      circuitBreakerEchoResponseRepository.getDelayedStatus(1000L, 200, probe);
+      probe.cancel();
+      assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    assertThat(callDelayedAsync(0L, 200)).isNull();
+    assertThat(callDelayedAsync(0L, 200)).isNull();
+    assertThat(callDelayedAsync(0L, 500)).isNull();
+  }
+
+  @Test
+  public void saturatedBulkheadNotOpenTest() throws Exception {
+
+    Thread slowCall = new Thread(() -> circuitBreakerEchoResponseRepository.getDelayedInBulkhead(
+        500L));
+    slowCall.start();
+    Thread.sleep(150);
+    // More rejections than the window of the circuits.
+    for (int i = 0; i < 6; i++) {
+      assertThat(await(callback ->
+          circuitBreakerEchoResponseRepository.getDelayedInBulkhead(0L, callback)))
+          .isInstanceOf(BulkheadFullException.class);
+      try {
+        circuitBreakerEchoResponseRepository.getDelayedInBulkhead(0L);
+        throw new AssertionError("Expected BulkheadFullException");
+      } catch (BulkheadFullException e) {
+        assertThat(e).hasMessageThat().contains("full");
+      }
+    }
+    slowCall.join();
+
+    // The rejected calls never reached the backend, so they do not open the circuits.
+    assertThat(circuitBreakerEchoResponseRepository.getDelayedInBulkhead(0L).getMethod())
+        .isEqualTo("GET");
+    assertThat(await(callback ->
+        circuitBreakerEchoResponseRepository.getDelayedInBulkhead(0L, callback))).isNull();
+  }
+
+  @Test
+  public void rateLimitRejectionsNotOpenTest() throws Exception {
+
+    assertThat(circuitBreakerEchoResponseRepository.getEchoRateLimited().getMethod())
+        .isEqualTo("GET");
+    assertThat(await(callback ->
+        circuitBreakerEchoResponseRepository.getEchoRateLimited(callback))).isNull();
+
+    // More rejections than the window of the circuits, which stay closed.
+    for (int i = 0; i < 6; i++) {
+      assertThat(await(callback ->
+          circuitBreakerEchoResponseRepository.getEchoRateLimited(callback)))
+          .isInstanceOf(RateLimitExceededException.class);
+      try {
+        circuitBreakerEchoResponseRepository.getEchoRateLimited();
+        throw new AssertionError("Expected RateLimitExceededException");
+      } catch (RateLimitExceededException e) {
+        assertThat(e).hasMessageThat().isNotEmpty();
+      }
+    }
+  }
+
+  private void open() {
+    circuitBreakerEchoResponseRepository.getStatus(500);
+    circuitBreakerEchoResponseRepository.getStatus(200);
+    circuitBreakerEchoResponseRepository.getStatus(500);
+    circuitBreakerEchoResponseRepository.getStatus(200);
+  }
+
+  private ModernfitException callAsync(int httpCode) throws InterruptedException {
+    return await(callback -> circuitBreakerEchoResponseRepository.getStatus(httpCode, callback));
+  }
+
+  private ModernfitException callDelayedAsync(long millis, int httpCode)
+      throws InterruptedException {
+    return await(callback ->
+        circuitBreakerEchoResponseRepository.getDelayedStatus(millis, httpCode, callback));
+  }
+
+  /** Makes an asynchronous call and returns its failure, or null if it succeeds. */
+  private static ModernfitException await(Consumer<HttpResponseCallback<EchoResponse>> call)
+      throws InterruptedException {
+
+    CountDownLatch latch = new CountDownLatch(1);
+    AtomicReference<ModernfitException> exception = new AtomicReference<>();
+    call.accept(
+        new HttpResponseCallback<EchoResponse>() {
+
+          @Override
+          public void onSuccess(HttpInfo<EchoResponse> httpInfo) {
+            latch.countDown();
+          }
+
+          @Override
+          public void onFailure(ModernfitException e) {
+            exception.set(e);
+            latch.countDown();
+          }
+        });
+
+    assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    return exception.get();
+  }
+
+  private static void assertOpen(Runnable call) {
+    try {
+      call.run();
+      throw new AssertionError("Expected CircuitBreakerOpenException");
+    } catch (CircuitBreakerOpenException e) {
+      assertThat(e).hasMessageThat().contains("Circuit breaker open");
+    }
+  }
+}
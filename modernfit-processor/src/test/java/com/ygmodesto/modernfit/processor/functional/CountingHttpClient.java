@@ -0,0 +1,68 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.functional;
+
+import com.ygmodesto.modernfit.services.DiscreteBody;
+import com.ygmodesto.modernfit.services.HttpClient;
+import com.ygmodesto.modernfit.services.MultipartBody;
+import com.ygmodesto.modernfit.services.RequestInfo;
+import com.ygmodesto.modernfit.services.ResponseCallback;
+import com.ygmodesto.modernfit.services.ResponseContent;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Counts the requests that reach the network and keeps the last one. */
+class CountingHttpClient implements HttpClient {
+
+  final AtomicInteger requests = new AtomicInteger();
+  volatile RequestInfo lastRequestInfo;
+
+  private final HttpClient delegate;
+
+  CountingHttpClient(HttpClient delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public ResponseContent callMethod(RequestInfo requestInfo, DiscreteBody body) {
+    count(requestInfo);
+    return delegate.callMethod(requestInfo, body);
+  }
+
+  @Override
+  public <T> void callMethod(
+      RequestInfo requestInfo, DiscreteBody body, ResponseCallback<T> callback) {
+    count(requestInfo);
+    delegate.callMethod(requestInfo, body, callback);
+  }
+
+  @Override
+  public ResponseContent callMethod(RequestInfo requestInfo, MultipartBody body) {
+    count(requestInfo);
+    return delegate.callMethod(requestInfo, body);
+  }
+
+  @Override
+  public <T> void callMethod(
+      RequestInfo requestInfo, MultipartBody body, ResponseCallback<T> callback) {
+    count(requestInfo);
+    delegate.callMethod(requestInfo, body, callback);
+  }
+
+  private void count(RequestInfo requestInfo) {
+    requests.incrementAndGet();
+    lastRequestInfo = requestInfo;
+  }
+}
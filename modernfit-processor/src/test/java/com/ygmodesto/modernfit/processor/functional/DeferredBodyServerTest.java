@@ -0,0 +1,261 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.functional;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.ygmodesto.modernfit.annotations.Body;
+import com.ygmodesto.modernfit.annotations.Field;
+import com.ygmodesto.modernfit.annotations.FormUrlEncoded;
+import com.ygmodesto.modernfit.annotations.Modernfit;
+import com.ygmodesto.modernfit.annotations.Multipart;
+import com.ygmodesto.modernfit.annotations.POST;
+import com.ygmodesto.modernfit.annotations.Part;
+import com.ygmodesto.modernfit.converters.JacksonConverterFactory;
+import com.ygmodesto.modernfit.javahttp.ClientJavaHttp;
+import com.ygmodesto.modernfit.processor.server.EchoResponse;
+import com.ygmodesto.modernfit.processor.server.MultipartEchoResponse;
+import com.ygmodesto.modernfit.services.ModernfitException;
+import com.ygmodesto.modernfit.services.ResponseCallback;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class DeferredBodyServerTest extends AbstractFunctionalTest {
+
+  private static final String FAIL = "fail";
+
+  private static DeferredBodyRepository deferredBodyRepository;
+  private static JavaHttpDeferredBodyRepository javaHttpDeferredBodyRepository;
+
+  @BeforeClass
+  public static void setUp() throws Exception {
+    deferredBodyRepository =
+        util(DeferredBodyServerTest.class, DeferredBodyRepository.class, "Impl");
+    javaHttpDeferredBodyRepository =
+        util(DeferredBodyServerTest.class, JavaHttpDeferredBodyRepository.class, "Impl");
+  }
+
+  private static <T> ResponseCallback<T> getFutureCallback(CompletableFuture<T> future) {
+
+    return new ResponseCallback<T>() {
+      @Override
+      public void onSuccess(T response) {
+        future.complete(response);
+      }
+
+      @Override
+      public void onFailure(ModernfitException e) {
+        future.completeExceptionally(e);
+      }
+    };
+  }
+
+  @Test
+  public void callbackBodyIsSerializedOffCallingThreadTest() throws Exception {
+
+    RecordingTO body = new RecordingTO("callback");
+    CompletableFuture<EchoResponse> future = new CompletableFuture<>();
+
+    deferredBodyRepository.postBody(body, getFutureCallback(future));
+
+    assertThat(future.get(5, TimeUnit.SECONDS).getBody()).contains("callback");
+    assertThat(body.getSerializedBy()).isNotNull();
+    assertThat(body.getSerializedBy()).isNotSameInstanceAs(Thread.currentThread());
+  }
+
+  @Test
+  public void callbackSerializationErrorIsNotifiedToOnFailureTest() throws Exception {
+
+    CompletableFuture<EchoResponse> future = new CompletableFuture<>();
+
+    deferredBodyRepository.postBody(new RecordingTO(FAIL), getFutureCallback(future));
+
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+    assertThat(e).hasCauseThat().isInstanceOf(ModernfitException.class);
+  }
+
+  @Test
+  public void futureBodyIsSerializedOffCallingThreadTest() throws Exception {
+
+    RecordingTO body = new RecordingTO("future");
+
+    EchoResponse echoResponse = deferredBodyRepository.postBodyFuture(body).get(5, TimeUnit.SECONDS);
+
+    assertThat(echoResponse.getBody()).contains("future");
+    assertThat(body.getSerializedBy()).isNotSameInstanceAs(Thread.currentThread());
+  }
+
+  @Test
+  public void futureSerializationErrorCompletesExceptionallyTest() throws Exception {
+
+    CompletableFuture<EchoResponse> future =
+        deferredBodyRepository.postBodyFuture(new RecordingTO(FAIL));
+
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+    assertThat(e).hasCauseThat().isInstanceOf(ModernfitException.class);
+  }
+
+  @Test
+  public void syncBodyIsSerializedOnCallingThreadTest() throws Exception {
+
+    RecordingTO body = new RecordingTO("sync");
+
+    EchoResponse echoResponse = deferredBodyRepository.postBodySync(body);
+
+    assertThat(echoResponse.getBody()).contains("sync");
+    assertThat(body.getSerializedBy()).isSameInstanceAs(Thread.currentThread());
+  }
+
+  @Test
+  public void syncSerializationErrorIsThrownTest() throws Exception {
+
+    assertThrows(
+        ModernfitException.class, () -> deferredBodyRepository.postBodySync(new RecordingTO(FAIL)));
+  }
+
+  @Test
+  public void formFieldIsSerializedOffCallingThreadTest() throws Exception {
+
+    RecordingTO field = new RecordingTO("form");
+
+    EchoResponse echoResponse =
+        deferredBodyRepository.postField(field).get(5, TimeUnit.SECONDS);
+
+    assertThat(echoResponse.getParameters().get("field").get(0)).contains("form");
+    assertThat(field.getSerializedBy()).isNotSameInstanceAs(Thread.currentThread());
+  }
+
+  @Test
+  public void formFieldSerializationErrorCompletesExceptionallyTest() throws Exception {
+
+    CompletableFuture<EchoResponse> future = deferredBodyRepository.postField(new RecordingTO(FAIL));
+
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+    assertThat(e).hasCauseThat().isInstanceOf(ModernfitException.class);
+  }
+
+  @Test
+  public void multipartPartIsSerializedOffCallingThreadTest() throws Exception {
+
+    RecordingTO part = new RecordingTO("multipart");
+
+    MultipartEchoResponse echoResponse =
+        deferredBodyRepository.postPart(part).get(5, TimeUnit.SECONDS);
+
+    assertThat(echoResponse.getPartObjectA()).contains("multipart");
+    assertThat(part.getSerializedBy()).isNotSameInstanceAs(Thread.currentThread());
+  }
+
+  @Test
+  public void multipartSerializationErrorCompletesExceptionallyTest() throws Exception {
+
+    CompletableFuture<MultipartEchoResponse> future =
+        deferredBodyRepository.postPart(new RecordingTO(FAIL));
+
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+    assertThat(e).hasCauseThat().isInstanceOf(ModernfitException.class);
+  }
+
+  @Test
+  public void javaHttpBodyIsSerializedOffCallingThreadTest() throws Exception {
+
+    RecordingTO body = new RecordingTO("javahttp");
+
+    EchoResponse echoResponse =
+        javaHttpDeferredBodyRepository.postBodyFuture(body).get(5, TimeUnit.SECONDS);
+
+    assertThat(echoResponse.getBody()).contains("javahttp");
+    assertThat(body.getSerializedBy()).isNotSameInstanceAs(Thread.currentThread());
+  }
+
+  @Test
+  public void javaHttpSerializationErrorCompletesExceptionallyTest() throws Exception {
+
+    CompletableFuture<EchoResponse> future =
+        javaHttpDeferredBodyRepository.postBodyFuture(new RecordingTO(FAIL));
+
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+    assertThat(e).hasCauseThat().isInstanceOf(ModernfitException.class);
+  }
+
+  /** Records the thread that serializes it, and fails to serialize if its value is "fail". */
+  public static class RecordingTO {
+
+    private final String value;
+    private volatile Thread serializedBy;
+
+    public RecordingTO(String value) {
+      this.value = value;
+    }
+
+    public String getValue() {
+      serializedBy = Thread.currentThread();
+      if (FAIL.equals(value)) {
+        throw new IllegalStateException("Serialization failed for test");
+      }
+      return value;
+    }
+
+    @JsonIgnore
+    public Thread getSerializedBy() {
+      return serializedBy;
+    }
+  }
+
+  @Modernfit(value = "http://localhost:8080/api", converterFactory = JacksonConverterFactory.class)
+  public interface DeferredBodyRepository {
+
+    @POST("/echo")
+    void postBody(@Body RecordingTO body, ResponseCallback<EchoResponse> callback);
+
+    @POST("/echo")
+    CompletableFuture<EchoResponse> postBodyFuture(@Body RecordingTO body);
+
+    @POST("/echo")
+    EchoResponse postBodySync(@Body RecordingTO body);
+
+    @FormUrlEncoded
+    @POST("/echo")
+    CompletableFuture<EchoResponse> postField(@Field RecordingTO field);
+
+    @Multipart
+    @POST("/multipart/echo")
+    CompletableFuture<MultipartEchoResponse> postPart(@Part("partObjectA") RecordingTO part);
+  }
+
+  @Modernfit(
+      value = "http://localhost:8080/api",
+      client = ClientJavaHttp.class,
+      converterFactory = JacksonConverterFactory.class)
+  public interface JavaHttpDeferredBodyRepository {
+
+    @POST("/echo")
+    CompletableFuture<EchoResponse> postBodyFuture(@Body RecordingTO body);
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.functional;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.ygmodesto.modernfit.processor.repository.ElementStreamingEchoResponseRepository;
+import com.ygmodesto.modernfit.processor.server.EchoResponse;
+import com.ygmodesto.modernfit.processor.server.ModelTO;
+import io.reactivex.rxjava3.subscribers.TestSubscriber;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class ElementStreamingEchoResponseServerTest extends AbstractFunctionalTest {
+
+  private static final int MANY_ELEMENTS = 1_000_000;
+
+  private static ElementStreamingEchoResponseRepository repository;
+
+  @BeforeClass
+  public static void setUp() throws Exception {
+    repository = util(ElementStreamingEchoResponseRepository.class, "Impl");
+  }
+
+  @Test
+  public void iteratorArrayTest() throws Exception {
+
+    Iterator<ModelTO> iterator = repository.getArray(1000);
+    long expectedId = 0;
+    while (iterator.hasNext()) {
+      ModelTO modelTO = iterator.next();
+      assertThat(modelTO.getId()).isEqualTo(expectedId);
+      assertThat(modelTO.getLogin()).isEqualTo("login" + expectedId);
+      expectedId++;
+    }
+    assertThat(expectedId).isEqualTo(1000);
+  }
+
+  @Test
+  public void emptyArrayTest() throws Exception {
+
+    assertThat(repository.getArray(0).hasNext()).isFalse();
+  }
+
+  @Test
+  public void streamNdjsonTest() throws Exception {
+
+    try (Stream<ModelTO> stream = repository.getNdjson(1000)) {
+      List<Long> ids = stream.map(ModelTO::getId).collect(Collectors.toList());
+      assertThat(ids).hasSize(1000);
+      assertThat(ids.get(999)).isEqualTo(999L);
+    }
+  }
+
+  @Test
+  public void streamClosedBeforeTheEndTest() throws Exception {
+
+    try (Stream<ModelTO> stream = repository.getArrayAsStream(MANY_ELEMENTS)) {
+      Optional<ModelTO> found = stream.filter(modelTO -> modelTO.getId() == 10).findFirst();
+      assertThat(found.get().getName()).isEqualTo("name10");
+    }
+  }
+
+  @Test
+  public void flowableBackpressureTest() throws Exception {
+
+    TestSubscriber<ModelTO> testSubscriber = repository.getNdjsonRx(MANY_ELEMENTS).test(0);
+    testSubscriber.assertNoValues();
+
+    testSubscriber.request(3);
+    testSubscriber.assertValueCount(3);
+    assertThat(testSubscriber.values().get(2).getId()).isEqualTo(2L);
+
+    testSubscriber.cancel();
+    testSubscriber.assertNotComplete();
+  }
+
+  @Test
+  public void flowableResubscribeTest() throws Exception {
+
+    assertThat(repository.getNdjsonRx(100).count().blockingGet()).isEqualTo(100L);
+    assertThat(repository.getNdjsonRx(100).count().blockingGet()).isEqualTo(100L);
+  }
+
+  @Test
+  public void observableRx2ArrayTest() throws Exception {
+
+    List<ModelTO> elements = repository.getArrayRx2(500).toList().blockingGet();
+    assertThat(elements).hasSize(500);
+    assertThat(elements.get(499).getLogin()).isEqualTo("login499");
+  }
+
+  @Test
+  public void flowableSingleObjectTest() throws Exception {
+
+    List<EchoResponse> elements = repository.getEchoRx().toList().blockingGet();
+    assertThat(elements).hasSize(1);
+    assertThat(elements.get(0).getMethod()).isEqualTo("GET");
+  }
+}
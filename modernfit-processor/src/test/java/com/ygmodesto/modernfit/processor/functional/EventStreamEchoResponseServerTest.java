@@ -0,0 +1,178 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.functional;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.ygmodesto.modernfit.processor.repository.EventStreamEchoResponseRepository;
+import com.ygmodesto.modernfit.processor.server.ModelTO;
+import com.ygmodesto.modernfit.services.Cancellable;
+import com.ygmodesto.modernfit.services.EventCallback;
+import com.ygmodesto.modernfit.services.ModernfitException;
+import io.reactivex.rxjava3.subscribers.TestSubscriber;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class EventStreamEchoResponseServerTest extends AbstractFunctionalTest {
+
+  private static EventStreamEchoResponseRepository repository;
+
+  @BeforeClass
+  public static void setUp() throws Exception {
+    repository = util(EventStreamEchoResponseRepository.class, "Impl");
+  }
+
+  @Test
+  public void flowableReconnectsWithLastEventIdTest() throws Exception {
+
+    TestSubscriber<ModelTO> testSubscriber = repository.getEvents(10, 3).test();
+
+    assertThat(testSubscriber.await(5, TimeUnit.SECONDS)).isTrue();
+    testSubscriber.assertComplete();
+    List<Long> ids =
+        testSubscriber.values().stream().map(ModelTO::getId).collect(Collectors.toList());
+    assertThat(ids).containsExactly(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L).inOrder();
+    assertThat(testSubscriber.values().get(9).getLogin()).isEqualTo("login9");
+  }
+
+  @Test
+  public void observableRx2Test() throws Exception {
+
+    List<ModelTO> events = repository.getEventsRx2(5, 2).toList().blockingGet();
+    assertThat(events).hasSize(5);
+    assertThat(events.get(4).getName()).isEqualTo("name4");
+  }
+
+  @Test
+  public void callbackTest() throws Exception {
+
+    RecordingCallback callback = new RecordingCallback();
+    repository.getEvents(4, 4, 0L, callback);
+
+    assertThat(callback.done.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(callback.failure.get()).isNull();
+    assertThat(callback.events).hasSize(4);
+    assertThat(callback.events.get(0))
+        .isEqualTo("{\"id\":0\n,\"name\":\"name0\",\"login\":\"login0\"}");
+  }
+
+  @Test
+  public void cancelClosesTheStreamTest() throws Exception {
+
+    RecordingCallback callback = new RecordingCallback();
+    Cancellable cancellable = repository.getEvents(100, 100, 100L, callback);
+    waitForEvents(callback, 2);
+    cancellable.cancel();
+    int received = callback.events.size();
+
+    Thread.sleep(500);
+    assertThat(callback.events.size()).isAtMost(received + 1);
+    assertThat(callback.done.getCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void disposeClosesTheStreamTest() throws Exception {
+
+    TestSubscriber<ModelTO> testSubscriber = repository.getEvents(100, 100).take(3).test();
+
+    assertThat(testSubscriber.await(5, TimeUnit.SECONDS)).isTrue();
+    testSubscriber.assertValueCount(3);
+    testSubscriber.assertComplete();
+  }
+
+  @Test
+  public void cancelAllFailsTheStreamTest() throws Exception {
+
+    RecordingCallback callback = new RecordingCallback();
+    repository.getEvents(100, 100, 100L, callback);
+    waitForEvents(callback, 1);
+    repository.cancelAll();
+
+    assertThat(callback.done.await(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(callback.failure.get()).hasCauseThat().isInstanceOf(IOException.class);
+  }
+
+  @Test
+  public void notEventStreamResponseFailsTest() throws Exception {
+
+    TestSubscriber<?> testSubscriber = repository.getEcho().test();
+
+    assertThat(testSubscriber.await(5, TimeUnit.SECONDS)).isTrue();
+    testSubscriber.assertError(ModernfitException.class);
+  }
+
+  @Test
+  public void openStreamsDoNotBlockOtherCallsTest() throws Exception {
+
+    // More open streams than the calls the HTTP client runs at once to a host.
+    List<Cancellable> streams = new ArrayList<>();
+    try {
+      for (int i = 0; i < 6; i++) {
+        RecordingCallback callback = new RecordingCallback();
+        streams.add(repository.getEvents(100, 100, 100L, callback));
+        waitForEvents(callback, 1);
+      }
+
+      assertThat(repository.getEchoFuture().get(2, TimeUnit.SECONDS).getMethod())
+          .isEqualTo("GET");
+    } finally {
+      streams.forEach(Cancellable::cancel);
+    }
+  }
+
+  private static void waitForEvents(RecordingCallback callback, int count)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (callback.events.size() < count && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(callback.events.size()).isAtLeast(count);
+  }
+
+  private static final class RecordingCallback extends EventCallback<String> {
+
+    private final List<String> events = new CopyOnWriteArrayList<>();
+    private final AtomicReference<ModernfitException> failure = new AtomicReference<>();
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    @Override
+    public void onEvent(String event) {
+      events.add(event);
+    }
+
+    @Override
+    public void onFailure(ModernfitException e) {
+      failure.set(e);
+      done.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+      done.countDown();
+    }
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.functional;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ygmodesto.modernfit.processor.repository.FutureEchoResponseRepository;
+import com.ygmodesto.modernfit.processor.server.EchoResponse;
+import com.ygmodesto.modernfit.processor.server.ModelTO;
+import com.ygmodesto.modernfit.services.BodyContent;
+import com.ygmodesto.modernfit.services.ClientOkHttp;
+import com.ygmodesto.modernfit.services.FutureResponseCallback;
+import com.ygmodesto.modernfit.services.HttpClient;
+import com.ygmodesto.modernfit.services.HttpInfo;
+import com.ygmodesto.modernfit.services.HttpMethod;
+import com.ygmodesto.modernfit.services.OneObjectDiscreteBody;
+import com.ygmodesto.modernfit.services.RequestInfo;
+import com.ygmodesto.modernfit.services.ResponseContent;
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class FutureEchoResponseServerTest extends AbstractFunctionalTest {
+
+  private static FutureEchoResponseRepository futureEchoResponseRepository;
+  private static ObjectMapper objectMapper;
+
+  @BeforeClass
+  public static void setUp() throws Exception {
+    futureEchoResponseRepository = util(FutureEchoResponseRepository.class, "Impl");
+    objectMapper = new ObjectMapper();
+  }
+
+  @Test
+  public void getEchoTest() throws Exception {
+
+    EchoResponse echoResponse = futureEchoResponseRepository.getEcho().get(5, TimeUnit.SECONDS);
+    assertThat(echoResponse.getMethod()).isEqualTo("GET");
+  }
+
+  @Test
+  public void postEchoCompletionStageTest() throws Exception {
+
+    ModelTO modelTO = new ModelTO(2L, "model", "@model");
+    ModelTO echoed =
+        futureEchoResponseRepository
+            .postEcho(modelTO)
+            .thenApply(echoResponse -> readModel(echoResponse.getBody()))
+            .toCompletableFuture()
+            .get(5, TimeUnit.SECONDS);
+    assertThat(echoed).isEqualTo(modelTO);
+  }
+
+  @Test
+  public void getEchoWithHttpInfoTest() throws Exception {
+
+    HttpInfo<EchoResponse> httpInfo =
+        futureEchoResponseRepository.getEchoWithHttpInfo().get(5, TimeUnit.SECONDS);
+    assertThat(httpInfo.getCode()).isEqualTo(201);
+    assertThat(httpInfo.getBody().getUrl()).isEqualTo("/api/201/echo");
+  }
+
+  @Test
+  public void getEchoVoidTest() throws Exception {
+
+    assertThat(futureEchoResponseRepository.getEchoVoid().get(5, TimeUnit.SECONDS)).isNull();
+  }
+
+  @Test
+  public void composeTest() throws Exception {
+
+    EchoResponse echoResponse =
+        futureEchoResponseRepository
+            .getEcho()
+            .thenCompose(first -> futureEchoResponseRepository.getEchoWithHttpInfo())
+            .thenCompose(second -> futureEchoResponseRepository.getEcho())
+            .get(5, TimeUnit.SECONDS);
+    assertThat(echoResponse.getUrl()).isEqualTo("/api/echo");
+  }
+
+  @Test
+  public void multipartTest() throws Exception {
+
+    assertThat(futureEchoResponseRepository.partValue(2L).get(5, TimeUnit.SECONDS).getPartObjectA())
+        .isEqualTo("2");
+  }
+
+  @Test(expected = CancellationException.class)
+  public void cancelTest() throws Exception {
+
+    CompletableFuture<EchoResponse> future = futureEchoResponseRepository.getDelayedEcho(3000L);
+    assertThat(future.cancel(true)).isTrue();
+    future.get();
+  }
+
+  @Test
+  public void cancelReachesOkHttpCallTest() throws Exception {
+
+    CountDownLatch callFailed = new CountDownLatch(1);
+    OkHttpClient okHttpClient =
+        new OkHttpClient.Builder()
+            .eventListener(
+                new EventListener() {
+                  @Override
+                  public void callFailed(Call call, IOException ioe) {
+                    callFailed.countDown();
+                  }
+                })
+            .build();
+    HttpClient httpClient = ClientOkHttp.create(okHttpClient);
+
+    FutureResponseCallback<ResponseContent> callback =
+        new FutureResponseCallback<ResponseContent>(responseContent -> responseContent);
+    httpClient.callMethod(
+        RequestInfo.baseUrl("http://localhost:8080/api/delay/3000/echo")
+            .addHttpMethod(HttpMethod.GET)
+            .build(),
+        OneObjectDiscreteBody.<Void>builder()
+            .addConverter(value -> new BodyContent("text/plain", (byte[]) null))
+            .build(),
+        callback);
+
+    callback.getFuture().cancel(true);
+    assertThat(callFailed.await(2, TimeUnit.SECONDS)).isTrue();
+    assertThat(callback.isCancelled()).isTrue();
+  }
+
+  private static ModelTO readModel(String json) {
+    try {
+      return objectMapper.readValue(json, ModelTO.class);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.functional;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.ygmodesto.modernfit.processor.repository.HedgeEchoResponseRepository;
+import com.ygmodesto.modernfit.processor.server.EchoResponse;
+import com.ygmodesto.modernfit.services.ClientOkHttp;
+import com.ygmodesto.modernfit.services.ModernfitException;
+import com.ygmodesto.modernfit.services.ResponseCallback;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class HedgeEchoResponseServerTest extends AbstractFunctionalTest {
+
+  private static final AtomicInteger failedCalls = new AtomicInteger();
+
+  private static CountingHttpClient countingHttpClient;
+  private static HedgeEchoResponseRepository hedgeEchoResponseRepository;
+
+  @BeforeClass
+  public static void setUp() throws Exception {
+    OkHttpClient okHttpClient =
+        new OkHttpClient.Builder()
+            .eventListener(
+                new EventListener() {
+                  @Override
+                  public void callFailed(Call call, IOException ioe) {
+                    failedCalls.incrementAndGet();
+                  }
+                })
+            .build();
+    countingHttpClient = new CountingHttpClient(ClientOkHttp.create(okHttpClient));
+    hedgeEchoResponseRepository =
+        util(HedgeEchoResponseRepository.class, "Impl", countingHttpClient);
+  }
+
+  @Before
+  public void resetCount() {
+    countingHttpClient.requests.set(0);
+    failedCalls.set(0);
+  }
+
+  @Test
+  public void hedgedTest() throws Exception {
+
+    long start = System.nanoTime();
+    EchoResponse echoResponse = hedgeEchoResponseRepository.getSlowFirstEcho(newKey(), 3000L);
+
+    assertThat(echoResponse.getMethod()).isEqualTo("GET");
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(2000L);
+    assertThat(countingHttpClient.requests.get()).isEqualTo(2);
+    assertLoserCancelled();
+  }
+
+  @Test
+  public void notHedgedWhenFastTest() throws Exception {
+
+    hedgeEchoResponseRepository.getSlowFirstEcho(newKey(), 0L);
+
+    Thread.sleep(200);
+    assertThat(countingHttpClient.requests.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void asyncHedgedTest() throws Exception {
+
+    CountDownLatch latch = new CountDownLatch(1);
+    AtomicReference<EchoResponse> response = new AtomicReference<>();
+
+    long start = System.nanoTime();
+    hedgeEchoResponseRepository.getSlowFirstEcho(
+        newKey(),
+        3000L,
+        new ResponseCallback<EchoResponse>() {
+
+          @Override
+          public void onSuccess(EchoResponse echoResponse) {
+            response.set(echoResponse);
+            latch.countDown();
+          }
+
+          @Override
+          public void onFailure(ModernfitException e) {
+            latch.countDown();
+          }
+        });
+
+    assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(2000L);
+    assertThat(response.get().getMethod()).isEqualTo("GET");
+    assertThat(countingHttpClient.requests.get()).isEqualTo(2);
+    assertLoserCancelled();
+  }
+
+  @Test
+  public void adaptiveHedgedTest() throws Exception {
+
+    // Not hedged until the latency of the method is known.
+    for (int i = 0; i < 20; i++) {
+      hedgeEchoResponseRepository.getSlowFirstEchoAdaptive(newKey(), 0L);
+    }
+    assertThat(countingHttpClient.requests.get()).isEqualTo(20);
+
+    long start = System.nanoTime();
+    hedgeEchoResponseRepository.getSlowFirstEchoAdaptive(newKey(), 3000L);
+
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(2000L);
+    assertThat(countingHttpClient.requests.get()).isEqualTo(22);
+  }
+
+  @Test
+  public void maxHedgesTest() throws Exception {
+
+    hedgeEchoResponseRepository.getDelayedEcho(500L);
+
+    assertThat(countingHttpClient.requests.get()).isEqualTo(3);
+  }
+
+  private static void assertLoserCancelled() throws InterruptedException {
+    for (int i = 0; i < 50 && failedCalls.get() == 0; i++) {
+      Thread.sleep(20);
+    }
+    assertThat(failedCalls.get()).isEqualTo(1);
+  }
+
+  private static String newKey() {
+    return UUID.randomUUID().toString();
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.functional;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ygmodesto.modernfit.processor.repository.JavaHttpEchoResponseRepository;
+import com.ygmodesto.modernfit.processor.server.EchoResponse;
+import com.ygmodesto.modernfit.processor.server.ModelTO;
+import com.ygmodesto.modernfit.processor.server.MultipartEchoResponse;
+import com.ygmodesto.modernfit.services.HttpInfo;
+import com.ygmodesto.modernfit.services.ModernfitException;
+import com.ygmodesto.modernfit.services.ResponseCallback;
+import com.ygmodesto.modernfit.services.ResponseContent;
+import com.ygmodesto.modernfit.services.TypedContent;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.springframework.core.io.ClassPathResource;
+
+@RunWith(JUnit4.class)
+public class JavaHttpEchoResponseServerTest extends AbstractFunctionalTest {
+
+  private static JavaHttpEchoResponseRepository javaHttpEchoResponseRepository;
+  private static ObjectMapper objectMapper;
+
+  @BeforeClass
+  public static void setUp() throws Exception {
+    javaHttpEchoResponseRepository = util(JavaHttpEchoResponseRepository.class, "Impl");
+    objectMapper = new ObjectMapper();
+  }
+
+  @Test
+  public void getEchoTest() throws Exception {
+
+    EchoResponse echoResponse = javaHttpEchoResponseRepository.getEcho("value");
+    assertThat(echoResponse.getMethod()).isEqualTo("GET");
+    assertThat(echoResponse.getHeaders()).containsEntry("x-custom", "value");
+  }
+
+  @Test
+  public void getEchoWithHttpInfoTest() throws Exception {
+
+    HttpInfo<EchoResponse> httpInfo = javaHttpEchoResponseRepository.getEchoWithHttpInfo();
+    assertThat(httpInfo.getCode()).isEqualTo(201);
+    assertThat(httpInfo.getBody().getUrl()).isEqualTo("/api/201/echo");
+  }
+
+  @Test
+  public void postEchoTest() throws Exception {
+
+    ModelTO modelTO = new ModelTO(2L, "model", "@model");
+    EchoResponse echoResponse = javaHttpEchoResponseRepository.postEcho(modelTO);
+    assertThat(echoResponse.getContentType()).startsWith("application/json");
+    assertThat(objectMapper.readValue(echoResponse.getBody(), ModelTO.class)).isEqualTo(modelTO);
+  }
+
+  @Test
+  public void postEchoAsyncTest() throws Exception {
+
+    List<String> body = Arrays.asList("a", "b", "c");
+    CompletableFuture<EchoResponse> future = new CompletableFuture<>();
+    javaHttpEchoResponseRepository.postEchoAsync(
+        body,
+        new ResponseCallback<EchoResponse>() {
+          @Override
+          public void onSuccess(EchoResponse echoResponse) {
+            future.complete(echoResponse);
+          }
+
+          @Override
+          public void onFailure(ModernfitException e) {
+            future.completeExceptionally(e);
+          }
+        });
+
+    assertThat(future.get().getBody()).isEqualTo("[\"a\",\"b\",\"c\"]");
+  }
+
+  @Test
+  public void downloadTest() throws Exception {
+
+    int size = 4 * 1024 * 1024;
+    long read = 0;
+    try (ResponseContent responseContent = javaHttpEchoResponseRepository.download(size)) {
+      assertThat(responseContent.isStreaming()).isTrue();
+
+      InputStream inputStream = responseContent.getContentStream();
+      byte[] buffer = new byte[4096];
+      int count;
+      while ((count = inputStream.read(buffer)) != -1) {
+        read += count;
+      }
+    }
+    assertThat(read).isEqualTo(size);
+  }
+
+  @Test
+  public void multipartTest() throws Exception {
+
+    File file = new ClassPathResource("filetoload.txt").getFile();
+    MultipartEchoResponse echoResponse =
+        javaHttpEchoResponseRepository.partsAndTypedContent(
+            2L, TypedContent.create("text/plain", file));
+    assertThat(Long.valueOf(echoResponse.getPartObjectA())).isEqualTo(2L);
+    assertThat(echoResponse.getFileParts()).hasSize(1);
+    assertThat(echoResponse.getFileParts().get(0).getBytes())
+        .isEqualTo(Files.readAllBytes(file.toPath()));
+  }
+}
@@ -29,6 +29,7 @@ import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -165,6 +166,30 @@ public class MultipartEchoResponseServerTest extends AbstractFunctionalTest {
         .isEqualTo(Files.readAllBytes(file.toPath()));
   }
 
+  @Test
+  public void partValueFromAnnotationPathTypedContent() throws IOException {
+
+    Path path = Files.createTempFile("modernfit", ".txt");
+    try {
+      StringBuilder content = new StringBuilder();
+      for (int i = 0; i < 20000; i++) {
+        content.append("line ").append(i).append('\n');
+      }
+      Files.write(path, content.toString().getBytes(DEFAULT_CHARSET));
+
+      TypedContent typedContent = TypedContent.create("text/plain", path);
+      assertThat(typedContent.getContentLength()).isEqualTo(Files.size(path));
+
+      MultipartEchoResponse echoResponse =
+          multipartEchoResponseRepository.partValueFromAnnotationTypedContent(typedContent);
+      assertThat(echoResponse.getHeaders()).containsKey("content-length");
+      assertThat(echoResponse.getFileParts()).hasSize(1);
+      assertThat(echoResponse.getFileParts().get(0)).isEqualTo(content.toString());
+    } finally {
+      Files.delete(path);
+    }
+  }
+
   @Test
   public void partValueFromAnnotationListTypedContent() throws IOException {
 
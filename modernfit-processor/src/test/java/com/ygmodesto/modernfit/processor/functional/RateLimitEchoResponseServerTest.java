@@ -0,0 +1,124 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.functional;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.ygmodesto.modernfit.processor.repository.RateLimitEchoResponseRepository;
+import com.ygmodesto.modernfit.processor.server.EchoResponse;
+import com.ygmodesto.modernfit.services.ClientOkHttp;
+import com.ygmodesto.modernfit.services.RateLimitExceededException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class RateLimitEchoResponseServerTest extends AbstractFunctionalTest {
+
+  private CountingHttpClient countingHttpClient;
+  private RateLimitEchoResponseRepository rateLimitEchoResponseRepository;
+
+  @Before
+  public void setUp() throws Exception {
+    countingHttpClient = new CountingHttpClient(ClientOkHttp.create());
+    rateLimitEchoResponseRepository =
+        util(RateLimitEchoResponseRepository.class, "Impl", countingHttpClient);
+  }
+
+  @Test
+  public void burstThenWaitsTest() throws Exception {
+
+    long start = System.nanoTime();
+    rateLimitEchoResponseRepository.getEcho();
+    rateLimitEchoResponseRepository.getEcho();
+    assertThat(countingHttpClient.requests.get()).isEqualTo(2);
+
+    rateLimitEchoResponseRepository.getEcho();
+    assertThat(countingHttpClient.requests.get()).isEqualTo(3);
+    assertThat(elapsedMillis(start)).isAtLeast(200L);
+  }
+
+  @Test
+  public void sharedByInterfaceTest() throws Exception {
+
+    long start = System.nanoTime();
+    rateLimitEchoResponseRepository.getEcho();
+    rateLimitEchoResponseRepository.getEcho();
+
+    assertThat(rateLimitEchoResponseRepository.getStatus(200).getCode()).isEqualTo(200);
+    assertThat(elapsedMillis(start)).isAtLeast(200L);
+  }
+
+  @Test
+  public void failFastTest() throws Exception {
+
+    assertThat(rateLimitEchoResponseRepository.getEchoFailFast().getMethod()).isEqualTo("GET");
+
+    try {
+      rateLimitEchoResponseRepository.getEchoFailFast();
+      throw new AssertionError("Expected RateLimitExceededException");
+    } catch (RateLimitExceededException e) {
+      assertThat(e).hasMessageThat().contains("Rate limit exceeded");
+    }
+    assertThat(countingHttpClient.requests.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void asyncDelayedTest() throws Exception {
+
+    CountDownLatch latch = new CountDownLatch(3);
+    List<RecordingCallback<EchoResponse>> callbacks = new ArrayList<>();
+    long start = System.nanoTime();
+    for (int i = 0; i < 3; i++) {
+      RecordingCallback<EchoResponse> callback = new RecordingCallback<>(latch);
+      callbacks.add(callback);
+      rateLimitEchoResponseRepository.getEcho(callback);
+    }
+
+    // The burst is sent at once, the third call waits for its permit without blocking the caller.
+    assertThat(countingHttpClient.requests.get()).isEqualTo(2);
+    assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    for (RecordingCallback<EchoResponse> callback : callbacks) {
+      assertThat(callback.getException()).isNull();
+    }
+    assertThat(countingHttpClient.requests.get()).isEqualTo(3);
+    assertThat(elapsedMillis(start)).isAtLeast(200L);
+  }
+
+  @Test
+  public void asyncFailFastTest() throws Exception {
+
+    CountDownLatch latch = new CountDownLatch(2);
+    RecordingCallback<EchoResponse> first = new RecordingCallback<>(latch);
+    RecordingCallback<EchoResponse> second = new RecordingCallback<>(latch);
+    rateLimitEchoResponseRepository.getEchoFailFast(first);
+    rateLimitEchoResponseRepository.getEchoFailFast(second);
+
+    assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(first.getException()).isNull();
+    assertThat(second.getException()).isInstanceOf(RateLimitExceededException.class);
+    assertThat(countingHttpClient.requests.get()).isEqualTo(1);
+  }
+
+  private static long elapsedMillis(long start) {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+  }
+}
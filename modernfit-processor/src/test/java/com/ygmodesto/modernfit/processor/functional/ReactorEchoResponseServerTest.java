@@ -0,0 +1,207 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.functional;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ygmodesto.modernfit.processor.repository.ReactorEchoResponseRepository;
+import com.ygmodesto.modernfit.processor.server.EchoResponse;
+import com.ygmodesto.modernfit.processor.server.ModelTO;
+import com.ygmodesto.modernfit.services.HttpInfo;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.reactivestreams.Subscription;
+import reactor.adapter.JdkFlowAdapter;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Hooks;
+
+@RunWith(JUnit4.class)
+public class ReactorEchoResponseServerTest extends AbstractFunctionalTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+  private static final int MANY_ELEMENTS = 1_000_000;
+
+  private static ReactorEchoResponseRepository repository;
+  private static ObjectMapper objectMapper;
+
+  @BeforeClass
+  public static void setUp() throws Exception {
+    repository = util(ReactorEchoResponseRepository.class, "Impl");
+    objectMapper = new ObjectMapper();
+  }
+
+  @Test
+  public void getEchoTest() throws Exception {
+
+    EchoResponse echoResponse = repository.getEcho().block(TIMEOUT);
+    assertThat(echoResponse.getMethod()).isEqualTo("GET");
+  }
+
+  @Test
+  public void postEchoTest() throws Exception {
+
+    ModelTO modelTO = new ModelTO(2L, "model", "@model");
+    EchoResponse echoResponse = repository.postEcho(modelTO).block(TIMEOUT);
+    assertThat(objectMapper.readValue(echoResponse.getBody(), ModelTO.class)).isEqualTo(modelTO);
+  }
+
+  @Test
+  public void getEchoWithHttpInfoTest() throws Exception {
+
+    HttpInfo<EchoResponse> httpInfo = repository.getEchoWithHttpInfo().block(TIMEOUT);
+    assertThat(httpInfo.getCode()).isEqualTo(201);
+    assertThat(httpInfo.getBody().getUrl()).isEqualTo("/api/201/echo");
+  }
+
+  @Test
+  public void getEchoVoidTest() throws Exception {
+
+    assertThat(repository.getEchoVoid().hasElement().block(TIMEOUT)).isFalse();
+  }
+
+  @Test
+  public void multipartTest() throws Exception {
+
+    assertThat(repository.partValue(2L).block(TIMEOUT).getPartObjectA()).isEqualTo("2");
+  }
+
+  @Test
+  public void subscribeDoesNotWaitForTheResponseTest() throws Exception {
+
+    CountDownLatch received = new CountDownLatch(1);
+    long start = System.nanoTime();
+    repository.getDelayedEcho(500L).subscribe(echoResponse -> received.countDown());
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(400L);
+    assertThat(received.getCount()).isEqualTo(1L);
+
+    assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  public void disposeCancelsTheRequestTest() throws Exception {
+
+    List<Object> signals = new CopyOnWriteArrayList<>();
+    Hooks.onErrorDropped(signals::add);
+    try {
+      Disposable disposable =
+          repository.getDelayedEcho(2000L).subscribe(signals::add, signals::add);
+      disposable.dispose();
+
+      Thread.sleep(300);
+      assertThat(signals).isEmpty();
+    } finally {
+      Hooks.resetOnErrorDropped();
+    }
+  }
+
+  @Test
+  public void fluxSingleObjectTest() throws Exception {
+
+    List<EchoResponse> elements = repository.getEchoFlux().collectList().block(TIMEOUT);
+    assertThat(elements).hasSize(1);
+    assertThat(elements.get(0).getMethod()).isEqualTo("GET");
+  }
+
+  @Test
+  public void fluxWholeResponseTest() throws Exception {
+
+    List<HttpInfo<EchoResponse>> elements =
+        repository.getEchoWithHttpInfoFlux().collectList().block(TIMEOUT);
+    assertThat(elements).hasSize(1);
+    assertThat(elements.get(0).getCode()).isEqualTo(201);
+  }
+
+  @Test
+  public void fluxNdjsonTest() throws Exception {
+
+    List<ModelTO> elements = repository.getNdjson(1000).collectList().block(TIMEOUT);
+    assertThat(elements).hasSize(1000);
+    assertThat(elements.get(999).getId()).isEqualTo(999L);
+  }
+
+  @Test
+  public void fluxResubscribeTest() throws Exception {
+
+    assertThat(repository.getArray(100).count().block(TIMEOUT)).isEqualTo(100L);
+    assertThat(repository.getArray(100).count().block(TIMEOUT)).isEqualTo(100L);
+  }
+
+  @Test
+  public void fluxBackpressureTest() throws Exception {
+
+    List<ModelTO> elements = new CopyOnWriteArrayList<>();
+    CountDownLatch requested = new CountDownLatch(3);
+    BaseSubscriber<ModelTO> subscriber =
+        new BaseSubscriber<ModelTO>() {
+          @Override
+          protected void hookOnSubscribe(Subscription subscription) {
+            request(3);
+          }
+
+          @Override
+          protected void hookOnNext(ModelTO modelTO) {
+            elements.add(modelTO);
+            requested.countDown();
+          }
+        };
+    repository.getNdjson(MANY_ELEMENTS).subscribe(subscriber);
+
+    assertThat(requested.await(5, TimeUnit.SECONDS)).isTrue();
+    Thread.sleep(200);
+    assertThat(elements).hasSize(3);
+    assertThat(elements.get(2).getId()).isEqualTo(2L);
+
+    subscriber.dispose();
+    assertThat(subscriber.isDisposed()).isTrue();
+  }
+
+  @Test
+  public void flowPublisherTest() throws Exception {
+
+    EchoResponse echoResponse =
+        JdkFlowAdapter.flowPublisherToFlux(repository.getEchoPublisher()).blockLast(TIMEOUT);
+    assertThat(echoResponse.getMethod()).isEqualTo("GET");
+  }
+
+  @Test
+  public void flowPublisherWholeResponseTest() throws Exception {
+
+    HttpInfo<EchoResponse> httpInfo =
+        JdkFlowAdapter.flowPublisherToFlux(repository.getEchoWithHttpInfoPublisher())
+            .blockLast(TIMEOUT);
+    assertThat(httpInfo.getBody().getUrl()).isEqualTo("/api/201/echo");
+  }
+
+  @Test
+  public void flowPublisherElementsTest() throws Exception {
+
+    List<ModelTO> elements =
+        JdkFlowAdapter.flowPublisherToFlux(repository.getArrayPublisher(500))
+            .collectList()
+            .block(TIMEOUT);
+    assertThat(elements).hasSize(500);
+    assertThat(elements.get(499).getLogin()).isEqualTo("login499");
+  }
+}
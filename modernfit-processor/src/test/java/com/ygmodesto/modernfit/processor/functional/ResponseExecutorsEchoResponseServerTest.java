@@ -0,0 +1,281 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.functional;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.ygmodesto.modernfit.processor.repository.ResponseExecutorsEchoResponseRepository;
+import com.ygmodesto.modernfit.processor.server.EchoResponse;
+import com.ygmodesto.modernfit.services.Cancellable;
+import com.ygmodesto.modernfit.services.ClientOkHttp;
+import com.ygmodesto.modernfit.services.HttpInfo;
+import com.ygmodesto.modernfit.services.ModernfitException;
+import com.ygmodesto.modernfit.services.ResponseCallback;
+import com.ygmodesto.modernfit.services.ResponseExecutors;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class ResponseExecutorsEchoResponseServerTest extends AbstractFunctionalTest {
+
+  private ResponseExecutorsEchoResponseRepository repository;
+  private ExecutorService ioExecutor;
+  private ExecutorService conversionExecutor;
+  private ExecutorService callbackExecutor;
+
+  @Before
+  public void setUp() throws Exception {
+    repository =
+        util(ResponseExecutorsEchoResponseRepository.class, "Impl", ClientOkHttp.create());
+    ioExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "io"));
+    conversionExecutor =
+        Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "conversion"));
+    callbackExecutor =
+        Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "callback"));
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    ioExecutor.shutdownNow();
+    conversionExecutor.shutdownNow();
+    callbackExecutor.shutdownNow();
+  }
+
+  @Test
+  public void withoutExecutorsTest() throws Exception {
+
+    assertThat(repository.getResponseExecutors()).isNull();
+    RecordingCallback callback = new RecordingCallback();
+    repository.getEcho(callback);
+
+    assertThat(callback.latch.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(callback.thread.get()).startsWith("OkHttp");
+  }
+
+  @Test
+  public void callbackExecutorTest() throws Exception {
+
+    repository.setResponseExecutors(ResponseExecutors.builder()
+        .setConversionExecutor(conversionExecutor)
+        .setCallbackExecutor(callbackExecutor)
+        .build());
+    RecordingCallback callback = new RecordingCallback();
+    repository.getEcho(callback);
+
+    assertThat(callback.latch.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(callback.thread.get()).isEqualTo("callback");
+    assertThat(callback.echoResponse.get().getMethod()).isEqualTo("GET");
+  }
+
+  @Test
+  public void conversionExecutorTest() throws Exception {
+
+    repository.setResponseExecutors(ResponseExecutors.builder()
+        .setConversionExecutor(conversionExecutor)
+        .build());
+
+    String thread = repository.getEchoFuture()
+        .thenApply(echoResponse -> Thread.currentThread().getName())
+        .get(5, TimeUnit.SECONDS);
+    assertThat(thread).isEqualTo("conversion");
+
+    HttpInfo<EchoResponse> httpInfo = repository.getEchoWithHttpInfo().get(5, TimeUnit.SECONDS);
+    assertThat(httpInfo.getCode()).isEqualTo(201);
+  }
+
+  @Test
+  public void ioExecutorTest() throws Exception {
+
+    repository.setResponseExecutors(ResponseExecutors.builder()
+        .setIoExecutor(ioExecutor)
+        .build());
+    RecordingCallback callback = new RecordingCallback();
+    repository.getEcho(callback);
+
+    assertThat(callback.latch.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(callback.thread.get()).isEqualTo("io");
+    assertThat(callback.echoResponse.get().getUrl()).isEqualTo("/api/echo");
+  }
+
+  @Test
+  public void queueDepthTest() throws Exception {
+
+    ResponseExecutors responseExecutors = ResponseExecutors.builder()
+        .setConversionExecutor(conversionExecutor)
+        .setCallbackExecutor(callbackExecutor)
+        .build();
+    repository.setResponseExecutors(responseExecutors);
+
+    CountDownLatch blocked = new CountDownLatch(1);
+    conversionExecutor.execute(() -> await(blocked));
+    List<CompletableFuture<EchoResponse>> futures = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      futures.add(repository.getEchoFuture());
+    }
+
+    long timeout = System.currentTimeMillis() + 5000;
+    while (responseExecutors.getConversionQueueDepth() < 3
+        && System.currentTimeMillis() < timeout) {
+      Thread.sleep(10);
+    }
+    assertThat(responseExecutors.getConversionQueueDepth()).isEqualTo(3);
+    assertThat(responseExecutors.getIoQueueDepth()).isEqualTo(0);
+
+    blocked.countDown();
+    for (CompletableFuture<EchoResponse> future : futures) {
+      assertThat(future.get(5, TimeUnit.SECONDS).getMethod()).isEqualTo("GET");
+    }
+    assertThat(responseExecutors.getConversionQueueDepth()).isEqualTo(0);
+    assertThat(responseExecutors.getCallbackQueueDepth()).isEqualTo(0);
+  }
+
+  @Test
+  public void cancelWaitingForIoExecutorTest() throws Exception {
+
+    ResponseExecutors responseExecutors = ResponseExecutors.builder()
+        .setIoExecutor(ioExecutor)
+        .setCallbackExecutor(callbackExecutor)
+        .build();
+    repository.setResponseExecutors(responseExecutors);
+
+    CountDownLatch blocked = new CountDownLatch(1);
+    ioExecutor.execute(() -> await(blocked));
+    RecordingCallback callback = new RecordingCallback();
+    Cancellable cancellable = repository.getDelayed(100L, callback);
+    assertThat(responseExecutors.getIoQueueDepth()).isEqualTo(1);
+    cancellable.cancel();
+
+    assertThat(callback.latch.await(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(callback.echoResponse.get()).isNull();
+    assertThat(callback.failure.get()).hasCauseThat().isInstanceOf(IOException.class);
+    assertThat(callback.thread.get()).isEqualTo("callback");
+    blocked.countDown();
+  }
+
+  @Test
+  public void cancelInFlightReleasesIoExecutorTest() throws Exception {
+
+    repository.setResponseExecutors(ResponseExecutors.builder()
+        .setIoExecutor(ioExecutor)
+        .build());
+    RecordingCallback callback = new RecordingCallback();
+    Cancellable cancellable = repository.getDelayed(3000L, callback);
+    Thread.sleep(300);
+    cancellable.cancel();
+
+    // The blocking request is aborted, so the only I/O thread is free again.
+    ioExecutor.submit(() -> { }).get(1, TimeUnit.SECONDS);
+    assertThat(callback.latch.await(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(callback.echoResponse.get()).isNull();
+  }
+
+  @Test
+  public void rejectedConversionTest() throws Exception {
+
+    repository.setResponseExecutors(ResponseExecutors.builder()
+        .setConversionExecutor(conversionExecutor)
+        .setCallbackExecutor(callbackExecutor)
+        .build());
+    conversionExecutor.shutdown();
+    RecordingCallback callback = new RecordingCallback();
+    repository.getEcho(callback);
+
+    assertThat(callback.latch.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(callback.echoResponse.get()).isNull();
+    assertThat(callback.failure.get()).hasCauseThat()
+        .isInstanceOf(RejectedExecutionException.class);
+    assertThat(callback.thread.get()).isEqualTo("callback");
+  }
+
+  @Test
+  public void rejectedDeliveryTest() throws Exception {
+
+    repository.setResponseExecutors(ResponseExecutors.builder()
+        .setCallbackExecutor(callbackExecutor)
+        .build());
+    callbackExecutor.shutdown();
+    RecordingCallback callback = new RecordingCallback();
+    repository.getEcho(callback);
+
+    assertThat(callback.latch.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(callback.echoResponse.get()).isNull();
+    assertThat(callback.failure.get()).hasCauseThat()
+        .isInstanceOf(RejectedExecutionException.class);
+  }
+
+  @Test
+  public void rejectedReadNotTrackedTest() throws Exception {
+
+    repository.setResponseExecutors(ResponseExecutors.builder()
+        .setIoExecutor(ioExecutor)
+        .build());
+    ioExecutor.shutdown();
+    RecordingCallback callback = new RecordingCallback();
+    try {
+      repository.getEcho(callback);
+      throw new AssertionError("Expected ModernfitException");
+    } catch (ModernfitException e) {
+      assertThat(e).hasCauseThat().isInstanceOf(RejectedExecutionException.class);
+    }
+
+    // The request that was not made is not left among the calls in flight.
+    repository.cancelAll();
+    assertThat(callback.isCancelled()).isFalse();
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static class RecordingCallback extends ResponseCallback<EchoResponse> {
+
+    private final CountDownLatch latch = new CountDownLatch(1);
+    private final AtomicReference<EchoResponse> echoResponse = new AtomicReference<>();
+    private final AtomicReference<ModernfitException> failure = new AtomicReference<>();
+    private final AtomicReference<String> thread = new AtomicReference<>();
+
+    @Override
+    public void onSuccess(EchoResponse response) {
+      echoResponse.set(response);
+      thread.set(Thread.currentThread().getName());
+      latch.countDown();
+    }
+
+    @Override
+    public void onFailure(ModernfitException e) {
+      failure.set(e);
+      thread.set(Thread.currentThread().getName());
+      latch.countDown();
+    }
+  }
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.functional;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.ygmodesto.modernfit.processor.repository.RetryEchoResponseRepository;
+import com.ygmodesto.modernfit.processor.server.EchoResponse;
+import com.ygmodesto.modernfit.processor.server.ModelTO;
+import com.ygmodesto.modernfit.services.ClientOkHttp;
+import com.ygmodesto.modernfit.services.DeadlineExceededException;
+import com.ygmodesto.modernfit.services.DiscreteBody;
+import com.ygmodesto.modernfit.services.HttpClient;
+import com.ygmodesto.modernfit.services.HttpInfo;
+import com.ygmodesto.modernfit.services.HttpResponseCallback;
+import com.ygmodesto.modernfit.services.ModernfitException;
+import com.ygmodesto.modernfit.services.MultipartBody;
+import com.ygmodesto.modernfit.services.RequestInfo;
+import com.ygmodesto.modernfit.services.ResponseCallback;
+import com.ygmodesto.modernfit.services.ResponseContent;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class RetryEchoResponseServerTest extends AbstractFunctionalTest {
+
+  private static ResettingHttpClient resettingHttpClient;
+  private static CountingHttpClient countingHttpClient;
+  private static RetryEchoResponseRepository retryEchoResponseRepository;
+
+  @BeforeClass
+  public static void setUp() throws Exception {
+    resettingHttpClient = new ResettingHttpClient(ClientOkHttp.create());
+    countingHttpClient = new CountingHttpClient(resettingHttpClient);
+    retryEchoResponseRepository =
+        util(RetryEchoResponseRepository.class, "Impl", countingHttpClient);
+  }
+
+  @Before
+  public void reset() {
+    countingHttpClient.requests.set(0);
+    resettingHttpClient.resets.set(0);
+  }
+
+  @Test
+  public void retryOnStatusTest() throws Exception {
+
+    HttpInfo<EchoResponse> httpInfo = retryEchoResponseRepository.getFlakyEcho(newKey(), 2);
+
+    assertThat(httpInfo.getCode()).isEqualTo(200);
+    assertThat(countingHttpClient.requests.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void maxAttemptsTest() throws Exception {
+
+    HttpInfo<EchoResponse> httpInfo = retryEchoResponseRepository.getFlakyEcho(newKey(), 5);
+
+    assertThat(httpInfo.getCode()).isEqualTo(503);
+    assertThat(countingHttpClient.requests.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void asyncRetryOnStatusTest() throws Exception {
+
+    CountDownLatch latch = new CountDownLatch(1);
+    AtomicReference<HttpInfo<EchoResponse>> response = new AtomicReference<>();
+
+    retryEchoResponseRepository.getFlakyEcho(
+        newKey(),
+        2,
+        new HttpResponseCallback<EchoResponse>() {
+
+          @Override
+          public void onSuccess(HttpInfo<EchoResponse> httpInfo) {
+            response.set(httpInfo);
+            latch.countDown();
+          }
+
+          @Override
+          public void onFailure(ModernfitException e) {
+            latch.countDown();
+          }
+        });
+
+    assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(response.get().getCode()).isEqualTo(200);
+    assertThat(countingHttpClient.requests.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void notIdempotentNotRetriedTest() throws Exception {
+
+    HttpInfo<EchoResponse> httpInfo =
+        retryEchoResponseRepository.postFlakyEcho(newKey(), 1, new ModelTO());
+
+    assertThat(httpInfo.getCode()).isEqualTo(503);
+    assertThat(countingHttpClient.requests.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void notIdempotentRetriedTest() throws Exception {
+
+    HttpInfo<EchoResponse> httpInfo =
+        retryEchoResponseRepository.postFlakyEchoRetried(newKey(), 1, new ModelTO());
+
+    assertThat(httpInfo.getCode()).isEqualTo(200);
+    assertThat(countingHttpClient.requests.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void retryOnExceptionTest() throws Exception {
+
+    resettingHttpClient.resets.set(2);
+    EchoResponse echoResponse = retryEchoResponseRepository.getEcho();
+
+    assertThat(echoResponse.getMethod()).isEqualTo("GET");
+    assertThat(countingHttpClient.requests.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void retryOnExceptionExhaustedTest() throws Exception {
+
+    resettingHttpClient.resets.set(3);
+    try {
+      retryEchoResponseRepository.getEcho();
+      throw new AssertionError("Expected ModernfitException");
+    } catch (ModernfitException e) {
+      assertThat(e).hasCauseThat().isInstanceOf(IOException.class);
+    }
+    assertThat(countingHttpClient.requests.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void asyncRetryOnExceptionTest() throws Exception {
+
+    resettingHttpClient.resets.set(2);
+    CountDownLatch latch = new CountDownLatch(1);
+    AtomicReference<HttpInfo<EchoResponse>> response = new AtomicReference<>();
+
+    retryEchoResponseRepository.getEcho(
+        new HttpResponseCallback<EchoResponse>() {
+
+          @Override
+          public void onSuccess(HttpInfo<EchoResponse> httpInfo) {
+            response.set(httpInfo);
+            latch.countDown();
+          }
+
+          @Override
+          public void onFailure(ModernfitException e) {
+            latch.countDown();
+          }
+        });
+
+    assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(response.get().getCode()).isEqualTo(200);
+    assertThat(countingHttpClient.requests.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void deadlineExceededNotRetriedTest() throws Exception {
+
+    long start = System.nanoTime();
+    try {
+      retryEchoResponseRepository.getDelayedEcho(1000L);
+      throw new AssertionError("Expected DeadlineExceededException");
+    } catch (DeadlineExceededException e) {
+      assertThat(e).hasCauseThat().isInstanceOf(IOException.class);
+    }
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(800L);
+    assertThat(countingHttpClient.requests.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void asyncDeadlineExceededNotRetriedTest() throws Exception {
+
+    CountDownLatch latch = new CountDownLatch(1);
+    AtomicReference<ModernfitException> exception = new AtomicReference<>();
+
+    retryEchoResponseRepository.getDelayedEcho(1000L,
+        new HttpResponseCallback<EchoResponse>() {
+
+          @Override
+          public void onSuccess(HttpInfo<EchoResponse> httpInfo) {
+            latch.countDown();
+          }
+
+          @Override
+          public void onFailure(ModernfitException e) {
+            exception.set(e);
+            latch.countDown();
+          }
+        });
+
+    assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(exception.get()).isInstanceOf(DeadlineExceededException.class);
+    assertThat(countingHttpClient.requests.get()).isEqualTo(1);
+  }
+
+  private static String newKey() {
+    return UUID.randomUUID().toString();
+  }
+
+  /** Fails the next {@code resets} requests as if the connection had been reset. */
+  private static class ResettingHttpClient implements HttpClient {
+
+    final AtomicInteger resets = new AtomicInteger();
+
+    private final HttpClient delegate;
+
+    ResettingHttpClient(HttpClient delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public ResponseContent callMethod(RequestInfo requestInfo, DiscreteBody body) {
+      if (resets.getAndDecrement() > 0) {
+        throw connectionReset();
+      }
+      return delegate.callMethod(requestInfo, body);
+    }
+
+    @Override
+    public <T> void callMethod(
+        RequestInfo requestInfo, DiscreteBody body, ResponseCallback<T> callback) {
+      if (resets.getAndDecrement() > 0) {
+        callback.notifyFailure(connectionReset());
+        return;
+      }
+      delegate.callMethod(requestInfo, body, callback);
+    }
+
+    @Override
+    public ResponseContent callMethod(RequestInfo requestInfo, MultipartBody body) {
+      return delegate.callMethod(requestInfo, body);
+    }
+
+    @Override
+    public <T> void callMethod(
+        RequestInfo requestInfo, MultipartBody body, ResponseCallback<T> callback) {
+      delegate.callMethod(requestInfo, body, callback);
+    }
+
+    private static ModernfitException connectionReset() {
+      return new ModernfitException(new IOException("Connection reset"));
+    }
+  }
+}
@@ -38,6 +38,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -64,18 +65,33 @@ public class RxJava2EchoResponseServerTest extends AbstractFunctionalTest {
     TestObserver<EchoResponse> observer = new TestObserver<EchoResponse>();
 
     rxEchoResponseRepository.getEcho().subscribe(observer);
+    observer.awaitTerminalEvent();
 
     observer.assertComplete();
     observer.assertNoErrors();
     assertThat(observer.values().get(0).getMethod()).isEqualTo("GET");
   }
 
+  @Test
+  public void subscribeDoesNotWaitForTheResponseTest() throws Exception {
+
+    long start = System.nanoTime();
+    TestObserver<EchoResponse> observer = rxEchoResponseRepository.getDelayedEcho(500L).test();
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(400L);
+    observer.assertNotComplete();
+
+    assertThat(observer.awaitTerminalEvent(5, TimeUnit.SECONDS)).isTrue();
+    observer.assertComplete();
+    assertThat(observer.values().get(0).getMethod()).isEqualTo("GET");
+  }
+
   @Test
   public void headEchoTest() throws Exception {
 
     TestObserver<EchoResponse> observer = new TestObserver<EchoResponse>();
 
     rxEchoResponseRepository.headEcho().subscribe(observer);
+    observer.awaitTerminalEvent();
 
     observer.assertComplete();
     observer.assertNoErrors();
@@ -87,6 +103,7 @@ public class RxJava2EchoResponseServerTest extends AbstractFunctionalTest {
     TestObserver<EchoResponse> observer = new TestObserver<EchoResponse>();
 
     rxEchoResponseRepository.deleteEcho().subscribe(observer);
+    observer.awaitTerminalEvent();
 
     observer.assertComplete();
     observer.assertNoErrors();
@@ -99,6 +116,7 @@ public class RxJava2EchoResponseServerTest extends AbstractFunctionalTest {
     TestObserver<EchoResponse> observer = new TestObserver<EchoResponse>();
 
     rxEchoResponseRepository.optionsEcho().subscribe(observer);
+    observer.awaitTerminalEvent();
 
     observer.assertComplete();
     observer.assertNoErrors();
@@ -112,6 +130,7 @@ public class RxJava2EchoResponseServerTest extends AbstractFunctionalTest {
     ModelTO modelTO = new ModelTO(1L, "model", "@model");
 
     rxEchoResponseRepository.postEchoWithBody(modelTO).subscribe(observer);
+    observer.awaitTerminalEvent();
 
     observer.assertComplete();
     observer.assertNoErrors();
@@ -129,6 +148,7 @@ public class RxJava2EchoResponseServerTest extends AbstractFunctionalTest {
     ModelTO modelTO = new ModelTO(1L, "model", "@model");
 
     rxEchoResponseRepository.putEchoWithBody(modelTO).subscribe(observer);
+    observer.awaitTerminalEvent();
 
     observer.assertComplete();
     observer.assertNoErrors();
@@ -145,6 +165,7 @@ public class RxJava2EchoResponseServerTest extends AbstractFunctionalTest {
     ModelTO modelTO = new ModelTO(1L, "model", "@model");
 
     rxEchoResponseRepository.optionsEchoWithBody(modelTO).subscribe(observer);
+    observer.awaitTerminalEvent();
 
     observer.assertComplete();
     observer.assertNoErrors();
@@ -158,6 +179,7 @@ public class RxJava2EchoResponseServerTest extends AbstractFunctionalTest {
     ModelTO modelTO = new ModelTO(1L, "model", "@model");
 
     rxEchoResponseRepository.patchEchoWithBody(modelTO).subscribe(observer);
+    observer.awaitTerminalEvent();
 
     observer.assertComplete();
     observer.assertNoErrors();
@@ -189,6 +211,7 @@ public class RxJava2EchoResponseServerTest extends AbstractFunctionalTest {
     parametersExpected = MapUtils.populateExpectedMap(parametersExpected, queryMap);
 
     rxEchoResponseRepository.fieldsAndQueryMap(userId, userIds, queryMap).subscribe(observer);
+    observer.awaitTerminalEvent();
 
     observer.assertComplete();
     observer.assertNoErrors();
@@ -226,6 +249,7 @@ public class RxJava2EchoResponseServerTest extends AbstractFunctionalTest {
     rxEchoResponseRepository
         .partsAndPartMapAndTypedContent(partObjectA, partListA, partMap, typedContents)
         .subscribe(observer);
+    observer.awaitTerminalEvent();
 
     observer.assertComplete();
     observer.assertNoErrors();
@@ -27,6 +27,7 @@ import com.ygmodesto.modernfit.processor.server.ModelTO;
 import com.ygmodesto.modernfit.processor.server.MultipartEchoResponse;
 import com.ygmodesto.modernfit.services.TypedContent;
 import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
 import java.io.File;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
@@ -38,6 +39,8 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -64,18 +67,50 @@ public class RxJava3EchoResponseServerTest extends AbstractFunctionalTest {
     TestObserver<EchoResponse> observer = new TestObserver<EchoResponse>();
 
     rxEchoResponseRepository.getEcho().subscribe(observer);
+    observer.await();
 
     observer.assertComplete();
     observer.assertNoErrors();
     assertThat(observer.values().get(0).getMethod()).isEqualTo("GET");
   }
 
+  @Test
+  public void subscribeDoesNotWaitForTheResponseTest() throws Exception {
+
+    long start = System.nanoTime();
+    TestObserver<EchoResponse> observer = rxEchoResponseRepository.getDelayedEcho(500L).test();
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(400L);
+    observer.assertNotComplete();
+
+    assertThat(observer.await(5, TimeUnit.SECONDS)).isTrue();
+    observer.assertComplete();
+    assertThat(observer.values().get(0).getMethod()).isEqualTo("GET");
+  }
+
+  @Test
+  public void disposeCancelsTheRequestTest() throws Exception {
+
+    List<Throwable> undeliverable = new CopyOnWriteArrayList<>();
+    RxJavaPlugins.setErrorHandler(undeliverable::add);
+    try {
+      TestObserver<EchoResponse> observer = rxEchoResponseRepository.getDelayedEcho(2000L).test();
+      observer.dispose();
+
+      Thread.sleep(300);
+      observer.assertEmpty();
+      assertThat(undeliverable).isEmpty();
+    } finally {
+      RxJavaPlugins.reset();
+    }
+  }
+
   @Test
   public void headEchoTest() throws Exception {
 
     TestObserver<EchoResponse> observer = new TestObserver<EchoResponse>();
 
     rxEchoResponseRepository.headEcho().subscribe(observer);
+    observer.await();
 
     observer.assertComplete();
     observer.assertNoErrors();
@@ -87,6 +122,7 @@ public class RxJava3EchoResponseServerTest extends AbstractFunctionalTest {
     TestObserver<EchoResponse> observer = new TestObserver<EchoResponse>();
 
     rxEchoResponseRepository.deleteEcho().subscribe(observer);
+    observer.await();
 
     observer.assertComplete();
     observer.assertNoErrors();
@@ -99,6 +135,7 @@ public class RxJava3EchoResponseServerTest extends AbstractFunctionalTest {
     TestObserver<EchoResponse> observer = new TestObserver<EchoResponse>();
 
     rxEchoResponseRepository.optionsEcho().subscribe(observer);
+    observer.await();
 
     observer.assertComplete();
     observer.assertNoErrors();
@@ -112,6 +149,7 @@ public class RxJava3EchoResponseServerTest extends AbstractFunctionalTest {
     ModelTO modelTO = new ModelTO(1L, "model", "@model");
 
     rxEchoResponseRepository.postEchoWithBody(modelTO).subscribe(observer);
+    observer.await();
 
     observer.assertComplete();
     observer.assertNoErrors();
@@ -129,6 +167,7 @@ public class RxJava3EchoResponseServerTest extends AbstractFunctionalTest {
     ModelTO modelTO = new ModelTO(1L, "model", "@model");
 
     rxEchoResponseRepository.putEchoWithBody(modelTO).subscribe(observer);
+    observer.await();
 
     observer.assertComplete();
     observer.assertNoErrors();
@@ -145,6 +184,7 @@ public class RxJava3EchoResponseServerTest extends AbstractFunctionalTest {
     ModelTO modelTO = new ModelTO(1L, "model", "@model");
 
     rxEchoResponseRepository.optionsEchoWithBody(modelTO).subscribe(observer);
+    observer.await();
 
     observer.assertComplete();
     observer.assertNoErrors();
@@ -158,6 +198,7 @@ public class RxJava3EchoResponseServerTest extends AbstractFunctionalTest {
     ModelTO modelTO = new ModelTO(1L, "model", "@model");
 
     rxEchoResponseRepository.patchEchoWithBody(modelTO).subscribe(observer);
+    observer.await();
 
     observer.assertComplete();
     observer.assertNoErrors();
@@ -167,7 +208,7 @@ public class RxJava3EchoResponseServerTest extends AbstractFunctionalTest {
   }
 
   @Test
-  public void fieldsAndQueryMap() throws UnsupportedEncodingException {
+  public void fieldsAndQueryMap() throws UnsupportedEncodingException, InterruptedException {
 
     TestObserver<EchoResponse> observer = new TestObserver<EchoResponse>();
 
@@ -189,6 +230,7 @@ public class RxJava3EchoResponseServerTest extends AbstractFunctionalTest {
     parametersExpected = MapUtils.populateExpectedMap(parametersExpected, queryMap);
 
     rxEchoResponseRepository.fieldsAndQueryMap(userId, userIds, queryMap).subscribe(observer);
+    observer.await();
 
     observer.assertComplete();
     observer.assertNoErrors();
@@ -200,7 +242,7 @@ public class RxJava3EchoResponseServerTest extends AbstractFunctionalTest {
   }
 
   @Test
-  public void partsAndPartMapAndTypedContent() throws IOException {
+  public void partsAndPartMapAndTypedContent() throws IOException, InterruptedException {
 
     TestObserver<MultipartEchoResponse> observer = new TestObserver<MultipartEchoResponse>();
 
@@ -226,6 +268,7 @@ public class RxJava3EchoResponseServerTest extends AbstractFunctionalTest {
     rxEchoResponseRepository
         .partsAndPartMapAndTypedContent(partObjectA, partListA, partMap, typedContents)
         .subscribe(observer);
+    observer.await();
 
     observer.assertComplete();
     observer.assertNoErrors();
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.functional;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.ygmodesto.modernfit.processor.repository.SingleFlightEchoResponseRepository;
+import com.ygmodesto.modernfit.processor.server.EchoResponse;
+import com.ygmodesto.modernfit.services.ClientOkHttp;
+import com.ygmodesto.modernfit.services.HttpInfo;
+import com.ygmodesto.modernfit.services.ModernfitException;
+import com.ygmodesto.modernfit.services.ResponseCallback;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class SingleFlightEchoResponseServerTest extends AbstractFunctionalTest {
+
+  private static final int CALLERS = 8;
+
+  private static CountingHttpClient countingHttpClient;
+  private static ExecutorService executor;
+  private static SingleFlightEchoResponseRepository singleFlightEchoResponseRepository;
+
+  @BeforeClass
+  public static void setUp() throws Exception {
+    countingHttpClient = new CountingHttpClient(ClientOkHttp.create());
+    executor = Executors.newFixedThreadPool(CALLERS);
+    singleFlightEchoResponseRepository =
+        util(SingleFlightEchoResponseRepository.class, "Impl", countingHttpClient);
+  }
+
+  @AfterClass
+  public static void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Before
+  public void resetCount() {
+    countingHttpClient.requests.set(0);
+  }
+
+  @Test
+  public void syncCoalescedTest() throws Exception {
+
+    List<EchoResponse> responses =
+        callConcurrently(() -> singleFlightEchoResponseRepository.getDelayedEcho(500L));
+
+    assertThat(countingHttpClient.requests.get()).isEqualTo(1);
+    for (EchoResponse echoResponse : responses) {
+      assertThat(echoResponse).isSameInstanceAs(responses.get(0));
+    }
+  }
+
+  @Test
+  public void httpInfoCoalescedTest() throws Exception {
+
+    List<HttpInfo<EchoResponse>> responses =
+        callConcurrently(
+            () -> singleFlightEchoResponseRepository.getDelayedEchoWithHttpInfo(500L));
+
+    assertThat(countingHttpClient.requests.get()).isEqualTo(1);
+    for (HttpInfo<EchoResponse> httpInfo : responses) {
+      assertThat(httpInfo.getCode()).isEqualTo(200);
+      assertThat(httpInfo.getBody()).isSameInstanceAs(responses.get(0).getBody());
+    }
+  }
+
+  @Test
+  public void callbackCoalescedTest() throws Exception {
+
+    CountDownLatch latch = new CountDownLatch(CALLERS);
+    List<EchoResponse> responses = new ArrayList<>();
+
+    for (int i = 0; i < CALLERS; i++) {
+      singleFlightEchoResponseRepository.getDelayedEcho(
+          500L,
+          new ResponseCallback<EchoResponse>() {
+
+            @Override
+            public void onSuccess(EchoResponse echoResponse) {
+              synchronized (responses) {
+                responses.add(echoResponse);
+              }
+              latch.countDown();
+            }
+
+            @Override
+            public void onFailure(ModernfitException e) {
+              latch.countDown();
+            }
+          });
+    }
+
+    assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(countingHttpClient.requests.get()).isEqualTo(1);
+    assertThat(responses).hasSize(CALLERS);
+    for (EchoResponse echoResponse : responses) {
+      assertThat(echoResponse).isSameInstanceAs(responses.get(0));
+    }
+  }
+
+  @Test
+  public void cancelledCallerDetachedTest() throws Exception {
+
+    CountDownLatch cancelledLatch = new CountDownLatch(1);
+    CountDownLatch latch = new CountDownLatch(1);
+    RecordingCallback<EchoResponse> cancelled = new RecordingCallback<>(cancelledLatch);
+    RecordingCallback<EchoResponse> other = new RecordingCallback<>(latch);
+    singleFlightEchoResponseRepository.getDelayedEcho(1000L, cancelled);
+    singleFlightEchoResponseRepository.getDelayedEcho(1000L, other);
+    Thread.sleep(200);
+    cancelled.cancel();
+
+    // The cancelled caller does not wait for the shared request, which goes on for the other.
+    assertThat(cancelledLatch.await(500, TimeUnit.MILLISECONDS)).isTrue();
+    assertThat(cancelled.getException()).isInstanceOf(ModernfitException.class);
+    assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(other.getBody()).isInstanceOf(EchoResponse.class);
+    assertThat(countingHttpClient.requests.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void allCallersCancelledTest() throws Exception {
+
+    CountDownLatch latch = new CountDownLatch(2);
+    RecordingCallback<EchoResponse> first = new RecordingCallback<>(latch);
+    RecordingCallback<EchoResponse> second = new RecordingCallback<>(latch);
+    singleFlightEchoResponseRepository.getDelayedEcho(1000L, first);
+    singleFlightEchoResponseRepository.getDelayedEcho(1000L, second);
+    Thread.sleep(200);
+    first.cancel();
+    second.cancel();
+
+    assertThat(latch.await(500, TimeUnit.MILLISECONDS)).isTrue();
+    assertThat(first.getException()).isInstanceOf(ModernfitException.class);
+    assertThat(second.getException()).isInstanceOf(ModernfitException.class);
+
+    // The cancelled request is not shared with the next caller.
+    CountDownLatch nextLatch = new CountDownLatch(1);
+    RecordingCallback<EchoResponse> next = new RecordingCallback<>(nextLatch);
+    singleFlightEchoResponseRepository.getDelayedEcho(1000L, next);
+    assertThat(nextLatch.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(next.getBody()).isInstanceOf(EchoResponse.class);
+    assertThat(countingHttpClient.requests.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void sequentialNotCoalescedTest() throws Exception {
+
+    singleFlightEchoResponseRepository.getDelayedEcho(0L);
+    singleFlightEchoResponseRepository.getDelayedEcho(0L);
+    assertThat(countingHttpClient.requests.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void differentUrlsNotCoalescedTest() throws Exception {
+
+    AtomicInteger millis = new AtomicInteger(500);
+    callConcurrently(
+        () -> singleFlightEchoResponseRepository.getDelayedEcho((long) millis.getAndIncrement()));
+    assertThat(countingHttpClient.requests.get()).isEqualTo(CALLERS);
+  }
+
+  @Test
+  public void notAnnotatedNotCoalescedTest() throws Exception {
+
+    callConcurrently(() -> singleFlightEchoResponseRepository.getDelayedEchoNotCoalesced(500L));
+    assertThat(countingHttpClient.requests.get()).isEqualTo(CALLERS);
+  }
+
+  private static <T> List<T> callConcurrently(Callable<T> call) throws Exception {
+
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<T>> futures = new ArrayList<>();
+    for (int i = 0; i < CALLERS; i++) {
+      futures.add(
+          executor.submit(
+              () -> {
+                start.await();
+                return call.call();
+              }));
+    }
+    start.countDown();
+
+    List<T> results = new ArrayList<>();
+    for (Future<T> future : futures) {
+      results.add(future.get(5, TimeUnit.SECONDS));
+    }
+    return results;
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.functional;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.ygmodesto.modernfit.processor.repository.StreamingEchoResponseRepository;
+import com.ygmodesto.modernfit.processor.server.EchoResponse;
+import com.ygmodesto.modernfit.services.HttpInfo;
+import com.ygmodesto.modernfit.services.ModernfitException;
+import com.ygmodesto.modernfit.services.ResponseCallback;
+import com.ygmodesto.modernfit.services.ResponseContent;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class StreamingEchoResponseServerTest extends AbstractFunctionalTest {
+
+  private static StreamingEchoResponseRepository streamingEchoResponseRepository;
+
+  @BeforeClass
+  public static void setUp() throws Exception {
+    streamingEchoResponseRepository = util(StreamingEchoResponseRepository.class, "Impl");
+  }
+
+  @Test
+  public void getEchoTest() throws Exception {
+
+    EchoResponse echoResponse = streamingEchoResponseRepository.getEcho();
+    assertThat(echoResponse.getMethod()).isEqualTo("GET");
+  }
+
+  @Test
+  public void getEchoWithHttpInfoTest() throws Exception {
+
+    HttpInfo<EchoResponse> httpInfo = streamingEchoResponseRepository.getEchoWithHttpInfo();
+    assertThat(httpInfo.getCode()).isEqualTo(201);
+    assertThat(httpInfo.getBody().getUrl()).isEqualTo("/api/201/echo");
+  }
+
+  @Test
+  public void getEchoAsyncTest() throws Exception {
+
+    CompletableFuture<EchoResponse> future = new CompletableFuture<>();
+    streamingEchoResponseRepository.getEchoAsync(
+        new ResponseCallback<EchoResponse>() {
+          @Override
+          public void onSuccess(EchoResponse echoResponse) {
+            future.complete(echoResponse);
+          }
+
+          @Override
+          public void onFailure(ModernfitException e) {
+            future.completeExceptionally(e);
+          }
+        });
+
+    assertThat(future.get().getMethod()).isEqualTo("GET");
+  }
+
+  @Test
+  public void getEchoRxTest() throws Exception {
+
+    assertThat(streamingEchoResponseRepository.getEchoRx().blockingGet().getMethod())
+        .isEqualTo("GET");
+  }
+
+  @Test
+  public void downloadTest() throws Exception {
+
+    int size = 8 * 1024 * 1024;
+    long read = 0;
+    try (ResponseContent responseContent = streamingEchoResponseRepository.download(size)) {
+      assertThat(responseContent.isStreaming()).isTrue();
+
+      InputStream inputStream = responseContent.getContentStream();
+      byte[] buffer = new byte[4096];
+      int count;
+      while ((count = inputStream.read(buffer)) != -1) {
+        read += count;
+      }
+    }
+    assertThat(read).isEqualTo(size);
+  }
+
+  @Test
+  public void postListTest() throws Exception {
+
+    List<String> body = new ArrayList<>();
+    for (int i = 0; i < 10000; i++) {
+      body.add("element" + i);
+    }
+
+    // Below the streaming threshold the body is buffered and keeps its Content-Length.
+    EchoResponse echoResponse = streamingEchoResponseRepository.postList(body);
+    assertThat(echoResponse.getHeaders()).doesNotContainKey("transfer-encoding");
+    assertThat(echoResponse.getHeaders()).containsKey("content-length");
+    assertThat(echoResponse.getBody()).startsWith("[\"element0\",\"element1\",");
+    assertThat(echoResponse.getBody()).endsWith(",\"element9999\"]");
+  }
+
+  @Test
+  public void postLargeListTest() throws Exception {
+
+    List<String> body = new ArrayList<>();
+    for (int i = 0; i < 100000; i++) {
+      body.add("element" + i);
+    }
+
+    EchoResponse echoResponse = streamingEchoResponseRepository.postList(body);
+    assertThat(echoResponse.getHeaders()).containsEntry("transfer-encoding", "chunked");
+    assertThat(echoResponse.getHeaders()).doesNotContainKey("content-length");
+    assertThat(echoResponse.getBody()).startsWith("[\"element0\",\"element1\",");
+    assertThat(echoResponse.getBody()).endsWith(",\"element99999\"]");
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.functional;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.ygmodesto.modernfit.processor.repository.TimeoutEchoResponseRepository;
+import com.ygmodesto.modernfit.processor.server.EchoResponse;
+import com.ygmodesto.modernfit.services.ClientOkHttp;
+import com.ygmodesto.modernfit.services.Deadline;
+import com.ygmodesto.modernfit.services.DeadlineExceededException;
+import com.ygmodesto.modernfit.services.HttpInfo;
+import com.ygmodesto.modernfit.services.HttpResponseCallback;
+import com.ygmodesto.modernfit.services.ModernfitException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class TimeoutEchoResponseServerTest extends AbstractFunctionalTest {
+
+  private CountingHttpClient countingHttpClient;
+  private TimeoutEchoResponseRepository timeoutEchoResponseRepository;
+
+  @Before
+  public void setUp() throws Exception {
+    countingHttpClient = new CountingHttpClient(ClientOkHttp.create());
+    timeoutEchoResponseRepository =
+        util(TimeoutEchoResponseRepository.class, "Impl", countingHttpClient);
+  }
+
+  @Test
+  public void callTimeoutTest() throws Exception {
+
+    long start = System.nanoTime();
+    try {
+      timeoutEchoResponseRepository.getDelayedCall(1000L);
+      throw new AssertionError("Expected DeadlineExceededException");
+    } catch (DeadlineExceededException e) {
+      assertThat(e).hasMessageThat().contains("Deadline exceeded");
+    }
+    assertThat(elapsedMillis(start)).isLessThan(800L);
+    assertThat(timeoutEchoResponseRepository.getDelayedCall(0L).getMethod()).isEqualTo("GET");
+  }
+
+  @Test
+  public void readTimeoutTest() throws Exception {
+
+    try {
+      timeoutEchoResponseRepository.getDelayedRead(1000L);
+      throw new AssertionError("Expected ModernfitException");
+    } catch (ModernfitException e) {
+      assertThat(e).isNotInstanceOf(DeadlineExceededException.class);
+      assertThat(e).hasCauseThat().isInstanceOf(InterruptedIOException.class);
+    }
+    assertThat(timeoutEchoResponseRepository.getDelayedRead(50L).getMethod()).isEqualTo("GET");
+  }
+
+  @Test
+  public void inheritedDeadlineTest() throws Exception {
+
+    long start = System.nanoTime();
+    try (Deadline.Scope scope = Deadline.after(300, TimeUnit.MILLISECONDS).attach()) {
+      timeoutEchoResponseRepository.getDelayed(1000L);
+      throw new AssertionError("Expected DeadlineExceededException");
+    } catch (DeadlineExceededException e) {
+      assertThat(elapsedMillis(start)).isLessThan(900L);
+    }
+    assertThat(Deadline.current()).isNull();
+  }
+
+  @Test
+  public void nestedDeadlineOnlyShrinksTest() throws Exception {
+
+    try (Deadline.Scope outer = Deadline.after(300, TimeUnit.MILLISECONDS).attach();
+        Deadline.Scope inner = Deadline.after(10, TimeUnit.SECONDS).attach()) {
+
+      assertThat(Deadline.current().timeRemaining(TimeUnit.MILLISECONDS)).isAtMost(300L);
+    }
+  }
+
+  @Test
+  public void expiredDeadlineDroppedTest() throws Exception {
+
+    try (Deadline.Scope scope = Deadline.after(0, TimeUnit.MILLISECONDS).attach()) {
+      timeoutEchoResponseRepository.getDelayed(0L);
+      throw new AssertionError("Expected DeadlineExceededException");
+    } catch (DeadlineExceededException e) {
+      assertThat(e).hasMessageThat().contains("before sending");
+    }
+  }
+
+  @Test
+  public void asyncCallbackInheritsDeadlineTest() throws Exception {
+
+    CountDownLatch latch = new CountDownLatch(1);
+    AtomicReference<Deadline> callbackDeadline = new AtomicReference<>();
+    AtomicReference<ModernfitException> exception = new AtomicReference<>();
+    try (Deadline.Scope scope = Deadline.after(1, TimeUnit.SECONDS).attach()) {
+      timeoutEchoResponseRepository.getDelayed(0L, new HttpResponseCallback<EchoResponse>() {
+
+        @Override
+        public void onSuccess(HttpInfo<EchoResponse> httpInfo) {
+          callbackDeadline.set(Deadline.current());
+          latch.countDown();
+        }
+
+        @Override
+        public void onFailure(ModernfitException e) {
+          exception.set(e);
+          latch.countDown();
+        }
+      });
+    }
+
+    assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(exception.get()).isNull();
+    assertThat(callbackDeadline.get()).isNotNull();
+    assertThat(callbackDeadline.get().timeRemaining(TimeUnit.MILLISECONDS)).isAtMost(1000L);
+  }
+
+  @Test
+  public void asyncDeadlineTest() throws Exception {
+
+    CountDownLatch latch = new CountDownLatch(1);
+    AtomicReference<ModernfitException> exception = new AtomicReference<>();
+    try (Deadline.Scope scope = Deadline.after(300, TimeUnit.MILLISECONDS).attach()) {
+      timeoutEchoResponseRepository.getDelayed(1000L, new HttpResponseCallback<EchoResponse>() {
+
+        @Override
+        public void onSuccess(HttpInfo<EchoResponse> httpInfo) {
+          latch.countDown();
+        }
+
+        @Override
+        public void onFailure(ModernfitException e) {
+          exception.set(e);
+          latch.countDown();
+        }
+      });
+    }
+
+    assertThat(latch.await(900, TimeUnit.MILLISECONDS)).isTrue();
+    assertThat(exception.get()).isInstanceOf(DeadlineExceededException.class);
+  }
+
+  private static long elapsedMillis(long start) {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+  }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.functional;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ygmodesto.modernfit.processor.repository.VirtualThreadEchoResponseRepository;
+import com.ygmodesto.modernfit.processor.server.EchoResponse;
+import com.ygmodesto.modernfit.processor.server.ModelTO;
+import com.ygmodesto.modernfit.services.Cancellable;
+import com.ygmodesto.modernfit.services.ClientOkHttp;
+import com.ygmodesto.modernfit.services.HttpClient;
+import com.ygmodesto.modernfit.services.ModernfitException;
+import com.ygmodesto.modernfit.services.ResponseCallback;
+import com.ygmodesto.modernfit.services.VirtualThreadHttpClient;
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class VirtualThreadEchoResponseServerTest extends AbstractFunctionalTest {
+
+  private static final String THREAD_NAME = "modernfit-request";
+
+  private static ExecutorService executor;
+  private static VirtualThreadEchoResponseRepository virtualThreadEchoResponseRepository;
+  private static ObjectMapper objectMapper;
+
+  @BeforeClass
+  public static void setUp() throws Exception {
+    executor = Executors.newCachedThreadPool(runnable -> new Thread(runnable, THREAD_NAME));
+    virtualThreadEchoResponseRepository =
+        util(
+            VirtualThreadEchoResponseRepository.class,
+            "Impl",
+            VirtualThreadHttpClient.create(ClientOkHttp.create(), executor));
+    objectMapper = new ObjectMapper();
+  }
+
+  @AfterClass
+  public static void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void createTest() {
+
+    HttpClient delegate = ClientOkHttp.create();
+    HttpClient httpClient = VirtualThreadHttpClient.create(delegate);
+    if (VirtualThreadHttpClient.isSupported()) {
+      assertThat(httpClient).isInstanceOf(VirtualThreadHttpClient.class);
+    } else {
+      assertThat(httpClient).isSameInstanceAs(delegate);
+    }
+  }
+
+  @Test
+  public void getEchoTest() {
+
+    EchoResponse echoResponse = virtualThreadEchoResponseRepository.getEcho();
+    assertThat(echoResponse.getMethod()).isEqualTo("GET");
+  }
+
+  @Test
+  public void postEchoCallbackTest() throws Exception {
+
+    ModelTO modelTO = new ModelTO(2L, "model", "@model");
+    CountDownLatch latch = new CountDownLatch(1);
+    AtomicReference<EchoResponse> response = new AtomicReference<>();
+    AtomicReference<String> threadName = new AtomicReference<>();
+
+    virtualThreadEchoResponseRepository.postEcho(
+        modelTO,
+        new ResponseCallback<EchoResponse>() {
+
+          @Override
+          public void onSuccess(EchoResponse echoResponse) {
+            response.set(echoResponse);
+            threadName.set(Thread.currentThread().getName());
+            latch.countDown();
+          }
+
+          @Override
+          public void onFailure(ModernfitException e) {
+            latch.countDown();
+          }
+        });
+
+    assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(threadName.get()).isEqualTo(THREAD_NAME);
+    assertThat(objectMapper.readValue(response.get().getBody(), ModelTO.class)).isEqualTo(modelTO);
+  }
+
+  @Test
+  public void getEchoFutureTest() throws Exception {
+
+    EchoResponse echoResponse =
+        virtualThreadEchoResponseRepository.getEchoFuture().get(5, TimeUnit.SECONDS);
+    assertThat(echoResponse.getUrl()).isEqualTo("/api/echo");
+  }
+
+  @Test
+  public void multipartTest() throws Exception {
+
+    assertThat(
+            virtualThreadEchoResponseRepository
+                .partValue(2L)
+                .get(5, TimeUnit.SECONDS)
+                .getPartObjectA())
+        .isEqualTo("2");
+  }
+
+  @Test(expected = CancellationException.class)
+  public void cancelTest() throws Exception {
+
+    CompletableFuture<EchoResponse> future =
+        virtualThreadEchoResponseRepository.getDelayedEcho(3000L);
+    assertThat(future.cancel(true)).isTrue();
+    future.get();
+  }
+
+  @Test
+  public void cancelQueuedRequestNotifiesTest() throws Exception {
+
+    ExecutorService singleThread = Executors.newSingleThreadExecutor();
+    try {
+      VirtualThreadEchoResponseRepository repository = util(
+          VirtualThreadEchoResponseRepository.class,
+          "Impl",
+          VirtualThreadHttpClient.create(ClientOkHttp.create(), singleThread));
+      CountDownLatch blocked = new CountDownLatch(1);
+      singleThread.execute(() -> await(blocked));
+      CountDownLatch failed = new CountDownLatch(1);
+      AtomicReference<ModernfitException> failure = new AtomicReference<>();
+
+      Cancellable cancellable = repository.getDelayedEcho(100L, failureCallback(failed, failure));
+      cancellable.cancel();
+
+      // The request never starts, but its callback is still notified.
+      assertThat(failed.await(1, TimeUnit.SECONDS)).isTrue();
+      assertThat(failure.get()).hasCauseThat().isInstanceOf(IOException.class);
+      blocked.countDown();
+    } finally {
+      singleThread.shutdownNow();
+    }
+  }
+
+  @Test
+  public void cancelRunningRequestAbortsCallTest() throws Exception {
+
+    ExecutorService singleThread = Executors.newSingleThreadExecutor();
+    try {
+      VirtualThreadEchoResponseRepository repository = util(
+          VirtualThreadEchoResponseRepository.class,
+          "Impl",
+          VirtualThreadHttpClient.create(ClientOkHttp.create(), singleThread));
+      CountDownLatch failed = new CountDownLatch(1);
+      AtomicReference<ModernfitException> failure = new AtomicReference<>();
+
+      Cancellable cancellable = repository.getDelayedEcho(3000L, failureCallback(failed, failure));
+      Thread.sleep(300);
+      cancellable.cancel();
+
+      // The HTTP call is aborted, so the only thread is free again well before the response.
+      singleThread.submit(() -> { }).get(1, TimeUnit.SECONDS);
+      assertThat(failed.await(1, TimeUnit.SECONDS)).isTrue();
+    } finally {
+      singleThread.shutdownNow();
+    }
+  }
+
+  private static ResponseCallback<EchoResponse> failureCallback(
+      CountDownLatch latch, AtomicReference<ModernfitException> failure) {
+
+    return new ResponseCallback<EchoResponse>() {
+
+      @Override
+      public void onSuccess(EchoResponse echoResponse) {}
+
+      @Override
+      public void onFailure(ModernfitException e) {
+        failure.set(e);
+        latch.countDown();
+      }
+    };
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
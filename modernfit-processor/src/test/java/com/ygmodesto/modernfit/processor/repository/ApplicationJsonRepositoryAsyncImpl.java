@@ -93,7 +93,7 @@ public class ApplicationJsonRepositoryAsyncImpl extends AbstractInterfaceImpl im
     final OneObjectDiscreteBody.Builder<Void> bodyBuilder = OneObjectDiscreteBody.builder();
     bodyBuilder.addConverter(this.requestConverter0);
     responseCallback.setConverter(this.responseConverter0);
-    this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build(), responseCallback);
+    this.enqueue(requestInfoBuilder.build(), bodyBuilder.build(), responseCallback);
   }
 
   @Override
@@ -106,7 +106,7 @@ public class ApplicationJsonRepositoryAsyncImpl extends AbstractInterfaceImpl im
     bodyBuilder.addConverter(this.requestConverter1);
     bodyBuilder.addBody(user);
     responseCallback.setConverter(this.responseConverter0);
-    this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build(), responseCallback);
+    this.enqueue(requestInfoBuilder.build(), bodyBuilder.build(), responseCallback);
   }
 
   @Override
@@ -119,7 +119,7 @@ public class ApplicationJsonRepositoryAsyncImpl extends AbstractInterfaceImpl im
     bodyBuilder.addConverter(this.requestConverter2);
     bodyBuilder.addBody(users);
     responseCallback.setConverter(this.responseConverter1);
-    this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build(), responseCallback);
+    this.enqueue(requestInfoBuilder.build(), bodyBuilder.build(), responseCallback);
   }
 
   @Override
@@ -134,7 +134,7 @@ public class ApplicationJsonRepositoryAsyncImpl extends AbstractInterfaceImpl im
     bodyBuilder.addConverter(this.requestConverter3);
     bodyBuilder.addBody(user);
     responseCallback.setConverter(this.responseConverter0);
-    this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build(), responseCallback);
+    this.enqueue(requestInfoBuilder.build(), bodyBuilder.build(), responseCallback);
   }
 
   @Override
@@ -149,7 +149,7 @@ public class ApplicationJsonRepositoryAsyncImpl extends AbstractInterfaceImpl im
     bodyBuilder.addConverter(this.requestConverter3);
     bodyBuilder.addBody(user);
     responseCallback.setConverter(this.responseConverter2);
-    this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build(), responseCallback);
+    this.enqueue(requestInfoBuilder.build(), bodyBuilder.build(), responseCallback);
   }
 
   @Override
@@ -162,7 +162,7 @@ public class ApplicationJsonRepositoryAsyncImpl extends AbstractInterfaceImpl im
     final OneObjectDiscreteBody.Builder<Void> bodyBuilder = OneObjectDiscreteBody.builder();
     bodyBuilder.addConverter(this.requestConverter0);
     responseCallback.setConverter(this.responseConverter1);
-    this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build(), responseCallback);
+    this.enqueue(requestInfoBuilder.build(), bodyBuilder.build(), responseCallback);
   }
 
   @Override
@@ -175,7 +175,7 @@ public class ApplicationJsonRepositoryAsyncImpl extends AbstractInterfaceImpl im
     final OneObjectDiscreteBody.Builder<Void> bodyBuilder = OneObjectDiscreteBody.builder();
     bodyBuilder.addConverter(this.requestConverter0);
     responseCallback.setConverter(this.responseConverter0);
-    this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build(), responseCallback);
+    this.enqueue(requestInfoBuilder.build(), bodyBuilder.build(), responseCallback);
   }
 
   @Override
@@ -189,7 +189,7 @@ public class ApplicationJsonRepositoryAsyncImpl extends AbstractInterfaceImpl im
     bodyBuilder.addConverter(this.requestConverter3);
     bodyBuilder.addBody(user);
     responseCallback.setConverter(this.responseConverter2);
-    this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build(), responseCallback);
+    this.enqueue(requestInfoBuilder.build(), bodyBuilder.build(), responseCallback);
   }
   
   public static class Builder {
@@ -197,7 +197,7 @@ public class ApplicationJsonRepositoryAsyncImpl extends AbstractInterfaceImpl im
 
     private JacksonConverterFactory converterFactory;
 
-    public Builder addHttpClient(ClientOkHttp httpClient) {
+    public Builder addHttpClient(HttpClient httpClient) {
       this.httpClient = httpClient;
       return this;
     }
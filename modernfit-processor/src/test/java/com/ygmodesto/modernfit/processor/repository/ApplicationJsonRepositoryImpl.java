@@ -199,7 +199,7 @@ public class ApplicationJsonRepositoryImpl extends AbstractInterfaceImpl impleme
 
     private JacksonConverterFactory converterFactory;
 
-    public Builder addHttpClient(ClientOkHttp httpClient) {
+    public Builder addHttpClient(HttpClient httpClient) {
       this.httpClient = httpClient;
       return this;
     }
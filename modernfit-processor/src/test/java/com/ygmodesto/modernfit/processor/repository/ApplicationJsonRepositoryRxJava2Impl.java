@@ -22,8 +22,10 @@ import com.ygmodesto.modernfit.processor.server.UpdateUserTO;
 import com.ygmodesto.modernfit.processor.server.User;
 import com.ygmodesto.modernfit.services.AbstractInterfaceImpl;
 import com.ygmodesto.modernfit.services.BodyContent;
+import com.ygmodesto.modernfit.services.Cancellable;
 import com.ygmodesto.modernfit.services.ClientOkHttp;
 import com.ygmodesto.modernfit.services.CustomType;
+import com.ygmodesto.modernfit.services.ElementIterator;
 import com.ygmodesto.modernfit.services.HttpClient;
 import com.ygmodesto.modernfit.services.HttpInfo;
 import com.ygmodesto.modernfit.services.HttpMethod;
@@ -31,20 +33,21 @@ import com.ygmodesto.modernfit.services.ModernfitException;
 import com.ygmodesto.modernfit.services.OneObjectDiscreteBody;
 import com.ygmodesto.modernfit.services.RequestInfo;
 import com.ygmodesto.modernfit.services.ResponseContent;
-
 import io.reactivex.Observable;
+import io.reactivex.ObservableSource;
 import io.reactivex.Single;
-import java.lang.Exception;
+import io.reactivex.SingleEmitter;
+import io.reactivex.SingleOnSubscribe;
+import io.reactivex.functions.Function;
 import java.lang.Long;
 import java.lang.Override;
 import java.lang.String;
 import java.lang.Void;
 import java.util.Collection;
 import java.util.concurrent.Callable;
-
+import java.util.function.Consumer;
 
 public class ApplicationJsonRepositoryRxJava2Impl extends AbstractInterfaceImpl implements ApplicationJsonRepositoryRxJava2 {
-	
   private JacksonConverterFactory converterFactory;
 
   private Converter<Long, String> urlConverter0;
@@ -61,8 +64,10 @@ public class ApplicationJsonRepositoryRxJava2Impl extends AbstractInterfaceImpl
 
   private Converter<ResponseContent, Void> responseConverter1;
 
+  private Converter<ResponseContent, ElementIterator<User>> elementConverter0;
+
   private ApplicationJsonRepositoryRxJava2Impl(Builder builder) {
-	baseUrl = "http://localhost:8080/api";
+    baseUrl = "http://localhost:8080/api";
     httpClient = ( builder.httpClient == null) ? ClientOkHttp.create() : builder.httpClient;
     converterFactory = ( builder.converterFactory == null) ? JacksonConverterFactory.create() : builder.converterFactory;
     Long zombieurlConverter0 = null;
@@ -79,6 +84,8 @@ public class ApplicationJsonRepositoryRxJava2Impl extends AbstractInterfaceImpl
     responseConverter0 = converterFactory.getResponseConverter(zombieresponseConverter0, new CustomType<User>() {});
     Void zombieresponseConverter1 = null;
     responseConverter1 = converterFactory.getResponseConverter(zombieresponseConverter1, new CustomType<Void>() {});
+    User zombieelementConverter0 = null;
+    elementConverter0 = converterFactory.getElementConverter(zombieelementConverter0, new CustomType<User>() {});
   }
 
   public static Builder builder() {
@@ -87,126 +94,189 @@ public class ApplicationJsonRepositoryRxJava2Impl extends AbstractInterfaceImpl
 
   @Override
   public Single<User> getUser(Long id) throws ModernfitException {
-	final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
-	requestInfoBuilder.addUrlPathAsConstant("/user/");
-	requestInfoBuilder.addUrlPathNotEncoded(id, this.urlConverter0);
+    final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
+    requestInfoBuilder.addUrlPathAsConstant("/user/");
+    requestInfoBuilder.addUrlPathNotEncoded(id, this.urlConverter0);
     requestInfoBuilder.addHttpMethod(HttpMethod.GET);
     requestInfoBuilder.addHeaders(this.getHeaders());
     final OneObjectDiscreteBody.Builder<Void> bodyBuilder = OneObjectDiscreteBody.builder();
     bodyBuilder.addConverter(this.requestConverter0);
-    return Single.defer(new Callable<Single<User>>() {
-      public Single<User> call() {
-        try {
-          return Single.just(ApplicationJsonRepositoryRxJava2Impl.this.responseConverter0.convert(ApplicationJsonRepositoryRxJava2Impl.this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build())));
-        } catch (Exception e) {
-          return Single.error(e);
-        }
+    return Single.create(new SingleOnSubscribe<User>() {
+      @Override
+      public void subscribe(final SingleEmitter<User> emitter) {
+        final Cancellable cancellable = ApplicationJsonRepositoryRxJava2Impl.this.callMethodAsync(requestInfoBuilder.build(), bodyBuilder.build(), ApplicationJsonRepositoryRxJava2Impl.this.responseConverter0, new Consumer<User>() {
+          @Override
+          public void accept(User value) {
+            emitter.onSuccess(value);
+          }
+        }, new Consumer<ModernfitException>() {
+          @Override
+          public void accept(ModernfitException e) {
+            emitter.tryOnError(e);
+          }
+        });
+        emitter.setCancellable(new io.reactivex.functions.Cancellable() {
+          @Override
+          public void cancel() {
+            cancellable.cancel();
+          }
+        });
       }
     });
   }
 
   @Override
   public Single<User> createUser(User user) throws ModernfitException {
-	final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
-	requestInfoBuilder.addUrlPathAsConstant("/user/create");
+    final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
+    requestInfoBuilder.addUrlPathAsConstant("/user/create");
     requestInfoBuilder.addHttpMethod(HttpMethod.POST);
     requestInfoBuilder.addHeaders(this.getHeaders());
     final OneObjectDiscreteBody.Builder<User> bodyBuilder = OneObjectDiscreteBody.builder();
     bodyBuilder.addConverter(this.requestConverter1);
     bodyBuilder.addBody(user);
-    return Single.defer(new Callable<Single<User>>() {
-      public Single<User> call() {
-        try {
-          return Single.just(ApplicationJsonRepositoryRxJava2Impl.this.responseConverter0.convert(ApplicationJsonRepositoryRxJava2Impl.this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build())));
-        } catch (Exception e) {
-          return Single.error(e);
-        }
+    return Single.create(new SingleOnSubscribe<User>() {
+      @Override
+      public void subscribe(final SingleEmitter<User> emitter) {
+        final Cancellable cancellable = ApplicationJsonRepositoryRxJava2Impl.this.callMethodAsync(requestInfoBuilder.build(), bodyBuilder.build(), ApplicationJsonRepositoryRxJava2Impl.this.responseConverter0, new Consumer<User>() {
+          @Override
+          public void accept(User value) {
+            emitter.onSuccess(value);
+          }
+        }, new Consumer<ModernfitException>() {
+          @Override
+          public void accept(ModernfitException e) {
+            emitter.tryOnError(e);
+          }
+        });
+        emitter.setCancellable(new io.reactivex.functions.Cancellable() {
+          @Override
+          public void cancel() {
+            cancellable.cancel();
+          }
+        });
       }
     });
   }
 
   @Override
   public Observable<User> createUsers(Collection<User> users) throws ModernfitException {
-	final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
-	requestInfoBuilder.addUrlPathAsConstant("/users/create");
+    final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
+    requestInfoBuilder.addUrlPathAsConstant("/users/create");
     requestInfoBuilder.addHttpMethod(HttpMethod.POST);
     requestInfoBuilder.addHeaders(this.getHeaders());
+    requestInfoBuilder.setStreaming(true);
     final OneObjectDiscreteBody.Builder<Collection<User>> bodyBuilder = OneObjectDiscreteBody.builder();
     bodyBuilder.addConverter(this.requestConverter2);
     bodyBuilder.addBody(users);
-    return Observable.defer(new Callable<Observable<User>>() {
-      public Observable<User> call() {
-        try {
-          return Observable.just(ApplicationJsonRepositoryRxJava2Impl.this.responseConverter0.convert(ApplicationJsonRepositoryRxJava2Impl.this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build())));
-        } catch (Exception e) {
-          return Observable.error(e);
-        }
+    return Observable.using(new Callable<ElementIterator<User>>() {
+      public ElementIterator<User> call() {
+        return ApplicationJsonRepositoryRxJava2Impl.this.callMethodAsIterator(requestInfoBuilder.build(), bodyBuilder.build(), ApplicationJsonRepositoryRxJava2Impl.this.elementConverter0);
+      }
+    }, new Function<ElementIterator<User>, ObservableSource<User>>() {
+      public ObservableSource<User> apply(ElementIterator<User> iterator) {
+        return Observable.fromIterable(iterable(iterator));
+      }
+    }, new io.reactivex.functions.Consumer<ElementIterator<User>>() {
+      public void accept(ElementIterator<User> iterator) {
+        iterator.close();
       }
     });
   }
 
   @Override
   public Single<User> updateUser(Long id, UpdateUserTO user) throws ModernfitException {
-	final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
-	requestInfoBuilder.addUrlPathAsConstant("/user/update/");
-	requestInfoBuilder.addUrlPathNotEncoded(id, this.urlConverter0);
+    final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
+    requestInfoBuilder.addUrlPathAsConstant("/user/update/");
+    requestInfoBuilder.addUrlPathNotEncoded(id, this.urlConverter0);
     requestInfoBuilder.addHttpMethod(HttpMethod.PUT);
     requestInfoBuilder.addHeaders(this.getHeaders());
     final OneObjectDiscreteBody.Builder<UpdateUserTO> bodyBuilder = OneObjectDiscreteBody.builder();
     bodyBuilder.addConverter(this.requestConverter3);
     bodyBuilder.addBody(user);
-    return Single.defer(new Callable<Single<User>>() {
-      public Single<User> call() {
-        try {
-          return Single.just(ApplicationJsonRepositoryRxJava2Impl.this.responseConverter0.convert(ApplicationJsonRepositoryRxJava2Impl.this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build())));
-        } catch (Exception e) {
-          return Single.error(e);
-        }
+    return Single.create(new SingleOnSubscribe<User>() {
+      @Override
+      public void subscribe(final SingleEmitter<User> emitter) {
+        final Cancellable cancellable = ApplicationJsonRepositoryRxJava2Impl.this.callMethodAsync(requestInfoBuilder.build(), bodyBuilder.build(), ApplicationJsonRepositoryRxJava2Impl.this.responseConverter0, new Consumer<User>() {
+          @Override
+          public void accept(User value) {
+            emitter.onSuccess(value);
+          }
+        }, new Consumer<ModernfitException>() {
+          @Override
+          public void accept(ModernfitException e) {
+            emitter.tryOnError(e);
+          }
+        });
+        emitter.setCancellable(new io.reactivex.functions.Cancellable() {
+          @Override
+          public void cancel() {
+            cancellable.cancel();
+          }
+        });
       }
     });
   }
 
   @Override
   public Observable<User> getUserAll() throws ModernfitException {
-	final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
-	requestInfoBuilder.addUrlPathAsConstant("/user/users");
+    final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
+    requestInfoBuilder.addUrlPathAsConstant("/user/users");
     requestInfoBuilder.addHttpMethod(HttpMethod.GET);
     requestInfoBuilder.addHeaders(this.getHeaders());
+    requestInfoBuilder.setStreaming(true);
     final OneObjectDiscreteBody.Builder<Void> bodyBuilder = OneObjectDiscreteBody.builder();
     bodyBuilder.addConverter(this.requestConverter0);
-    return Observable.defer(new Callable<Observable<User>>() {
-      public Observable<User> call() {
-        try {
-          return Observable.just(ApplicationJsonRepositoryRxJava2Impl.this.responseConverter0.convert(ApplicationJsonRepositoryRxJava2Impl.this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build())));
-        } catch (Exception e) {
-          return Observable.error(e);
-        }
+    return Observable.using(new Callable<ElementIterator<User>>() {
+      public ElementIterator<User> call() {
+        return ApplicationJsonRepositoryRxJava2Impl.this.callMethodAsIterator(requestInfoBuilder.build(), bodyBuilder.build(), ApplicationJsonRepositoryRxJava2Impl.this.elementConverter0);
+      }
+    }, new Function<ElementIterator<User>, ObservableSource<User>>() {
+      public ObservableSource<User> apply(ElementIterator<User> iterator) {
+        return Observable.fromIterable(iterable(iterator));
+      }
+    }, new io.reactivex.functions.Consumer<ElementIterator<User>>() {
+      public void accept(ElementIterator<User> iterator) {
+        iterator.close();
       }
     });
   }
 
   @Override
   public Single<HttpInfo<User>> getUserWithHttpInfo(Long id) throws ModernfitException {
-	final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
-	requestInfoBuilder.addUrlPathAsConstant("/user/");
-	requestInfoBuilder.addUrlPathNotEncoded(id, this.urlConverter0);
+    final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
+    requestInfoBuilder.addUrlPathAsConstant("/user/");
+    requestInfoBuilder.addUrlPathNotEncoded(id, this.urlConverter0);
     requestInfoBuilder.addHttpMethod(HttpMethod.GET);
     requestInfoBuilder.addHeaders(this.getHeaders());
     final OneObjectDiscreteBody.Builder<Void> bodyBuilder = OneObjectDiscreteBody.builder();
     bodyBuilder.addConverter(this.requestConverter0);
-    return Single.defer(new Callable<Single<HttpInfo<User>>>() {
-      public Single<HttpInfo<User>> call() {
-        try {
-          return Single.just(ApplicationJsonRepositoryRxJava2Impl.this.toHttpInfo(ApplicationJsonRepositoryRxJava2Impl.this.responseConverter0, ApplicationJsonRepositoryRxJava2Impl.this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build())));
-        } catch (Exception e) {
-          return Single.error(e);
-        }
+    return Single.create(new SingleOnSubscribe<HttpInfo<User>>() {
+      @Override
+      public void subscribe(final SingleEmitter<HttpInfo<User>> emitter) {
+        final Cancellable cancellable = ApplicationJsonRepositoryRxJava2Impl.this.callMethodAsHttpInfoAsync(requestInfoBuilder.build(), bodyBuilder.build(), ApplicationJsonRepositoryRxJava2Impl.this.responseConverter0, new Consumer<HttpInfo<User>>() {
+          @Override
+          public void accept(HttpInfo<User> value) {
+            emitter.onSuccess(value);
+          }
+        }, new Consumer<ModernfitException>() {
+          @Override
+          public void accept(ModernfitException e) {
+            emitter.tryOnError(e);
+          }
+        });
+        emitter.setCancellable(new io.reactivex.functions.Cancellable() {
+          @Override
+          public void cancel() {
+            cancellable.cancel();
+          }
+        });
       }
     });
   }
 
   @Override
-  public Single<HttpInfo<Void>> getVoidWithHttpInfo(Long id, UpdateUserTO user) throws ModernfitException {
+  public Single<HttpInfo<Void>> getVoidWithHttpInfo(Long id, UpdateUserTO user) throws
+      ModernfitException {
     final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
     requestInfoBuilder.addUrlPathAsConstant("/user/");
     requestInfoBuilder.addUrlPathNotEncoded(id, this.urlConverter0);
@@ -215,24 +285,36 @@ public class ApplicationJsonRepositoryRxJava2Impl extends AbstractInterfaceImpl
     final OneObjectDiscreteBody.Builder<UpdateUserTO> bodyBuilder = OneObjectDiscreteBody.builder();
     bodyBuilder.addConverter(this.requestConverter3);
     bodyBuilder.addBody(user);
-    return Single.defer(new Callable<Single<HttpInfo<Void>>>() {
-      public Single<HttpInfo<Void>> call() {
-        try {
-          return Single.just(ApplicationJsonRepositoryRxJava2Impl.this.toHttpInfo(ApplicationJsonRepositoryRxJava2Impl.this.responseConverter1, ApplicationJsonRepositoryRxJava2Impl.this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build())));
-        } catch (Exception e) {
-          return Single.error(e);
-        }
+    return Single.create(new SingleOnSubscribe<HttpInfo<Void>>() {
+      @Override
+      public void subscribe(final SingleEmitter<HttpInfo<Void>> emitter) {
+        final Cancellable cancellable = ApplicationJsonRepositoryRxJava2Impl.this.callMethodAsHttpInfoAsync(requestInfoBuilder.build(), bodyBuilder.build(), ApplicationJsonRepositoryRxJava2Impl.this.responseConverter1, new Consumer<HttpInfo<Void>>() {
+          @Override
+          public void accept(HttpInfo<Void> value) {
+            emitter.onSuccess(value);
+          }
+        }, new Consumer<ModernfitException>() {
+          @Override
+          public void accept(ModernfitException e) {
+            emitter.tryOnError(e);
+          }
+        });
+        emitter.setCancellable(new io.reactivex.functions.Cancellable() {
+          @Override
+          public void cancel() {
+            cancellable.cancel();
+          }
+        });
       }
     });
   }
-  
-  
+
   public static class Builder {
     private HttpClient httpClient;
 
     private JacksonConverterFactory converterFactory;
 
-    public Builder addHttpClient(ClientOkHttp httpClient) {
+    public Builder addHttpClient(HttpClient httpClient) {
       this.httpClient = httpClient;
       return this;
     }
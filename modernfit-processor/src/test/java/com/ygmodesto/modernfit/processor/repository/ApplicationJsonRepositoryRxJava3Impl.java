@@ -24,6 +24,7 @@ import com.ygmodesto.modernfit.services.AbstractInterfaceImpl;
 import com.ygmodesto.modernfit.services.BodyContent;
 import com.ygmodesto.modernfit.services.ClientOkHttp;
 import com.ygmodesto.modernfit.services.CustomType;
+import com.ygmodesto.modernfit.services.ElementIterator;
 import com.ygmodesto.modernfit.services.HttpClient;
 import com.ygmodesto.modernfit.services.HttpInfo;
 import com.ygmodesto.modernfit.services.HttpMethod;
@@ -40,9 +41,7 @@ import java.lang.String;
 import java.lang.Void;
 import java.util.Collection;
 
-
 public class ApplicationJsonRepositoryRxJava3Impl extends AbstractInterfaceImpl implements ApplicationJsonRepositoryRxJava3 {
-	
   private JacksonConverterFactory converterFactory;
 
   private Converter<Long, String> urlConverter0;
@@ -58,9 +57,11 @@ public class ApplicationJsonRepositoryRxJava3Impl extends AbstractInterfaceImpl
   private Converter<ResponseContent, User> responseConverter0;
 
   private Converter<ResponseContent, Void> responseConverter1;
-	
+
+  private Converter<ResponseContent, ElementIterator<User>> elementConverter0;
+
   private ApplicationJsonRepositoryRxJava3Impl(Builder builder) {
-	baseUrl = "http://localhost:8080/api";
+    baseUrl = "http://localhost:8080/api";
     httpClient = ( builder.httpClient == null) ? ClientOkHttp.create() : builder.httpClient;
     converterFactory = ( builder.converterFactory == null) ? JacksonConverterFactory.create() : builder.converterFactory;
     Long zombieurlConverter0 = null;
@@ -77,12 +78,14 @@ public class ApplicationJsonRepositoryRxJava3Impl extends AbstractInterfaceImpl
     responseConverter0 = converterFactory.getResponseConverter(zombieresponseConverter0, new CustomType<User>() {});
     Void zombieresponseConverter1 = null;
     responseConverter1 = converterFactory.getResponseConverter(zombieresponseConverter1, new CustomType<Void>() {});
+    User zombieelementConverter0 = null;
+    elementConverter0 = converterFactory.getElementConverter(zombieelementConverter0, new CustomType<User>() {});
   }
 
   public static Builder builder() {
     return new Builder();
   }
-  
+
   @Override
   public Completable updateUser(Long id) throws ModernfitException {
     final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
@@ -92,70 +95,69 @@ public class ApplicationJsonRepositoryRxJava3Impl extends AbstractInterfaceImpl
     requestInfoBuilder.addHeaders(this.getHeaders());
     final OneObjectDiscreteBody.Builder<Void> bodyBuilder = OneObjectDiscreteBody.builder();
     bodyBuilder.addConverter(this.requestConverter0);
-    return Completable.defer(() ->  {
-      ApplicationJsonRepositoryRxJava3Impl.this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build());
-      return Completable.complete();
-    });
+    return Completable.create(emitter -> emitter.setCancellable(ApplicationJsonRepositoryRxJava3Impl.this.callMethodAsync(requestInfoBuilder.build(), bodyBuilder.build(), emitter::onComplete, emitter::tryOnError)::cancel));
   }
 
   @Override
   public Single<User> getUser(Long id) throws ModernfitException {
-	final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
-	requestInfoBuilder.addUrlPathAsConstant("/user/");
-	requestInfoBuilder.addUrlPathNotEncoded(id, this.urlConverter0);
+    final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
+    requestInfoBuilder.addUrlPathAsConstant("/user/");
+    requestInfoBuilder.addUrlPathNotEncoded(id, this.urlConverter0);
     requestInfoBuilder.addHttpMethod(HttpMethod.GET);
     requestInfoBuilder.addHeaders(this.getHeaders());
     final OneObjectDiscreteBody.Builder<Void> bodyBuilder = OneObjectDiscreteBody.builder();
     bodyBuilder.addConverter(this.requestConverter0);
-    return Single.defer(() -> Single.just(ApplicationJsonRepositoryRxJava3Impl.this.responseConverter0.convert(ApplicationJsonRepositoryRxJava3Impl.this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build()))));
+    return Single.create(emitter -> emitter.setCancellable(ApplicationJsonRepositoryRxJava3Impl.this.callMethodAsync(requestInfoBuilder.build(), bodyBuilder.build(), ApplicationJsonRepositoryRxJava3Impl.this.responseConverter0, emitter::onSuccess, emitter::tryOnError)::cancel));
   }
 
   @Override
   public Single<User> createUser(User user) throws ModernfitException {
-	final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
-	requestInfoBuilder.addUrlPathAsConstant("/user/create");
+    final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
+    requestInfoBuilder.addUrlPathAsConstant("/user/create");
     requestInfoBuilder.addHttpMethod(HttpMethod.POST);
     requestInfoBuilder.addHeaders(this.getHeaders());
     final OneObjectDiscreteBody.Builder<User> bodyBuilder = OneObjectDiscreteBody.builder();
     bodyBuilder.addConverter(this.requestConverter1);
     bodyBuilder.addBody(user);
-    return Single.defer(() -> Single.just(ApplicationJsonRepositoryRxJava3Impl.this.responseConverter0.convert(ApplicationJsonRepositoryRxJava3Impl.this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build()))));
+    return Single.create(emitter -> emitter.setCancellable(ApplicationJsonRepositoryRxJava3Impl.this.callMethodAsync(requestInfoBuilder.build(), bodyBuilder.build(), ApplicationJsonRepositoryRxJava3Impl.this.responseConverter0, emitter::onSuccess, emitter::tryOnError)::cancel));
   }
 
   @Override
   public Observable<User> createUsers(Collection<User> users) throws ModernfitException {
-	final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
-	requestInfoBuilder.addUrlPathAsConstant("/users/create");
+    final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
+    requestInfoBuilder.addUrlPathAsConstant("/users/create");
     requestInfoBuilder.addHttpMethod(HttpMethod.POST);
     requestInfoBuilder.addHeaders(this.getHeaders());
+    requestInfoBuilder.setStreaming(true);
     final OneObjectDiscreteBody.Builder<Collection<User>> bodyBuilder = OneObjectDiscreteBody.builder();
     bodyBuilder.addConverter(this.requestConverter2);
     bodyBuilder.addBody(users);
-    return Observable.defer(() -> Observable.just(ApplicationJsonRepositoryRxJava3Impl.this.responseConverter0.convert(ApplicationJsonRepositoryRxJava3Impl.this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build()))));
+    return Observable.using(() -> ApplicationJsonRepositoryRxJava3Impl.this.callMethodAsIterator(requestInfoBuilder.build(), bodyBuilder.build(), ApplicationJsonRepositoryRxJava3Impl.this.elementConverter0), iterator -> Observable.fromIterable(iterable(iterator)), ElementIterator::close);
   }
 
   @Override
   public Single<User> updateUser(Long id, UpdateUserTO user) throws ModernfitException {
-	final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
-	requestInfoBuilder.addUrlPathAsConstant("/user/update/");
-	requestInfoBuilder.addUrlPathNotEncoded(id, this.urlConverter0);
+    final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
+    requestInfoBuilder.addUrlPathAsConstant("/user/update/");
+    requestInfoBuilder.addUrlPathNotEncoded(id, this.urlConverter0);
     requestInfoBuilder.addHttpMethod(HttpMethod.PUT);
     requestInfoBuilder.addHeaders(this.getHeaders());
     final OneObjectDiscreteBody.Builder<UpdateUserTO> bodyBuilder = OneObjectDiscreteBody.builder();
     bodyBuilder.addConverter(this.requestConverter3);
     bodyBuilder.addBody(user);
-    return Single.defer(() -> Single.just(ApplicationJsonRepositoryRxJava3Impl.this.responseConverter0.convert(ApplicationJsonRepositoryRxJava3Impl.this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build()))));
+    return Single.create(emitter -> emitter.setCancellable(ApplicationJsonRepositoryRxJava3Impl.this.callMethodAsync(requestInfoBuilder.build(), bodyBuilder.build(), ApplicationJsonRepositoryRxJava3Impl.this.responseConverter0, emitter::onSuccess, emitter::tryOnError)::cancel));
   }
 
   @Override
   public Observable<User> getUserAll() throws ModernfitException {
-	final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
-	requestInfoBuilder.addUrlPathAsConstant("/user/users");
+    final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
+    requestInfoBuilder.addUrlPathAsConstant("/user/users");
     requestInfoBuilder.addHttpMethod(HttpMethod.GET);
     requestInfoBuilder.addHeaders(this.getHeaders());
+    requestInfoBuilder.setStreaming(true);
     final OneObjectDiscreteBody.Builder<Void> bodyBuilder = OneObjectDiscreteBody.builder();
     bodyBuilder.addConverter(this.requestConverter0);
-    return Observable.defer(() -> Observable.just(ApplicationJsonRepositoryRxJava3Impl.this.responseConverter0.convert(ApplicationJsonRepositoryRxJava3Impl.this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build()))));
+    return Observable.using(() -> ApplicationJsonRepositoryRxJava3Impl.this.callMethodAsIterator(requestInfoBuilder.build(), bodyBuilder.build(), ApplicationJsonRepositoryRxJava3Impl.this.elementConverter0), iterator -> Observable.fromIterable(iterable(iterator)), ElementIterator::close);
   }
 
   @Override
@@ -167,11 +169,12 @@ public class ApplicationJsonRepositoryRxJava3Impl extends AbstractInterfaceImpl
     requestInfoBuilder.addHeaders(this.getHeaders());
     final OneObjectDiscreteBody.Builder<Void> bodyBuilder = OneObjectDiscreteBody.builder();
     bodyBuilder.addConverter(this.requestConverter0);
-    return Single.defer(() -> Single.just(ApplicationJsonRepositoryRxJava3Impl.this.toHttpInfo(ApplicationJsonRepositoryRxJava3Impl.this.responseConverter0, ApplicationJsonRepositoryRxJava3Impl.this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build()))));
+    return Single.create(emitter -> emitter.setCancellable(ApplicationJsonRepositoryRxJava3Impl.this.callMethodAsHttpInfoAsync(requestInfoBuilder.build(), bodyBuilder.build(), ApplicationJsonRepositoryRxJava3Impl.this.responseConverter0, emitter::onSuccess, emitter::tryOnError)::cancel));
   }
 
   @Override
-  public Single<HttpInfo<Void>> getVoidWithHttpInfo(Long id, UpdateUserTO user) throws ModernfitException {
+  public Single<HttpInfo<Void>> getVoidWithHttpInfo(Long id, UpdateUserTO user) throws
+      ModernfitException {
     final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
     requestInfoBuilder.addUrlPathAsConstant("/user/");
     requestInfoBuilder.addUrlPathNotEncoded(id, this.urlConverter0);
@@ -180,15 +183,15 @@ public class ApplicationJsonRepositoryRxJava3Impl extends AbstractInterfaceImpl
     final OneObjectDiscreteBody.Builder<UpdateUserTO> bodyBuilder = OneObjectDiscreteBody.builder();
     bodyBuilder.addConverter(this.requestConverter3);
     bodyBuilder.addBody(user);
-    return Single.defer(() -> Single.just(ApplicationJsonRepositoryRxJava3Impl.this.toHttpInfo(ApplicationJsonRepositoryRxJava3Impl.this.responseConverter1, ApplicationJsonRepositoryRxJava3Impl.this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build()))));
+    return Single.create(emitter -> emitter.setCancellable(ApplicationJsonRepositoryRxJava3Impl.this.callMethodAsHttpInfoAsync(requestInfoBuilder.build(), bodyBuilder.build(), ApplicationJsonRepositoryRxJava3Impl.this.responseConverter1, emitter::onSuccess, emitter::tryOnError)::cancel));
   }
-  
+
   public static class Builder {
     private HttpClient httpClient;
 
     private JacksonConverterFactory converterFactory;
 
-    public Builder addHttpClient(ClientOkHttp httpClient) {
+    public Builder addHttpClient(HttpClient httpClient) {
       this.httpClient = httpClient;
       return this;
     }
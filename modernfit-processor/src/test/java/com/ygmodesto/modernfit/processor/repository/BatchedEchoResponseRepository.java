@@ -0,0 +1,58 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.repository;
+
+import com.ygmodesto.modernfit.annotations.BatchedBy;
+import com.ygmodesto.modernfit.annotations.Body;
+import com.ygmodesto.modernfit.annotations.Bulk;
+import com.ygmodesto.modernfit.annotations.GET;
+import com.ygmodesto.modernfit.annotations.Modernfit;
+import com.ygmodesto.modernfit.annotations.POST;
+import com.ygmodesto.modernfit.annotations.Path;
+import com.ygmodesto.modernfit.converters.JacksonConverterFactory;
+import com.ygmodesto.modernfit.processor.server.EchoResponse;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@Modernfit(value = "http://localhost:8080/api", converterFactory = JacksonConverterFactory.class)
+public interface BatchedEchoResponseRepository {
+
+  @BatchedBy(value = "lookupProducts", maxBatch = 10, window = 100)
+  @GET("/echo/{barcode}")
+  EchoResponse getProduct(@Path Long barcode);
+
+  @POST("/lookup/echo")
+  List<EchoResponse> lookupProducts(@Body List<Long> barcodes);
+
+  @Bulk("getProduct")
+  List<EchoResponse> getProductAll(Iterable<Long> barcodes, int parallelism);
+
+  @BatchedBy(value = "lookupProductMap", window = 100)
+  @GET("/echo/{barcode}")
+  CompletableFuture<EchoResponse> findProduct(@Path long barcode);
+
+  @POST("/lookup/echo/map")
+  CompletableFuture<Map<Long, EchoResponse>> lookupProductMap(@Body Collection<Long> barcodes);
+
+  @BatchedBy(value = "lookupFirstProduct", window = 100)
+  @GET("/echo/{barcode}")
+  CompletableFuture<EchoResponse> findFirstProduct(@Path Long barcode);
+
+  @POST("/lookup/1/echo")
+  List<EchoResponse> lookupFirstProduct(@Body List<Long> barcodes);
+}
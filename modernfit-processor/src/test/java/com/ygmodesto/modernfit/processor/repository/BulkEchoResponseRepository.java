@@ -0,0 +1,60 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.repository;
+
+import com.ygmodesto.modernfit.annotations.Bulk;
+import com.ygmodesto.modernfit.annotations.GET;
+import com.ygmodesto.modernfit.annotations.Modernfit;
+import com.ygmodesto.modernfit.annotations.Path;
+import com.ygmodesto.modernfit.converters.JacksonConverterFactory;
+import com.ygmodesto.modernfit.processor.server.EchoResponse;
+import com.ygmodesto.modernfit.services.BulkOutcome;
+import com.ygmodesto.modernfit.services.BulkResult;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+@Modernfit(value = "http://localhost:8080/api", converterFactory = JacksonConverterFactory.class)
+public interface BulkEchoResponseRepository {
+
+  @GET("/echo/{barcode}")
+  EchoResponse getProduct(@Path Long barcode);
+
+  @Bulk("getProduct")
+  List<EchoResponse> getProductAll(Iterable<Long> barcodes, int parallelism);
+
+  @Bulk("getProduct")
+  CompletableFuture<List<EchoResponse>> getProductAllFuture(List<Long> barcodes, int parallelism);
+
+  @Bulk(value = "getProduct", failFast = false)
+  Stream<BulkOutcome<Long, EchoResponse>> getProductCompletions(
+      Iterable<Long> barcodes, int parallelism);
+
+  @GET("/delay/{millis}/echo")
+  CompletableFuture<EchoResponse> getDelayed(@Path Long millis);
+
+  @Bulk("getDelayed")
+  BulkResult<Long, EchoResponse> getDelayedAll(Iterable<Long> millis, int parallelism);
+
+  @GET("/echo/scalar/{type}")
+  Long getScalar(@Path String type);
+
+  @Bulk("getScalar")
+  List<Long> getScalarAll(Iterable<String> types, int parallelism);
+
+  @Bulk(value = "getScalar", failFast = false)
+  BulkResult<String, Long> getScalarResults(Iterable<String> types, int parallelism);
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.repository;
+
+import com.ygmodesto.modernfit.annotations.Bulkhead;
+import com.ygmodesto.modernfit.annotations.GET;
+import com.ygmodesto.modernfit.annotations.Modernfit;
+import com.ygmodesto.modernfit.annotations.Path;
+import com.ygmodesto.modernfit.converters.JacksonConverterFactory;
+import com.ygmodesto.modernfit.processor.server.EchoResponse;
+import com.ygmodesto.modernfit.services.HttpResponseCallback;
+
+@Bulkhead(maxConcurrentCalls = 1, maxQueueDepth = 1)
+@Modernfit(value = "http://localhost:8080/api", converterFactory = JacksonConverterFactory.class)
+public interface BulkheadEchoResponseRepository {
+
+  @GET("/delay/{millis}/echo")
+  EchoResponse getDelayedEcho(@Path Long millis);
+
+  @GET("/delay/{millis}/echo")
+  void getDelayedEcho(@Path Long millis, HttpResponseCallback<EchoResponse> callback);
+
+  @Bulkhead(name = "uploads", maxConcurrentCalls = 1, maxQueueDepth = 0)
+  @GET("/delay/{millis}/echo")
+  EchoResponse getDelayedUpload(@Path Long millis);
+
+  @Bulkhead(name = "uploads", maxConcurrentCalls = 1, maxQueueDepth = 0)
+  @GET("/echo")
+  EchoResponse getUpload();
+
+  @Bulkhead(maxConcurrentCalls = 5)
+  @GET("/echo")
+  EchoResponse getEcho();
+
+  @Bulkhead(name = "bulk", maxConcurrentCalls = 6, maxQueueDepth = 0)
+  @GET("/delay/{millis}/echo")
+  void getDelayedBulk(@Path Long millis, HttpResponseCallback<EchoResponse> callback);
+
+  @Bulkhead(name = "rpc", maxConcurrentCalls = 1)
+  @GET("/echo")
+  void getRpc(HttpResponseCallback<EchoResponse> callback);
+}
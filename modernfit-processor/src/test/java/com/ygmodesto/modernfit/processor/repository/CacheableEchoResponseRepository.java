@@ -0,0 +1,50 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.repository;
+
+import com.ygmodesto.modernfit.annotations.Cacheable;
+import com.ygmodesto.modernfit.annotations.GET;
+import com.ygmodesto.modernfit.annotations.Modernfit;
+import com.ygmodesto.modernfit.annotations.Path;
+import com.ygmodesto.modernfit.annotations.Query;
+import com.ygmodesto.modernfit.converters.JacksonConverterFactory;
+import com.ygmodesto.modernfit.processor.server.EchoResponse;
+import com.ygmodesto.modernfit.services.HttpInfo;
+import java.util.concurrent.TimeUnit;
+
+@Modernfit(value = "http://localhost:8080/api", converterFactory = JacksonConverterFactory.class)
+public interface CacheableEchoResponseRepository {
+
+  @Cacheable(ttl = 60)
+  @GET("/delay/{millis}/echo")
+  EchoResponse getEcho(@Path Long millis, @Query("tags") String[] tags);
+
+  @Cacheable(ttl = 60)
+  @GET("/delay/{millis}/echo")
+  HttpInfo<EchoResponse> getEchoWithHttpInfo(@Path Long millis);
+
+  @Cacheable(ttl = 60, maxEntries = 2)
+  @GET("/delay/{millis}/echo")
+  EchoResponse getEchoSmallCache(@Path Long millis);
+
+  @Cacheable(ttl = 200, unit = TimeUnit.MILLISECONDS)
+  @GET("/delay/{millis}/echo")
+  EchoResponse getEchoShortTtl(@Path Long millis);
+
+  @Cacheable(ttl = 200, staleWhileRevalidate = 60000, unit = TimeUnit.MILLISECONDS)
+  @GET("/delay/{millis}/echo")
+  EchoResponse getEchoStaleWhileRevalidate(@Path Long millis);
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.repository;
+
+import com.ygmodesto.modernfit.annotations.Bulkhead;
+import com.ygmodesto.modernfit.annotations.CircuitBreaker;
+import com.ygmodesto.modernfit.annotations.GET;
+import com.ygmodesto.modernfit.annotations.Modernfit;
+import com.ygmodesto.modernfit.annotations.Path;
+import com.ygmodesto.modernfit.annotations.RateLimit;
+import com.ygmodesto.modernfit.converters.JacksonConverterFactory;
+import com.ygmodesto.modernfit.processor.server.EchoResponse;
+import com.ygmodesto.modernfit.services.HttpInfo;
+import com.ygmodesto.modernfit.services.HttpResponseCallback;
+
+@CircuitBreaker(windowSize = 4, minimumCalls = 4, waitInOpen = 300, halfOpenCalls = 2)
+@Modernfit(value = "http://localhost:8080/api", converterFactory = JacksonConverterFactory.class)
+public interface CircuitBreakerEchoResponseRepository {
+
+  @GET("/{httpCode}/echo")
+  HttpInfo<EchoResponse> getStatus(@Path Integer httpCode);
+
+  @GET("/{httpCode}/echo")
+  void getStatus(@Path Integer httpCode, HttpResponseCallback<EchoResponse> callback);
+
+  @GET("/echo")
+  EchoResponse getEcho();
+
+  @CircuitBreaker(windowSize = 4, minimumCalls = 4, perHost = true)
+  @GET("/{httpCode}/echo")
+  HttpInfo<EchoResponse> getStatusPerHost(@Path Integer httpCode);
+
+  @CircuitBreaker(windowSize = 4, minimumCalls = 4, perHost = true)
+  @GET("/echo")
+  EchoResponse getEchoPerHost();
+
+  @CircuitBreaker(slowCallRateThreshold = 50, slowCallDuration = 100, windowSize = 2,
+      minimumCalls = 2)
+  @GET("/delay/{millis}/echo")
+  EchoResponse getDelayedEcho(@Path Long millis);
+
+  @GET("/delay/{millis}/{httpCode}/echo")
+  void getDelayedStatus(
+      @Path Long millis, @Path Integer httpCode, HttpResponseCallback<EchoResponse> callback);
+
+  @Bulkhead(name = "saturated", maxConcurrentCalls = 1, maxQueueDepth = 0)
+  @GET("/delay/{millis}/echo")
+  EchoResponse getDelayedInBulkhead(@Path Long millis);
+
+  @Bulkhead(name = "saturated", maxConcurrentCalls = 1, maxQueueDepth = 0)
+  @GET("/delay/{millis}/echo")
+  void getDelayedInBulkhead(@Path Long millis, HttpResponseCallback<EchoResponse> callback);
+
+  @RateLimit(permits = 1, per = 10, failFast = true)
+  @GET("/echo")
+  EchoResponse getEchoRateLimited();
+
+  @RateLimit(permits = 1, per = 10, failFast = true)
+  @GET("/echo")
+  void getEchoRateLimited(HttpResponseCallback<EchoResponse> callback);
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.repository;
+
+import com.ygmodesto.modernfit.annotations.EventStream;
+import com.ygmodesto.modernfit.annotations.GET;
+import com.ygmodesto.modernfit.annotations.Modernfit;
+import com.ygmodesto.modernfit.annotations.Path;
+import com.ygmodesto.modernfit.annotations.Query;
+import com.ygmodesto.modernfit.converters.JacksonConverterFactory;
+import com.ygmodesto.modernfit.processor.server.EchoResponse;
+import com.ygmodesto.modernfit.processor.server.ModelTO;
+import com.ygmodesto.modernfit.services.Cancellable;
+import com.ygmodesto.modernfit.services.ConfigurationInterface;
+import com.ygmodesto.modernfit.services.EventCallback;
+import io.reactivex.rxjava3.core.Flowable;
+import java.util.concurrent.CompletableFuture;
+
+@Modernfit(value = "http://localhost:8080/api", converterFactory = JacksonConverterFactory.class)
+public interface EventStreamEchoResponseRepository extends ConfigurationInterface {
+
+  @EventStream
+  @GET("/events/{count}/{perConnection}")
+  Flowable<ModelTO> getEvents(@Path Integer count, @Path Integer perConnection);
+
+  @EventStream
+  @GET("/events/{count}/{perConnection}")
+  io.reactivex.Observable<ModelTO> getEventsRx2(@Path Integer count, @Path Integer perConnection);
+
+  @EventStream
+  @GET("/events/{count}/{perConnection}")
+  Cancellable getEvents(@Path Integer count, @Path Integer perConnection, @Query Long delay,
+      EventCallback<String> callback);
+
+  @EventStream
+  @GET("/echo")
+  Flowable<EchoResponse> getEcho();
+
+  @GET("/echo")
+  CompletableFuture<EchoResponse> getEchoFuture();
+}
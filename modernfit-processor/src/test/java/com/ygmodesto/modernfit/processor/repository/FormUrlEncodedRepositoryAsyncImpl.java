@@ -76,7 +76,7 @@ public class FormUrlEncodedRepositoryAsyncImpl extends AbstractInterfaceImpl imp
     requestInfoBuilder.addHeaders(this.getHeaders());
     final FormUrlEncodedBody.Builder bodyBuilder = FormUrlEncodedBody.builder();
     responseCallback.setConverter(this.responseConverter0);
-    this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build(), responseCallback);
+    this.enqueue(requestInfoBuilder.build(), bodyBuilder.build(), responseCallback);
   }
 
   @Override
@@ -90,7 +90,7 @@ public class FormUrlEncodedRepositoryAsyncImpl extends AbstractInterfaceImpl imp
     bodyBuilder.addFieldNotEncoded("name", name, this.requestConverter0);
     bodyBuilder.addFieldNotEncoded("login", login, this.requestConverter0);
     responseCallback.setConverter(this.responseConverter0);
-    this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build(), responseCallback);
+    this.enqueue(requestInfoBuilder.build(), bodyBuilder.build(), responseCallback);
   }
 
   @Override
@@ -103,7 +103,7 @@ public class FormUrlEncodedRepositoryAsyncImpl extends AbstractInterfaceImpl imp
     final FormUrlEncodedBody.Builder bodyBuilder = FormUrlEncodedBody.builder();
     bodyBuilder.addFieldMapNotEncoded(user, this.requestConverter0);
     responseCallback.setConverter(this.responseConverter0);
-    this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build(), responseCallback);
+    this.enqueue(requestInfoBuilder.build(), bodyBuilder.build(), responseCallback);
   }
 
   @Override
@@ -118,7 +118,7 @@ public class FormUrlEncodedRepositoryAsyncImpl extends AbstractInterfaceImpl imp
     bodyBuilder.addFieldNotEncoded("name", name, this.requestConverter0);
     bodyBuilder.addFieldNotEncoded("login", login, this.requestConverter0);
     responseCallback.setConverter(this.responseConverter0);
-    this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build(), responseCallback);
+    this.enqueue(requestInfoBuilder.build(), bodyBuilder.build(), responseCallback);
   }
 
   @Override
@@ -130,7 +130,7 @@ public class FormUrlEncodedRepositoryAsyncImpl extends AbstractInterfaceImpl imp
     requestInfoBuilder.addHeaders(this.getHeaders());
     final FormUrlEncodedBody.Builder bodyBuilder = FormUrlEncodedBody.builder();
     responseCallback.setConverter(this.responseConverter1);
-    this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build(), responseCallback);
+    this.enqueue(requestInfoBuilder.build(), bodyBuilder.build(), responseCallback);
   }
   
   public static class Builder {
@@ -138,7 +138,7 @@ public class FormUrlEncodedRepositoryAsyncImpl extends AbstractInterfaceImpl imp
 
     private JacksonConverterFactory converterFactory;
 
-    public Builder addHttpClient(ClientOkHttp httpClient) {
+    public Builder addHttpClient(HttpClient httpClient) {
       this.httpClient = httpClient;
       return this;
     }
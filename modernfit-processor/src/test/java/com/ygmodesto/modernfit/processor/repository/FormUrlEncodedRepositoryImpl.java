@@ -128,7 +128,7 @@ public class FormUrlEncodedRepositoryImpl extends AbstractInterfaceImpl implemen
 
 	    private JacksonConverterFactory converterFactory;
 
-	    public Builder addHttpClient(ClientOkHttp httpClient) {
+	    public Builder addHttpClient(HttpClient httpClient) {
 	      this.httpClient = httpClient;
 	      return this;
 	    }
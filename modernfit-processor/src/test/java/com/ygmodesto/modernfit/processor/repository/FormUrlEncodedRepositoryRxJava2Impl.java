@@ -21,45 +21,52 @@ import com.ygmodesto.modernfit.converters.JacksonConverterFactory;
 import com.ygmodesto.modernfit.processor.server.User;
 import com.ygmodesto.modernfit.services.AbstractInterfaceImpl;
 import com.ygmodesto.modernfit.services.BodyContent;
+import com.ygmodesto.modernfit.services.Cancellable;
 import com.ygmodesto.modernfit.services.ClientOkHttp;
 import com.ygmodesto.modernfit.services.CustomType;
+import com.ygmodesto.modernfit.services.ElementIterator;
 import com.ygmodesto.modernfit.services.FormUrlEncodedBody;
 import com.ygmodesto.modernfit.services.HttpClient;
 import com.ygmodesto.modernfit.services.HttpMethod;
 import com.ygmodesto.modernfit.services.ModernfitException;
 import com.ygmodesto.modernfit.services.RequestInfo;
 import com.ygmodesto.modernfit.services.ResponseContent;
-
 import io.reactivex.Observable;
+import io.reactivex.ObservableSource;
 import io.reactivex.Single;
-import java.lang.Exception;
+import io.reactivex.SingleEmitter;
+import io.reactivex.SingleOnSubscribe;
+import io.reactivex.functions.Function;
 import java.lang.Long;
 import java.lang.Override;
 import java.lang.String;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.function.Consumer;
 
 public class FormUrlEncodedRepositoryRxJava2Impl extends AbstractInterfaceImpl implements FormUrlEncodedRepositoryRxJava2 {
-	
-
   private JacksonConverterFactory converterFactory;
-	
+
   private Converter<Long, String> urlConverter0;
-	
+
   private Converter<String, BodyContent> requestConverter0;
-	  
+
   private Converter<ResponseContent, User> responseConverter0;
-	  
+
+  private Converter<ResponseContent, ElementIterator<User>> elementConverter0;
+
   private FormUrlEncodedRepositoryRxJava2Impl(Builder builder) {
-		baseUrl = "http://localhost:8080/api";
-	    httpClient = ( builder.httpClient == null) ? ClientOkHttp.create() : builder.httpClient;
-	    converterFactory = ( builder.converterFactory == null) ? JacksonConverterFactory.create() : builder.converterFactory;
-	    Long zombieurlConverter0 = null;
-	    urlConverter0 = converterFactory.getUrlConverter(zombieurlConverter0, new CustomType<Long>() {});
-	    String zombierequestConverter0 = null;
-	    requestConverter0 = converterFactory.getRequestConverter(zombierequestConverter0, new CustomType<String>() {});
-	    User zombieresponseConverter0 = null;
-	    responseConverter0 = converterFactory.getResponseConverter(zombieresponseConverter0, new CustomType<User>() {});
+    baseUrl = "http://localhost:8080/api";
+    httpClient = ( builder.httpClient == null) ? ClientOkHttp.create() : builder.httpClient;
+    converterFactory = ( builder.converterFactory == null) ? JacksonConverterFactory.create() : builder.converterFactory;
+    Long zombieurlConverter0 = null;
+    urlConverter0 = converterFactory.getUrlConverter(zombieurlConverter0, new CustomType<Long>() {});
+    String zombierequestConverter0 = null;
+    requestConverter0 = converterFactory.getRequestConverter(zombierequestConverter0, new CustomType<String>() {});
+    User zombieresponseConverter0 = null;
+    responseConverter0 = converterFactory.getResponseConverter(zombieresponseConverter0, new CustomType<User>() {});
+    User zombieelementConverter0 = null;
+    elementConverter0 = converterFactory.getElementConverter(zombieelementConverter0, new CustomType<User>() {});
   }
 
   public static Builder builder() {
@@ -68,107 +75,164 @@ public class FormUrlEncodedRepositoryRxJava2Impl extends AbstractInterfaceImpl i
 
   @Override
   public Single<User> getUser(Long id) throws ModernfitException {
-	final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
-	requestInfoBuilder.addUrlPathAsConstant("/user/");
-	requestInfoBuilder.addUrlPathNotEncoded(id, this.urlConverter0);
+    final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
+    requestInfoBuilder.addUrlPathAsConstant("/user/");
+    requestInfoBuilder.addUrlPathNotEncoded(id, this.urlConverter0);
     requestInfoBuilder.addHttpMethod(HttpMethod.GET);
     requestInfoBuilder.addHeaders(this.getHeaders());
     final FormUrlEncodedBody.Builder bodyBuilder = FormUrlEncodedBody.builder();
-    return Single.defer(new Callable<Single<User>>() {
-      public Single<User> call() {
-        try {
-          return Single.just(FormUrlEncodedRepositoryRxJava2Impl.this.responseConverter0.convert(FormUrlEncodedRepositoryRxJava2Impl.this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build())));
-        } catch (Exception e) {
-          return Single.error(e);
-        }
+    return Single.create(new SingleOnSubscribe<User>() {
+      @Override
+      public void subscribe(final SingleEmitter<User> emitter) {
+        final Cancellable cancellable = FormUrlEncodedRepositoryRxJava2Impl.this.callMethodAsync(requestInfoBuilder.build(), bodyBuilder.build(), FormUrlEncodedRepositoryRxJava2Impl.this.responseConverter0, new Consumer<User>() {
+          @Override
+          public void accept(User value) {
+            emitter.onSuccess(value);
+          }
+        }, new Consumer<ModernfitException>() {
+          @Override
+          public void accept(ModernfitException e) {
+            emitter.tryOnError(e);
+          }
+        });
+        emitter.setCancellable(new io.reactivex.functions.Cancellable() {
+          @Override
+          public void cancel() {
+            cancellable.cancel();
+          }
+        });
       }
     });
   }
 
   @Override
   public Single<User> createUser(String name, String login) throws ModernfitException {
-	final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
-	requestInfoBuilder.addUrlPathAsConstant("/user/create");
+    final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
+    requestInfoBuilder.addUrlPathAsConstant("/user/create");
     requestInfoBuilder.addHttpMethod(HttpMethod.POST);
     requestInfoBuilder.addHeaders(this.getHeaders());
     final FormUrlEncodedBody.Builder bodyBuilder = FormUrlEncodedBody.builder();
     bodyBuilder.addFieldNotEncoded("name", name, this.requestConverter0);
     bodyBuilder.addFieldNotEncoded("login", login, this.requestConverter0);
-    return Single.defer(new Callable<Single<User>>() {
-      public Single<User> call() {
-        try {
-          return Single.just(FormUrlEncodedRepositoryRxJava2Impl.this.responseConverter0.convert(FormUrlEncodedRepositoryRxJava2Impl.this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build())));
-        } catch (Exception e) {
-          return Single.error(e);
-        }
+    return Single.create(new SingleOnSubscribe<User>() {
+      @Override
+      public void subscribe(final SingleEmitter<User> emitter) {
+        final Cancellable cancellable = FormUrlEncodedRepositoryRxJava2Impl.this.callMethodAsync(requestInfoBuilder.build(), bodyBuilder.build(), FormUrlEncodedRepositoryRxJava2Impl.this.responseConverter0, new Consumer<User>() {
+          @Override
+          public void accept(User value) {
+            emitter.onSuccess(value);
+          }
+        }, new Consumer<ModernfitException>() {
+          @Override
+          public void accept(ModernfitException e) {
+            emitter.tryOnError(e);
+          }
+        });
+        emitter.setCancellable(new io.reactivex.functions.Cancellable() {
+          @Override
+          public void cancel() {
+            cancellable.cancel();
+          }
+        });
       }
     });
   }
 
   @Override
   public Single<User> createUser(Map<String, String> user) throws ModernfitException {
-	final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
-	requestInfoBuilder.addUrlPathAsConstant("/user/create");
+    final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
+    requestInfoBuilder.addUrlPathAsConstant("/user/create");
     requestInfoBuilder.addHttpMethod(HttpMethod.POST);
     requestInfoBuilder.addHeaders(this.getHeaders());
     final FormUrlEncodedBody.Builder bodyBuilder = FormUrlEncodedBody.builder();
     bodyBuilder.addFieldMapNotEncoded(user, this.requestConverter0);
-    return Single.defer(new Callable<Single<User>>() {
-      public Single<User> call() {
-        try {
-          return Single.just(FormUrlEncodedRepositoryRxJava2Impl.this.responseConverter0.convert(FormUrlEncodedRepositoryRxJava2Impl.this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build())));
-        } catch (Exception e) {
-          return Single.error(e);
-        }
+    return Single.create(new SingleOnSubscribe<User>() {
+      @Override
+      public void subscribe(final SingleEmitter<User> emitter) {
+        final Cancellable cancellable = FormUrlEncodedRepositoryRxJava2Impl.this.callMethodAsync(requestInfoBuilder.build(), bodyBuilder.build(), FormUrlEncodedRepositoryRxJava2Impl.this.responseConverter0, new Consumer<User>() {
+          @Override
+          public void accept(User value) {
+            emitter.onSuccess(value);
+          }
+        }, new Consumer<ModernfitException>() {
+          @Override
+          public void accept(ModernfitException e) {
+            emitter.tryOnError(e);
+          }
+        });
+        emitter.setCancellable(new io.reactivex.functions.Cancellable() {
+          @Override
+          public void cancel() {
+            cancellable.cancel();
+          }
+        });
       }
     });
   }
 
   @Override
   public Single<User> updateUser(Long id, String name, String login) throws ModernfitException {
-	final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
-	requestInfoBuilder.addUrlPathAsConstant("/user/update/");
-	requestInfoBuilder.addUrlPathNotEncoded(id, this.urlConverter0);
+    final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
+    requestInfoBuilder.addUrlPathAsConstant("/user/update/");
+    requestInfoBuilder.addUrlPathNotEncoded(id, this.urlConverter0);
     requestInfoBuilder.addHttpMethod(HttpMethod.PUT);
     requestInfoBuilder.addHeaders(this.getHeaders());
     final FormUrlEncodedBody.Builder bodyBuilder = FormUrlEncodedBody.builder();
     bodyBuilder.addFieldNotEncoded("name", name, this.requestConverter0);
     bodyBuilder.addFieldNotEncoded("login", login, this.requestConverter0);
-    return Single.defer(new Callable<Single<User>>() {
-      public Single<User> call() {
-        try {
-          return Single.just(FormUrlEncodedRepositoryRxJava2Impl.this.responseConverter0.convert(FormUrlEncodedRepositoryRxJava2Impl.this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build())));
-        } catch (Exception e) {
-          return Single.error(e);
-        }
+    return Single.create(new SingleOnSubscribe<User>() {
+      @Override
+      public void subscribe(final SingleEmitter<User> emitter) {
+        final Cancellable cancellable = FormUrlEncodedRepositoryRxJava2Impl.this.callMethodAsync(requestInfoBuilder.build(), bodyBuilder.build(), FormUrlEncodedRepositoryRxJava2Impl.this.responseConverter0, new Consumer<User>() {
+          @Override
+          public void accept(User value) {
+            emitter.onSuccess(value);
+          }
+        }, new Consumer<ModernfitException>() {
+          @Override
+          public void accept(ModernfitException e) {
+            emitter.tryOnError(e);
+          }
+        });
+        emitter.setCancellable(new io.reactivex.functions.Cancellable() {
+          @Override
+          public void cancel() {
+            cancellable.cancel();
+          }
+        });
       }
     });
   }
 
   @Override
   public Observable<User> getUserAll() throws ModernfitException {
-	final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
-	requestInfoBuilder.addUrlPathAsConstant("/user/users");
+    final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
+    requestInfoBuilder.addUrlPathAsConstant("/user/users");
     requestInfoBuilder.addHttpMethod(HttpMethod.GET);
     requestInfoBuilder.addHeaders(this.getHeaders());
+    requestInfoBuilder.setStreaming(true);
     final FormUrlEncodedBody.Builder bodyBuilder = FormUrlEncodedBody.builder();
-    return Observable.defer(new Callable<Observable<User>>() {
-      public Observable<User> call() {
-        try {
-          return Observable.just(FormUrlEncodedRepositoryRxJava2Impl.this.responseConverter0.convert(FormUrlEncodedRepositoryRxJava2Impl.this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build())));
-        } catch (Exception e) {
-          return Observable.error(e);
-        }
+    return Observable.using(new Callable<ElementIterator<User>>() {
+      public ElementIterator<User> call() {
+        return FormUrlEncodedRepositoryRxJava2Impl.this.callMethodAsIterator(requestInfoBuilder.build(), bodyBuilder.build(), FormUrlEncodedRepositoryRxJava2Impl.this.elementConverter0);
+      }
+    }, new Function<ElementIterator<User>, ObservableSource<User>>() {
+      public ObservableSource<User> apply(ElementIterator<User> iterator) {
+        return Observable.fromIterable(iterable(iterator));
+      }
+    }, new io.reactivex.functions.Consumer<ElementIterator<User>>() {
+      public void accept(ElementIterator<User> iterator) {
+        iterator.close();
       }
     });
   }
-  
+
   public static class Builder {
     private HttpClient httpClient;
 
     private JacksonConverterFactory converterFactory;
 
-    public Builder addHttpClient(ClientOkHttp httpClient) {
+    public Builder addHttpClient(HttpClient httpClient) {
       this.httpClient = httpClient;
       return this;
     }
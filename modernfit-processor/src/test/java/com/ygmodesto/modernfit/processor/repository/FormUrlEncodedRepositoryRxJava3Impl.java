@@ -23,13 +23,13 @@ import com.ygmodesto.modernfit.services.AbstractInterfaceImpl;
 import com.ygmodesto.modernfit.services.BodyContent;
 import com.ygmodesto.modernfit.services.ClientOkHttp;
 import com.ygmodesto.modernfit.services.CustomType;
+import com.ygmodesto.modernfit.services.ElementIterator;
 import com.ygmodesto.modernfit.services.FormUrlEncodedBody;
 import com.ygmodesto.modernfit.services.HttpClient;
 import com.ygmodesto.modernfit.services.HttpMethod;
 import com.ygmodesto.modernfit.services.ModernfitException;
 import com.ygmodesto.modernfit.services.RequestInfo;
 import com.ygmodesto.modernfit.services.ResponseContent;
-
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.Single;
 import java.lang.Long;
@@ -38,26 +38,28 @@ import java.lang.String;
 import java.util.Map;
 
 public class FormUrlEncodedRepositoryRxJava3Impl extends AbstractInterfaceImpl implements FormUrlEncodedRepositoryRxJava3 {
-	
-
   private JacksonConverterFactory converterFactory;
-	
+
   private Converter<Long, String> urlConverter0;
-	
+
   private Converter<String, BodyContent> requestConverter0;
-	  
+
   private Converter<ResponseContent, User> responseConverter0;
-	  
+
+  private Converter<ResponseContent, ElementIterator<User>> elementConverter0;
+
   private FormUrlEncodedRepositoryRxJava3Impl(Builder builder) {
-		baseUrl = "http://localhost:8080/api";
-	    httpClient = ( builder.httpClient == null) ? ClientOkHttp.create() : builder.httpClient;
-	    converterFactory = ( builder.converterFactory == null) ? JacksonConverterFactory.create() : builder.converterFactory;
-	    Long zombieurlConverter0 = null;
-	    urlConverter0 = converterFactory.getUrlConverter(zombieurlConverter0, new CustomType<Long>() {});
-	    String zombierequestConverter0 = null;
-	    requestConverter0 = converterFactory.getRequestConverter(zombierequestConverter0, new CustomType<String>() {});
-	    User zombieresponseConverter0 = null;
-	    responseConverter0 = converterFactory.getResponseConverter(zombieresponseConverter0, new CustomType<User>() {});
+    baseUrl = "http://localhost:8080/api";
+    httpClient = ( builder.httpClient == null) ? ClientOkHttp.create() : builder.httpClient;
+    converterFactory = ( builder.converterFactory == null) ? JacksonConverterFactory.create() : builder.converterFactory;
+    Long zombieurlConverter0 = null;
+    urlConverter0 = converterFactory.getUrlConverter(zombieurlConverter0, new CustomType<Long>() {});
+    String zombierequestConverter0 = null;
+    requestConverter0 = converterFactory.getRequestConverter(zombierequestConverter0, new CustomType<String>() {});
+    User zombieresponseConverter0 = null;
+    responseConverter0 = converterFactory.getResponseConverter(zombieresponseConverter0, new CustomType<User>() {});
+    User zombieelementConverter0 = null;
+    elementConverter0 = converterFactory.getElementConverter(zombieelementConverter0, new CustomType<User>() {});
   }
 
   public static Builder builder() {
@@ -66,67 +68,68 @@ public class FormUrlEncodedRepositoryRxJava3Impl extends AbstractInterfaceImpl i
 
   @Override
   public Single<User> getUser(Long id) throws ModernfitException {
-	final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
-	requestInfoBuilder.addUrlPathAsConstant("/user/");
-	requestInfoBuilder.addUrlPathNotEncoded(id, this.urlConverter0);
+    final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
+    requestInfoBuilder.addUrlPathAsConstant("/user/");
+    requestInfoBuilder.addUrlPathNotEncoded(id, this.urlConverter0);
     requestInfoBuilder.addHttpMethod(HttpMethod.GET);
     requestInfoBuilder.addHeaders(this.getHeaders());
     final FormUrlEncodedBody.Builder bodyBuilder = FormUrlEncodedBody.builder();
-    return Single.defer(() -> Single.just(FormUrlEncodedRepositoryRxJava3Impl.this.responseConverter0.convert(FormUrlEncodedRepositoryRxJava3Impl.this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build()))));
+    return Single.create(emitter -> emitter.setCancellable(FormUrlEncodedRepositoryRxJava3Impl.this.callMethodAsync(requestInfoBuilder.build(), bodyBuilder.build(), FormUrlEncodedRepositoryRxJava3Impl.this.responseConverter0, emitter::onSuccess, emitter::tryOnError)::cancel));
   }
 
   @Override
   public Single<User> createUser(String name, String login) throws ModernfitException {
-	final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
-	requestInfoBuilder.addUrlPathAsConstant("/user/create");
+    final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
+    requestInfoBuilder.addUrlPathAsConstant("/user/create");
     requestInfoBuilder.addHttpMethod(HttpMethod.POST);
     requestInfoBuilder.addHeaders(this.getHeaders());
     final FormUrlEncodedBody.Builder bodyBuilder = FormUrlEncodedBody.builder();
     bodyBuilder.addFieldNotEncoded("name", name, this.requestConverter0);
     bodyBuilder.addFieldNotEncoded("login", login, this.requestConverter0);
-    return Single.defer(() -> Single.just(FormUrlEncodedRepositoryRxJava3Impl.this.responseConverter0.convert(FormUrlEncodedRepositoryRxJava3Impl.this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build()))));
+    return Single.create(emitter -> emitter.setCancellable(FormUrlEncodedRepositoryRxJava3Impl.this.callMethodAsync(requestInfoBuilder.build(), bodyBuilder.build(), FormUrlEncodedRepositoryRxJava3Impl.this.responseConverter0, emitter::onSuccess, emitter::tryOnError)::cancel));
   }
 
   @Override
   public Single<User> createUser(Map<String, String> user) throws ModernfitException {
-	final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
-	requestInfoBuilder.addUrlPathAsConstant("/user/create");
+    final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
+    requestInfoBuilder.addUrlPathAsConstant("/user/create");
     requestInfoBuilder.addHttpMethod(HttpMethod.POST);
     requestInfoBuilder.addHeaders(this.getHeaders());
     final FormUrlEncodedBody.Builder bodyBuilder = FormUrlEncodedBody.builder();
     bodyBuilder.addFieldMapNotEncoded(user, this.requestConverter0);
-    return Single.defer(() -> Single.just(FormUrlEncodedRepositoryRxJava3Impl.this.responseConverter0.convert(FormUrlEncodedRepositoryRxJava3Impl.this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build()))));
+    return Single.create(emitter -> emitter.setCancellable(FormUrlEncodedRepositoryRxJava3Impl.this.callMethodAsync(requestInfoBuilder.build(), bodyBuilder.build(), FormUrlEncodedRepositoryRxJava3Impl.this.responseConverter0, emitter::onSuccess, emitter::tryOnError)::cancel));
   }
 
   @Override
   public Single<User> updateUser(Long id, String name, String login) throws ModernfitException {
-	final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
-	requestInfoBuilder.addUrlPathAsConstant("/user/update/");
-	requestInfoBuilder.addUrlPathNotEncoded(id, this.urlConverter0);
+    final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
+    requestInfoBuilder.addUrlPathAsConstant("/user/update/");
+    requestInfoBuilder.addUrlPathNotEncoded(id, this.urlConverter0);
     requestInfoBuilder.addHttpMethod(HttpMethod.PUT);
     requestInfoBuilder.addHeaders(this.getHeaders());
     final FormUrlEncodedBody.Builder bodyBuilder = FormUrlEncodedBody.builder();
     bodyBuilder.addFieldNotEncoded("name", name, this.requestConverter0);
     bodyBuilder.addFieldNotEncoded("login", login, this.requestConverter0);
-    return Single.defer(() -> Single.just(FormUrlEncodedRepositoryRxJava3Impl.this.responseConverter0.convert(FormUrlEncodedRepositoryRxJava3Impl.this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build()))));
+    return Single.create(emitter -> emitter.setCancellable(FormUrlEncodedRepositoryRxJava3Impl.this.callMethodAsync(requestInfoBuilder.build(), bodyBuilder.build(), FormUrlEncodedRepositoryRxJava3Impl.this.responseConverter0, emitter::onSuccess, emitter::tryOnError)::cancel));
   }
 
   @Override
   public Observable<User> getUserAll() throws ModernfitException {
-	final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
-	requestInfoBuilder.addUrlPathAsConstant("/user/users");
+    final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
+    requestInfoBuilder.addUrlPathAsConstant("/user/users");
     requestInfoBuilder.addHttpMethod(HttpMethod.GET);
     requestInfoBuilder.addHeaders(this.getHeaders());
+    requestInfoBuilder.setStreaming(true);
     final FormUrlEncodedBody.Builder bodyBuilder = FormUrlEncodedBody.builder();
-    return Observable.defer(() -> Observable.just(FormUrlEncodedRepositoryRxJava3Impl.this.responseConverter0.convert(FormUrlEncodedRepositoryRxJava3Impl.this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build()))));
+    return Observable.using(() -> FormUrlEncodedRepositoryRxJava3Impl.this.callMethodAsIterator(requestInfoBuilder.build(), bodyBuilder.build(), FormUrlEncodedRepositoryRxJava3Impl.this.elementConverter0), iterator -> Observable.fromIterable(iterable(iterator)), ElementIterator::close);
   }
-  
+
   public static class Builder {
     private HttpClient httpClient;
 
     private JacksonConverterFactory converterFactory;
 
-    public Builder addHttpClient(ClientOkHttp httpClient) {
+    public Builder addHttpClient(HttpClient httpClient) {
       this.httpClient = httpClient;
       return this;
     }
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.repository;
+
+import com.ygmodesto.modernfit.annotations.Body;
+import com.ygmodesto.modernfit.annotations.GET;
+import com.ygmodesto.modernfit.annotations.Header;
+import com.ygmodesto.modernfit.annotations.Modernfit;
+import com.ygmodesto.modernfit.annotations.Multipart;
+import com.ygmodesto.modernfit.annotations.POST;
+import com.ygmodesto.modernfit.annotations.PUT;
+import com.ygmodesto.modernfit.annotations.Part;
+import com.ygmodesto.modernfit.annotations.Path;
+import com.ygmodesto.modernfit.annotations.Streaming;
+import com.ygmodesto.modernfit.converters.JacksonConverterFactory;
+import com.ygmodesto.modernfit.javahttp.ClientJavaHttp;
+import com.ygmodesto.modernfit.processor.server.EchoResponse;
+import com.ygmodesto.modernfit.processor.server.ModelTO;
+import com.ygmodesto.modernfit.processor.server.MultipartEchoResponse;
+import com.ygmodesto.modernfit.services.HttpInfo;
+import com.ygmodesto.modernfit.services.ResponseCallback;
+import com.ygmodesto.modernfit.services.ResponseContent;
+import com.ygmodesto.modernfit.services.TypedContent;
+import java.util.List;
+
+@Modernfit(
+    value = "http://localhost:8080/api",
+    client = ClientJavaHttp.class,
+    converterFactory = JacksonConverterFactory.class)
+public interface JavaHttpEchoResponseRepository {
+
+  @GET("/echo")
+  EchoResponse getEcho(@Header("X-Custom") String custom);
+
+  @GET("/201/echo")
+  HttpInfo<EchoResponse> getEchoWithHttpInfo();
+
+  @POST("/echo")
+  EchoResponse postEcho(@Body ModelTO modelTO);
+
+  @POST("/echo")
+  void postEchoAsync(@Body List<String> body, ResponseCallback<EchoResponse> responseCallback);
+
+  @Streaming
+  @GET("/download/{size}")
+  ResponseContent download(@Path Integer size);
+
+  @Multipart
+  @PUT("/multipart/echo")
+  MultipartEchoResponse partsAndTypedContent(
+      @Part Long partObjectA, @Part("fileParts") TypedContent typedContent);
+}
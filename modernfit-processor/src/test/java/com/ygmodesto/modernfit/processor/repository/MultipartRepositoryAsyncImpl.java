@@ -86,7 +86,7 @@ public class MultipartRepositoryAsyncImpl extends AbstractInterfaceImpl implemen
     requestInfoBuilder.addHeaders(this.getHeaders());
     final MultipartBody.Builder bodyBuilder = MultipartBody.builder();
     callback.setConverter(this.responseConverter0);
-    this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build(), callback);
+    this.enqueue(requestInfoBuilder.build(), bodyBuilder.build(), callback);
   }
 
   @Override
@@ -98,7 +98,7 @@ public class MultipartRepositoryAsyncImpl extends AbstractInterfaceImpl implemen
     final MultipartBody.Builder bodyBuilder = MultipartBody.builder();
     bodyBuilder.addPart("user", user, this.requestConverter0);
     callback.setConverter(this.responseConverter0);
-    this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build(), callback);
+    this.enqueue(requestInfoBuilder.build(), bodyBuilder.build(), callback);
   }
 
   @Override
@@ -112,7 +112,7 @@ public class MultipartRepositoryAsyncImpl extends AbstractInterfaceImpl implemen
     bodyBuilder.addPart("users", users, this.requestConverter1);
     bodyBuilder.addPart("attacheds", attacheds);
     callback.setConverter(this.responseConverter1);
-    this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build(), callback);
+    this.enqueue(requestInfoBuilder.build(), bodyBuilder.build(), callback);
   }
 
   @Override
@@ -125,7 +125,7 @@ public class MultipartRepositoryAsyncImpl extends AbstractInterfaceImpl implemen
     final MultipartBody.Builder bodyBuilder = MultipartBody.builder();
     bodyBuilder.addPart(users, this.requestConverter0);
     callback.setConverter(this.responseConverter1);
-    this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build(), callback);
+    this.enqueue(requestInfoBuilder.build(), bodyBuilder.build(), callback);
   }
 
   @Override
@@ -140,7 +140,7 @@ public class MultipartRepositoryAsyncImpl extends AbstractInterfaceImpl implemen
     final MultipartBody.Builder bodyBuilder = MultipartBody.builder();
     bodyBuilder.addPart(attacheds);
     callback.setConverter(this.responseConverter0);
-    this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build(), callback);
+    this.enqueue(requestInfoBuilder.build(), bodyBuilder.build(), callback);
   }
 
   @Override
@@ -155,7 +155,7 @@ public class MultipartRepositoryAsyncImpl extends AbstractInterfaceImpl implemen
     bodyBuilder.addPart("user", user, this.requestConverter0);
     bodyBuilder.addPart("file", file, this.requestConverter2);
     callback.setConverter(this.responseConverter0);
-    this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build(), callback);
+    this.enqueue(requestInfoBuilder.build(), bodyBuilder.build(), callback);
   }
 
   @Override
@@ -166,7 +166,7 @@ public class MultipartRepositoryAsyncImpl extends AbstractInterfaceImpl implemen
     requestInfoBuilder.addHeaders(this.getHeaders());
     final MultipartBody.Builder bodyBuilder = MultipartBody.builder();
     callback.setConverter(this.responseConverter1);
-    this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build(), callback);
+    this.enqueue(requestInfoBuilder.build(), bodyBuilder.build(), callback);
   }
   
   public static class Builder {
@@ -174,7 +174,7 @@ public class MultipartRepositoryAsyncImpl extends AbstractInterfaceImpl implemen
 
     private JacksonConverterFactory converterFactory;
 
-    public Builder addHttpClient(ClientOkHttp httpClient) {
+    public Builder addHttpClient(HttpClient httpClient) {
       this.httpClient = httpClient;
       return this;
     }
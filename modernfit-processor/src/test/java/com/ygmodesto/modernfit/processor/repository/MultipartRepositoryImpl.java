@@ -165,7 +165,7 @@ public class MultipartRepositoryImpl extends AbstractInterfaceImpl implements Mu
 
 	    private JacksonConverterFactory converterFactory;
 
-	    public Builder addHttpClient(ClientOkHttp httpClient) {
+	    public Builder addHttpClient(HttpClient httpClient) {
 	      this.httpClient = httpClient;
 	      return this;
 	    }
@@ -21,6 +21,7 @@ import com.ygmodesto.modernfit.converters.JacksonConverterFactory;
 import com.ygmodesto.modernfit.processor.server.User;
 import com.ygmodesto.modernfit.services.AbstractInterfaceImpl;
 import com.ygmodesto.modernfit.services.BodyContent;
+import com.ygmodesto.modernfit.services.Cancellable;
 import com.ygmodesto.modernfit.services.ClientOkHttp;
 import com.ygmodesto.modernfit.services.CustomType;
 import com.ygmodesto.modernfit.services.HttpClient;
@@ -30,20 +31,19 @@ import com.ygmodesto.modernfit.services.MultipartBody;
 import com.ygmodesto.modernfit.services.RequestInfo;
 import com.ygmodesto.modernfit.services.ResponseContent;
 import com.ygmodesto.modernfit.services.TypedContent;
-
 import io.reactivex.Observable;
 import io.reactivex.Single;
+import io.reactivex.SingleEmitter;
+import io.reactivex.SingleOnSubscribe;
 import java.io.File;
-import java.lang.Exception;
 import java.lang.Long;
 import java.lang.Override;
 import java.lang.String;
 import java.util.Collection;
 import java.util.Map;
-import java.util.concurrent.Callable;
+import java.util.function.Consumer;
 
 public class MultipartRepositoryRxJava2Impl extends AbstractInterfaceImpl implements MultipartRepositoryRxJava2 {
-	
   private JacksonConverterFactory converterFactory;
 
   private Converter<Long, String> urlConverter0;
@@ -57,23 +57,23 @@ public class MultipartRepositoryRxJava2Impl extends AbstractInterfaceImpl implem
   private Converter<ResponseContent, User> responseConverter0;
 
   private Converter<ResponseContent, Collection<User>> responseConverter1;
-	
+
   private MultipartRepositoryRxJava2Impl(Builder builder) {
-		baseUrl = "http://localhost:8080/api";
-	    httpClient = ( builder.httpClient == null) ? ClientOkHttp.create() : builder.httpClient;
-	    converterFactory = ( builder.converterFactory == null) ? JacksonConverterFactory.create() : builder.converterFactory;
-	    Long zombieurlConverter0 = null;
-	    urlConverter0 = converterFactory.getUrlConverter(zombieurlConverter0, new CustomType<Long>() {});
-	    User zombierequestConverter0 = null;
-	    requestConverter0 = converterFactory.getRequestConverter(zombierequestConverter0, new CustomType<User>() {});
-	    Collection<User> zombierequestConverter1 = null;
-	    requestConverter1 = converterFactory.getRequestConverter(zombierequestConverter1, new CustomType<Collection<User>>() {});
-	    File zombierequestConverter2 = null;
-	    requestConverter2 = converterFactory.getRequestConverter(zombierequestConverter2, new CustomType<File>() {});
-	    User zombieresponseConverter0 = null;
-	    responseConverter0 = converterFactory.getResponseConverter(zombieresponseConverter0, new CustomType<User>() {});
-	    Collection<User> zombieresponseConverter1 = null;
-	    responseConverter1 = converterFactory.getResponseConverter(zombieresponseConverter1, new CustomType<Collection<User>>() {});
+    baseUrl = "http://localhost:8080/api";
+    httpClient = ( builder.httpClient == null) ? ClientOkHttp.create() : builder.httpClient;
+    converterFactory = ( builder.converterFactory == null) ? JacksonConverterFactory.create() : builder.converterFactory;
+    Long zombieurlConverter0 = null;
+    urlConverter0 = converterFactory.getUrlConverter(zombieurlConverter0, new CustomType<Long>() {});
+    User zombierequestConverter0 = null;
+    requestConverter0 = converterFactory.getRequestConverter(zombierequestConverter0, new CustomType<User>() {});
+    Collection<User> zombierequestConverter1 = null;
+    requestConverter1 = converterFactory.getRequestConverter(zombierequestConverter1, new CustomType<Collection<User>>() {});
+    File zombierequestConverter2 = null;
+    requestConverter2 = converterFactory.getRequestConverter(zombierequestConverter2, new CustomType<File>() {});
+    User zombieresponseConverter0 = null;
+    responseConverter0 = converterFactory.getResponseConverter(zombieresponseConverter0, new CustomType<User>() {});
+    Collection<User> zombieresponseConverter1 = null;
+    responseConverter1 = converterFactory.getResponseConverter(zombieresponseConverter1, new CustomType<Collection<User>>() {});
   }
 
   public static Builder builder() {
@@ -82,38 +82,64 @@ public class MultipartRepositoryRxJava2Impl extends AbstractInterfaceImpl implem
 
   @Override
   public Single<User> getUser(Long id) throws ModernfitException {
-	final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
-	requestInfoBuilder.addUrlPathAsConstant("/user/");
-	requestInfoBuilder.addUrlPathNotEncoded(id, this.urlConverter0);
+    final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
+    requestInfoBuilder.addUrlPathAsConstant("/user/");
+    requestInfoBuilder.addUrlPathNotEncoded(id, this.urlConverter0);
     requestInfoBuilder.addHttpMethod(HttpMethod.GET);
     requestInfoBuilder.addHeaders(this.getHeaders());
     final MultipartBody.Builder bodyBuilder = MultipartBody.builder();
-    return Single.defer(new Callable<Single<User>>() {
-      public Single<User> call() {
-        try {
-          return Single.just(MultipartRepositoryRxJava2Impl.this.responseConverter0.convert(MultipartRepositoryRxJava2Impl.this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build())));
-        } catch (Exception e) {
-          return Single.error(e);
-        }
+    return Single.create(new SingleOnSubscribe<User>() {
+      @Override
+      public void subscribe(final SingleEmitter<User> emitter) {
+        final Cancellable cancellable = MultipartRepositoryRxJava2Impl.this.callMethodAsync(requestInfoBuilder.build(), bodyBuilder.build(), MultipartRepositoryRxJava2Impl.this.responseConverter0, new Consumer<User>() {
+          @Override
+          public void accept(User value) {
+            emitter.onSuccess(value);
+          }
+        }, new Consumer<ModernfitException>() {
+          @Override
+          public void accept(ModernfitException e) {
+            emitter.tryOnError(e);
+          }
+        });
+        emitter.setCancellable(new io.reactivex.functions.Cancellable() {
+          @Override
+          public void cancel() {
+            cancellable.cancel();
+          }
+        });
       }
     });
   }
 
   @Override
   public Single<User> createUser(User user) throws ModernfitException {
-	final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
-	requestInfoBuilder.addUrlPathAsConstant("/user/create");
+    final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
+    requestInfoBuilder.addUrlPathAsConstant("/user/create");
     requestInfoBuilder.addHttpMethod(HttpMethod.POST);
     requestInfoBuilder.addHeaders(this.getHeaders());
     final MultipartBody.Builder bodyBuilder = MultipartBody.builder();
     bodyBuilder.addPart("user", user, this.requestConverter0);
-    return Single.defer(new Callable<Single<User>>() {
-      public Single<User> call() {
-        try {
-          return Single.just(MultipartRepositoryRxJava2Impl.this.responseConverter0.convert(MultipartRepositoryRxJava2Impl.this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build())));
-        } catch (Exception e) {
-          return Single.error(e);
-        }
+    return Single.create(new SingleOnSubscribe<User>() {
+      @Override
+      public void subscribe(final SingleEmitter<User> emitter) {
+        final Cancellable cancellable = MultipartRepositoryRxJava2Impl.this.callMethodAsync(requestInfoBuilder.build(), bodyBuilder.build(), MultipartRepositoryRxJava2Impl.this.responseConverter0, new Consumer<User>() {
+          @Override
+          public void accept(User value) {
+            emitter.onSuccess(value);
+          }
+        }, new Consumer<ModernfitException>() {
+          @Override
+          public void accept(ModernfitException e) {
+            emitter.tryOnError(e);
+          }
+        });
+        emitter.setCancellable(new io.reactivex.functions.Cancellable() {
+          @Override
+          public void cancel() {
+            cancellable.cancel();
+          }
+        });
       }
     });
   }
@@ -121,111 +147,176 @@ public class MultipartRepositoryRxJava2Impl extends AbstractInterfaceImpl implem
   @Override
   public Observable<Collection<User>> createUsers(Collection<User> users,
       Collection<TypedContent> attacheds) throws ModernfitException {
-	final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
-	requestInfoBuilder.addUrlPathAsConstant("/users/createHeavy");
+    final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
+    requestInfoBuilder.addUrlPathAsConstant("/users/createHeavy");
     requestInfoBuilder.addHttpMethod(HttpMethod.POST);
     requestInfoBuilder.addHeaders(this.getHeaders());
     final MultipartBody.Builder bodyBuilder = MultipartBody.builder();
     bodyBuilder.addPart("users", users, this.requestConverter1);
     bodyBuilder.addPart("attacheds", attacheds);
-    return Observable.defer(new Callable<Observable<Collection<User>>>() {
-      public Observable<Collection<User>> call() {
-        try {
-          return Observable.just(MultipartRepositoryRxJava2Impl.this.responseConverter1.convert(MultipartRepositoryRxJava2Impl.this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build())));
-        } catch (Exception e) {
-          return Observable.error(e);
-        }
+    return Single.create(new SingleOnSubscribe<Collection<User>>() {
+      @Override
+      public void subscribe(final SingleEmitter<Collection<User>> emitter) {
+        final Cancellable cancellable = MultipartRepositoryRxJava2Impl.this.callMethodAsync(requestInfoBuilder.build(), bodyBuilder.build(), MultipartRepositoryRxJava2Impl.this.responseConverter1, new Consumer<Collection<User>>() {
+          @Override
+          public void accept(Collection<User> value) {
+            emitter.onSuccess(value);
+          }
+        }, new Consumer<ModernfitException>() {
+          @Override
+          public void accept(ModernfitException e) {
+            emitter.tryOnError(e);
+          }
+        });
+        emitter.setCancellable(new io.reactivex.functions.Cancellable() {
+          @Override
+          public void cancel() {
+            cancellable.cancel();
+          }
+        });
       }
-    });
+    }).toObservable();
   }
 
   @Override
   public Observable<Collection<User>> createUsers(Map<String, User> users) throws
       ModernfitException {
-	final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
-	requestInfoBuilder.addUrlPathAsConstant("/users/createHeavy");
+    final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
+    requestInfoBuilder.addUrlPathAsConstant("/users/createHeavy");
     requestInfoBuilder.addHttpMethod(HttpMethod.POST);
     requestInfoBuilder.addHeaders(this.getHeaders());
     final MultipartBody.Builder bodyBuilder = MultipartBody.builder();
     bodyBuilder.addPart(users, this.requestConverter0);
-    return Observable.defer(new Callable<Observable<Collection<User>>>() {
-      public Observable<Collection<User>> call() {
-        try {
-          return Observable.just(MultipartRepositoryRxJava2Impl.this.responseConverter1.convert(MultipartRepositoryRxJava2Impl.this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build())));
-        } catch (Exception e) {
-          return Observable.error(e);
-        }
+    return Single.create(new SingleOnSubscribe<Collection<User>>() {
+      @Override
+      public void subscribe(final SingleEmitter<Collection<User>> emitter) {
+        final Cancellable cancellable = MultipartRepositoryRxJava2Impl.this.callMethodAsync(requestInfoBuilder.build(), bodyBuilder.build(), MultipartRepositoryRxJava2Impl.this.responseConverter1, new Consumer<Collection<User>>() {
+          @Override
+          public void accept(Collection<User> value) {
+            emitter.onSuccess(value);
+          }
+        }, new Consumer<ModernfitException>() {
+          @Override
+          public void accept(ModernfitException e) {
+            emitter.tryOnError(e);
+          }
+        });
+        emitter.setCancellable(new io.reactivex.functions.Cancellable() {
+          @Override
+          public void cancel() {
+            cancellable.cancel();
+          }
+        });
       }
-    });
+    }).toObservable();
   }
 
   @Override
   public Single<User> updateUserAttacheds(Long id, Map<String, TypedContent> attacheds) throws
       ModernfitException {
-	final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
-	requestInfoBuilder.addUrlPathAsConstant("/user/");
-	requestInfoBuilder.addUrlPathNotEncoded(id, this.urlConverter0);
-	requestInfoBuilder.addUrlPathAsConstant("/attacheds");
+    final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
+    requestInfoBuilder.addUrlPathAsConstant("/user/");
+    requestInfoBuilder.addUrlPathNotEncoded(id, this.urlConverter0);
+    requestInfoBuilder.addUrlPathAsConstant("/attacheds");
     requestInfoBuilder.addHttpMethod(HttpMethod.PUT);
     requestInfoBuilder.addHeaders(this.getHeaders());
     final MultipartBody.Builder bodyBuilder = MultipartBody.builder();
     bodyBuilder.addPart(attacheds);
-    return Single.defer(new Callable<Single<User>>() {
-      public Single<User> call() {
-        try {
-          return Single.just(MultipartRepositoryRxJava2Impl.this.responseConverter0.convert(MultipartRepositoryRxJava2Impl.this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build())));
-        } catch (Exception e) {
-          return Single.error(e);
-        }
+    return Single.create(new SingleOnSubscribe<User>() {
+      @Override
+      public void subscribe(final SingleEmitter<User> emitter) {
+        final Cancellable cancellable = MultipartRepositoryRxJava2Impl.this.callMethodAsync(requestInfoBuilder.build(), bodyBuilder.build(), MultipartRepositoryRxJava2Impl.this.responseConverter0, new Consumer<User>() {
+          @Override
+          public void accept(User value) {
+            emitter.onSuccess(value);
+          }
+        }, new Consumer<ModernfitException>() {
+          @Override
+          public void accept(ModernfitException e) {
+            emitter.tryOnError(e);
+          }
+        });
+        emitter.setCancellable(new io.reactivex.functions.Cancellable() {
+          @Override
+          public void cancel() {
+            cancellable.cancel();
+          }
+        });
       }
     });
   }
 
   @Override
   public Single<User> updateUser(Long id, User user, File file) throws ModernfitException {
-	final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
-	requestInfoBuilder.addUrlPathAsConstant("/user/update/");
-	requestInfoBuilder.addUrlPathNotEncoded(id, this.urlConverter0);
+    final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
+    requestInfoBuilder.addUrlPathAsConstant("/user/update/");
+    requestInfoBuilder.addUrlPathNotEncoded(id, this.urlConverter0);
     requestInfoBuilder.addHttpMethod(HttpMethod.PUT);
     requestInfoBuilder.addHeaders(this.getHeaders());
     final MultipartBody.Builder bodyBuilder = MultipartBody.builder();
     bodyBuilder.addPart("user", user, this.requestConverter0);
     bodyBuilder.addPart("file", file, this.requestConverter2);
-    return Single.defer(new Callable<Single<User>>() {
-      public Single<User> call() {
-        try {
-          return Single.just(MultipartRepositoryRxJava2Impl.this.responseConverter0.convert(MultipartRepositoryRxJava2Impl.this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build())));
-        } catch (Exception e) {
-          return Single.error(e);
-        }
+    return Single.create(new SingleOnSubscribe<User>() {
+      @Override
+      public void subscribe(final SingleEmitter<User> emitter) {
+        final Cancellable cancellable = MultipartRepositoryRxJava2Impl.this.callMethodAsync(requestInfoBuilder.build(), bodyBuilder.build(), MultipartRepositoryRxJava2Impl.this.responseConverter0, new Consumer<User>() {
+          @Override
+          public void accept(User value) {
+            emitter.onSuccess(value);
+          }
+        }, new Consumer<ModernfitException>() {
+          @Override
+          public void accept(ModernfitException e) {
+            emitter.tryOnError(e);
+          }
+        });
+        emitter.setCancellable(new io.reactivex.functions.Cancellable() {
+          @Override
+          public void cancel() {
+            cancellable.cancel();
+          }
+        });
       }
     });
   }
 
   @Override
   public Observable<Collection<User>> getUserAll() throws ModernfitException {
-	final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
-	requestInfoBuilder.addUrlPathAsConstant("/user/users");
+    final RequestInfo.Builder requestInfoBuilder = RequestInfo.baseUrl(this.baseUrl);
+    requestInfoBuilder.addUrlPathAsConstant("/user/users");
     requestInfoBuilder.addHttpMethod(HttpMethod.GET);
     requestInfoBuilder.addHeaders(this.getHeaders());
     final MultipartBody.Builder bodyBuilder = MultipartBody.builder();
-    return Observable.defer(new Callable<Observable<Collection<User>>>() {
-      public Observable<Collection<User>> call() {
-        try {
-          return Observable.just(MultipartRepositoryRxJava2Impl.this.responseConverter1.convert(MultipartRepositoryRxJava2Impl.this.httpClient.callMethod(requestInfoBuilder.build(), bodyBuilder.build())));
-        } catch (Exception e) {
-          return Observable.error(e);
-        }
+    return Single.create(new SingleOnSubscribe<Collection<User>>() {
+      @Override
+      public void subscribe(final SingleEmitter<Collection<User>> emitter) {
+        final Cancellable cancellable = MultipartRepositoryRxJava2Impl.this.callMethodAsync(requestInfoBuilder.build(), bodyBuilder.build(), MultipartRepositoryRxJava2Impl.this.responseConverter1, new Consumer<Collection<User>>() {
+          @Override
+          public void accept(Collection<User> value) {
+            emitter.onSuccess(value);
+          }
+        }, new Consumer<ModernfitException>() {
+          @Override
+          public void accept(ModernfitException e) {
+            emitter.tryOnError(e);
+          }
+        });
+        emitter.setCancellable(new io.reactivex.functions.Cancellable() {
+          @Override
+          public void cancel() {
+            cancellable.cancel();
+          }
+        });
       }
-    });
+    }).toObservable();
   }
-  
+
   public static class Builder {
     private HttpClient httpClient;
 
     private JacksonConverterFactory converterFactory;
 
-    public Builder addHttpClient(ClientOkHttp httpClient) {
+    public Builder addHttpClient(HttpClient httpClient) {
       this.httpClient = httpClient;
       return this;
     }
@@ -158,7 +158,7 @@ public class PlainTextRepositoryImpl extends AbstractInterfaceImpl implements Pl
 
 		private JacksonConverterFactory converterFactory;
 
-		public Builder addHttpClient(ClientOkHttp httpClient) {
+		public Builder addHttpClient(HttpClient httpClient) {
 			this.httpClient = httpClient;
 			return this;
 		}
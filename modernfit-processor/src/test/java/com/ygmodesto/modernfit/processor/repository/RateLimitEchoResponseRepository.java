@@ -0,0 +1,48 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.repository;
+
+import com.ygmodesto.modernfit.annotations.GET;
+import com.ygmodesto.modernfit.annotations.Modernfit;
+import com.ygmodesto.modernfit.annotations.Path;
+import com.ygmodesto.modernfit.annotations.RateLimit;
+import com.ygmodesto.modernfit.converters.JacksonConverterFactory;
+import com.ygmodesto.modernfit.processor.server.EchoResponse;
+import com.ygmodesto.modernfit.services.HttpInfo;
+import com.ygmodesto.modernfit.services.HttpResponseCallback;
+import java.util.concurrent.TimeUnit;
+
+@RateLimit(permits = 2, per = 500, unit = TimeUnit.MILLISECONDS)
+@Modernfit(value = "http://localhost:8080/api", converterFactory = JacksonConverterFactory.class)
+public interface RateLimitEchoResponseRepository {
+
+  @GET("/echo")
+  EchoResponse getEcho();
+
+  @GET("/echo")
+  void getEcho(HttpResponseCallback<EchoResponse> callback);
+
+  @GET("/{httpCode}/echo")
+  HttpInfo<EchoResponse> getStatus(@Path Integer httpCode);
+
+  @RateLimit(permits = 1, per = 10, failFast = true)
+  @GET("/echo")
+  EchoResponse getEchoFailFast();
+
+  @RateLimit(permits = 1, per = 10, failFast = true)
+  @GET("/echo")
+  void getEchoFailFast(HttpResponseCallback<EchoResponse> callback);
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.repository;
+
+import com.ygmodesto.modernfit.annotations.Body;
+import com.ygmodesto.modernfit.annotations.GET;
+import com.ygmodesto.modernfit.annotations.Modernfit;
+import com.ygmodesto.modernfit.annotations.Multipart;
+import com.ygmodesto.modernfit.annotations.POST;
+import com.ygmodesto.modernfit.annotations.Part;
+import com.ygmodesto.modernfit.annotations.Path;
+import com.ygmodesto.modernfit.converters.JacksonConverterFactory;
+import com.ygmodesto.modernfit.processor.server.EchoResponse;
+import com.ygmodesto.modernfit.processor.server.ModelTO;
+import com.ygmodesto.modernfit.processor.server.MultipartEchoResponse;
+import com.ygmodesto.modernfit.services.HttpInfo;
+import java.util.concurrent.Flow;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Modernfit(value = "http://localhost:8080/api", converterFactory = JacksonConverterFactory.class)
+public interface ReactorEchoResponseRepository {
+
+  @GET("/echo")
+  Mono<EchoResponse> getEcho();
+
+  @POST("/echo")
+  Mono<EchoResponse> postEcho(@Body ModelTO modelTO);
+
+  @GET("/201/echo")
+  Mono<HttpInfo<EchoResponse>> getEchoWithHttpInfo();
+
+  @GET("/echo")
+  Mono<Void> getEchoVoid();
+
+  @GET("/delay/{millis}/echo")
+  Mono<EchoResponse> getDelayedEcho(@Path Long millis);
+
+  @Multipart
+  @POST("/multipart/echo")
+  Mono<MultipartEchoResponse> partValue(@Part("partObjectA") Long id);
+
+  @GET("/echo")
+  Flux<EchoResponse> getEchoFlux();
+
+  @GET("/201/echo")
+  Flux<HttpInfo<EchoResponse>> getEchoWithHttpInfoFlux();
+
+  @GET("/201/echo")
+  Flow.Publisher<HttpInfo<EchoResponse>> getEchoWithHttpInfoPublisher();
+
+  @GET("/elements/{count}/ndjson")
+  Flux<ModelTO> getNdjson(@Path Integer count);
+
+  @GET("/elements/{count}/array")
+  Flux<ModelTO> getArray(@Path Integer count);
+
+  @GET("/echo")
+  Flow.Publisher<EchoResponse> getEchoPublisher();
+
+  @GET("/elements/{count}/array")
+  Flow.Publisher<ModelTO> getArrayPublisher(@Path Integer count);
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.repository;
+
+import com.ygmodesto.modernfit.annotations.Body;
+import com.ygmodesto.modernfit.annotations.GET;
+import com.ygmodesto.modernfit.annotations.Modernfit;
+import com.ygmodesto.modernfit.annotations.POST;
+import com.ygmodesto.modernfit.annotations.Path;
+import com.ygmodesto.modernfit.annotations.Retry;
+import com.ygmodesto.modernfit.annotations.Timeout;
+import com.ygmodesto.modernfit.converters.JacksonConverterFactory;
+import com.ygmodesto.modernfit.processor.server.EchoResponse;
+import com.ygmodesto.modernfit.processor.server.ModelTO;
+import com.ygmodesto.modernfit.services.HttpInfo;
+import com.ygmodesto.modernfit.services.HttpResponseCallback;
+import java.io.IOException;
+
+@Retry(maxAttempts = 3, backoff = 10, retryOnStatus = 503)
+@Modernfit(value = "http://localhost:8080/api", converterFactory = JacksonConverterFactory.class)
+public interface RetryEchoResponseRepository {
+
+  @GET("/flaky/{key}/{failures}/echo")
+  HttpInfo<EchoResponse> getFlakyEcho(@Path String key, @Path Integer failures);
+
+  @GET("/flaky/{key}/{failures}/echo")
+  void getFlakyEcho(
+      @Path String key, @Path Integer failures, HttpResponseCallback<EchoResponse> callback);
+
+  @POST("/flaky/{key}/{failures}/echo")
+  HttpInfo<EchoResponse> postFlakyEcho(
+      @Path String key, @Path Integer failures, @Body ModelTO modelTO);
+
+  @Retry(maxAttempts = 2, backoff = 10, retryOnStatus = 503, idempotentOnly = false)
+  @POST("/flaky/{key}/{failures}/echo")
+  HttpInfo<EchoResponse> postFlakyEchoRetried(
+      @Path String key, @Path Integer failures, @Body ModelTO modelTO);
+
+  @Retry(maxAttempts = 3, backoff = 10, retryOn = IOException.class)
+  @GET("/echo")
+  EchoResponse getEcho();
+
+  @Retry(maxAttempts = 3, backoff = 10, retryOn = IOException.class)
+  @GET("/echo")
+  void getEcho(HttpResponseCallback<EchoResponse> callback);
+
+  @Retry(maxAttempts = 3, backoff = 10, retryOn = IOException.class)
+  @Timeout(call = 200)
+  @GET("/delay/{millis}/echo")
+  EchoResponse getDelayedEcho(@Path Long millis);
+
+  @Retry(maxAttempts = 3, backoff = 10, retryOn = IOException.class)
+  @Timeout(call = 200)
+  @GET("/delay/{millis}/echo")
+  void getDelayedEcho(@Path Long millis, HttpResponseCallback<EchoResponse> callback);
+}
@@ -31,6 +31,7 @@ import com.ygmodesto.modernfit.annotations.POST;
 import com.ygmodesto.modernfit.annotations.PUT;
 import com.ygmodesto.modernfit.annotations.Part;
 import com.ygmodesto.modernfit.annotations.PartMap;
+import com.ygmodesto.modernfit.annotations.Path;
 import com.ygmodesto.modernfit.converters.JacksonConverterFactory;
 import com.ygmodesto.modernfit.processor.server.EchoResponse;
 import com.ygmodesto.modernfit.processor.server.ModelTO;
@@ -48,6 +49,9 @@ public interface RxJava3EchoResponseRepository {
   @GET("/echo")
   Single<EchoResponse> getEcho();
 
+  @GET("/delay/{millis}/echo")
+  Single<EchoResponse> getDelayedEcho(@Path Long millis);
+
   @HEAD("/echo/head")
   Completable headEcho();
 
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ygmodesto.modernfit.processor.repository;
+
+import com.ygmodesto.modernfit.annotations.GET;
+import com.ygmodesto.modernfit.annotations.Modernfit;
+import com.ygmodesto.modernfit.annotations.Path;
+import com.ygmodesto.modernfit.annotations.Timeout;
+import com.ygmodesto.modernfit.converters.JacksonConverterFactory;
+import com.ygmodesto.modernfit.processor.server.EchoResponse;
+import com.ygmodesto.modernfit.services.HttpResponseCallback;
+
+@Timeout(call = 2000)
+@Modernfit(value = "http://localhost:8080/api", converterFactory = JacksonConverterFactory.class)
+public interface TimeoutEchoResponseRepository {
+
+  @GET("/delay/{millis}/echo")
+  EchoResponse getDelayed(@Path Long millis);
+
+  @GET("/delay/{millis}/echo")
+  void getDelayed(@Path Long millis, HttpResponseCallback<EchoResponse> callback);
+
+  @Timeout(call = 200)
+  @GET("/delay/{millis}/echo")
+  EchoResponse getDelayedCall(@Path Long millis);
+
+  @Timeout(read = 200)
+  @GET("/delay/{millis}/echo")
+  EchoResponse getDelayedRead(@Path Long millis);
+}
@@ -17,9 +17,19 @@
 package com.ygmodesto.modernfit.processor.server;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -33,11 +43,15 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api")
 public class FunctionalREST {
 
+  private final ConcurrentMap<String, AtomicInteger> flakyCalls = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, AtomicInteger> slowFirstCalls = new ConcurrentHashMap<>();
+
   @RequestMapping("/echo/scalar/{type}/**")
   public String echoScalarStringRequest(
       HttpServletRequest request,
@@ -110,6 +124,200 @@ public class FunctionalREST {
     return echoResponse;
   }
 
+  @RequestMapping("/download/{size}")
+  public StreamingResponseBody downloadRequest(@PathVariable int size) {
+
+    return outputStream -> {
+      byte[] chunk = new byte[8192];
+      for (int written = 0; written < size; written += chunk.length) {
+        outputStream.write(chunk, 0, Math.min(chunk.length, size - written));
+      }
+    };
+  }
+
+  @RequestMapping(value = "/elements/{count}/array", produces = MediaType.APPLICATION_JSON_VALUE)
+  public StreamingResponseBody elementsArrayRequest(@PathVariable int count) {
+
+    return outputStream -> {
+      outputStream.write('[');
+      for (int i = 0; i < count; i++) {
+        outputStream.write(((i == 0 ? "" : ",") + element(i)).getBytes(StandardCharsets.UTF_8));
+      }
+      outputStream.write(']');
+    };
+  }
+
+  @RequestMapping(value = "/elements/{count}/ndjson", produces = "application/x-ndjson")
+  public StreamingResponseBody elementsNdjsonRequest(@PathVariable int count) {
+
+    return outputStream -> {
+      for (int i = 0; i < count; i++) {
+        outputStream.write((element(i) + "\n").getBytes(StandardCharsets.UTF_8));
+      }
+    };
+  }
+
+  /**
+   * Sends the events after the one of the {@code Last-Event-ID} header, {@code perConnection} of
+   * them on each connection, with the data of each event split in two lines. Answers 204 once all
+   * the events were sent.
+   */
+  @RequestMapping("/events/{count}/{perConnection}")
+  public ResponseEntity<StreamingResponseBody> eventsRequest(
+      @PathVariable int count,
+      @PathVariable int perConnection,
+      @RequestParam(defaultValue = "0") long delay,
+      @RequestHeader(value = "Last-Event-ID", required = false) Integer lastEventId) {
+
+    int first = lastEventId == null ? 0 : lastEventId + 1;
+    if (first >= count) {
+      return ResponseEntity.noContent().build();
+    }
+    int last = Math.min(count, first + perConnection);
+    StreamingResponseBody body = outputStream -> {
+      outputStream.write(": comment\nretry: 10\n\n".getBytes(StandardCharsets.UTF_8));
+      for (int i = first; i < last; i++) {
+        String element = element(i);
+        int split = element.indexOf(',');
+        outputStream.write(("event: element\nid: " + i + "\ndata: " + element.substring(0, split)
+            + "\ndata:" + element.substring(split) + "\n\n").getBytes(StandardCharsets.UTF_8));
+        outputStream.flush();
+        sleep(delay);
+      }
+    };
+    return ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(body);
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static String element(int i) {
+    return "{\"id\":" + i + ",\"name\":\"name" + i + "\",\"login\":\"login" + i + "\"}";
+  }
+
+  @RequestMapping({"/delay/{millis}/echo/**", "/delay/{millis}/{httpCode}/echo/**"})
+  public ResponseEntity<EchoResponse> delayedEchoRequest(
+      HttpServletRequest request,
+      @RequestHeader Map<String, String> headers,
+      @RequestParam MultiValueMap<String, String> params,
+      @PathVariable long millis,
+      @PathVariable(required = false) Integer httpCode,
+      @RequestBody(required = false) String body)
+      throws InterruptedException {
+
+    Thread.sleep(millis);
+    return echoRequest(request, headers, params, httpCode, body);
+  }
+
+  @RequestMapping("/cache/max-age/{seconds}/echo/**")
+  public ResponseEntity<EchoResponse> maxAgeEchoRequest(
+      HttpServletRequest request,
+      @RequestHeader Map<String, String> headers,
+      @RequestParam MultiValueMap<String, String> params,
+      @PathVariable long seconds,
+      @RequestBody(required = false) String body) {
+
+    return ResponseEntity.ok()
+        .cacheControl(CacheControl.maxAge(seconds, TimeUnit.SECONDS))
+        .body(echoRequest(request, headers, params, null, body).getBody());
+  }
+
+  @RequestMapping("/cache/etag/{etag}/echo/**")
+  public ResponseEntity<EchoResponse> etagEchoRequest(
+      HttpServletRequest request,
+      @RequestHeader Map<String, String> headers,
+      @RequestParam MultiValueMap<String, String> params,
+      @PathVariable String etag,
+      @RequestBody(required = false) String body) {
+
+    String quotedEtag = "\"" + etag + "\"";
+    if (quotedEtag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+          .cacheControl(CacheControl.noCache())
+          .eTag(quotedEtag)
+          .build();
+    }
+    return ResponseEntity.ok()
+        .cacheControl(CacheControl.noCache())
+        .eTag(quotedEtag)
+        .body(echoRequest(request, headers, params, null, body).getBody());
+  }
+
+  @RequestMapping("/flaky/{key}/{failures}/echo/**")
+  public ResponseEntity<EchoResponse> flakyEchoRequest(
+      HttpServletRequest request,
+      @RequestHeader Map<String, String> headers,
+      @RequestParam MultiValueMap<String, String> params,
+      @PathVariable String key,
+      @PathVariable int failures,
+      @RequestBody(required = false) String body) {
+
+    int call = flakyCalls.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+    return ResponseEntity.status(call <= failures ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.OK)
+        .body(echoRequest(request, headers, params, null, body).getBody());
+  }
+
+  @RequestMapping("/slow-first/{key}/{millis}/echo/**")
+  public ResponseEntity<EchoResponse> slowFirstEchoRequest(
+      HttpServletRequest request,
+      @RequestHeader Map<String, String> headers,
+      @RequestParam MultiValueMap<String, String> params,
+      @PathVariable String key,
+      @PathVariable long millis,
+      @RequestBody(required = false) String body)
+      throws InterruptedException {
+
+    if (slowFirstCalls.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet() == 1) {
+      Thread.sleep(millis);
+    }
+    return echoRequest(request, headers, params, null, body);
+  }
+
+  /**
+   * Answers each key as {@code /echo/{key}} would, in the order of the keys. With {@code limit}
+   * only the first keys are answered.
+   */
+  @RequestMapping(value = {"/lookup/echo", "/lookup/{limit}/echo"})
+  public List<EchoResponse> lookupEchoRequest(
+      HttpServletRequest request,
+      @PathVariable(required = false) Integer limit,
+      @RequestBody List<String> keys) {
+
+    List<EchoResponse> echoResponses = new ArrayList<>();
+    for (String key : keys.subList(0, limit == null ? keys.size() : limit)) {
+      echoResponses.add(lookupEcho(request, key));
+    }
+    return echoResponses;
+  }
+
+  /** Answers each key as {@code /echo/{key}} would, by key. Negative keys are not found. */
+  @RequestMapping("/lookup/echo/map")
+  public Map<String, EchoResponse> lookupEchoMapRequest(
+      HttpServletRequest request, @RequestBody List<String> keys) {
+
+    Map<String, EchoResponse> echoResponses = new LinkedHashMap<>();
+    for (String key : keys) {
+      if (!key.startsWith("-")) {
+        echoResponses.put(key, lookupEcho(request, key));
+      }
+    }
+    return echoResponses;
+  }
+
+  private static EchoResponse lookupEcho(HttpServletRequest request, String key) {
+
+    EchoResponse echoResponse = new EchoResponse();
+    echoResponse.setUrl("/api/echo/" + key);
+    echoResponse.setMethod(request.getMethod());
+    echoResponse.setCode(HttpStatus.OK.value());
+    return echoResponse;
+  }
+
   @RequestMapping(value = "/echo/head", method = RequestMethod.HEAD)
   public void echoHeadRequest() {}
 
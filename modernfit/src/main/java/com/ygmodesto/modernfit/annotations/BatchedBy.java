@@ -0,0 +1,70 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Groups the concurrent calls of a single-key method into calls of a batch method of the same
+ * interface, which receives the keys in a {@code List} and returns their values in one request.
+ *
+ * <pre><code>
+ * &#64;BatchedBy(value = "lookupProducts", maxBatch = 100, window = 2)
+ * &#64;GET("/products/{barcode}")
+ * Product getProduct(&#64;Path Long barcode);
+ *
+ * &#64;POST("/products/lookup")
+ * List&lt;Product&gt; lookupProducts(&#64;Body List&lt;Long&gt; barcodes);
+ * </code></pre>
+ *
+ * <p>The first call opens a batch that collects the keys of the calls made during
+ * {@code window}, rounded up to the resolution of the timer of modernfit, or until it holds
+ * {@code maxBatch} different keys. The batch method is then called with the keys in the order
+ * they arrived and each caller receives the value of its key. A batch holding a single key is
+ * sent with the request of the annotated method instead.
+ *
+ * <p>The batch method returns a {@code List<V>} with the values in the order of the keys or a
+ * {@code Map<K, V>}, where a missing key is a {@code null} value, or a {@code CompletableFuture}
+ * or {@code CompletionStage} of them. The annotated method returns {@code V} or a
+ * {@code CompletableFuture} or {@code CompletionStage} of it. If the batch fails, every call in
+ * it fails with the same exception.
+ *
+ * @see com.ygmodesto.modernfit.services.BatchLoader
+ */
+@Documented
+@Target(METHOD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface BatchedBy {
+
+  /** The name of the batch method. */
+  String value();
+
+  /** The maximum number of different keys sent in a batch. */
+  int maxBatch() default 100;
+
+  /** The time a batch waits for more keys since its first one. */
+  long window() default 2;
+
+  /** The unit of {@link #window()}. */
+  TimeUnit unit() default TimeUnit.MILLISECONDS;
+}
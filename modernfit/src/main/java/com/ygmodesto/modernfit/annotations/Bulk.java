@@ -0,0 +1,60 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a method that calls the single-argument method {@link #value()} of the same interface
+ * once for each key, with at most {@code parallelism} requests in flight.
+ *
+ * <pre><code>
+ * &#64;GET("/products/{barcode}")
+ * Product getProduct(&#64;Path Long barcode);
+ *
+ * &#64;Bulk("getProduct")
+ * List&lt;Product&gt; getProductAll(Iterable&lt;Long&gt; barcodes, int parallelism);
+ * </code></pre>
+ *
+ * <p>The requests are made through the asynchronous path, so no thread waits for each of them.
+ * The method can return the values in the order of the keys as a {@code List}, a
+ * {@link com.ygmodesto.modernfit.services.BulkResult BulkResult} with the outcome of each key, or
+ * a {@code CompletableFuture} or {@code CompletionStage} of them. It can also return a
+ * {@code Stream} of {@link com.ygmodesto.modernfit.services.BulkOutcome BulkOutcome} in the order
+ * the requests complete.
+ *
+ * <p>By default the first failure cancels the requests in flight and is thrown. If
+ * {@link #failFast()} is false every key is requested and the failures are collected.
+ *
+ * @see com.ygmodesto.modernfit.services.BulkCalls
+ */
+@Documented
+@Target(METHOD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface Bulk {
+
+  /** The name of the method called for each key. */
+  String value();
+
+  /** Stop at the first failure instead of collecting the failures of every key. */
+  boolean failFast() default true;
+}
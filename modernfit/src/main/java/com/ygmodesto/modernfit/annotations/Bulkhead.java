@@ -0,0 +1,65 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Isolate the calls in a lane with its own limit of concurrent calls and its own threads, so a
+ * slow backend can not consume the concurrency of the rest of the application.
+ *
+ * <pre><code>
+ * &#64;Bulkhead(maxConcurrentCalls = 20)
+ * &#64;Modernfit("http://localhost:8080/api")
+ * public interface ProductRepository {
+ *
+ *   &#64;Bulkhead(name = "uploads", maxConcurrentCalls = 2)
+ *   &#64;Multipart
+ *   &#64;POST("/products/images")
+ *   void uploadImage(&#64;Part("image") File image);
+ *   ...
+ * }
+ * </code></pre>
+ *
+ * <p>The methods of an annotated interface share its lane. An annotated method has its own lane,
+ * or shares it with the methods annotated with the same {@link #name()}, which allows separating
+ * traffic classes such as large uploads and small requests. When the lane is full the calls wait
+ * up to {@link #maxQueueDepth()}, after that they fail with a
+ * {@link com.ygmodesto.modernfit.services.BulkheadFullException BulkheadFullException}.
+ *
+ * @see com.ygmodesto.modernfit.services.BulkheadHttpClient
+ */
+@Documented
+@Target({TYPE, METHOD})
+@Retention(RetentionPolicy.SOURCE)
+public @interface Bulkhead {
+
+  /** The maximum number of calls in flight in the lane. */
+  int maxConcurrentCalls() default 10;
+
+  /** The maximum number of calls waiting for the lane. */
+  int maxQueueDepth() default 100;
+
+  /** The name of the lane, the methods with the same name share it. */
+  String name() default "";
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keep the converted responses of a synchronous method in memory, keyed by the arguments of the
+ * call. A call whose response is cached returns it without making the request nor converting
+ * the response.
+ *
+ * <pre><code>
+ * &#64;Cacheable(ttl = 60, staleWhileRevalidate = 300, maxEntries = 10000)
+ * &#64;GET("/products/{barcode}")
+ * Product getProduct(&#64;Path String barcode);
+ * </code></pre>
+ *
+ * <p>A response is fresh during {@code ttl}. After that, during {@code staleWhileRevalidate} it
+ * is still returned while it is refreshed in background. Once both have passed the request is
+ * made again. When there are more than {@code maxEntries} responses the oldest ones are removed.
+ *
+ * <p>The arguments are compared with {@code equals}, arrays by their content. Since every caller
+ * receives the same object, it should not be modified.
+ *
+ * @see com.ygmodesto.modernfit.services.MethodCache
+ */
+@Documented
+@Target(METHOD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface Cacheable {
+
+  /** The time a response is fresh. */
+  long ttl();
+
+  /** The time a response is returned while it is refreshed after {@link #ttl()}. */
+  long staleWhileRevalidate() default 0;
+
+  /** The maximum number of responses kept. */
+  int maxEntries() default 1000;
+
+  /** The unit of {@link #ttl()} and {@link #staleWhileRevalidate()}. */
+  TimeUnit unit() default TimeUnit.SECONDS;
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stop sending requests to a failing backend. When the rate of failed or slow calls in the last
+ * {@link #windowSize()} calls exceeds its threshold the circuit opens, and the calls fail
+ * immediately with a {@link com.ygmodesto.modernfit.services.CircuitBreakerOpenException
+ * CircuitBreakerOpenException} for {@link #waitInOpen()}. After that, {@link #halfOpenCalls()}
+ * probes are let through: if all of them succeed the circuit closes, otherwise it opens again.
+ *
+ * <pre><code>
+ * &#64;CircuitBreaker(failureRateThreshold = 50, waitInOpen = 30, unit = TimeUnit.SECONDS)
+ * &#64;Modernfit("http://localhost:8080/api")
+ * public interface ProductRepository {
+ *   ...
+ * }
+ * </code></pre>
+ *
+ * <p>A call fails when the request throws an exception or the response has a 5xx status code.
+ * Each method has its own circuit, or every method of the same host if {@link #perHost()} is
+ * true. An annotated method overrides the annotation of the interface.
+ *
+ * @see com.ygmodesto.modernfit.services.CircuitBreakerHttpClient
+ */
+@Documented
+@Target({TYPE, METHOD})
+@Retention(RetentionPolicy.SOURCE)
+public @interface CircuitBreaker {
+
+  /** The percentage of failed calls that opens the circuit. */
+  float failureRateThreshold() default 50;
+
+  /** The percentage of slow calls that opens the circuit. */
+  float slowCallRateThreshold() default 100;
+
+  /** The duration from which a call is slow. */
+  long slowCallDuration() default 60000;
+
+  /** The number of calls of the sliding window. */
+  int windowSize() default 100;
+
+  /** The minimum number of calls in the window before the rates are evaluated. */
+  int minimumCalls() default 10;
+
+  /** The time the circuit stays open before letting probes through. */
+  long waitInOpen() default 60000;
+
+  /** The number of probes let through while half open. */
+  int halfOpenCalls() default 5;
+
+  /** The unit of {@link #slowCallDuration()} and {@link #waitInOpen()}. */
+  TimeUnit unit() default TimeUnit.MILLISECONDS;
+
+  /** If true, all the methods that call the same host share the circuit. */
+  boolean perHost() default false;
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Subscribes to a {@code text/event-stream} of Server-Sent Events. The data of each event is
+ * converted to the type of the elements with the converter of the interface.
+ *
+ * <pre><code>
+ * &#64;EventStream
+ * &#64;GET("/prices")
+ * Flowable&lt;Price&gt; getPrices();
+ *
+ * &#64;EventStream
+ * &#64;GET("/prices")
+ * Cancellable getPrices(EventCallback&lt;Price&gt; callback);
+ * </code></pre>
+ *
+ * <p>The method returns an RxJava {@code Flowable<T>} or {@code Observable<T>}, or receives an
+ * {@link com.ygmodesto.modernfit.services.EventCallback EventCallback}. The events are read from
+ * one long-lived connection, which is opened again when it is lost, with the
+ * {@code Last-Event-ID} header and after the delay sent by the server in the {@code retry} field.
+ */
+@Documented
+@Target(METHOD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface EventStream {}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Send a duplicate of the request when the first attempt has not answered in time. The first
+ * response wins and the requests still in flight are cancelled.
+ *
+ * <pre><code>
+ * &#64;Hedge(percentile = 95)
+ * &#64;GET("/products/{barcode}")
+ * Product getProduct(&#64;Path String barcode);
+ * </code></pre>
+ *
+ * <p>The duplicate is sent after {@link #delay()} or, if it is 0, after the {@link #percentile()}
+ * of the latencies of the method measured by the client. Until there are enough measures the
+ * request is not hedged. Up to {@link #maxHedges()} duplicates are sent, one after each delay.
+ * Only idempotent HTTP methods can be hedged.
+ *
+ * @see com.ygmodesto.modernfit.services.HedgingHttpClient
+ */
+@Documented
+@Target(METHOD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface Hedge {
+
+  /** The time to wait before sending a duplicate, or 0 to use {@link #percentile()}. */
+  long delay() default 0;
+
+  /** The percentile of the latencies of the method used as delay when {@link #delay()} is 0. */
+  double percentile() default 95;
+
+  /** The maximum number of duplicates sent. */
+  int maxHedges() default 1;
+
+  /** The unit of {@link #delay()}. */
+  TimeUnit unit() default TimeUnit.MILLISECONDS;
+}
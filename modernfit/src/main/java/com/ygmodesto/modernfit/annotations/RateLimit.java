@@ -0,0 +1,65 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limit the rate of the requests to {@link #permits()} every {@link #per()} {@link #unit()}, to
+ * stay under the quota of the server.
+ *
+ * <pre><code>
+ * &#64;RateLimit(permits = 100, per = 1, unit = TimeUnit.MINUTES)
+ * &#64;Modernfit("http://localhost:8080/api")
+ * public interface ProductRepository {
+ *   ...
+ * }
+ * </code></pre>
+ *
+ * <p>Up to {@code permits} requests are sent at once, then they are spaced evenly. The methods of
+ * an annotated interface share its limit, an annotated method has its own. A request over the
+ * limit waits for its turn, synchronous calls in the calling thread and asynchronous calls on a
+ * timer, or fails with a
+ * {@link com.ygmodesto.modernfit.services.RateLimitExceededException RateLimitExceededException}
+ * if {@link #failFast()} is true.
+ *
+ * @see com.ygmodesto.modernfit.services.RateLimitingHttpClient
+ */
+@Documented
+@Target({TYPE, METHOD})
+@Retention(RetentionPolicy.SOURCE)
+public @interface RateLimit {
+
+  /** The number of requests allowed in each period. */
+  int permits();
+
+  /** The length of the period. */
+  long per() default 1;
+
+  /** The unit of {@link #per()}. */
+  TimeUnit unit() default TimeUnit.SECONDS;
+
+  /** If true, the requests over the limit fail instead of waiting. */
+  boolean failFast() default false;
+}
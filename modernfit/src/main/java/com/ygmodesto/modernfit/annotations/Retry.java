@@ -0,0 +1,72 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+
+import java.io.IOException;
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retry the request when it fails with one of the {@link #retryOn()} exceptions or responds with
+ * one of the {@link #retryOnStatus()} codes.
+ *
+ * <pre><code>
+ * &#64;Retry(maxAttempts = 4, backoff = 200)
+ * &#64;GET("/products/{barcode}")
+ * Product getProduct(&#64;Path String barcode);
+ * </code></pre>
+ *
+ * <p>The time between attempts is random between zero and {@code backoff * 2^(attempt - 1)}, up
+ * to {@link #maxBackoff()}. Only idempotent HTTP methods are retried unless
+ * {@link #idempotentOnly()} is false. If the interface is annotated, the annotation is the
+ * default of all its methods. The retries of all the methods share a budget, so they can not
+ * multiply the load of a server that is already failing.
+ *
+ * @see com.ygmodesto.modernfit.services.RetryingHttpClient
+ */
+@Documented
+@Target({TYPE, METHOD})
+@Retention(RetentionPolicy.SOURCE)
+public @interface Retry {
+
+  /** The maximum number of attempts, including the first one. */
+  int maxAttempts() default 3;
+
+  /** The base time between attempts. */
+  long backoff() default 100;
+
+  /** The maximum time between attempts. */
+  long maxBackoff() default 10000;
+
+  /** The unit of {@link #backoff()} and {@link #maxBackoff()}. */
+  TimeUnit unit() default TimeUnit.MILLISECONDS;
+
+  /** The exceptions, or causes of the exception, that are retried. */
+  Class<? extends Throwable>[] retryOn() default {IOException.class};
+
+  /** The HTTP status codes of the responses that are retried. */
+  int[] retryOnStatus() default {};
+
+  /** If false, the non idempotent HTTP methods, POST and PATCH, are also retried. */
+  boolean idempotentOnly() default true;
+}
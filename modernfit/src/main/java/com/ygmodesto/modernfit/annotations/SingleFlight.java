@@ -0,0 +1,47 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Coalesce identical GET requests that are in flight at the same time: the first call performs
+ * the HTTP request and the calls made while it is pending receive the same response, which is
+ * converted only once.
+ *
+ * <pre><code>
+ * &#64;SingleFlight
+ * &#64;GET("/products/{barcode}")
+ * Product getProduct(&#64;Path String barcode);
+ * </code></pre>
+ *
+ * <p>Requests are identical when they have the same HTTP method, URL and headers. If the
+ * interface is annotated, all its GET methods are coalesced. Since every caller receives the same
+ * converted object, it should not be modified.
+ *
+ * @see com.ygmodesto.modernfit.services.SingleFlightHttpClient
+ */
+@Documented
+@Target({TYPE, METHOD})
+@Retention(RetentionPolicy.SOURCE)
+public @interface SingleFlight {}
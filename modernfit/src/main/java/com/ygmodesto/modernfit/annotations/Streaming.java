@@ -0,0 +1,42 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Treat the response body as a stream: it is not buffered in memory and it is passed to the
+ * converter as it is read from the network.
+ *
+ * <pre><code>
+ * &#64;Streaming
+ * &#64;GET("/export")
+ * Export getExport();
+ * </code></pre>
+ *
+ * <p>If the method returns {@link com.ygmodesto.modernfit.services.ResponseContent
+ * ResponseContent} the stream is handed to the caller, who must close it after use.
+ */
+@Documented
+@Target(METHOD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface Streaming {}
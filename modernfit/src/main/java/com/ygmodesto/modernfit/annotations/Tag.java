@@ -0,0 +1,43 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.annotations;
+
+import static java.lang.annotation.ElementType.PARAMETER;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Tags an asynchronous request with the value of the parameter, so all the requests with the
+ * same tag can be cancelled together with
+ * {@link com.ygmodesto.modernfit.services.ConfigurationInterface#cancelAll(Object)
+ * cancelAll(tag)}.
+ *
+ * <pre><code>
+ * &#64;GET("/products/{barcode}")
+ * Cancellable getProduct(&#64;Path String barcode, &#64;Tag Object screen,
+ *     ResponseCallback&lt;Product&gt; callback);
+ * </code></pre>
+ *
+ * <p>The value is not sent to the server. A null value does not tag the request.
+ */
+@Documented
+@Target(PARAMETER)
+@Retention(RetentionPolicy.SOURCE)
+public @interface Tag {}
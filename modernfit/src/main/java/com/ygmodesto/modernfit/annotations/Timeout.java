@@ -0,0 +1,61 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Set the timeouts of the requests of a method, or of all the methods of an interface, instead of
+ * the ones of the HTTP client.
+ *
+ * <pre><code>
+ * &#64;Timeout(connect = 500, read = 2000, call = 3000)
+ * &#64;GET("/products/{barcode}")
+ * Product getProduct(&#64;Path String barcode);
+ * </code></pre>
+ *
+ * <p>The {@link #call()} timeout is the deadline of the whole request. If the call is made inside
+ * a {@link com.ygmodesto.modernfit.services.Deadline Deadline}, for example while handling a
+ * request that has one, the earliest of both is used, so the remaining time shrinks down a chain
+ * of calls. A zero value keeps the timeout of the HTTP client.
+ *
+ * @see com.ygmodesto.modernfit.services.TimeoutPolicy
+ */
+@Documented
+@Target({TYPE, METHOD})
+@Retention(RetentionPolicy.SOURCE)
+public @interface Timeout {
+
+  /** The timeout to connect to the server. */
+  long connect() default 0;
+
+  /** The maximum time without receiving data from the server. */
+  long read() default 0;
+
+  /** The maximum time of the whole request, from the call until the response is received. */
+  long call() default 0;
+
+  /** The unit of the timeouts. */
+  TimeUnit unit() default TimeUnit.MILLISECONDS;
+}
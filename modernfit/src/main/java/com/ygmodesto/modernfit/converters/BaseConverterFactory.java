@@ -97,6 +97,12 @@ public abstract class BaseConverterFactory implements Converter.Factory {
     return BaseResponseConverters.VoidResponseConverter.INSTANCE;
   }
 
+  public Converter<ResponseContent, ResponseContent> getResponseConverter(
+      ResponseContent zombie, CustomType<ResponseContent> customType) {
+
+    return BaseResponseConverters.ResponseContentResponseConverter.INSTANCE;
+  }
+
   public Converter<ResponseContent, String> getResponseConverter(String zombie,
       CustomType<String> customType) {
 
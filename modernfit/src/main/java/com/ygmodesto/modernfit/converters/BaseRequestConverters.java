@@ -32,6 +32,13 @@ public class BaseRequestConverters {
   private static final String MEDIA_TYPE = "text/plain";
   private static final Charset DEFAULT_CHARSET = StandardCharsets.UTF_8;
 
+  /**
+   * The largest request body, in bytes, that the object converters serialize into a byte array
+   * before the request is sent. Larger ones are streamed to the HTTP client, without a
+   * Content-Length.
+   */
+  public static final int DEFAULT_STREAMING_THRESHOLD = 1024 * 1024;
+
   protected BaseRequestConverters() {}
 
   static final class VoidRequestConverter implements Converter<Void, BodyContent> {
@@ -33,6 +33,18 @@ public class BaseResponseConverters {
     }
   }
 
+  static final class ResponseContentResponseConverter
+      implements Converter<ResponseContent, ResponseContent> {
+
+    static final ResponseContentResponseConverter INSTANCE =
+        new ResponseContentResponseConverter();
+
+    @Override
+    public ResponseContent convert(ResponseContent src) throws ModernfitConverterException {
+      return src;
+    }
+  }
+
   static final class StringResponseConverter implements Converter<ResponseContent, String> {
 
     static final StringResponseConverter INSTANCE = new StringResponseConverter();
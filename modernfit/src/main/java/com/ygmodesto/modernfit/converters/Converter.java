@@ -18,6 +18,8 @@ package com.ygmodesto.modernfit.converters;
 
 import com.ygmodesto.modernfit.services.BodyContent;
 import com.ygmodesto.modernfit.services.CustomType;
+import com.ygmodesto.modernfit.services.ElementIterator;
+import com.ygmodesto.modernfit.services.ModernfitException;
 import com.ygmodesto.modernfit.services.ResponseContent;
 
 /**
@@ -70,6 +72,27 @@ public interface Converter<S, T> {
     public <T> Converter<ResponseContent, T> getResponseConverter(
         T zombie, CustomType<T> customType);
 
+    /**
+     * Returns a {@link Converter} for converting an HTTP response body to an
+     * {@link ElementIterator} that decodes the elements of type {@code <T>} one at a time. This is
+     * used by the methods that return {@code Iterator<T>}, {@code Stream<T>}, {@code Flowable<T>}
+     * or {@code Observable<T>}.
+     *
+     * <p>The default implementation throws, for the factories that do not support it.
+     *
+     * @param <T> the type of the elements of the HTTP response.
+     * @param zombie just to do Overloading Method, this variable is not used.
+     * @param customType information of the type &#60;T&#62; encapsulated in a {@link CustomType}.
+     * @return A {@link Converter} for converting ResponseContent to its elements.
+     * @throws ModernfitException if the factory does not decode the elements one at a time.
+     */
+    public default <T> Converter<ResponseContent, ElementIterator<T>> getElementConverter(
+        T zombie, CustomType<T> customType) {
+      throw new ModernfitException(getClass().getName()
+          + " does not decode the elements of a response one at a time, it can not be used by"
+          + " methods that return Iterator, Stream, Flowable or Observable of elements");
+    }
+
     public <T> Converter<T, String> getUrlConverter(T zombie, CustomType<T> customType);
   }
 }
@@ -21,6 +21,7 @@ import com.google.gson.TypeAdapter;
 import com.google.gson.reflect.TypeToken;
 import com.ygmodesto.modernfit.services.BodyContent;
 import com.ygmodesto.modernfit.services.CustomType;
+import com.ygmodesto.modernfit.services.ElementIterator;
 import com.ygmodesto.modernfit.services.ResponseContent;
 
 /**
@@ -31,13 +32,14 @@ import com.ygmodesto.modernfit.services.ResponseContent;
 public class GsonConverterFactory extends BaseConverterFactory implements Converter.Factory {
 
   private Gson gson;
+  private int streamingThreshold;
 
   /**
    * Create an instance using a default {@link Gson} instance for conversion. Encoding to JSON and
    * decoding from JSON will use UTF-8.
    */
   public static GsonConverterFactory create() {
-    return new GsonConverterFactory(new Gson());
+    return create(new Gson());
   }
 
   /**
@@ -45,18 +47,28 @@ public class GsonConverterFactory extends BaseConverterFactory implements Conver
    * will use UTF-8.
    */
   public static GsonConverterFactory create(Gson gson) {
-    return new GsonConverterFactory(gson);
+    return new GsonConverterFactory(gson, BaseRequestConverters.DEFAULT_STREAMING_THRESHOLD);
   }
 
-  private GsonConverterFactory(Gson gson) {
+  /**
+   * Create an instance using {@code gson} for conversion, whose request bodies larger than
+   * {@code streamingThreshold} bytes are written directly to the HTTP client, without a
+   * Content-Length. Use 0 to stream every request body.
+   */
+  public static GsonConverterFactory create(Gson gson, int streamingThreshold) {
+    return new GsonConverterFactory(gson, streamingThreshold);
+  }
+
+  private GsonConverterFactory(Gson gson, int streamingThreshold) {
     this.gson = gson;
+    this.streamingThreshold = streamingThreshold;
   }
 
   @Override
   public <T> Converter<T, BodyContent> getRequestConverter(T zombie, CustomType<T> customType) {
 
     TypeAdapter<T> typeAdapter = gson.getAdapter(TypeToken.get(customType.getRawClass()));
-    return new GsonRequestConverter<T>(gson, typeAdapter);
+    return new GsonRequestConverter<T>(gson, typeAdapter, streamingThreshold);
   }
 
   @Override
@@ -66,4 +78,12 @@ public class GsonConverterFactory extends BaseConverterFactory implements Conver
     TypeAdapter<T> typeAdapter = gson.getAdapter(TypeToken.get(customType.getRawClass()));
     return new GsonResponseConverter<T>(gson, typeAdapter);
   }
+
+  @Override
+  public <T> Converter<ResponseContent, ElementIterator<T>> getElementConverter(
+      T zombie, CustomType<T> customType) {
+
+    TypeAdapter<T> typeAdapter = gson.getAdapter(TypeToken.get(customType.getRawClass()));
+    return new GsonElementConverter<T>(gson, typeAdapter, customType.getRawClass());
+  }
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.converters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.ygmodesto.modernfit.services.ElementIterator;
+import com.ygmodesto.modernfit.services.ResponseContent;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * An HTTP response converter that uses Gson to decode the elements of a JSON array, or of a
+ * sequence of JSON values such as newline-delimited JSON, one at a time.
+ */
+public class GsonElementConverter<T> implements Converter<ResponseContent, ElementIterator<T>> {
+
+  private Gson gson;
+  private TypeAdapter<T> typeAdapter;
+  private boolean unwrapArray;
+
+  /**
+   * Build a converter whose elements are read with {@code typeAdapter}.
+   *
+   * @param gson to create the readers of the responses.
+   * @param typeAdapter reader of the elements.
+   * @param rawClass the class of the elements, a top level array is only unwrapped if the elements
+   *     are not arrays or collections themselves.
+   */
+  public GsonElementConverter(Gson gson, TypeAdapter<T> typeAdapter, Class<?> rawClass) {
+    this.gson = gson;
+    this.typeAdapter = typeAdapter;
+    this.unwrapArray = !rawClass.isArray() && !Collection.class.isAssignableFrom(rawClass);
+  }
+
+  @Override
+  public ElementIterator<T> convert(ResponseContent src) throws ModernfitConverterException {
+    try {
+      return new GsonElementIterator<T>(src, gson, typeAdapter, unwrapArray);
+    } catch (IOException e) {
+      src.close();
+      throw new ModernfitConverterException(e);
+    }
+  }
+
+  private static class GsonElementIterator<T> extends ElementIterator<T> {
+
+    private final JsonReader jsonReader;
+    private final TypeAdapter<T> typeAdapter;
+    private final boolean array;
+
+    GsonElementIterator(ResponseContent src, Gson gson, TypeAdapter<T> typeAdapter,
+        boolean unwrapArray) throws IOException {
+      super(src);
+      this.jsonReader = gson.newJsonReader(new InputStreamReader(src.getContentStream(),
+          src.getCharset() == null ? StandardCharsets.UTF_8 : src.getCharset()));
+      // A sequence of values is only accepted by a lenient reader.
+      this.jsonReader.setLenient(true);
+      this.typeAdapter = typeAdapter;
+      this.array = unwrapArray && peek() == JsonToken.BEGIN_ARRAY;
+      if (array) {
+        jsonReader.beginArray();
+      }
+    }
+
+    @Override
+    protected boolean hasNextElement() throws IOException {
+      return array ? jsonReader.hasNext() : peek() != JsonToken.END_DOCUMENT;
+    }
+
+    /** Peeks the next token, an empty body is read as a sequence without values. */
+    private JsonToken peek() throws IOException {
+      try {
+        return jsonReader.peek();
+      } catch (EOFException e) {
+        return JsonToken.END_DOCUMENT;
+      }
+    }
+
+    @Override
+    protected T nextElement() throws IOException {
+      return typeAdapter.read(jsonReader);
+    }
+
+    @Override
+    public void close() throws ModernfitConverterException {
+      try {
+        jsonReader.close();
+      } catch (IOException e) {
+        throw new ModernfitConverterException(e);
+      } finally {
+        super.close();
+      }
+    }
+  }
+}
@@ -20,7 +20,6 @@ import com.google.gson.Gson;
 import com.google.gson.TypeAdapter;
 import com.google.gson.stream.JsonWriter;
 import com.ygmodesto.modernfit.services.BodyContent;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
@@ -29,6 +28,11 @@ import java.nio.charset.StandardCharsets;
 
 /**
  * An HTTP request converter that uses Gson to convert between a T data type and BodyContet.
+ *
+ * <p>The object is serialized into a byte array, so the request has a known Content-Length. An
+ * object larger than the streaming threshold is serialized directly to the HTTP client when the
+ * request is sent instead, see
+ * {@link BodyContent#create(String, Charset, BodyContent.ContentWriter, int)}.
  */
 public class GsonRequestConverter<T> extends BaseRequestConverters
     implements Converter<T, BodyContent> {
@@ -38,21 +42,36 @@ public class GsonRequestConverter<T> extends BaseRequestConverters
 
   private Gson gson;
   private TypeAdapter<T> typeAdapter;
+  private int streamingThreshold;
 
   public GsonRequestConverter(Gson gson, TypeAdapter<T> typeAdapter) {
+    this(gson, typeAdapter, DEFAULT_STREAMING_THRESHOLD);
+  }
+
+  /**
+   * Build a converter that streams the objects larger than {@code streamingThreshold} bytes, 0 to
+   * stream all of them.
+   */
+  public GsonRequestConverter(Gson gson, TypeAdapter<T> typeAdapter, int streamingThreshold) {
     this.gson = gson;
     this.typeAdapter = typeAdapter;
+    this.streamingThreshold = streamingThreshold;
   }
 
   @Override
   public BodyContent convert(T src) throws ModernfitConverterException {
-    try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-        Writer writer = new OutputStreamWriter(byteArrayOutputStream, DEFAULT_CHARSET);
-        JsonWriter jsonWriter = gson.newJsonWriter(writer)) {
-      typeAdapter.write(jsonWriter, src);
-      jsonWriter.close();
-
-      return new BodyContent(MEDIA_TYPE, DEFAULT_CHARSET, byteArrayOutputStream.toByteArray());
+    try {
+      return BodyContent.create(MEDIA_TYPE, DEFAULT_CHARSET, outputStream -> {
+        // The writers are flushed but not closed, the output stream belongs to the HTTP client.
+        Writer writer = new OutputStreamWriter(outputStream, DEFAULT_CHARSET);
+        JsonWriter jsonWriter = gson.newJsonWriter(writer);
+        try {
+          typeAdapter.write(jsonWriter, src);
+        } catch (RuntimeException e) {
+          throw new ModernfitConverterException(e);
+        }
+        jsonWriter.flush();
+      }, streamingThreshold);
     } catch (IOException e) {
       throw new ModernfitConverterException(e);
     }
@@ -20,8 +20,8 @@ import com.google.gson.Gson;
 import com.google.gson.TypeAdapter;
 import com.google.gson.stream.JsonReader;
 import com.ygmodesto.modernfit.services.ResponseContent;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 
@@ -42,8 +42,8 @@ public class GsonResponseConverter<T> extends BaseRequestConverters
   @Override
   public T convert(ResponseContent src) throws ModernfitConverterException {
 
-    try (ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(src.getContent());
-        Reader reader = new InputStreamReader(byteArrayInputStream);
+    try (InputStream inputStream = src.getContentStream();
+        Reader reader = new InputStreamReader(inputStream);
         JsonReader jsonReader = gson.newJsonReader(reader)) {
 
       return typeAdapter.read(jsonReader);
@@ -22,6 +22,7 @@ import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.ygmodesto.modernfit.services.BodyContent;
 import com.ygmodesto.modernfit.services.CustomType;
+import com.ygmodesto.modernfit.services.ElementIterator;
 import com.ygmodesto.modernfit.services.ResponseContent;
 
 /**
@@ -32,13 +33,14 @@ import com.ygmodesto.modernfit.services.ResponseContent;
 public class JacksonConverterFactory extends BaseConverterFactory implements Converter.Factory {
 
   private ObjectMapper objectMapper;
+  private int streamingThreshold;
 
   /**
    * Create an instance using a default {@link ObjectMapper} instance for conversion. Encoding to
    * JSON and decoding from JSON will use UTF-8.
    */
   public static JacksonConverterFactory create() {
-    return new JacksonConverterFactory(new ObjectMapper());
+    return create(new ObjectMapper());
   }
 
   /**
@@ -46,11 +48,22 @@ public class JacksonConverterFactory extends BaseConverterFactory implements Con
    * from JSON will use UTF-8.
    */
   public static JacksonConverterFactory create(ObjectMapper objectMapper) {
-    return new JacksonConverterFactory(objectMapper);
+    return new JacksonConverterFactory(
+        objectMapper, BaseRequestConverters.DEFAULT_STREAMING_THRESHOLD);
   }
 
-  private JacksonConverterFactory(ObjectMapper objectMapper) {
+  /**
+   * Create an instance using {@code objectMapper} for conversion, whose request bodies larger than
+   * {@code streamingThreshold} bytes are written directly to the HTTP client, without a
+   * Content-Length. Use 0 to stream every request body.
+   */
+  public static JacksonConverterFactory create(ObjectMapper objectMapper, int streamingThreshold) {
+    return new JacksonConverterFactory(objectMapper, streamingThreshold);
+  }
+
+  private JacksonConverterFactory(ObjectMapper objectMapper, int streamingThreshold) {
     this.objectMapper = objectMapper;
+    this.streamingThreshold = streamingThreshold;
   }
 
   @Override
@@ -58,7 +71,7 @@ public class JacksonConverterFactory extends BaseConverterFactory implements Con
 
     JavaType javaType = objectMapper.getTypeFactory().constructType(customType.getType());
     ObjectWriter objectWriter = objectMapper.writerFor(javaType);
-    return new JacksonRequestConverter<T>(objectWriter);
+    return new JacksonRequestConverter<T>(objectWriter, streamingThreshold);
   }
 
   @Override
@@ -69,4 +82,13 @@ public class JacksonConverterFactory extends BaseConverterFactory implements Con
     ObjectReader objectReader = objectMapper.readerFor(javaType);
     return new JacksonResponseConverter<T>(objectReader);
   }
+
+  @Override
+  public <T> Converter<ResponseContent, ElementIterator<T>> getElementConverter(
+      T zombie, CustomType<T> customType) {
+
+    JavaType javaType = objectMapper.getTypeFactory().constructType(customType.getType());
+    ObjectReader objectReader = objectMapper.readerFor(javaType);
+    return new JacksonElementConverter<T>(objectReader, javaType);
+  }
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.converters;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.ygmodesto.modernfit.services.ElementIterator;
+import com.ygmodesto.modernfit.services.ResponseContent;
+import java.io.IOException;
+
+/**
+ * An HTTP response converter that uses Jackson to decode the elements of a JSON array, or of a
+ * sequence of JSON values such as newline-delimited JSON, one at a time.
+ */
+public class JacksonElementConverter<T> implements Converter<ResponseContent, ElementIterator<T>> {
+
+  private ObjectReader objectReader;
+  private boolean unwrapArray;
+
+  /**
+   * Build a converter whose elements are read with {@code objectReader}.
+   *
+   * @param objectReader reader of the elements.
+   * @param javaType the type of the elements, a top level array is only unwrapped if the elements
+   *     are not arrays or collections themselves.
+   */
+  public JacksonElementConverter(ObjectReader objectReader, JavaType javaType) {
+    this.objectReader = objectReader;
+    this.unwrapArray = !javaType.isArrayType() && !javaType.isCollectionLikeType();
+  }
+
+  @Override
+  public ElementIterator<T> convert(ResponseContent src) throws ModernfitConverterException {
+    try {
+      return new JacksonElementIterator<T>(src, objectReader, unwrapArray);
+    } catch (IOException e) {
+      src.close();
+      throw new ModernfitConverterException(e);
+    }
+  }
+
+  private static class JacksonElementIterator<T> extends ElementIterator<T> {
+
+    private final JsonParser parser;
+    private final ObjectReader objectReader;
+    private final boolean array;
+    private JsonToken token;
+
+    JacksonElementIterator(ResponseContent src, ObjectReader objectReader, boolean unwrapArray)
+        throws IOException {
+      super(src);
+      this.parser = objectReader.getFactory().createParser(src.getContentStream());
+      this.objectReader = objectReader;
+      this.token = parser.nextToken();
+      this.array = unwrapArray && token == JsonToken.START_ARRAY;
+      if (array) {
+        token = parser.nextToken();
+      }
+    }
+
+    @Override
+    protected boolean hasNextElement() {
+      return token != null && !(array && token == JsonToken.END_ARRAY);
+    }
+
+    @Override
+    protected T nextElement() throws IOException {
+      T element = objectReader.readValue(parser);
+      token = parser.nextToken();
+      return element;
+    }
+
+    @Override
+    public void close() throws ModernfitConverterException {
+      try {
+        parser.close();
+      } catch (IOException e) {
+        throw new ModernfitConverterException(e);
+      } finally {
+        super.close();
+      }
+    }
+  }
+}
@@ -16,14 +16,21 @@
 
 package com.ygmodesto.modernfit.converters;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.ygmodesto.modernfit.services.BodyContent;
+import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
 /**
  * An HTTP request converter that uses Jackson to convert between a T data type and BodyContet.
+ *
+ * <p>The object is serialized into a byte array, so the request has a known Content-Length. An
+ * object larger than the streaming threshold is serialized directly to the HTTP client when the
+ * request is sent instead, see
+ * {@link BodyContent#create(String, Charset, BodyContent.ContentWriter, int)}.
  */
 public class JacksonRequestConverter<T> extends BaseRequestConverters
     implements Converter<T, BodyContent> {
@@ -32,16 +39,32 @@ public class JacksonRequestConverter<T> extends BaseRequestConverters
   private static final String MEDIA_TYPE = "application/json";
 
   private ObjectWriter objectWriter;
+  private int streamingThreshold;
 
   public JacksonRequestConverter(ObjectWriter objectWriter) {
-    this.objectWriter = objectWriter;
+    this(objectWriter, DEFAULT_STREAMING_THRESHOLD);
+  }
+
+  /**
+   * Build a converter that streams the objects larger than {@code streamingThreshold} bytes, 0 to
+   * stream all of them.
+   */
+  public JacksonRequestConverter(ObjectWriter objectWriter, int streamingThreshold) {
+    this.objectWriter = objectWriter.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    this.streamingThreshold = streamingThreshold;
   }
 
   @Override
   public BodyContent convert(T src) throws ModernfitConverterException {
     try {
-      return new BodyContent(MEDIA_TYPE, DEFAULT_CHARSET, objectWriter.writeValueAsBytes(src));
-    } catch (JsonProcessingException e) {
+      return BodyContent.create(MEDIA_TYPE, DEFAULT_CHARSET, outputStream -> {
+        try {
+          objectWriter.writeValue(outputStream, src);
+        } catch (JsonProcessingException e) {
+          throw new ModernfitConverterException(e);
+        }
+      }, streamingThreshold);
+    } catch (IOException e) {
       throw new ModernfitConverterException(e);
     }
   }
@@ -36,7 +36,9 @@ public class JacksonResponseConverter<T> extends BaseResponseConverters
   @Override
   public T convert(ResponseContent src) throws ModernfitConverterException {
     try {
-      return objectReader.readValue(src.getContent());
+      return src.isStreaming()
+          ? objectReader.readValue(src.getContentStream())
+          : objectReader.readValue(src.getContent());
     } catch (IOException e) {
       throw new ModernfitConverterException(e);
     }
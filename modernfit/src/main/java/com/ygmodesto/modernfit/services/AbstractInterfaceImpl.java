@@ -15,7 +15,15 @@
 package com.ygmodesto.modernfit.services;
 
 import com.ygmodesto.modernfit.converters.Converter;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Abstract class extended by modernfit-generated classes that implement interfaces annotated with
@@ -28,6 +36,9 @@ public abstract class AbstractInterfaceImpl implements ConfigurationInterface {
   protected String baseUrl;
   protected Map<String, String> headers;
 
+  private final InFlightCalls inFlightCalls = new InFlightCalls();
+  private volatile ResponseExecutors responseExecutors;
+
   /** Returns the set headers to the class. These headers are common to all methods. */
   @Override
   public Map<String, String> getHeaders() {
@@ -58,10 +69,455 @@ public abstract class AbstractInterfaceImpl implements ConfigurationInterface {
     this.baseUrl = baseUrl;
   }
 
+  @Override
+  public ResponseExecutors getResponseExecutors() {
+    return responseExecutors;
+  }
+
+  @Override
+  public void setResponseExecutors(ResponseExecutors responseExecutors) {
+    this.responseExecutors = responseExecutors;
+  }
+
+  @Override
+  public void cancelAll() {
+    inFlightCalls.cancelAll(null);
+  }
+
+  @Override
+  public void cancelAll(Object tag) {
+    if (tag != null) {
+      inFlightCalls.cancelAll(tag);
+    }
+  }
+
+  /**
+   * Makes an asynchronous request that can be cancelled with {@link #cancelAll()}, used by the
+   * methods with a {@link ResponseCallback ResponseCallback} parameter. The response is read,
+   * converted and notified in the {@link ResponseExecutors ResponseExecutors} of the class, if
+   * any.
+   */
+  protected <T> void enqueue(RequestInfo requestInfo, DiscreteBody body,
+      ResponseCallback<T> callback) {
+    ResponseExecutors executors = responseExecutors;
+    callback.setResponseExecutors(executors);
+    ResponseCallback<Void> trackedCallback = inFlightCalls.track(requestInfo, callback);
+    try {
+      if (executors != null && executors.hasIoExecutor()) {
+        executors.read(
+            requestInfo, () -> httpClient.callMethod(requestInfo, body), trackedCallback);
+      } else {
+        httpClient.callMethod(requestInfo, body, trackedCallback);
+      }
+    } catch (RuntimeException e) {
+      // The request was not made, so its callback will not be notified.
+      inFlightCalls.untrack(trackedCallback);
+      throw e;
+    }
+  }
+
+  /**
+   * Makes an asynchronous multipart request that can be cancelled with {@link #cancelAll()}, used
+   * by the methods with a {@link ResponseCallback ResponseCallback} parameter. The response is
+   * read, converted and notified in the {@link ResponseExecutors ResponseExecutors} of the class,
+   * if any.
+   */
+  protected <T> void enqueue(RequestInfo requestInfo, MultipartBody body,
+      ResponseCallback<T> callback) {
+    ResponseExecutors executors = responseExecutors;
+    callback.setResponseExecutors(executors);
+    ResponseCallback<Void> trackedCallback = inFlightCalls.track(requestInfo, callback);
+    try {
+      if (executors != null && executors.hasIoExecutor()) {
+        executors.read(
+            requestInfo, () -> httpClient.callMethod(requestInfo, body), trackedCallback);
+      } else {
+        httpClient.callMethod(requestInfo, body, trackedCallback);
+      }
+    } catch (RuntimeException e) {
+      // The request was not made, so its callback will not be notified.
+      inFlightCalls.untrack(trackedCallback);
+      throw e;
+    }
+  }
+
   protected <T> HttpInfo<T> toHttpInfo(Converter<ResponseContent, T> converter,
       ResponseContent responseContent) {
-    T value = converter.convert(responseContent);
+    T value = responseContent.convert(converter);
     return new HttpInfo<T>(responseContent.getCode(), responseContent.getHeaders(), value);
   }
 
+  /**
+   * Converts a response that may be shared by several callers, used by methods annotated with
+   * {@link com.ygmodesto.modernfit.annotations.SingleFlight @SingleFlight}.
+   */
+  protected <T> T convert(Converter<ResponseContent, T> converter,
+      ResponseContent responseContent) {
+    return responseContent.convert(converter);
+  }
+
+  /**
+   * Converts a streamed response and releases it, used by methods annotated with
+   * {@link com.ygmodesto.modernfit.annotations.Streaming @Streaming}.
+   */
+  protected <T> T convertAndClose(Converter<ResponseContent, T> converter,
+      ResponseContent responseContent) {
+    try {
+      return converter.convert(responseContent);
+    } finally {
+      responseContent.close();
+    }
+  }
+
+  /**
+   * Converts a streamed response to {@link HttpInfo HttpInfo} and releases it, used by methods
+   * annotated with {@link com.ygmodesto.modernfit.annotations.Streaming @Streaming}.
+   */
+  protected <T> HttpInfo<T> toHttpInfoAndClose(Converter<ResponseContent, T> converter,
+      ResponseContent responseContent) {
+    try {
+      return toHttpInfo(converter, responseContent);
+    } finally {
+      responseContent.close();
+    }
+  }
+
+  /**
+   * Makes an asynchronous request whose response is converted to complete the returned future,
+   * used by methods that return {@code CompletableFuture<T>} or {@code CompletionStage<T>}.
+   */
+  protected <T> CompletableFuture<T> callMethodAsFuture(RequestInfo requestInfo,
+      DiscreteBody body, Converter<ResponseContent, T> converter) {
+    FutureResponseCallback<T> callback = new FutureResponseCallback<T>(converter);
+    try {
+      enqueue(requestInfo, body, callback);
+    } catch (ModernfitException e) {
+      callback.notifyFailure(e);
+    }
+    return callback.getFuture();
+  }
+
+  /**
+   * Makes an asynchronous multipart request whose response is converted to complete the returned
+   * future, used by methods that return {@code CompletableFuture<T>} or
+   * {@code CompletionStage<T>}.
+   */
+  protected <T> CompletableFuture<T> callMethodAsFuture(RequestInfo requestInfo,
+      MultipartBody body, Converter<ResponseContent, T> converter) {
+    FutureResponseCallback<T> callback = new FutureResponseCallback<T>(converter);
+    try {
+      enqueue(requestInfo, body, callback);
+    } catch (ModernfitException e) {
+      callback.notifyFailure(e);
+    }
+    return callback.getFuture();
+  }
+
+  /**
+   * Makes an asynchronous request whose response completes the returned future with an
+   * {@link HttpInfo HttpInfo}, used by methods that return {@code CompletableFuture<HttpInfo<T>>}
+   * or {@code CompletionStage<HttpInfo<T>>}.
+   */
+  protected <T> CompletableFuture<HttpInfo<T>> callMethodAsHttpInfoFuture(
+      RequestInfo requestInfo, DiscreteBody body, Converter<ResponseContent, T> converter) {
+    FutureHttpResponseCallback<T> callback = new FutureHttpResponseCallback<T>(converter);
+    try {
+      enqueue(requestInfo, body, callback);
+    } catch (ModernfitException e) {
+      callback.notifyFailure(e);
+    }
+    return callback.getFuture();
+  }
+
+  /**
+   * Makes an asynchronous multipart request whose response completes the returned future with an
+   * {@link HttpInfo HttpInfo}, used by methods that return {@code CompletableFuture<HttpInfo<T>>}
+   * or {@code CompletionStage<HttpInfo<T>>}.
+   */
+  protected <T> CompletableFuture<HttpInfo<T>> callMethodAsHttpInfoFuture(
+      RequestInfo requestInfo, MultipartBody body, Converter<ResponseContent, T> converter) {
+    FutureHttpResponseCallback<T> callback = new FutureHttpResponseCallback<T>(converter);
+    try {
+      enqueue(requestInfo, body, callback);
+    } catch (ModernfitException e) {
+      callback.notifyFailure(e);
+    }
+    return callback.getFuture();
+  }
+
+  /**
+   * Makes an asynchronous request whose converted response is passed to {@code onSuccess}, used by
+   * the RxJava methods that return {@code Single<T>}, {@code Maybe<T>}, {@code Flowable<T>} or
+   * {@code Observable<T>}, and by the Reactor methods that return {@code Mono<T>} or
+   * {@code Flux<T>}, so no thread waits while the request is in flight.
+   *
+   * @return the handle that cancels the request when the subscription is disposed.
+   */
+  protected <T> Cancellable callMethodAsync(RequestInfo requestInfo, DiscreteBody body,
+      Converter<ResponseContent, T> converter, Consumer<? super T> onSuccess,
+      Consumer<? super ModernfitException> onFailure) {
+    AsyncSubscription subscription = new AsyncSubscription(onFailure);
+    return subscription.start(toCallback(converter, onSuccess, subscription),
+        callback -> enqueue(requestInfo, body, callback));
+  }
+
+  /**
+   * Makes an asynchronous multipart request whose converted response is passed to
+   * {@code onSuccess}, used by the RxJava methods that return {@code Single<T>}, {@code Maybe<T>},
+   * {@code Flowable<T>} or {@code Observable<T>}.
+   *
+   * @return the handle that cancels the request when the subscription is disposed.
+   */
+  protected <T> Cancellable callMethodAsync(RequestInfo requestInfo, MultipartBody body,
+      Converter<ResponseContent, T> converter, Consumer<? super T> onSuccess,
+      Consumer<? super ModernfitException> onFailure) {
+    AsyncSubscription subscription = new AsyncSubscription(onFailure);
+    return subscription.start(toCallback(converter, onSuccess, subscription),
+        callback -> enqueue(requestInfo, body, callback));
+  }
+
+  /**
+   * Makes an asynchronous request whose response body is ignored, used by the RxJava methods that
+   * return {@code Completable}.
+   *
+   * @return the handle that cancels the request when the subscription is disposed.
+   */
+  protected Cancellable callMethodAsync(RequestInfo requestInfo, DiscreteBody body,
+      Runnable onComplete, Consumer<? super ModernfitException> onFailure) {
+    AsyncSubscription subscription = new AsyncSubscription(onFailure);
+    return subscription.start(toCallback(onComplete, subscription),
+        callback -> enqueue(requestInfo, body, callback));
+  }
+
+  /**
+   * Makes an asynchronous multipart request whose response body is ignored, used by the RxJava
+   * methods that return {@code Completable}.
+   *
+   * @return the handle that cancels the request when the subscription is disposed.
+   */
+  protected Cancellable callMethodAsync(RequestInfo requestInfo, MultipartBody body,
+      Runnable onComplete, Consumer<? super ModernfitException> onFailure) {
+    AsyncSubscription subscription = new AsyncSubscription(onFailure);
+    return subscription.start(toCallback(onComplete, subscription),
+        callback -> enqueue(requestInfo, body, callback));
+  }
+
+  /**
+   * Makes an asynchronous request whose response is passed to {@code onSuccess} as an
+   * {@link HttpInfo HttpInfo}, used by the RxJava methods whose elements are {@code HttpInfo<T>}.
+   *
+   * @return the handle that cancels the request when the subscription is disposed.
+   */
+  protected <T> Cancellable callMethodAsHttpInfoAsync(RequestInfo requestInfo, DiscreteBody body,
+      Converter<ResponseContent, T> converter, Consumer<? super HttpInfo<T>> onSuccess,
+      Consumer<? super ModernfitException> onFailure) {
+    AsyncSubscription subscription = new AsyncSubscription(onFailure);
+    return subscription.start(toHttpInfoCallback(converter, onSuccess, subscription),
+        callback -> enqueue(requestInfo, body, callback));
+  }
+
+  /**
+   * Makes an asynchronous multipart request whose response is passed to {@code onSuccess} as an
+   * {@link HttpInfo HttpInfo}, used by the RxJava methods whose elements are {@code HttpInfo<T>}.
+   *
+   * @return the handle that cancels the request when the subscription is disposed.
+   */
+  protected <T> Cancellable callMethodAsHttpInfoAsync(RequestInfo requestInfo,
+      MultipartBody body, Converter<ResponseContent, T> converter,
+      Consumer<? super HttpInfo<T>> onSuccess, Consumer<? super ModernfitException> onFailure) {
+    AsyncSubscription subscription = new AsyncSubscription(onFailure);
+    return subscription.start(toHttpInfoCallback(converter, onSuccess, subscription),
+        callback -> enqueue(requestInfo, body, callback));
+  }
+
+  /**
+   * Makes a request whose response elements are decoded one at a time, used by methods that return
+   * {@code Iterator<T>}, and by the RxJava and Reactor methods that return {@code Flowable<T>},
+   * {@code Observable<T>} or {@code Flux<T>} on each subscription.
+   */
+  protected <T> ElementIterator<T> callMethodAsIterator(RequestInfo requestInfo,
+      DiscreteBody body, Converter<ResponseContent, ElementIterator<T>> converter) {
+    return converter.convert(httpClient.callMethod(requestInfo, body));
+  }
+
+  /**
+   * Makes a multipart request whose response elements are decoded one at a time, used by methods
+   * that return {@code Iterator<T>}, and by the RxJava methods that return {@code Flowable<T>} or
+   * {@code Observable<T>} on each subscription.
+   */
+  protected <T> ElementIterator<T> callMethodAsIterator(RequestInfo requestInfo,
+      MultipartBody body, Converter<ResponseContent, ElementIterator<T>> converter) {
+    return converter.convert(httpClient.callMethod(requestInfo, body));
+  }
+
+  /**
+   * Makes a request whose response elements are decoded one at a time, used by methods that return
+   * {@code Stream<T>}. The response is released when the stream is closed.
+   */
+  protected <T> Stream<T> callMethodAsStream(RequestInfo requestInfo, DiscreteBody body,
+      Converter<ResponseContent, ElementIterator<T>> converter) {
+    return toStream(callMethodAsIterator(requestInfo, body, converter));
+  }
+
+  /**
+   * Makes a multipart request whose response elements are decoded one at a time, used by methods
+   * that return {@code Stream<T>}. The response is released when the stream is closed.
+   */
+  protected <T> Stream<T> callMethodAsStream(RequestInfo requestInfo, MultipartBody body,
+      Converter<ResponseContent, ElementIterator<T>> converter) {
+    return toStream(callMethodAsIterator(requestInfo, body, converter));
+  }
+
+  /**
+   * Opens a stream of Server-Sent Events, used by the methods annotated with
+   * {@link com.ygmodesto.modernfit.annotations.EventStream @EventStream}. Each connection of the
+   * stream can be cancelled with {@link #cancelAll()}.
+   *
+   * @return the callback, which closes the stream when it is cancelled.
+   */
+  protected <T> EventCallback<T> openEventStream(RequestInfo requestInfo, final DiscreteBody body,
+      Converter<ResponseContent, T> converter, EventCallback<T> callback) {
+    new EventSource<>(requestInfo, (connection, responseCallback) ->
+        readEventStream(connection, () -> httpClient.callMethod(connection, body),
+            responseCallback), converter, callback).start();
+    return callback;
+  }
+
+  /**
+   * Opens a stream of Server-Sent Events with a multipart request, used by the methods annotated
+   * with {@link com.ygmodesto.modernfit.annotations.EventStream @EventStream}.
+   *
+   * @return the callback, which closes the stream when it is cancelled.
+   */
+  protected <T> EventCallback<T> openEventStream(RequestInfo requestInfo,
+      final MultipartBody body, Converter<ResponseContent, T> converter,
+      EventCallback<T> callback) {
+    new EventSource<>(requestInfo, (connection, responseCallback) ->
+        readEventStream(connection, () -> httpClient.callMethod(connection, body),
+            responseCallback), converter, callback).start();
+    return callback;
+  }
+
+  /**
+   * Makes a connection of an event stream as a blocking request in its own thread, which can be
+   * cancelled with {@link #cancelAll()}.
+   */
+  private void readEventStream(RequestInfo requestInfo, Supplier<ResponseContent> request,
+      ResponseCallback<ResponseContent> callback) {
+    ResponseCallback<Void> trackedCallback = inFlightCalls.track(requestInfo, callback);
+    try {
+      EventSource.connections().read(requestInfo, request, trackedCallback);
+    } catch (RuntimeException e) {
+      // The request was not made, so its callback will not be notified.
+      inFlightCalls.untrack(trackedCallback);
+      throw e;
+    }
+  }
+
+  /** Returns an {@code Iterable} whose only iteration is {@code iterator}. */
+  protected static <T> Iterable<T> iterable(final Iterator<T> iterator) {
+    return () -> iterator;
+  }
+
+  /**
+   * The request of a reactive subscriber. Once the subscriber cancels it the failure is not
+   * notified, as no one would receive it, while a request cancelled by {@link #cancelAll()} still
+   * notifies it.
+   */
+  private static final class AsyncSubscription
+      implements Cancellable, Consumer<ModernfitException> {
+
+    private final Consumer<? super ModernfitException> onFailure;
+    private volatile ResponseCallback<?> callback;
+    private volatile boolean cancelled;
+
+    AsyncSubscription(Consumer<? super ModernfitException> onFailure) {
+      this.onFailure = onFailure;
+    }
+
+    <T> AsyncSubscription start(ResponseCallback<T> callback,
+        Consumer<ResponseCallback<T>> enqueue) {
+      this.callback = callback;
+      try {
+        enqueue.accept(callback);
+      } catch (ModernfitException e) {
+        callback.notifyFailure(e);
+      }
+      return this;
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+      callback.cancel();
+    }
+
+    @Override
+    public void accept(ModernfitException e) {
+      if (!cancelled) {
+        onFailure.accept(e);
+      }
+    }
+  }
+
+  private static <T> ResponseCallback<T> toCallback(Converter<ResponseContent, T> converter,
+      final Consumer<? super T> onSuccess, final Consumer<? super ModernfitException> onFailure) {
+    ResponseCallback<T> callback = new ResponseCallback<T>() {
+
+      @Override
+      public void onSuccess(T t) {
+        onSuccess.accept(t);
+      }
+
+      @Override
+      public void onFailure(ModernfitException e) {
+        onFailure.accept(e);
+      }
+    };
+    callback.setConverter(converter);
+    return callback;
+  }
+
+  private static ResponseCallback<Void> toCallback(final Runnable onComplete,
+      final Consumer<? super ModernfitException> onFailure) {
+    return new ResponseCallback<Void>() {
+
+      @Override
+      public void notifySuccess(ResponseContent response) {
+        if (!notifyIfCancelled()) {
+          notifyConverted(response, () -> null, value -> onComplete.run());
+        }
+      }
+
+      @Override
+      public void onFailure(ModernfitException e) {
+        onFailure.accept(e);
+      }
+    };
+  }
+
+  private static <T> ResponseCallback<T> toHttpInfoCallback(
+      Converter<ResponseContent, T> converter, final Consumer<? super HttpInfo<T>> onSuccess,
+      final Consumer<? super ModernfitException> onFailure) {
+    HttpResponseCallback<T> callback = new HttpResponseCallback<T>() {
+
+      @Override
+      public void onSuccess(HttpInfo<T> httpInfo) {
+        onSuccess.accept(httpInfo);
+      }
+
+      @Override
+      public void onFailure(ModernfitException e) {
+        onFailure.accept(e);
+      }
+    };
+    callback.setConverter(converter);
+    return callback;
+  }
+
+  private static <T> Stream<T> toStream(ElementIterator<T> iterator) {
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+        .onClose(iterator::close);
+  }
 }
@@ -0,0 +1,331 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * {@link HttpClient HttpClient} that limits the requests in flight to each server, with a limit
+ * estimated continuously from the latency of the calls, so the clients shed load before the
+ * servers are overloaded. Place it directly in front of the client that executes the requests:
+ *
+ * <pre><code>
+ * ProductRepository repository = ProductRepositoryImpl.builder()
+ *     .addHttpClient(AdaptiveConcurrencyHttpClient.create(ClientOkHttp.create()))
+ *     .build();
+ * </code></pre>
+ *
+ * <p>Each server, identified by {@link RequestInfo#getOrigin()}, has its own limit. The limit
+ * follows the TCP Vegas algorithm: it grows while the latency stays close to the minimum observed
+ * and shrinks when the latency rises, which means the server is queuing the requests, or when the
+ * calls fail or are answered with 429 or 503. The requests over the limit wait in a queue of
+ * {@link AdaptiveLimitPolicy#getMaxQueueDepth() maxQueueDepth} requests, synchronous calls in the
+ * calling thread and asynchronous calls without blocking any thread, and the rest fail with a
+ * {@link ConcurrencyLimitExceededException ConcurrencyLimitExceededException}. A request still in
+ * the queue when its {@link RequestInfo#getDeadline() deadline} passes is dropped with a
+ * {@link DeadlineExceededException DeadlineExceededException}.
+ */
+public class AdaptiveConcurrencyHttpClient implements HttpClient {
+
+  private static final int TOO_MANY_REQUESTS = 429;
+  private static final int SERVICE_UNAVAILABLE = 503;
+
+  private final HttpClient delegate;
+  private final AdaptiveLimitPolicy policy;
+  private final ConcurrentMap<String, AdaptiveLimiter> limiters = new ConcurrentHashMap<>();
+
+  /**
+   * Create an instance that limits the requests executed by {@code delegate} with the default
+   * {@link AdaptiveLimitPolicy AdaptiveLimitPolicy}.
+   *
+   * @param delegate the {@link HttpClient HttpClient} that executes the requests.
+   */
+  public static AdaptiveConcurrencyHttpClient create(HttpClient delegate) {
+    return new AdaptiveConcurrencyHttpClient(delegate, AdaptiveLimitPolicy.builder().build());
+  }
+
+  /**
+   * Create an instance that limits the requests executed by {@code delegate}.
+   *
+   * @param delegate the {@link HttpClient HttpClient} that executes the requests.
+   * @param policy the bounds of the limit of each server.
+   */
+  public static AdaptiveConcurrencyHttpClient create(
+      HttpClient delegate, AdaptiveLimitPolicy policy) {
+    return new AdaptiveConcurrencyHttpClient(delegate, policy);
+  }
+
+  private AdaptiveConcurrencyHttpClient(HttpClient delegate, AdaptiveLimitPolicy policy) {
+    this.delegate = delegate;
+    this.policy = policy;
+  }
+
+  /** Returns the current limit of the server {@code origin}, {@code scheme://host[:port]}. */
+  public int getLimit(String origin) {
+    AdaptiveLimiter limiter = limiters.get(origin);
+    return limiter == null ? policy.getInitialLimit() : limiter.getLimit();
+  }
+
+  /** Returns the requests in flight to the server {@code origin}. */
+  public int getInFlight(String origin) {
+    AdaptiveLimiter limiter = limiters.get(origin);
+    return limiter == null ? 0 : limiter.getInFlight();
+  }
+
+  /** Returns the requests waiting for the server {@code origin}. */
+  public int getQueued(String origin) {
+    AdaptiveLimiter limiter = limiters.get(origin);
+    return limiter == null ? 0 : limiter.getQueued();
+  }
+
+  @Override
+  public ResponseContent callMethod(RequestInfo requestInfo, DiscreteBody body)
+      throws ModernfitException {
+
+    AdaptiveLimiter limiter = acquire(requestInfo);
+    return execute(limiter, () -> delegate.callMethod(requestInfo, body));
+  }
+
+  @Override
+  public <T> void callMethod(
+      RequestInfo requestInfo, DiscreteBody body, ResponseCallback<T> callback) {
+
+    schedule(requestInfo, callback,
+        limitCallback -> delegate.callMethod(requestInfo, body, limitCallback));
+  }
+
+  @Override
+  public ResponseContent callMethod(RequestInfo requestInfo, MultipartBody body)
+      throws ModernfitException {
+
+    AdaptiveLimiter limiter = acquire(requestInfo);
+    return execute(limiter, () -> delegate.callMethod(requestInfo, body));
+  }
+
+  @Override
+  public <T> void callMethod(
+      RequestInfo requestInfo, MultipartBody body, ResponseCallback<T> callback) {
+
+    schedule(requestInfo, callback,
+        limitCallback -> delegate.callMethod(requestInfo, body, limitCallback));
+  }
+
+  private AdaptiveLimiter limiter(RequestInfo requestInfo) {
+    return limiters.computeIfAbsent(requestInfo.getOrigin(), k -> new AdaptiveLimiter(policy));
+  }
+
+  /** Takes a permit, waiting in the queue if needed. */
+  private AdaptiveLimiter acquire(RequestInfo requestInfo) {
+
+    AdaptiveLimiter limiter = limiter(requestInfo);
+    if (limiter.tryAcquire()) {
+      return limiter;
+    }
+    CompletableFuture<Void> permit = new CompletableFuture<>();
+    Runnable waiter = () -> permit.complete(null);
+    if (!limiter.enqueue(waiter)) {
+      throw exceededException(requestInfo, limiter);
+    }
+    Deadline deadline = requestInfo.getDeadline();
+    try {
+      if (deadline == null) {
+        permit.get();
+      } else {
+        permit.get(deadline.timeRemaining(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+      }
+      return limiter;
+    } catch (TimeoutException e) {
+      if (!limiter.dequeue(waiter)) {
+        // The permit arrived with the deadline.
+        limiter.release();
+      }
+      throw DeadlineExceededException.beforeSending(requestInfo);
+    } catch (InterruptedException | ExecutionException e) {
+      if (!limiter.dequeue(waiter)) {
+        // The permit arrived with the interruption.
+        limiter.release();
+      }
+      Thread.currentThread().interrupt();
+      throw new ModernfitException(e);
+    }
+  }
+
+  private ResponseContent execute(
+      AdaptiveLimiter limiter, Supplier<ResponseContent> call) {
+
+    int inFlight = limiter.getInFlight();
+    long start = System.nanoTime();
+    try {
+      ResponseContent responseContent = call.get();
+      limiter.sample(System.nanoTime() - start, inFlight, isDropped(responseContent));
+      return responseContent;
+    } catch (RuntimeException e) {
+      limiter.sample(System.nanoTime() - start, inFlight, true);
+      throw e;
+    } finally {
+      limiter.release();
+    }
+  }
+
+  private void schedule(RequestInfo requestInfo, ResponseCallback<?> callback,
+      Consumer<ResponseCallback<Void>> call) {
+
+    AdaptiveLimiter limiter = limiter(requestInfo);
+    Runnable dispatch = () -> {
+      LimitCallback limitCallback = new LimitCallback(limiter, callback);
+      try {
+        call.accept(limitCallback);
+      } catch (ModernfitException e) {
+        limitCallback.notifyFailure(e);
+      }
+    };
+    if (limiter.tryAcquire()) {
+      dispatch.run();
+      return;
+    }
+    Waiter waiter = new Waiter(limiter, dispatch);
+    // Installed before the waiter can be dispatched, which then registers its own cancellable.
+    callback.setCancellable(() -> {
+      if (waiter.remove()) {
+        callback.notifyFailure(new ModernfitException(new IOException("Canceled")));
+      }
+    });
+    if (callback.isCancelled()) {
+      return;
+    }
+    if (!limiter.enqueue(waiter)) {
+      if (waiter.remove()) {
+        callback.notifyFailure(exceededException(requestInfo, limiter));
+      }
+      return;
+    }
+    Deadline deadline = requestInfo.getDeadline();
+    if (deadline != null) {
+      waiter.setDeadline(Timers.schedule(() -> {
+        if (waiter.remove()) {
+          callback.notifyFailure(DeadlineExceededException.beforeSending(requestInfo));
+        }
+      }, deadline.timeRemaining(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS));
+    }
+  }
+
+  private static boolean isDropped(ResponseContent responseContent) {
+    return responseContent.getCode() == TOO_MANY_REQUESTS
+        || responseContent.getCode() == SERVICE_UNAVAILABLE;
+  }
+
+  private static ConcurrencyLimitExceededException exceededException(
+      RequestInfo requestInfo, AdaptiveLimiter limiter) {
+    return new ConcurrencyLimitExceededException("Concurrency limit of " + limiter.getLimit()
+        + " exceeded for " + requestInfo.getOrigin());
+  }
+
+  /** Samples the latency of an asynchronous call and returns its permit. */
+  private static final class LimitCallback extends ResponseCallback<Void> {
+
+    private final AdaptiveLimiter limiter;
+    private final ResponseCallback<?> callback;
+    private final int inFlight;
+    private final long start = System.nanoTime();
+
+    LimitCallback(AdaptiveLimiter limiter, ResponseCallback<?> callback) {
+      this.limiter = limiter;
+      this.callback = callback;
+      this.inFlight = limiter.getInFlight();
+    }
+
+    @Override
+    public void setCancellable(Cancellable cancellable) {
+      callback.setCancellable(cancellable);
+    }
+
+    @Override
+    public void notifySuccess(ResponseContent responseContent) {
+      limiter.sample(System.nanoTime() - start, inFlight, isDropped(responseContent));
+      limiter.release();
+      callback.notifySuccess(responseContent);
+    }
+
+    @Override
+    public void notifyFailure(ModernfitException e) {
+      // A cancelled call says nothing about the capacity of the server.
+      if (!callback.isCancelled()) {
+        limiter.sample(System.nanoTime() - start, inFlight, true);
+      }
+      limiter.release();
+      callback.notifyFailure(e);
+    }
+  }
+
+  /**
+   * A call waiting for a permit in the queue of a limiter. The first of the permit, the
+   * cancellation and the deadline takes the call, the others do nothing.
+   */
+  private static final class Waiter implements Runnable {
+
+    private final AdaptiveLimiter limiter;
+    private final Runnable dispatch;
+    private final AtomicBoolean pending = new AtomicBoolean(true);
+    private volatile HashedWheelTimer.Timeout deadline;
+
+    Waiter(AdaptiveLimiter limiter, Runnable dispatch) {
+      this.limiter = limiter;
+      this.dispatch = dispatch;
+    }
+
+    /** Dispatches the call with the permit passed by the limiter. */
+    @Override
+    public void run() {
+      if (!pending.compareAndSet(true, false)) {
+        // Cancelled while the limiter was passing the permit.
+        limiter.release();
+        return;
+      }
+      HashedWheelTimer.Timeout timeout = deadline;
+      if (timeout != null) {
+        timeout.cancel();
+      }
+      dispatch.run();
+    }
+
+    /** Takes the call out of the queue, returns false if it has already been taken. */
+    boolean remove() {
+      if (!pending.compareAndSet(true, false)) {
+        return false;
+      }
+      limiter.dequeue(this);
+      return true;
+    }
+
+    /** Sets the timer of the deadline, cancelling it if the call has already been taken. */
+    void setDeadline(HashedWheelTimer.Timeout timeout) {
+      deadline = timeout;
+      if (!pending.get()) {
+        timeout.cancel();
+      }
+    }
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+/**
+ * Defines the bounds of the concurrency limit estimated for each server by an
+ * {@link AdaptiveConcurrencyHttpClient AdaptiveConcurrencyHttpClient}, and how many requests wait
+ * when the limit is reached.
+ */
+public class AdaptiveLimitPolicy {
+
+  private final int initialLimit;
+  private final int minLimit;
+  private final int maxLimit;
+  private final int maxQueueDepth;
+  private final double backoffRatio;
+  private final int probeInterval;
+
+  private AdaptiveLimitPolicy(Builder builder) {
+    this.initialLimit = builder.initialLimit;
+    this.minLimit = builder.minLimit;
+    this.maxLimit = builder.maxLimit;
+    this.maxQueueDepth = builder.maxQueueDepth;
+    this.backoffRatio = builder.backoffRatio;
+    this.probeInterval = builder.probeInterval;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public int getInitialLimit() {
+    return initialLimit;
+  }
+
+  public int getMinLimit() {
+    return minLimit;
+  }
+
+  public int getMaxLimit() {
+    return maxLimit;
+  }
+
+  public int getMaxQueueDepth() {
+    return maxQueueDepth;
+  }
+
+  /** Returns the factor applied to the limit when a request fails or is rejected by the server. */
+  public double getBackoffRatio() {
+    return backoffRatio;
+  }
+
+  /**
+   * Returns the number of calls after which the latency without load is measured again, so the
+   * limit follows the changes of the server.
+   */
+  public int getProbeInterval() {
+    return probeInterval;
+  }
+
+  /**
+   * Builder class for {@link AdaptiveLimitPolicy AdaptiveLimitPolicy}.
+   */
+  public static final class Builder {
+
+    private int initialLimit = 20;
+    private int minLimit = 1;
+    private int maxLimit = 200;
+    private int maxQueueDepth = 0;
+    private double backoffRatio = 0.9;
+    private int probeInterval = 1000;
+
+    /** Sets the initial limit and its bounds. */
+    public Builder setLimits(int initialLimit, int minLimit, int maxLimit) {
+      if (minLimit <= 0 || initialLimit < minLimit || maxLimit < initialLimit) {
+        throw new IllegalArgumentException(
+            "Limits must be 0 < minLimit <= initialLimit <= maxLimit");
+      }
+      this.initialLimit = initialLimit;
+      this.minLimit = minLimit;
+      this.maxLimit = maxLimit;
+
+      return this;
+    }
+
+    /** Sets the maximum number of requests waiting when the limit is reached, 0 by default. */
+    public Builder setMaxQueueDepth(int maxQueueDepth) {
+      if (maxQueueDepth < 0) {
+        throw new IllegalArgumentException("maxQueueDepth must not be negative");
+      }
+      this.maxQueueDepth = maxQueueDepth;
+
+      return this;
+    }
+
+    /** Sets the factor applied to the limit when a request fails, 0.9 by default. */
+    public Builder setBackoffRatio(double backoffRatio) {
+      if (backoffRatio <= 0 || backoffRatio >= 1) {
+        throw new IllegalArgumentException("backoffRatio must be between 0 and 1");
+      }
+      this.backoffRatio = backoffRatio;
+
+      return this;
+    }
+
+    /** Sets the number of calls between measures of the latency without load. */
+    public Builder setProbeInterval(int probeInterval) {
+      if (probeInterval <= 0) {
+        throw new IllegalArgumentException("probeInterval must be greater than 0");
+      }
+      this.probeInterval = probeInterval;
+
+      return this;
+    }
+
+    public AdaptiveLimitPolicy build() {
+      return new AdaptiveLimitPolicy(this);
+    }
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrency limit of a server, estimated from the latency of its calls with the TCP Vegas
+ * algorithm: the latency without load is the minimum observed, and the ratio between it and the
+ * latency of each call estimates how many requests are queued in the server. The limit grows
+ * while the queue is short and shrinks when it grows or the calls fail. Lock free.
+ */
+final class AdaptiveLimiter {
+
+  private final AdaptiveLimitPolicy policy;
+  private final AtomicLong limit;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicLong noLoadRtt = new AtomicLong();
+  private final AtomicLong samples = new AtomicLong();
+  private final Queue<Runnable> waiters = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger queued = new AtomicInteger();
+
+  AdaptiveLimiter(AdaptiveLimitPolicy policy) {
+    this.policy = policy;
+    this.limit = new AtomicLong(Double.doubleToLongBits(policy.getInitialLimit()));
+  }
+
+  int getLimit() {
+    return (int) Double.longBitsToDouble(limit.get());
+  }
+
+  int getInFlight() {
+    return inFlight.get();
+  }
+
+  int getQueued() {
+    return queued.get();
+  }
+
+  /**
+   * Takes a permit if the server is under its limit.
+   *
+   * @return false, without taking it, if the limit is reached.
+   */
+  boolean tryAcquire() {
+    for (;;) {
+      int current = inFlight.get();
+      if (current >= getLimit()) {
+        return false;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Queues {@code waiter}, which runs holding a permit as soon as there is one.
+   *
+   * @return false, without queuing it, if the queue is full.
+   */
+  boolean enqueue(Runnable waiter) {
+    if (queued.incrementAndGet() > policy.getMaxQueueDepth()) {
+      queued.decrementAndGet();
+      return false;
+    }
+    waiters.add(waiter);
+    // A permit may have been released before the waiter was in the queue.
+    drain();
+    return true;
+  }
+
+  /** Removes a waiter that has not received a permit yet. */
+  boolean dequeue(Runnable waiter) {
+    if (waiters.remove(waiter)) {
+      queued.decrementAndGet();
+      return true;
+    }
+    return false;
+  }
+
+  /** Returns a permit, passing it to the next waiter if any. */
+  void release() {
+    inFlight.decrementAndGet();
+    drain();
+  }
+
+  /**
+   * Updates the limit with the outcome of a call.
+   *
+   * @param rttNanos the latency of the call.
+   * @param inFlightAtStart the calls in flight when it was sent, including itself.
+   * @param dropped true if the call failed or the server rejected it for overload.
+   */
+  void sample(long rttNanos, int inFlightAtStart, boolean dropped) {
+
+    if (samples.incrementAndGet() % policy.getProbeInterval() == 0) {
+      noLoadRtt.set(rttNanos);
+    }
+    long noLoad = noLoadRtt.get();
+    while ((noLoad == 0 || rttNanos < noLoad) && !noLoadRtt.compareAndSet(noLoad, rttNanos)) {
+      noLoad = noLoadRtt.get();
+    }
+    noLoad = noLoadRtt.get();
+
+    for (;;) {
+      long current = limit.get();
+      double currentLimit = Double.longBitsToDouble(current);
+      double newLimit = dropped
+          ? currentLimit * policy.getBackoffRatio()
+          : vegas(currentLimit, noLoad, rttNanos, inFlightAtStart);
+      newLimit = Math.max(policy.getMinLimit(), Math.min(policy.getMaxLimit(), newLimit));
+      if (newLimit == currentLimit
+          || limit.compareAndSet(current, Double.doubleToLongBits(newLimit))) {
+        break;
+      }
+    }
+    // A higher limit may admit waiters.
+    drain();
+  }
+
+  private static double vegas(double limit, long noLoadRtt, long rtt, int inFlightAtStart) {
+
+    // The limit is not probed while the application does not use it.
+    if (inFlightAtStart * 2 < limit || rtt <= 0) {
+      return limit;
+    }
+    double log = Math.max(1, Math.log10(limit));
+    double queueSize = Math.ceil(limit * (1 - (double) noLoadRtt / rtt));
+    if (queueSize <= log) {
+      return limit + 6 * log;
+    } else if (queueSize < 3 * log) {
+      return limit + log;
+    } else if (queueSize > 6 * log) {
+      return limit - log;
+    }
+    return limit;
+  }
+
+  private void drain() {
+    while (!waiters.isEmpty() && tryAcquire()) {
+      Runnable waiter = waiters.poll();
+      if (waiter == null) {
+        inFlight.decrementAndGet();
+        continue;
+      }
+      queued.decrementAndGet();
+      waiter.run();
+    }
+  }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Groups the concurrent loads of single keys into batches, used by the generated methods
+ * annotated with {@link com.ygmodesto.modernfit.annotations.BatchedBy @BatchedBy}.
+ *
+ * <p>The first load opens a batch, which is sent once the window since that load has passed or
+ * once it holds the maximum number of different keys, whatever happens first. The window runs
+ * in the timer shared by modernfit, so it is rounded up to its resolution. Loads of a key already
+ * in the open batch share its value. A batch with a single key is sent with the single-key
+ * loader, any other with the batch loader.
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the values.
+ */
+public final class BatchLoader<K, V> {
+
+  private final int maxBatch;
+  private final long windowNanos;
+  private final Function<? super K, ? extends CompletionStage<V>> loader;
+  private final Function<List<K>, CompletionStage<Map<K, V>>> batchLoader;
+
+  /** The batch collecting keys, guarded by {@code this}. */
+  private Batch<K, V> batch;
+
+  /**
+   * Create a loader whose batch loader returns the values in the order of the keys.
+   *
+   * @param <K> the type of the keys.
+   * @param <V> the type of the values.
+   * @param maxBatch the maximum number of different keys of a batch.
+   * @param window the time a batch waits for more keys since its first one.
+   * @param unit of {@code window}.
+   * @param loader loads a single key.
+   * @param batchLoader loads a list of keys, returning a list of values of the same size.
+   */
+  public static <K, V> BatchLoader<K, V> ofList(int maxBatch, long window, TimeUnit unit,
+      Function<? super K, ? extends CompletionStage<V>> loader,
+      Function<? super List<K>, ? extends CompletionStage<? extends List<V>>> batchLoader) {
+
+    return new BatchLoader<>(maxBatch, window, unit, loader,
+        keys -> batchLoader.apply(keys).thenApply(values -> toMap(keys, values)));
+  }
+
+  /**
+   * Create a loader whose batch loader returns the values by their keys. A key missing from the
+   * map has a {@code null} value.
+   *
+   * @param <K> the type of the keys.
+   * @param <V> the type of the values.
+   * @param maxBatch the maximum number of different keys of a batch.
+   * @param window the time a batch waits for more keys since its first one.
+   * @param unit of {@code window}.
+   * @param loader loads a single key.
+   * @param batchLoader loads a list of keys, returning their values by key.
+   */
+  public static <K, V> BatchLoader<K, V> ofMap(int maxBatch, long window, TimeUnit unit,
+      Function<? super K, ? extends CompletionStage<V>> loader,
+      Function<? super List<K>, ? extends CompletionStage<? extends Map<K, V>>> batchLoader) {
+
+    return new BatchLoader<>(maxBatch, window, unit, loader,
+        keys -> batchLoader.apply(keys).thenApply(Collections::unmodifiableMap));
+  }
+
+  private BatchLoader(int maxBatch, long window, TimeUnit unit,
+      Function<? super K, ? extends CompletionStage<V>> loader,
+      Function<List<K>, CompletionStage<Map<K, V>>> batchLoader) {
+
+    if (maxBatch <= 0 || window < 0) {
+      throw new IllegalArgumentException(
+          "maxBatch must be greater than 0 and window not negative");
+    }
+    this.maxBatch = maxBatch;
+    this.windowNanos = unit.toNanos(window);
+    this.loader = loader;
+    this.batchLoader = batchLoader;
+  }
+
+  /**
+   * Adds {@code key} to the open batch.
+   *
+   * @param key to load.
+   * @return a future completed with the value of {@code key} once its batch is loaded.
+   */
+  public CompletableFuture<V> load(K key) {
+
+    CompletableFuture<V> future = new CompletableFuture<>();
+    Batch<K, V> full = null;
+    synchronized (this) {
+      if (batch == null) {
+        Batch<K, V> opened = new Batch<>();
+        opened.timeout = Timers.schedule(() -> sendOpen(opened), windowNanos, TimeUnit.NANOSECONDS);
+        batch = opened;
+      }
+      batch.add(key, future);
+      if (batch.futures.size() >= maxBatch) {
+        full = batch;
+        batch = null;
+      }
+    }
+    if (full != null) {
+      full.timeout.cancel();
+      send(full);
+    }
+    return future;
+  }
+
+  /**
+   * Loads {@code key} with a batch, waiting for its value.
+   *
+   * @param key to load.
+   * @return the value of {@code key}.
+   * @throws ModernfitException if the batch of {@code key} fails.
+   */
+  public V get(K key) throws ModernfitException {
+    return BulkCalls.await(load(key));
+  }
+
+  private void sendOpen(Batch<K, V> opened) {
+    synchronized (this) {
+      if (batch != opened) {
+        return;
+      }
+      batch = null;
+    }
+    send(opened);
+  }
+
+  private void send(Batch<K, V> sent) {
+
+    List<K> keys = new ArrayList<>(sent.futures.keySet());
+    CompletionStage<Map<K, V>> values;
+    try {
+      if (keys.size() == 1) {
+        K key = keys.get(0);
+        values = loader.apply(key).thenApply(value -> Collections.singletonMap(key, value));
+      } else {
+        values = batchLoader.apply(keys);
+      }
+    } catch (RuntimeException e) {
+      sent.fail(e);
+      return;
+    }
+    values.whenComplete((result, throwable) -> {
+      if (throwable != null) {
+        sent.fail(throwable);
+      } else {
+        sent.complete(result);
+      }
+    });
+  }
+
+  private static <K, V> Map<K, V> toMap(List<K> keys, List<V> values) {
+
+    if (values == null || values.size() != keys.size()) {
+      throw new ModernfitException(String.format("The batch returned %s values for %s keys",
+          values == null ? 0 : values.size(), keys.size()));
+    }
+    Map<K, V> map = new HashMap<>();
+    for (int i = 0; i < keys.size(); i++) {
+      map.put(keys.get(i), values.get(i));
+    }
+    return map;
+  }
+
+  /** The keys of a batch and the futures of their loads. */
+  private static final class Batch<K, V> {
+
+    private final Map<K, List<CompletableFuture<V>>> futures = new LinkedHashMap<>();
+    private HashedWheelTimer.Timeout timeout;
+
+    void add(K key, CompletableFuture<V> future) {
+      futures.computeIfAbsent(key, k -> new ArrayList<>(1)).add(future);
+    }
+
+    void complete(Map<K, V> values) {
+      for (Map.Entry<K, List<CompletableFuture<V>>> entry : futures.entrySet()) {
+        V value = values == null ? null : values.get(entry.getKey());
+        for (CompletableFuture<V> future : entry.getValue()) {
+          future.complete(value);
+        }
+      }
+    }
+
+    void fail(Throwable throwable) {
+      if (throwable instanceof CompletionException && throwable.getCause() != null) {
+        throwable = throwable.getCause();
+      }
+      for (List<CompletableFuture<V>> keyFutures : futures.values()) {
+        for (CompletableFuture<V> future : keyFutures) {
+          future.completeExceptionally(throwable);
+        }
+      }
+    }
+  }
+}
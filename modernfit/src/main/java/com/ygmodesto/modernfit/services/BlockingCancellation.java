@@ -0,0 +1,107 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+/**
+ * Cancels the blocking requests made in a thread on behalf of an asynchronous request, such as the
+ * ones of the I/O executor of {@link ResponseExecutors ResponseExecutors}. Interrupting the thread
+ * does not abort a request blocked reading a socket, so the {@link HttpClient HttpClient} that
+ * executes the blocking request registers how it is cancelled with {@link #register(Cancellable)}.
+ *
+ * <pre><code>
+ * BlockingCancellation cancellation = new BlockingCancellation();
+ * callback.setCancellable(cancellation);
+ * executor.execute(() -&gt; {
+ *   try (BlockingCancellation.Scope scope = cancellation.attach()) {
+ *     ResponseContent responseContent = httpClient.callMethod(requestInfo, body);
+ *   }
+ * });
+ * </code></pre>
+ */
+public final class BlockingCancellation implements Cancellable {
+
+  private static final ThreadLocal<BlockingCancellation> CURRENT = new ThreadLocal<>();
+
+  private Cancellable cancellable;
+  private boolean cancelled;
+
+  /**
+   * Registers how the blocking request being made in the current thread is cancelled, if a
+   * cancellation is attached to it. If it has already been cancelled the request is cancelled
+   * immediately.
+   */
+  public static void register(Cancellable cancellable) {
+    BlockingCancellation current = CURRENT.get();
+    if (current != null) {
+      current.setCancellable(cancellable);
+    }
+  }
+
+  /** Cancels the blocking request in progress, and the ones made after it in its thread. */
+  @Override
+  public void cancel() {
+    Cancellable current;
+    synchronized (this) {
+      cancelled = true;
+      current = cancellable;
+    }
+    if (current != null) {
+      current.cancel();
+    }
+  }
+
+  public synchronized boolean isCancelled() {
+    return cancelled;
+  }
+
+  /** Attaches this cancellation to the current thread until the returned scope is closed. */
+  public Scope attach() {
+    BlockingCancellation previous = CURRENT.get();
+    CURRENT.set(this);
+    return new Scope(previous);
+  }
+
+  private void setCancellable(Cancellable cancellable) {
+    boolean cancelNow;
+    synchronized (this) {
+      this.cancellable = cancellable;
+      cancelNow = cancelled;
+    }
+    if (cancelNow) {
+      cancellable.cancel();
+    }
+  }
+
+  /** Restores the cancellation of the thread when it is closed. */
+  public static final class Scope implements AutoCloseable {
+
+    private final BlockingCancellation previous;
+
+    private Scope(BlockingCancellation previous) {
+      this.previous = previous;
+    }
+
+    @Override
+    public void close() {
+      if (previous == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(previous);
+      }
+    }
+  }
+}
@@ -16,6 +16,9 @@
 
 package com.ygmodesto.modernfit.services;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.Charset;
 
 /**
@@ -28,12 +31,17 @@ import java.nio.charset.Charset;
  *   <li>{@code charset} {@link Charset Charset} used in the content.
  *   <li>{@code content} request body represented as byte array.
  * </ul>
+ *
+ * <p>The content can also be produced by a {@link ContentWriter ContentWriter}, in that case it
+ * is written directly to the HTTP client when the request is sent, see
+ * {@link #create(String, Charset, ContentWriter)}.
  */
 public class BodyContent {
 
   private String mediaType;
   private Charset charset;
   private byte[] content;
+  private ContentWriter contentWriter;
 
   /**
    * Build a new BodyContent.
@@ -62,14 +70,102 @@ public class BodyContent {
   }
 
   /**
-   * Returns the Content saved in the object.
+   * Build a new BodyContent whose content is written by {@code contentWriter} when the request is
+   * sent, without an intermediate byte array.
+   *
+   * @param mediaType as a String.
+   * @param charset {@link Charset Charset} used in the content, it can be null.
+   * @param contentWriter writes the request body.
+   */
+  public static BodyContent create(
+      String mediaType, Charset charset, ContentWriter contentWriter) {
+
+    BodyContent bodyContent = new BodyContent(mediaType, charset, null);
+    bodyContent.contentWriter = contentWriter;
+    return bodyContent;
+  }
+
+  /**
+   * Build a new BodyContent whose content is written by {@code contentWriter}. A content of up to
+   * {@code streamingThreshold} bytes is written into a byte array now, so the request has a known
+   * Content-Length and the errors of {@code contentWriter} are thrown here. A larger content is
+   * written again, directly to the HTTP client, when the request is sent.
+   *
+   * @param mediaType as a String.
+   * @param charset {@link Charset Charset} used in the content, it can be null.
+   * @param contentWriter writes the request body.
+   * @param streamingThreshold the largest content kept in a byte array, 0 to always stream it.
+   * @throws IOException if {@code contentWriter} fails while the content is written now.
+   */
+  public static BodyContent create(String mediaType, Charset charset,
+      ContentWriter contentWriter, int streamingThreshold) throws IOException {
+
+    if (streamingThreshold <= 0) {
+      return create(mediaType, charset, contentWriter);
+    }
+    BoundedOutputStream outputStream = new BoundedOutputStream(streamingThreshold);
+    try {
+      contentWriter.writeTo(outputStream);
+    } catch (IOException | RuntimeException e) {
+      // The writer may wrap the exception of the stream, so the stream tells what happened.
+      if (outputStream.exceeded) {
+        return create(mediaType, charset, contentWriter);
+      }
+      throw e;
+    }
+    return new BodyContent(mediaType, charset, outputStream.toByteArray());
+  }
+
+  /**
+   * Returns the Content saved in the object. If the content is produced by a
+   * {@link ContentWriter ContentWriter} it is written into a byte array first.
    *
    * @return request body represented as byte array.
    */
   public byte[] getContent() {
+    if ((content == null) && (contentWriter != null)) {
+      try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+        contentWriter.writeTo(outputStream);
+        content = outputStream.toByteArray();
+      } catch (IOException e) {
+        throw new ModernfitException(e);
+      }
+    }
     return content;
   }
 
+  /**
+   * Writes the content to {@code outputStream}.
+   *
+   * @param outputStream where the request body is written, it is not closed.
+   * @throws IOException if the content can not be written.
+   */
+  public void writeTo(OutputStream outputStream) throws IOException {
+    if (content != null) {
+      outputStream.write(content);
+    } else if (contentWriter != null) {
+      contentWriter.writeTo(outputStream);
+    }
+  }
+
+  /**
+   * Returns true if the content is produced by a {@link ContentWriter ContentWriter} and has not
+   * been written into a byte array.
+   */
+  public boolean isStreaming() {
+    return (content == null) && (contentWriter != null);
+  }
+
+  /**
+   * Returns the length of the content in bytes, or -1 if it is not known until it is written.
+   */
+  public long getContentLength() {
+    if (content != null) {
+      return content.length;
+    }
+    return contentWriter == null ? 0 : -1;
+  }
+
   /**
    * Returns the mediaType stored in the object.
    *
@@ -108,4 +204,55 @@ public class BodyContent {
   public String getContentType() {
     return charset == null ? mediaType : mediaType + ";charset=" + charset.displayName();
   }
+
+  /** Keeps the content in a byte array, and fails once it would exceed a limit. */
+  private static final class BoundedOutputStream extends OutputStream {
+
+    private final ByteArrayOutputStream content;
+    private final int limit;
+    private boolean exceeded;
+
+    BoundedOutputStream(int limit) {
+      this.content = new ByteArrayOutputStream(Math.min(limit, 8192));
+      this.limit = limit;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      ensureCapacity(1);
+      content.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      ensureCapacity(len);
+      content.write(b, off, len);
+    }
+
+    byte[] toByteArray() {
+      return content.toByteArray();
+    }
+
+    private void ensureCapacity(int len) throws IOException {
+      if (len > limit - content.size()) {
+        exceeded = true;
+        throw new IOException("Content larger than " + limit + " bytes");
+      }
+    }
+  }
+
+  /**
+   * Writes a request body directly to the output of the HTTP client.
+   */
+  public interface ContentWriter {
+
+    /**
+     * Writes the request body to {@code outputStream}. It can be called more than once if the
+     * request is retried, and it must not close {@code outputStream}.
+     *
+     * @param outputStream where the request body is written.
+     * @throws IOException if the content can not be written.
+     */
+    void writeTo(OutputStream outputStream) throws IOException;
+  }
 }
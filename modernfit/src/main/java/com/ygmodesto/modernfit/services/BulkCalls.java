@@ -0,0 +1,321 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Calls an asynchronous method once for each key with a bounded number of calls in flight, used by
+ * the methods annotated with {@link com.ygmodesto.modernfit.annotations.Bulk @Bulk}.
+ *
+ * <p>A new call starts when one of the calls in flight completes or, for {@link #stream
+ * stream}, when its outcome is consumed, so a slow consumer does not buffer the outcomes of every
+ * key. A call that completes inline starts the next one without growing the stack.
+ */
+public final class BulkCalls {
+
+  private BulkCalls() {}
+
+  /**
+   * Calls {@code call} for each key with at most {@code parallelism} calls in flight.
+   *
+   * <p>If {@code failFast} the returned future fails with the first failure and the calls in
+   * flight are cancelled, otherwise it completes with the outcomes of every key. Cancelling the
+   * returned future cancels the calls in flight.
+   *
+   * @param <K> the type of the keys.
+   * @param <V> the type of the values.
+   * @param keys to call.
+   * @param parallelism the maximum number of calls in flight.
+   * @param failFast to stop at the first failure.
+   * @param call the asynchronous call of one key.
+   * @return the outcomes in the order of the keys.
+   */
+  public static <K, V> CompletableFuture<BulkResult<K, V>> call(Iterable<K> keys,
+      int parallelism, boolean failFast, Function<? super K, ? extends CompletionStage<V>> call) {
+
+    Window<K, V> window = new Window<>(keys, parallelism, failFast, call, false);
+    window.drain();
+    return window.result;
+  }
+
+  /**
+   * Calls {@code call} for each key with at most {@code parallelism} calls in flight or waiting to
+   * be consumed, and returns their outcomes in the order they complete.
+   *
+   * <p>If {@code failFast} the stream throws the first failure and the calls in flight are
+   * cancelled, otherwise the failures are outcomes of the stream. Closing the stream cancels the
+   * calls in flight.
+   *
+   * @param <K> the type of the keys.
+   * @param <V> the type of the values.
+   * @param keys to call.
+   * @param parallelism the maximum number of calls in flight or waiting to be consumed.
+   * @param failFast to stop at the first failure.
+   * @param call the asynchronous call of one key.
+   * @return the outcomes in the order they complete.
+   */
+  public static <K, V> Stream<BulkOutcome<K, V>> stream(Iterable<K> keys, int parallelism,
+      boolean failFast, Function<? super K, ? extends CompletionStage<V>> call) {
+
+    Window<K, V> window = new Window<>(keys, parallelism, failFast, call, true);
+    window.drain();
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(
+                window.new Outcomes(), Spliterator.ORDERED | Spliterator.NONNULL),
+            false)
+        .onClose(window::cancel);
+  }
+
+  /**
+   * Waits for {@code stage}, cancelling it if the thread is interrupted.
+   *
+   * @throws ModernfitException the exception {@code stage} failed with.
+   */
+  public static <T> T await(CompletionStage<T> stage) throws ModernfitException {
+
+    CompletableFuture<T> future = stage.toCompletableFuture();
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new ModernfitException(e);
+    } catch (ExecutionException e) {
+      throw toModernfitException(e.getCause());
+    }
+  }
+
+  private static ModernfitException toModernfitException(Throwable throwable) {
+    if (throwable instanceof CompletionException && throwable.getCause() != null) {
+      throwable = throwable.getCause();
+    }
+    if (throwable instanceof ModernfitException) {
+      return (ModernfitException) throwable;
+    }
+    if (throwable instanceof CancellationException) {
+      return new ModernfitException(new IOException("Canceled"));
+    }
+    return new ModernfitException(throwable);
+  }
+
+  /** The calls of a bulk method. Only one thread at a time starts calls, see {@link #drain()}. */
+  private static final class Window<K, V> {
+
+    /** Marks the end of the outcomes of a stream. */
+    private final BulkOutcome<K, V> end = new BulkOutcome<>(-1, null);
+
+    private final Iterator<K> keys;
+    private final boolean failFast;
+    private final Function<? super K, ? extends CompletionStage<V>> call;
+    private final BlockingQueue<BulkOutcome<K, V>> completed;
+    private final List<BulkOutcome<K, V>> outcomes = new ArrayList<>();
+    private final Set<CompletableFuture<V>> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger permits;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicBoolean stopped = new AtomicBoolean();
+    private final CompletableFuture<BulkResult<K, V>> result =
+        new CompletableFuture<BulkResult<K, V>>() {
+          @Override
+          public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+              Window.this.cancel();
+            }
+            return cancelled;
+          }
+        };
+
+    // Only accessed by the thread that drains.
+    private int index;
+    private boolean exhausted;
+    private boolean finished;
+
+    Window(Iterable<K> keys, int parallelism, boolean failFast,
+        Function<? super K, ? extends CompletionStage<V>> call, boolean stream) {
+
+      if (parallelism <= 0) {
+        throw new IllegalArgumentException("parallelism must be greater than 0");
+      }
+      this.keys = keys.iterator();
+      this.failFast = failFast;
+      this.call = call;
+      this.completed = stream ? new LinkedBlockingQueue<>() : null;
+      this.permits = new AtomicInteger(parallelism);
+    }
+
+    /**
+     * Starts calls while there are permits and keys. The thread that finds other thread draining
+     * leaves the work to it, so a call that completes inline does not recurse.
+     */
+    void drain() {
+      if (wip.getAndIncrement() != 0) {
+        return;
+      }
+      do {
+        while (!stopped.get() && !exhausted && permits.get() > 0) {
+          if (!keys.hasNext()) {
+            exhausted = true;
+            break;
+          }
+          permits.decrementAndGet();
+          start(new BulkOutcome<K, V>(index++, keys.next()));
+        }
+        if (!finished && (stopped.get() || exhausted) && pending.get() == 0) {
+          finished = true;
+          finish();
+        }
+      } while (wip.decrementAndGet() != 0);
+    }
+
+    private void start(BulkOutcome<K, V> outcome) {
+
+      if (completed == null) {
+        outcomes.add(outcome);
+      }
+      pending.incrementAndGet();
+
+      CompletableFuture<V> future;
+      try {
+        future = call.apply(outcome.getKey()).toCompletableFuture();
+      } catch (RuntimeException e) {
+        future = new CompletableFuture<>();
+        future.completeExceptionally(e);
+      }
+      CompletableFuture<V> started = future;
+      inFlight.add(started);
+      started.whenComplete((value, throwable) -> {
+        inFlight.remove(started);
+        complete(outcome, value, throwable);
+      });
+      if (stopped.get()) {
+        started.cancel(true);
+      }
+    }
+
+    private void complete(BulkOutcome<K, V> outcome, V value, Throwable throwable) {
+
+      outcome.complete(value, throwable == null ? null : toModernfitException(throwable));
+      if (completed != null) {
+        // The permit is released when the outcome is consumed.
+        completed.add(outcome);
+      } else {
+        if (throwable != null && failFast && stop()) {
+          result.completeExceptionally(outcome.getError());
+          cancelInFlight();
+        }
+        permits.incrementAndGet();
+      }
+      pending.decrementAndGet();
+      drain();
+    }
+
+    private void finish() {
+      if (completed != null) {
+        completed.add(end);
+      } else {
+        result.complete(new BulkResult<>(outcomes));
+      }
+    }
+
+    void cancel() {
+      if (stop()) {
+        cancelInFlight();
+        drain();
+      }
+    }
+
+    private boolean stop() {
+      return stopped.compareAndSet(false, true);
+    }
+
+    private void cancelInFlight() {
+      for (CompletableFuture<V> future : inFlight) {
+        future.cancel(true);
+      }
+    }
+
+    /** The outcomes of a stream, released one at a time to start the next calls. */
+    final class Outcomes implements Iterator<BulkOutcome<K, V>> {
+
+      private BulkOutcome<K, V> next;
+      private boolean done;
+
+      @Override
+      public boolean hasNext() {
+        if (next == null && !done) {
+          BulkOutcome<K, V> outcome = take();
+          if (outcome == end) {
+            done = true;
+          } else {
+            next = outcome;
+          }
+        }
+        return next != null;
+      }
+
+      @Override
+      public BulkOutcome<K, V> next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        BulkOutcome<K, V> outcome = next;
+        next = null;
+        if (failFast && !outcome.isSuccess()) {
+          done = true;
+          cancel();
+          throw outcome.getError();
+        }
+        permits.incrementAndGet();
+        drain();
+        return outcome;
+      }
+
+      private BulkOutcome<K, V> take() {
+        try {
+          return completed.take();
+        } catch (InterruptedException e) {
+          done = true;
+          cancel();
+          Thread.currentThread().interrupt();
+          throw new ModernfitException(e);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+/**
+ * The outcome of the call of one key of a {@link com.ygmodesto.modernfit.annotations.Bulk @Bulk}
+ * method: the value it returned or the exception it failed with.
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the values.
+ */
+public class BulkOutcome<K, V> {
+
+  private final int index;
+  private final K key;
+  private volatile V value;
+  private volatile ModernfitException error;
+
+  BulkOutcome(int index, K key) {
+    this.index = index;
+    this.key = key;
+  }
+
+  /** Returns the position of the key in the keys of the bulk call. */
+  public int getIndex() {
+    return index;
+  }
+
+  public K getKey() {
+    return key;
+  }
+
+  /** Returns the value of the key, or null if its call failed. */
+  public V getValue() {
+    return value;
+  }
+
+  /** Returns the exception of the call of the key, or null if it succeeded. */
+  public ModernfitException getError() {
+    return error;
+  }
+
+  public boolean isSuccess() {
+    return error == null;
+  }
+
+  void complete(V value, ModernfitException error) {
+    this.value = value;
+    this.error = error;
+  }
+
+  @Override
+  public String toString() {
+    return "BulkOutcome [index=" + index + ", key=" + key + ", value=" + value + ", error="
+        + error + "]";
+  }
+}
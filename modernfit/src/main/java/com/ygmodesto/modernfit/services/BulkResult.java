@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcomes of a {@link com.ygmodesto.modernfit.annotations.Bulk @Bulk} method, in the order
+ * of its keys.
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the values.
+ */
+public class BulkResult<K, V> {
+
+  private final List<BulkOutcome<K, V>> outcomes;
+
+  BulkResult(List<BulkOutcome<K, V>> outcomes) {
+    this.outcomes = Collections.unmodifiableList(outcomes);
+  }
+
+  public List<BulkOutcome<K, V>> getOutcomes() {
+    return outcomes;
+  }
+
+  public int size() {
+    return outcomes.size();
+  }
+
+  /** Returns true if the calls of all the keys succeeded. */
+  public boolean isSuccess() {
+    for (BulkOutcome<K, V> outcome : outcomes) {
+      if (!outcome.isSuccess()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Returns the outcomes of the keys whose call failed. */
+  public List<BulkOutcome<K, V>> getFailures() {
+    List<BulkOutcome<K, V>> failures = new ArrayList<>();
+    for (BulkOutcome<K, V> outcome : outcomes) {
+      if (!outcome.isSuccess()) {
+        failures.add(outcome);
+      }
+    }
+    return failures;
+  }
+
+  /**
+   * Returns the values in the order of the keys.
+   *
+   * @throws ModernfitException the exception of the first key that failed, see
+   *     {@link #getFailures()} for the rest.
+   */
+  public List<V> getValues() throws ModernfitException {
+    List<V> values = new ArrayList<>(outcomes.size());
+    for (BulkOutcome<K, V> outcome : outcomes) {
+      if (!outcome.isSuccess()) {
+        throw outcome.getError();
+      }
+      values.add(outcome.getValue());
+    }
+    return values;
+  }
+
+  @Override
+  public String toString() {
+    return "BulkResult [outcomes=" + outcomes + "]";
+  }
+}
@@ -0,0 +1,348 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * {@link HttpClient HttpClient} that isolates the requests in lanes, following the
+ * {@link BulkheadPolicy BulkheadPolicy} of the requests, see
+ * {@link RequestInfo#getBulkheadPolicy()}.
+ *
+ * <p>There is a lane for each policy, which the generated classes create for each annotated
+ * interface or method, or for each {@link BulkheadPolicy#getName() name}. A lane admits up to
+ * {@link BulkheadPolicy#getMaxConcurrentCalls() maxConcurrentCalls} calls in flight and up to
+ * {@link BulkheadPolicy#getMaxQueueDepth() maxQueueDepth} calls waiting, the rest fail immediately
+ * with a {@link BulkheadFullException BulkheadFullException}, thrown by the synchronous methods
+ * and passed to the callback by the asynchronous ones.
+ *
+ * <p>A call still waiting for its lane when the {@link RequestInfo#getDeadline() deadline} of the
+ * request passes is dropped with a {@link DeadlineExceededException DeadlineExceededException}.
+ *
+ * <p>Synchronous requests wait and execute in the calling thread. Asynchronous requests wait and
+ * execute as blocking requests in the threads of their lane, so the lanes never share the
+ * dispatcher of the underlying client and a lane of slow calls to a host does not hold back the
+ * calls of other lanes to the same host. They can be cancelled while they wait and after they are
+ * sent, see {@link BlockingCancellation BlockingCancellation}.
+ */
+public class BulkheadHttpClient implements HttpClient {
+
+  private final HttpClient delegate;
+  private final ConcurrentMap<Object, Lane> lanes = new ConcurrentHashMap<>();
+
+  /**
+   * Create an instance that isolates the requests executed by {@code delegate}.
+   *
+   * @param delegate the {@link HttpClient HttpClient} that executes the requests.
+   */
+  public static BulkheadHttpClient create(HttpClient delegate) {
+    return new BulkheadHttpClient(delegate);
+  }
+
+  private BulkheadHttpClient(HttpClient delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public ResponseContent callMethod(RequestInfo requestInfo, DiscreteBody body)
+      throws ModernfitException {
+
+    Lane lane = lane(requestInfo);
+    return lane == null
+        ? delegate.callMethod(requestInfo, body)
+        : lane.call(requestInfo, () -> delegate.callMethod(requestInfo, body));
+  }
+
+  @Override
+  public <T> void callMethod(
+      RequestInfo requestInfo, DiscreteBody body, ResponseCallback<T> callback) {
+
+    Lane lane = lane(requestInfo);
+    if (lane == null) {
+      delegate.callMethod(requestInfo, body, callback);
+      return;
+    }
+    lane.submit(requestInfo, () -> delegate.callMethod(requestInfo, body), callback);
+  }
+
+  @Override
+  public ResponseContent callMethod(RequestInfo requestInfo, MultipartBody body)
+      throws ModernfitException {
+
+    Lane lane = lane(requestInfo);
+    return lane == null
+        ? delegate.callMethod(requestInfo, body)
+        : lane.call(requestInfo, () -> delegate.callMethod(requestInfo, body));
+  }
+
+  @Override
+  public <T> void callMethod(
+      RequestInfo requestInfo, MultipartBody body, ResponseCallback<T> callback) {
+
+    Lane lane = lane(requestInfo);
+    if (lane == null) {
+      delegate.callMethod(requestInfo, body, callback);
+      return;
+    }
+    lane.submit(requestInfo, () -> delegate.callMethod(requestInfo, body), callback);
+  }
+
+  /** Returns the number of calls in flight in the lane of {@code policy}. */
+  public int getActiveCalls(BulkheadPolicy policy) {
+    Lane lane = lanes.get(key(policy));
+    return lane == null ? 0 : lane.maxConcurrentCalls - lane.permits.availablePermits();
+  }
+
+  /** Returns the number of calls waiting for the lane of {@code policy}. */
+  public int getQueuedCalls(BulkheadPolicy policy) {
+    Lane lane = lanes.get(key(policy));
+    return lane == null ? 0 : lane.waiting.get();
+  }
+
+  private Lane lane(RequestInfo requestInfo) {
+    BulkheadPolicy policy = requestInfo.getBulkheadPolicy();
+    if (policy == null) {
+      return null;
+    }
+    // A named lane takes its limits from the first policy that uses it.
+    return lanes.computeIfAbsent(key(policy), k -> new Lane(policy));
+  }
+
+  private static Object key(BulkheadPolicy policy) {
+    return policy.getName() != null ? policy.getName() : policy;
+  }
+
+  /** The permits, the queue and the threads of a lane. */
+  private static final class Lane {
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private final String name;
+    private final int maxConcurrentCalls;
+    private final int maxQueueDepth;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final ThreadPoolExecutor executor;
+
+    Lane(BulkheadPolicy policy) {
+      this.name = policy.getName() != null ? policy.getName() : "lane";
+      this.maxConcurrentCalls = policy.getMaxConcurrentCalls();
+      this.maxQueueDepth = policy.getMaxQueueDepth();
+      this.permits = new Semaphore(maxConcurrentCalls, true);
+      // Every admitted call has its own thread. The permits and the queue bound the calls, not the
+      // pool, as a thread that released its permit may not be idle yet when the next call arrives.
+      this.executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60,
+          TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable,
+                "modernfit-bulkhead-" + name + "-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+          });
+    }
+
+    ResponseContent call(RequestInfo requestInfo, Supplier<ResponseContent> request) {
+      boolean queued = admit();
+      try {
+        if (queued && !acquire(requestInfo.getDeadline())) {
+          throw DeadlineExceededException.beforeSending(requestInfo);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new ModernfitException(e);
+      } finally {
+        if (queued) {
+          waiting.decrementAndGet();
+        }
+      }
+      try {
+        return request.get();
+      } finally {
+        permits.release();
+      }
+    }
+
+    <T> void submit(RequestInfo requestInfo, Supplier<ResponseContent> request,
+        ResponseCallback<T> callback) {
+      boolean queued;
+      try {
+        queued = admit();
+      } catch (BulkheadFullException e) {
+        callback.notifyFailure(e);
+        return;
+      }
+      LaneCall laneCall = new LaneCall(this, queued, requestInfo, request, callback);
+      // Installed before the call can start, so a cancellation never misses it.
+      callback.setCancellable(laneCall);
+      try {
+        executor.execute(laneCall);
+      } catch (RejectedExecutionException e) {
+        laneCall.release();
+        callback.notifyFailure(full());
+      }
+    }
+
+    /**
+     * Waits for a permit, up to {@code deadline} if not null.
+     *
+     * @return false if the deadline passed without a permit.
+     */
+    private boolean acquire(Deadline deadline) throws InterruptedException {
+      if (deadline == null) {
+        permits.acquire();
+        return true;
+      }
+      return permits.tryAcquire(deadline.timeRemaining(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Takes a permit, or a place in the queue.
+     *
+     * @return true if the call has to wait for a permit.
+     * @throws BulkheadFullException if the lane and the queue are full.
+     */
+    private boolean admit() {
+      if (permits.tryAcquire()) {
+        return false;
+      }
+      if (waiting.incrementAndGet() > maxQueueDepth) {
+        waiting.decrementAndGet();
+        throw full();
+      }
+      return true;
+    }
+
+    private BulkheadFullException full() {
+      return new BulkheadFullException("Bulkhead " + name + " full, " + maxConcurrentCalls
+          + " calls in flight and " + maxQueueDepth + " waiting");
+    }
+  }
+
+  /**
+   * An asynchronous call executed as a blocking request in a thread of its lane, after waiting
+   * there for a permit if needed.
+   */
+  private static final class LaneCall implements Runnable, Cancellable {
+
+    private final Lane lane;
+    private final boolean queued;
+    private final RequestInfo requestInfo;
+    private final Supplier<ResponseContent> request;
+    private final ResponseCallback<?> callback;
+    private final BlockingCancellation cancellation = new BlockingCancellation();
+    private volatile boolean cancelled;
+    private Thread waitingThread;
+
+    LaneCall(Lane lane, boolean queued, RequestInfo requestInfo,
+        Supplier<ResponseContent> request, ResponseCallback<?> callback) {
+      this.lane = lane;
+      this.queued = queued;
+      this.requestInfo = requestInfo;
+      this.request = request;
+      this.callback = callback;
+    }
+
+    @Override
+    public void run() {
+      ModernfitException failure = awaitPermit();
+      if (failure != null) {
+        callback.notifyFailure(failure);
+        return;
+      }
+      // A streaming body is only readable while the callback is running.
+      try (Deadline.Scope scope = Deadline.attach(requestInfo.getDeadline());
+          BlockingCancellation.Scope cancellationScope = cancellation.attach();
+          ResponseContent responseContent = request.get()) {
+        callback.notifySuccess(responseContent);
+      } catch (ModernfitException e) {
+        callback.notifyFailure(e);
+      } catch (RuntimeException e) {
+        callback.notifyFailure(new ModernfitException(e));
+      } finally {
+        lane.permits.release();
+      }
+    }
+
+    /**
+     * Returns the failure, without a permit, of a call that was cancelled or whose deadline passed
+     * before it was sent, or null once it holds a permit.
+     */
+    private ModernfitException awaitPermit() {
+      if (queued) {
+        synchronized (this) {
+          waitingThread = Thread.currentThread();
+        }
+        try {
+          if (cancelled) {
+            return canceled();
+          }
+          if (!lane.acquire(requestInfo.getDeadline())) {
+            return DeadlineExceededException.beforeSending(requestInfo);
+          }
+        } catch (InterruptedException e) {
+          return canceled();
+        } finally {
+          synchronized (this) {
+            waitingThread = null;
+          }
+          // Clears an interruption of cancel() that arrived with the permit. No other one can
+          // arrive once the waiting thread is cleared.
+          Thread.interrupted();
+          lane.waiting.decrementAndGet();
+        }
+      }
+      if (cancelled) {
+        lane.permits.release();
+        return canceled();
+      }
+      return null;
+    }
+
+    /** Releases the permit or the place in the queue of a call that was not executed. */
+    void release() {
+      if (queued) {
+        lane.waiting.decrementAndGet();
+      } else {
+        lane.permits.release();
+      }
+    }
+
+    private static ModernfitException canceled() {
+      return new ModernfitException(new IOException("Canceled"));
+    }
+
+    /** Cancels the call while it waits for the lane, or the request once it is sent. */
+    @Override
+    public void cancel() {
+      cancelled = true;
+      synchronized (this) {
+        if (waitingThread != null) {
+          waitingThread.interrupt();
+        }
+      }
+      cancellation.cancel();
+    }
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+/**
+ * Defines the lane of a request in a {@link BulkheadHttpClient BulkheadHttpClient}. Generated for
+ * the methods annotated with {@link com.ygmodesto.modernfit.annotations.Bulkhead @Bulkhead}, or
+ * whose interface is annotated.
+ */
+public class BulkheadPolicy {
+
+  private final int maxConcurrentCalls;
+  private final int maxQueueDepth;
+  private final String name;
+
+  private BulkheadPolicy(Builder builder) {
+    this.maxConcurrentCalls = builder.maxConcurrentCalls;
+    this.maxQueueDepth = builder.maxQueueDepth;
+    this.name = builder.name;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public int getMaxConcurrentCalls() {
+    return maxConcurrentCalls;
+  }
+
+  public int getMaxQueueDepth() {
+    return maxQueueDepth;
+  }
+
+  /** Returns the name of the lane, or null if the lane belongs only to this policy. */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Builder class for {@link BulkheadPolicy BulkheadPolicy}.
+   */
+  public static final class Builder {
+
+    private int maxConcurrentCalls = 10;
+    private int maxQueueDepth = 100;
+    private String name;
+
+    /** Sets the maximum number of calls in flight and waiting in the lane. */
+    public Builder setLimits(int maxConcurrentCalls, int maxQueueDepth) {
+      if (maxConcurrentCalls <= 0 || maxQueueDepth < 0) {
+        throw new IllegalArgumentException(
+            "maxConcurrentCalls must be greater than 0 and maxQueueDepth not negative");
+      }
+      this.maxConcurrentCalls = maxConcurrentCalls;
+      this.maxQueueDepth = maxQueueDepth;
+
+      return this;
+    }
+
+    /** Sets the name of a lane shared by several policies. */
+    public Builder setName(String name) {
+      this.name = name == null || name.isEmpty() ? null : name;
+
+      return this;
+    }
+
+    public BulkheadPolicy build() {
+      return new BulkheadPolicy(this);
+    }
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.util.Locale;
+
+/**
+ * The directives of a Cache-Control header used by {@link CachingHttpClient CachingHttpClient}.
+ * Unknown directives are ignored.
+ */
+final class CacheControl {
+
+  static final String HEADER = "Cache-Control";
+
+  private boolean noCache;
+  private boolean noStore;
+  private boolean mustRevalidate;
+  private boolean onlyIfCached;
+  private long maxAgeSeconds = -1;
+  private long maxStaleSeconds = -1;
+  private long minFreshSeconds = -1;
+
+  private CacheControl() {}
+
+  /**
+   * Parses the value of a Cache-Control header.
+   *
+   * @param value of the header, may be null.
+   * @return the directives of the header.
+   */
+  static CacheControl parse(String value) {
+
+    CacheControl cacheControl = new CacheControl();
+    if (value == null) {
+      return cacheControl;
+    }
+
+    for (String directive : value.split(",")) {
+      int equals = directive.indexOf('=');
+      String name = (equals == -1 ? directive : directive.substring(0, equals))
+          .trim()
+          .toLowerCase(Locale.US);
+      String argument = equals == -1 ? null : unquote(directive.substring(equals + 1).trim());
+
+      switch (name) {
+        case "no-cache":
+          cacheControl.noCache = true;
+          break;
+        case "no-store":
+          cacheControl.noStore = true;
+          break;
+        case "must-revalidate":
+        case "proxy-revalidate":
+          cacheControl.mustRevalidate = true;
+          break;
+        case "only-if-cached":
+          cacheControl.onlyIfCached = true;
+          break;
+        case "max-age":
+          cacheControl.maxAgeSeconds = parseSeconds(argument, -1);
+          break;
+        case "max-stale":
+          cacheControl.maxStaleSeconds = parseSeconds(argument, Long.MAX_VALUE);
+          break;
+        case "min-fresh":
+          cacheControl.minFreshSeconds = parseSeconds(argument, -1);
+          break;
+        default:
+          break;
+      }
+    }
+    return cacheControl;
+  }
+
+  boolean isNoCache() {
+    return noCache;
+  }
+
+  boolean isNoStore() {
+    return noStore;
+  }
+
+  boolean isMustRevalidate() {
+    return mustRevalidate;
+  }
+
+  boolean isOnlyIfCached() {
+    return onlyIfCached;
+  }
+
+  /** Returns the max-age in seconds, or -1 if not present. */
+  long getMaxAgeSeconds() {
+    return maxAgeSeconds;
+  }
+
+  /** Returns the max-stale in seconds, {@code Long.MAX_VALUE} without a value, or -1. */
+  long getMaxStaleSeconds() {
+    return maxStaleSeconds;
+  }
+
+  /** Returns the min-fresh in seconds, or -1 if not present. */
+  long getMinFreshSeconds() {
+    return minFreshSeconds;
+  }
+
+  private static String unquote(String argument) {
+    return argument.length() > 1 && argument.startsWith("\"") && argument.endsWith("\"")
+        ? argument.substring(1, argument.length() - 1)
+        : argument;
+  }
+
+  private static long parseSeconds(String argument, long defaultValue) {
+    if (argument == null) {
+      return defaultValue;
+    }
+    try {
+      return Math.max(0, Long.parseLong(argument));
+    } catch (NumberFormatException e) {
+      // RFC 7234 4.2.1, an invalid max-age is treated as stale.
+      return 0;
+    }
+  }
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A response stored by {@link CachingHttpClient CachingHttpClient}, with the information needed to
+ * compute its freshness as defined by RFC 7234.
+ */
+final class CacheEntry {
+
+  private static final int MAGIC = 0x4D464331;
+  private static final String HTTP_DATE_PATTERN = "EEE, dd MMM yyyy HH:mm:ss zzz";
+
+  private final String url;
+  private final int code;
+  private final Map<String, String> headers;
+  private final String contentType;
+  private final Charset charset;
+  private final byte[] content;
+  private final Map<String, String> varyHeaders;
+  private final long requestTime;
+  private final long responseTime;
+
+  CacheEntry(String url, ResponseContent responseContent, Map<String, String> varyHeaders,
+      long requestTime, long responseTime) {
+    this(url, responseContent.getCode(), responseContent.getHeaders(),
+        responseContent.getContentType(), responseContent.getCharset(),
+        responseContent.getContent(), varyHeaders, requestTime, responseTime);
+  }
+
+  private CacheEntry(String url, int code, Map<String, String> headers, String contentType,
+      Charset charset, byte[] content, Map<String, String> varyHeaders, long requestTime,
+      long responseTime) {
+    this.url = url;
+    this.code = code;
+    this.headers = headers == null ? new HashMap<String, String>() : headers;
+    this.contentType = contentType;
+    this.charset = charset;
+    this.content = content;
+    this.varyHeaders = varyHeaders;
+    this.requestTime = requestTime;
+    this.responseTime = responseTime;
+  }
+
+  String getUrl() {
+    return url;
+  }
+
+  /**
+   * Returns the entry updated with the headers of a 304 response, RFC 7234 4.3.4.
+   *
+   * @param notModified the 304 response to a conditional request.
+   */
+  CacheEntry revalidated(ResponseContent notModified, long requestTime, long responseTime) {
+    Map<String, String> merged = new LinkedHashMap<>(headers);
+    if (notModified.getHeaders() != null) {
+      for (Map.Entry<String, String> header : notModified.getHeaders().entrySet()) {
+        removeHeader(merged, header.getKey());
+        merged.put(header.getKey(), header.getValue());
+      }
+    }
+    return new CacheEntry(url, code, merged, contentType, charset, content, varyHeaders,
+        requestTime, responseTime);
+  }
+
+  ResponseContent toResponseContent() {
+    return new ResponseContent(code, new HashMap<>(headers), contentType, charset, content);
+  }
+
+  /** Returns true if the stored request had the same values for the headers in Vary. */
+  boolean matchesVary(Map<String, String> requestHeaders) {
+    for (Map.Entry<String, String> varyHeader : varyHeaders.entrySet()) {
+      String value = header(requestHeaders, varyHeader.getKey());
+      if (value == null ? varyHeader.getValue() != null : !value.equals(varyHeader.getValue())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  CacheControl getCacheControl() {
+    return CacheControl.parse(header(headers, CacheControl.HEADER));
+  }
+
+  String getEtag() {
+    return header(headers, "ETag");
+  }
+
+  String getLastModified() {
+    return header(headers, "Last-Modified");
+  }
+
+  /** Returns the current age of the response, RFC 7234 4.2.3. */
+  long currentAgeMillis(long now) {
+    long date = parseDate(header(headers, "Date"));
+    long apparentAge = date == -1 ? 0 : Math.max(0, responseTime - date);
+    long ageValue = TimeUnit.SECONDS.toMillis(parseLong(header(headers, "Age")));
+    long responseDelay = responseTime - requestTime;
+    long correctedInitialAge = Math.max(apparentAge, ageValue + responseDelay);
+    return correctedInitialAge + (now - responseTime);
+  }
+
+  /** Returns the freshness lifetime of the response, RFC 7234 4.2.1 and 4.2.2. */
+  long freshnessLifetimeMillis() {
+    long maxAge = getCacheControl().getMaxAgeSeconds();
+    if (maxAge != -1) {
+      return TimeUnit.SECONDS.toMillis(maxAge);
+    }
+
+    long date = parseDate(header(headers, "Date"));
+    long served = date == -1 ? responseTime : date;
+    String expires = header(headers, "Expires");
+    if (expires != null) {
+      long expiresTime = parseDate(expires);
+      return expiresTime == -1 ? 0 : Math.max(0, expiresTime - served);
+    }
+
+    long lastModified = parseDate(getLastModified());
+    if (lastModified != -1 && !url.contains("?")) {
+      // Heuristic freshness of 10% of the time since the last modification.
+      return Math.max(0, served - lastModified) / 10;
+    }
+    return 0;
+  }
+
+  /**
+   * Serializes the entry.
+   *
+   * @throws ModernfitException if the entry can not be serialized.
+   */
+  byte[] encode() {
+    try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeInt(MAGIC);
+      writeString(out, url);
+      out.writeInt(code);
+      out.writeLong(requestTime);
+      out.writeLong(responseTime);
+      writeString(out, contentType);
+      writeString(out, charset == null ? null : charset.name());
+      writeMap(out, headers);
+      writeMap(out, varyHeaders);
+      writeBytes(out, content);
+      out.flush();
+      return bytes.toByteArray();
+    } catch (IOException e) {
+      throw new ModernfitException(e);
+    }
+  }
+
+  /**
+   * Deserializes an entry written by {@link #encode()}.
+   *
+   * @return the entry, or null if {@code buffer} does not contain a valid entry.
+   */
+  static CacheEntry decode(ByteBuffer buffer) {
+    try {
+      if (buffer.getInt() != MAGIC) {
+        return null;
+      }
+      String url = readString(buffer);
+      int code = buffer.getInt();
+      long requestTime = buffer.getLong();
+      long responseTime = buffer.getLong();
+      String contentType = readString(buffer);
+      String charsetName = readString(buffer);
+      Map<String, String> headers = readMap(buffer);
+      Map<String, String> varyHeaders = readMap(buffer);
+      byte[] content = readBytes(buffer);
+      return new CacheEntry(url, code, headers, contentType,
+          charsetName == null ? null : Charset.forName(charsetName), content, varyHeaders,
+          requestTime, responseTime);
+    } catch (RuntimeException e) {
+      return null;
+    }
+  }
+
+  /** Returns the value of a header ignoring the case of its name. */
+  static String header(Map<String, String> headers, String name) {
+    if (headers == null) {
+      return null;
+    }
+    for (Map.Entry<String, String> header : headers.entrySet()) {
+      if (name.equalsIgnoreCase(header.getKey())) {
+        return header.getValue();
+      }
+    }
+    return null;
+  }
+
+  /** Parses an HTTP-date, RFC 7231 7.1.1.1, returning -1 if it is not valid. */
+  static long parseDate(String value) {
+    if (value == null) {
+      return -1;
+    }
+    SimpleDateFormat format = new SimpleDateFormat(HTTP_DATE_PATTERN, Locale.US);
+    format.setTimeZone(TimeZone.getTimeZone("GMT"));
+    try {
+      Date date = format.parse(value.trim());
+      return date.getTime();
+    } catch (ParseException e) {
+      return -1;
+    }
+  }
+
+  private static void removeHeader(Map<String, String> headers, String name) {
+    headers.keySet().removeIf(key -> key.equalsIgnoreCase(name));
+  }
+
+  private static long parseLong(String value) {
+    if (value == null) {
+      return 0;
+    }
+    try {
+      return Math.max(0, Long.parseLong(value.trim()));
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    writeBytes(out, value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+    } else {
+      out.writeInt(value.length);
+      out.write(value);
+    }
+  }
+
+  private static void writeMap(DataOutputStream out, Map<String, String> map) throws IOException {
+    out.writeInt(map.size());
+    for (Map.Entry<String, String> entry : map.entrySet()) {
+      writeString(out, entry.getKey());
+      writeString(out, entry.getValue());
+    }
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    byte[] bytes = readBytes(buffer);
+    return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static byte[] readBytes(ByteBuffer buffer) {
+    int length = buffer.getInt();
+    if (length == -1) {
+      return null;
+    }
+    checkRemaining(buffer, length);
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+  private static void checkRemaining(ByteBuffer buffer, int length) {
+    if (length < 0 || length > buffer.remaining()) {
+      throw new IllegalStateException("Corrupted cache entry");
+    }
+  }
+
+  private static Map<String, String> readMap(ByteBuffer buffer) {
+    int size = buffer.getInt();
+    checkRemaining(buffer, size);
+    Map<String, String> map = new LinkedHashMap<>(size);
+    for (int i = 0; i < size; i++) {
+      map.put(readString(buffer), readString(buffer));
+    }
+    return map;
+  }
+}
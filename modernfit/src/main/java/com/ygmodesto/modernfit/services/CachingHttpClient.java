@@ -0,0 +1,332 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * {@link HttpClient HttpClient} that caches the responses of another HttpClient in a
+ * {@link DiskCache DiskCache}, following the HTTP caching rules of RFC 7234. It works over any
+ * HttpClient since it only uses {@link RequestInfo RequestInfo} and
+ * {@link ResponseContent ResponseContent}.
+ *
+ * <ul>
+ *   <li>Responses to GET requests are stored if their status code is cacheable by default and
+ *       they have an explicit expiration time (Cache-Control max-age or Expires) or a validator
+ *       (ETag or Last-Modified). Responses with Cache-Control no-store or Vary: * are not
+ *       stored.
+ *   <li>A fresh stored response is returned without sending the request. The Cache-Control
+ *       directives of the request (no-cache, max-age, max-stale, min-fresh and only-if-cached)
+ *       are honored.
+ *   <li>A stale response with a validator is revalidated with If-None-Match or
+ *       If-Modified-Since. A 304 response updates the stored headers and returns the stored
+ *       body.
+ *   <li>A successful response to an unsafe method removes the stored response of its URL.
+ * </ul>
+ *
+ * <p>Methods annotated with {@link com.ygmodesto.modernfit.annotations.Streaming @Streaming} are
+ * not cached.
+ */
+public class CachingHttpClient implements HttpClient {
+
+  private static final int NOT_MODIFIED = 304;
+  private static final int GATEWAY_TIMEOUT = 504;
+  private static final Set<Integer> CACHEABLE_CODES = Collections.unmodifiableSet(
+      new HashSet<>(Arrays.asList(200, 203, 204, 300, 301, 404, 405, 410, 414, 501)));
+
+  private final HttpClient delegate;
+  private final DiskCache cache;
+
+  /**
+   * Create an instance that caches the responses of {@code delegate} in {@code cache}.
+   *
+   * @param delegate the {@link HttpClient HttpClient} that executes the requests.
+   * @param cache where the responses are stored.
+   */
+  public static CachingHttpClient create(HttpClient delegate, DiskCache cache) {
+    return new CachingHttpClient(delegate, cache);
+  }
+
+  private CachingHttpClient(HttpClient delegate, DiskCache cache) {
+    this.delegate = delegate;
+    this.cache = cache;
+  }
+
+  public DiskCache getCache() {
+    return cache;
+  }
+
+  @Override
+  public ResponseContent callMethod(RequestInfo requestInfo, DiscreteBody body)
+      throws ModernfitException {
+
+    if (!isCacheable(requestInfo)) {
+      ResponseContent responseContent = delegate.callMethod(requestInfo, body);
+      invalidate(requestInfo, responseContent);
+      return responseContent;
+    }
+
+    Lookup lookup = lookup(requestInfo, System.currentTimeMillis());
+    if (lookup.response != null) {
+      return lookup.response;
+    }
+
+    long requestTime = System.currentTimeMillis();
+    ResponseContent responseContent = delegate.callMethod(lookup.request, body);
+    return update(requestInfo, lookup.entry, responseContent, requestTime);
+  }
+
+  @Override
+  public <T> void callMethod(
+      RequestInfo requestInfo, DiscreteBody body, ResponseCallback<T> callback) {
+
+    if (!isCacheable(requestInfo)) {
+      delegate.callMethod(requestInfo, body, new ForwardingCallback(callback, responseContent -> {
+        invalidate(requestInfo, responseContent);
+        return responseContent;
+      }));
+      return;
+    }
+
+    Lookup lookup = lookup(requestInfo, System.currentTimeMillis());
+    if (lookup.response != null) {
+      callback.notifySuccess(lookup.response);
+      return;
+    }
+
+    long requestTime = System.currentTimeMillis();
+    delegate.callMethod(lookup.request, body, new ForwardingCallback(callback,
+        responseContent -> update(requestInfo, lookup.entry, responseContent, requestTime)));
+  }
+
+  @Override
+  public ResponseContent callMethod(RequestInfo requestInfo, MultipartBody body)
+      throws ModernfitException {
+
+    ResponseContent responseContent = delegate.callMethod(requestInfo, body);
+    invalidate(requestInfo, responseContent);
+    return responseContent;
+  }
+
+  @Override
+  public <T> void callMethod(
+      RequestInfo requestInfo, MultipartBody body, ResponseCallback<T> callback) {
+
+    delegate.callMethod(requestInfo, body, new ForwardingCallback(callback, responseContent -> {
+      invalidate(requestInfo, responseContent);
+      return responseContent;
+    }));
+  }
+
+  private static boolean isCacheable(RequestInfo requestInfo) {
+    Map<String, String> headers = requestInfo.getHeaders();
+    return requestInfo.getHttpMethod() == HttpMethod.GET
+        && !requestInfo.isStreaming()
+        && !CacheControl.parse(CacheEntry.header(headers, CacheControl.HEADER)).isNoStore()
+        // The caller is making its own conditional request.
+        && CacheEntry.header(headers, "If-None-Match") == null
+        && CacheEntry.header(headers, "If-Modified-Since") == null;
+  }
+
+  private Lookup lookup(RequestInfo requestInfo, long now) {
+
+    Map<String, String> headers = requestInfo.getHeaders();
+    CacheControl requestCacheControl =
+        CacheControl.parse(CacheEntry.header(headers, CacheControl.HEADER));
+
+    CacheEntry entry = cache.get(requestInfo.getUrl());
+    if (entry != null && !entry.matchesVary(headers)) {
+      entry = null;
+    }
+
+    if (entry != null && !requestCacheControl.isNoCache() && isFresh(entry, requestCacheControl,
+        now)) {
+      return new Lookup(null, entry, entry.toResponseContent());
+    }
+
+    if (requestCacheControl.isOnlyIfCached()) {
+      return new Lookup(null, entry, new ResponseContent(
+          GATEWAY_TIMEOUT, new HashMap<String, String>(), null, null, (byte[]) null));
+    }
+
+    if (entry == null || (entry.getEtag() == null && entry.getLastModified() == null)) {
+      return new Lookup(requestInfo, null, null);
+    }
+
+    RequestInfo.Builder conditional = requestInfo.newBuilder();
+    if (entry.getEtag() != null) {
+      conditional.addHeader("If-None-Match", entry.getEtag());
+    }
+    if (entry.getLastModified() != null) {
+      conditional.addHeader("If-Modified-Since", entry.getLastModified());
+    }
+    return new Lookup(conditional.build(), entry, null);
+  }
+
+  private static boolean isFresh(CacheEntry entry, CacheControl requestCacheControl, long now) {
+
+    CacheControl responseCacheControl = entry.getCacheControl();
+    if (responseCacheControl.isNoCache()) {
+      return false;
+    }
+
+    long ageMillis = entry.currentAgeMillis(now);
+    long freshnessMillis = entry.freshnessLifetimeMillis();
+    if (requestCacheControl.getMaxAgeSeconds() != -1) {
+      freshnessMillis = Math.min(
+          freshnessMillis, TimeUnit.SECONDS.toMillis(requestCacheControl.getMaxAgeSeconds()));
+    }
+
+    long minFreshMillis = requestCacheControl.getMinFreshSeconds() == -1
+        ? 0
+        : TimeUnit.SECONDS.toMillis(requestCacheControl.getMinFreshSeconds());
+    long maxStaleMillis = responseCacheControl.isMustRevalidate()
+        || requestCacheControl.getMaxStaleSeconds() == -1
+        ? 0
+        : TimeUnit.SECONDS.toMillis(requestCacheControl.getMaxStaleSeconds());
+
+    return saturatedAdd(ageMillis, minFreshMillis) < saturatedAdd(freshnessMillis, maxStaleMillis);
+  }
+
+  private ResponseContent update(RequestInfo requestInfo, CacheEntry entry,
+      ResponseContent responseContent, long requestTime) {
+
+    long responseTime = System.currentTimeMillis();
+    if (responseContent.getCode() == NOT_MODIFIED && entry != null) {
+      CacheEntry revalidated = entry.revalidated(responseContent, requestTime, responseTime);
+      cache.put(revalidated);
+      return revalidated.toResponseContent();
+    }
+
+    if (isStorable(responseContent)) {
+      cache.put(new CacheEntry(requestInfo.getUrl(), responseContent,
+          varyHeaders(requestInfo, responseContent), requestTime, responseTime));
+    } else if (entry != null) {
+      cache.remove(requestInfo.getUrl());
+    }
+    return responseContent;
+  }
+
+  private static boolean isStorable(ResponseContent responseContent) {
+
+    Map<String, String> headers = responseContent.getHeaders();
+    CacheControl cacheControl = CacheControl.parse(CacheEntry.header(headers, CacheControl.HEADER));
+    String vary = CacheEntry.header(headers, "Vary");
+
+    return CACHEABLE_CODES.contains(responseContent.getCode())
+        && !responseContent.isStreaming()
+        && !cacheControl.isNoStore()
+        && (vary == null || !vary.trim().equals("*"))
+        && (cacheControl.getMaxAgeSeconds() != -1
+            || CacheEntry.header(headers, "Expires") != null
+            || CacheEntry.header(headers, "ETag") != null
+            || CacheEntry.header(headers, "Last-Modified") != null);
+  }
+
+  private static Map<String, String> varyHeaders(
+      RequestInfo requestInfo, ResponseContent responseContent) {
+
+    Map<String, String> varyHeaders = new LinkedHashMap<>();
+    String vary = CacheEntry.header(responseContent.getHeaders(), "Vary");
+    if (vary != null) {
+      for (String name : vary.split(",")) {
+        if (!name.trim().isEmpty()) {
+          varyHeaders.put(name.trim(), CacheEntry.header(requestInfo.getHeaders(), name.trim()));
+        }
+      }
+    }
+    return varyHeaders;
+  }
+
+  private void invalidate(RequestInfo requestInfo, ResponseContent responseContent) {
+
+    HttpMethod method = requestInfo.getHttpMethod();
+    boolean unsafe =
+        method != HttpMethod.GET && method != HttpMethod.HEAD && method != HttpMethod.OPTIONS;
+    if (unsafe && responseContent.getCode() >= 200 && responseContent.getCode() < 400) {
+      cache.remove(requestInfo.getUrl());
+    }
+  }
+
+  private static long saturatedAdd(long a, long b) {
+    long sum = a + b;
+    return ((a ^ sum) & (b ^ sum)) < 0 ? Long.MAX_VALUE : sum;
+  }
+
+  /** The result of looking up a request in the cache. */
+  private static final class Lookup {
+
+    /** The request to send, or null if the response is taken from the cache. */
+    private final RequestInfo request;
+    /** The stored entry being revalidated, if any. */
+    private final CacheEntry entry;
+    /** The response taken from the cache, if any. */
+    private final ResponseContent response;
+
+    Lookup(RequestInfo request, CacheEntry entry, ResponseContent response) {
+      this.request = request;
+      this.entry = entry;
+      this.response = response;
+    }
+  }
+
+  /**
+   * {@link ResponseCallback ResponseCallback} that transforms the response before passing it to
+   * the callback of the caller.
+   */
+  private static final class ForwardingCallback extends ResponseCallback<Void> {
+
+    private final ResponseCallback<?> callback;
+    private final UnaryOperator<ResponseContent> transformation;
+
+    ForwardingCallback(
+        ResponseCallback<?> callback, UnaryOperator<ResponseContent> transformation) {
+      this.callback = callback;
+      this.transformation = transformation;
+    }
+
+    @Override
+    public void setCancellable(Cancellable cancellable) {
+      callback.setCancellable(cancellable);
+    }
+
+    @Override
+    public void notifySuccess(ResponseContent response) {
+      ResponseContent transformed;
+      try {
+        transformed = transformation.apply(response);
+      } catch (ModernfitException e) {
+        callback.notifyFailure(e);
+        return;
+      }
+      callback.notifySuccess(transformed);
+    }
+
+    @Override
+    public void notifyFailure(ModernfitException e) {
+      callback.notifyFailure(e);
+    }
+  }
+}
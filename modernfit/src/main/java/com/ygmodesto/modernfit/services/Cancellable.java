@@ -0,0 +1,29 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+/**
+ * An in-flight HTTP request that can be cancelled. {@link HttpClient HttpClient} implementations
+ * register it in the {@link ResponseCallback ResponseCallback} of asynchronous requests.
+ */
+public interface Cancellable {
+
+  /**
+   * Cancels the request. Cancelling a request that has already completed has no effect.
+   */
+  void cancel();
+}
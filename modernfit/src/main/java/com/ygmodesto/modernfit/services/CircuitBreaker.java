@@ -0,0 +1,167 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * State of one circuit of a {@link CircuitBreakerHttpClient CircuitBreakerHttpClient}.
+ *
+ * <p>The outcomes of the last calls are kept in a ring buffer updated without locks, together
+ * with the number of failed and slow calls in it, so evaluating the rates is constant time.
+ */
+final class CircuitBreaker {
+
+  enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private static final int RECORDED = 1;
+  private static final int FAILURE = 2;
+  private static final int SLOW = 4;
+
+  private final CircuitBreakerPolicy policy;
+  private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+  private final AtomicReference<Window> window;
+  private final AtomicInteger probes = new AtomicInteger();
+  private final AtomicInteger probeSuccesses = new AtomicInteger();
+  private volatile long openedAt;
+
+  CircuitBreaker(CircuitBreakerPolicy policy) {
+    this.policy = policy;
+    this.window = new AtomicReference<>(new Window(policy.getWindowSize()));
+  }
+
+  State getState() {
+    return state.get();
+  }
+
+  /**
+   * Returns true if a call is allowed, moving the circuit from open to half open when the wait
+   * has passed.
+   */
+  boolean tryAcquire() {
+    switch (state.get()) {
+      case CLOSED:
+        return true;
+      case OPEN:
+        if (System.nanoTime() - openedAt < policy.getWaitInOpenNanos()
+            || !state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+          return false;
+        }
+        probeSuccesses.set(0);
+        probes.set(policy.getHalfOpenCalls() - 1);
+        return true;
+      default:
+        return probes.getAndDecrement() > 0;
+    }
+  }
+
+  /**
+   * Gives back the permit of a call allowed by {@link #tryAcquire()} that ended without an
+   * outcome, such as a cancelled call, so a half open circuit can send another probe.
+   */
+  void release() {
+    if (state.get() == State.HALF_OPEN) {
+      probes.incrementAndGet();
+    }
+  }
+
+  /**
+   * Records the outcome of a call allowed by {@link #tryAcquire()}.
+   *
+   * @param failure if the call failed.
+   * @param durationNanos the duration of the call.
+   */
+  void record(boolean failure, long durationNanos) {
+    boolean slow = durationNanos >= policy.getSlowCallNanos();
+    switch (state.get()) {
+      case CLOSED:
+        Window current = window.get();
+        current.add(RECORDED | (failure ? FAILURE : 0) | (slow ? SLOW : 0));
+        if (current.exceeds(policy)) {
+          open(State.CLOSED);
+        }
+        break;
+      case HALF_OPEN:
+        if (failure || slow) {
+          open(State.HALF_OPEN);
+        } else if (probeSuccesses.incrementAndGet() >= policy.getHalfOpenCalls()
+            && state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+          window.set(new Window(policy.getWindowSize()));
+        }
+        break;
+      default:
+        break;
+    }
+  }
+
+  private void open(State from) {
+    probes.set(0);
+    if (state.compareAndSet(from, State.OPEN)) {
+      openedAt = System.nanoTime();
+    }
+  }
+
+  /** Ring buffer with the outcomes of the last calls. */
+  private static final class Window {
+
+    private final AtomicIntegerArray outcomes;
+    private final AtomicLong index = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicInteger slowCalls = new AtomicInteger();
+
+    Window(int size) {
+      this.outcomes = new AtomicIntegerArray(size);
+    }
+
+    void add(int outcome) {
+      int slot = (int) (index.getAndIncrement() % outcomes.length());
+      int previous = outcomes.getAndSet(slot, outcome);
+      count(previous, -1);
+      count(outcome, 1);
+    }
+
+    boolean exceeds(CircuitBreakerPolicy policy) {
+      int total = calls.get();
+      if (total < policy.getMinimumCalls()) {
+        return false;
+      }
+      return failures.get() * 100f / total >= policy.getFailureRateThreshold()
+          || slowCalls.get() * 100f / total >= policy.getSlowCallRateThreshold();
+    }
+
+    private void count(int outcome, int delta) {
+      if ((outcome & RECORDED) == 0) {
+        return;
+      }
+      calls.addAndGet(delta);
+      if ((outcome & FAILURE) != 0) {
+        failures.addAndGet(delta);
+      }
+      if ((outcome & SLOW) != 0) {
+        slowCalls.addAndGet(delta);
+      }
+    }
+  }
+}
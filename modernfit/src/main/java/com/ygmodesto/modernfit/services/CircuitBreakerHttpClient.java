@@ -0,0 +1,201 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * {@link HttpClient HttpClient} that stops sending requests to a failing backend, following the
+ * {@link CircuitBreakerPolicy CircuitBreakerPolicy} of the requests, see
+ * {@link RequestInfo#getCircuitBreakerPolicy()}.
+ *
+ * <p>There is a circuit for each policy, which the generated classes create for each method, or
+ * for each host if the policy is {@link CircuitBreakerPolicy#isPerHost() per host}. While a
+ * circuit is open the calls fail immediately with a
+ * {@link CircuitBreakerOpenException CircuitBreakerOpenException}, thrown by the synchronous
+ * methods and passed to the callback by the asynchronous ones. A call fails when the request
+ * fails or the response has a 5xx status code. A call rejected before it is sent, by a
+ * {@link BulkheadHttpClient bulkhead}, a {@link RateLimitingHttpClient rate limit}, a
+ * {@link AdaptiveConcurrencyHttpClient concurrency limit} or its {@link Deadline deadline}, says
+ * nothing about the backend and is not recorded.
+ */
+public class CircuitBreakerHttpClient implements HttpClient {
+
+  private final HttpClient delegate;
+  private final ConcurrentMap<Object, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+  /**
+   * Create an instance that protects the requests executed by {@code delegate}.
+   *
+   * @param delegate the {@link HttpClient HttpClient} that executes the requests.
+   */
+  public static CircuitBreakerHttpClient create(HttpClient delegate) {
+    return new CircuitBreakerHttpClient(delegate);
+  }
+
+  private CircuitBreakerHttpClient(HttpClient delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public ResponseContent callMethod(RequestInfo requestInfo, DiscreteBody body)
+      throws ModernfitException {
+
+    CircuitBreaker circuitBreaker = circuitBreaker(requestInfo);
+    if (circuitBreaker == null) {
+      return delegate.callMethod(requestInfo, body);
+    }
+    acquire(circuitBreaker, requestInfo);
+    return execute(circuitBreaker, () -> delegate.callMethod(requestInfo, body));
+  }
+
+  @Override
+  public <T> void callMethod(
+      RequestInfo requestInfo, DiscreteBody body, ResponseCallback<T> callback) {
+
+    CircuitBreaker circuitBreaker = circuitBreaker(requestInfo);
+    if (circuitBreaker == null) {
+      delegate.callMethod(requestInfo, body, callback);
+      return;
+    }
+    if (!circuitBreaker.tryAcquire()) {
+      callback.notifyFailure(openException(requestInfo));
+      return;
+    }
+    delegate.callMethod(requestInfo, body, new RecordingCallback(circuitBreaker, callback));
+  }
+
+  @Override
+  public ResponseContent callMethod(RequestInfo requestInfo, MultipartBody body)
+      throws ModernfitException {
+
+    CircuitBreaker circuitBreaker = circuitBreaker(requestInfo);
+    if (circuitBreaker == null) {
+      return delegate.callMethod(requestInfo, body);
+    }
+    acquire(circuitBreaker, requestInfo);
+    return execute(circuitBreaker, () -> delegate.callMethod(requestInfo, body));
+  }
+
+  @Override
+  public <T> void callMethod(
+      RequestInfo requestInfo, MultipartBody body, ResponseCallback<T> callback) {
+
+    CircuitBreaker circuitBreaker = circuitBreaker(requestInfo);
+    if (circuitBreaker == null) {
+      delegate.callMethod(requestInfo, body, callback);
+      return;
+    }
+    if (!circuitBreaker.tryAcquire()) {
+      callback.notifyFailure(openException(requestInfo));
+      return;
+    }
+    delegate.callMethod(requestInfo, body, new RecordingCallback(circuitBreaker, callback));
+  }
+
+  private CircuitBreaker circuitBreaker(RequestInfo requestInfo) {
+    CircuitBreakerPolicy policy = requestInfo.getCircuitBreakerPolicy();
+    if (policy == null) {
+      return null;
+    }
+    Object key = policy.isPerHost() ? requestInfo.getOrigin() : policy;
+    return circuitBreakers.computeIfAbsent(key, k -> new CircuitBreaker(policy));
+  }
+
+  private static void acquire(CircuitBreaker circuitBreaker, RequestInfo requestInfo) {
+    if (!circuitBreaker.tryAcquire()) {
+      throw openException(requestInfo);
+    }
+  }
+
+  private static ResponseContent execute(
+      CircuitBreaker circuitBreaker, Supplier<ResponseContent> call) {
+
+    long start = System.nanoTime();
+    boolean recorded = false;
+    try {
+      ResponseContent responseContent = call.get();
+      circuitBreaker.record(isFailure(responseContent), System.nanoTime() - start);
+      recorded = true;
+      return responseContent;
+    } catch (RuntimeException e) {
+      if (!isRejectedBeforeSending(e)) {
+        circuitBreaker.record(true, System.nanoTime() - start);
+        recorded = true;
+      }
+      throw e;
+    } finally {
+      if (!recorded) {
+        circuitBreaker.release();
+      }
+    }
+  }
+
+  private static CircuitBreakerOpenException openException(RequestInfo requestInfo) {
+    return new CircuitBreakerOpenException(
+        "Circuit breaker open for " + requestInfo.getHttpMethod() + " " + requestInfo.getUrl());
+  }
+
+  private static boolean isFailure(ResponseContent responseContent) {
+    return responseContent.getCode() >= 500;
+  }
+
+  /** Returns true if {@code e} rejected the call before it reached the backend. */
+  private static boolean isRejectedBeforeSending(RuntimeException e) {
+    return e instanceof BulkheadFullException
+        || e instanceof RateLimitExceededException
+        || e instanceof ConcurrencyLimitExceededException
+        || e instanceof DeadlineExceededException && !((DeadlineExceededException) e).isSent();
+  }
+
+  /** Records the outcome of an asynchronous call and forwards it to the caller. */
+  private static final class RecordingCallback extends ResponseCallback<Void> {
+
+    private final CircuitBreaker circuitBreaker;
+    private final ResponseCallback<?> callback;
+    private final long start = System.nanoTime();
+
+    RecordingCallback(CircuitBreaker circuitBreaker, ResponseCallback<?> callback) {
+      this.circuitBreaker = circuitBreaker;
+      this.callback = callback;
+    }
+
+    @Override
+    public void setCancellable(Cancellable cancellable) {
+      callback.setCancellable(cancellable);
+    }
+
+    @Override
+    public void notifySuccess(ResponseContent responseContent) {
+      circuitBreaker.record(isFailure(responseContent), System.nanoTime() - start);
+      callback.notifySuccess(responseContent);
+    }
+
+    @Override
+    public void notifyFailure(ModernfitException e) {
+      // A cancelled or rejected call says nothing about the health of the backend.
+      if (callback.isCancelled() || isRejectedBeforeSending(e)) {
+        circuitBreaker.release();
+      } else {
+        circuitBreaker.record(true, System.nanoTime() - start);
+      }
+      callback.notifyFailure(e);
+    }
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Defines when the circuit of a request is opened by a
+ * {@link CircuitBreakerHttpClient CircuitBreakerHttpClient}. Generated for the methods annotated
+ * with {@link com.ygmodesto.modernfit.annotations.CircuitBreaker @CircuitBreaker}, or whose
+ * interface is annotated.
+ */
+public class CircuitBreakerPolicy {
+
+  private final float failureRateThreshold;
+  private final float slowCallRateThreshold;
+  private final long slowCallNanos;
+  private final int windowSize;
+  private final int minimumCalls;
+  private final long waitInOpenNanos;
+  private final int halfOpenCalls;
+  private final boolean perHost;
+
+  private CircuitBreakerPolicy(Builder builder) {
+    this.failureRateThreshold = builder.failureRateThreshold;
+    this.slowCallRateThreshold = builder.slowCallRateThreshold;
+    this.slowCallNanos = builder.slowCallNanos;
+    this.windowSize = builder.windowSize;
+    this.minimumCalls = builder.minimumCalls;
+    this.waitInOpenNanos = builder.waitInOpenNanos;
+    this.halfOpenCalls = builder.halfOpenCalls;
+    this.perHost = builder.perHost;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public float getFailureRateThreshold() {
+    return failureRateThreshold;
+  }
+
+  public float getSlowCallRateThreshold() {
+    return slowCallRateThreshold;
+  }
+
+  public long getSlowCallNanos() {
+    return slowCallNanos;
+  }
+
+  public int getWindowSize() {
+    return windowSize;
+  }
+
+  public int getMinimumCalls() {
+    return minimumCalls;
+  }
+
+  public long getWaitInOpenNanos() {
+    return waitInOpenNanos;
+  }
+
+  public int getHalfOpenCalls() {
+    return halfOpenCalls;
+  }
+
+  public boolean isPerHost() {
+    return perHost;
+  }
+
+  /**
+   * Builder class for {@link CircuitBreakerPolicy CircuitBreakerPolicy}.
+   */
+  public static final class Builder {
+
+    private float failureRateThreshold = 50;
+    private float slowCallRateThreshold = 100;
+    private long slowCallNanos = TimeUnit.SECONDS.toNanos(60);
+    private int windowSize = 100;
+    private int minimumCalls = 10;
+    private long waitInOpenNanos = TimeUnit.SECONDS.toNanos(60);
+    private int halfOpenCalls = 5;
+    private boolean perHost;
+
+    /** Sets the percentages of failed and slow calls that open the circuit. */
+    public Builder setRateThresholds(float failureRateThreshold, float slowCallRateThreshold) {
+      if (failureRateThreshold <= 0 || failureRateThreshold > 100
+          || slowCallRateThreshold <= 0 || slowCallRateThreshold > 100) {
+        throw new IllegalArgumentException("thresholds must be between 0 and 100");
+      }
+      this.failureRateThreshold = failureRateThreshold;
+      this.slowCallRateThreshold = slowCallRateThreshold;
+
+      return this;
+    }
+
+    /** Sets the number of calls of the sliding window and the minimum to evaluate the rates. */
+    public Builder setWindow(int windowSize, int minimumCalls) {
+      if (windowSize <= 0 || minimumCalls <= 0) {
+        throw new IllegalArgumentException("windowSize and minimumCalls must be greater than 0");
+      }
+      this.windowSize = windowSize;
+      this.minimumCalls = minimumCalls;
+
+      return this;
+    }
+
+    /** Sets the durations from which a call is slow and that the circuit stays open. */
+    public Builder setDurations(long slowCallDuration, long waitInOpen, TimeUnit unit) {
+      this.slowCallNanos = unit.toNanos(slowCallDuration);
+      this.waitInOpenNanos = unit.toNanos(waitInOpen);
+
+      return this;
+    }
+
+    /** Sets the number of probes let through while half open. */
+    public Builder setHalfOpenCalls(int halfOpenCalls) {
+      if (halfOpenCalls <= 0) {
+        throw new IllegalArgumentException("halfOpenCalls must be greater than 0");
+      }
+      this.halfOpenCalls = halfOpenCalls;
+
+      return this;
+    }
+
+    /** Sets if all the requests to the same host share the circuit. */
+    public Builder setPerHost(boolean perHost) {
+      this.perHost = perHost;
+
+      return this;
+    }
+
+    public CircuitBreakerPolicy build() {
+      return new CircuitBreakerPolicy(this);
+    }
+  }
+}
@@ -14,26 +14,44 @@
 
 package com.ygmodesto.modernfit.services;
 
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import okhttp3.Call;
 import okhttp3.Callback;
+import okhttp3.Dispatcher;
 import okhttp3.Headers;
+import okhttp3.Interceptor;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
+import okio.BufferedSink;
 
 /**
  * Class that implements the {@link HttpClient HttpClient} interface using from the OkHttp library
  * through the {@link OkHttpClient OkHttpClient} object.
+ *
+ * <p>The {@link TimeoutPolicy TimeoutPolicy} of a request overrides the timeouts of the
+ * OkHttpClient, and its {@link Deadline Deadline} bounds the whole call. A request whose deadline
+ * has passed while waiting in the queue of the dispatcher is dropped before it is sent.
  */
 public class ClientOkHttp implements HttpClient {
 
+  private static final Interceptor TIMEOUT_INTERCEPTOR = new TimeoutInterceptor();
+  private static final Interceptor CANCELED_INTERCEPTOR = new CanceledInterceptor();
+
   private OkHttpClient okHttpClient;
 
   /**
@@ -54,11 +72,42 @@ public class ClientOkHttp implements HttpClient {
   }
 
   private ClientOkHttp(OkHttpClient okHttpClient) {
-    this.okHttpClient = okHttpClient;
+    this.okHttpClient = withInterceptors(okHttpClient);
   }
 
   public void setOkHttpClient(OkHttpClient okHttpClient) {
-    this.okHttpClient = okHttpClient;
+    this.okHttpClient = withInterceptors(okHttpClient);
+  }
+
+  /**
+   * Cancels the calls queued or running in the dispatcher whose {@link RequestInfo RequestInfo} is
+   * tagged with {@code tag}, see {@link RequestInfo#hasTag(Object)}. The requests made through a
+   * generated class are better cancelled with {@link ConfigurationInterface#cancelAll(Object)},
+   * which also reaches the ones still waiting in a decorator.
+   */
+  public void cancelAll(Object tag) {
+    Dispatcher dispatcher = okHttpClient.dispatcher();
+    for (List<Call> calls : Arrays.asList(dispatcher.queuedCalls(), dispatcher.runningCalls())) {
+      for (Call call : calls) {
+        RequestInfo requestInfo = call.request().tag(RequestInfo.class);
+        if (requestInfo != null && requestInfo.hasTag(tag)) {
+          call.cancel();
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns a client sharing the pools of {@code okHttpClient} that applies the timeouts and stops
+   * the calls cancelled while connecting.
+   */
+  private static OkHttpClient withInterceptors(OkHttpClient okHttpClient) {
+    return okHttpClient.interceptors().contains(TIMEOUT_INTERCEPTOR)
+        ? okHttpClient
+        : okHttpClient.newBuilder()
+            .addInterceptor(TIMEOUT_INTERCEPTOR)
+            .addNetworkInterceptor(CANCELED_INTERCEPTOR)
+            .build();
   }
 
   // TODO change de Map<String, String> to accept duplicated keys.
@@ -66,31 +115,16 @@ public class ClientOkHttp implements HttpClient {
   public ResponseContent callMethod(RequestInfo requestInfo, DiscreteBody body)
       throws ModernfitException {
 
-    Request request = prepareRequest(requestInfo.getHttpMethod(), requestInfo.getUrl(),
-        requestInfo.getHeaders(), body.getContent(), body.getContentType());
-    try (Response response = okHttpClient.newCall(request).execute()) {
-
-      return toResponseContent(response);
+    Request request = prepareRequest(requestInfo, body);
 
-    } catch (IOException e) {
-      throw new ModernfitException(e);
-    }
+    return execute(newCall(request, requestInfo), requestInfo.isStreaming());
   }
 
   @Override
   public <T> void callMethod(RequestInfo requestInfo, DiscreteBody body,
       ResponseCallback<T> callback) throws ModernfitException {
 
-    try {
-
-      Request request = prepareRequest(requestInfo.getHttpMethod(), requestInfo.getUrl(),
-          requestInfo.getHeaders(), body.getContent(), body.getContentType());
-
-      okHttpClient.newCall(request).enqueue(toCallback(callback));
-
-    } catch (Exception e) {
-      throw new ModernfitException(e);
-    }
+    enqueue(requestInfo, () -> prepareRequest(requestInfo, body), body.isDeferred(), callback);
   }
 
   @Override
@@ -98,53 +132,113 @@ public class ClientOkHttp implements HttpClient {
       throws ModernfitException {
 
 
-    Request request = prepareMultipartRequest(requestInfo.getHttpMethod(), requestInfo.getUrl(),
-        requestInfo.getHeaders(), body);
-
-    try (Response response = okHttpClient.newCall(request).execute()) {
+    Request request = prepareMultipartRequest(requestInfo, body);
 
-      return toResponseContent(response);
-
-    } catch (IOException e) {
-      throw new ModernfitException(e);
-    }
+    return execute(newCall(request, requestInfo), requestInfo.isStreaming());
   }
 
   @Override
   public <T> void callMethod(RequestInfo requestInfo, MultipartBody body,
       ResponseCallback<T> callback) throws ModernfitException {
 
-    try {
+    enqueue(requestInfo, () -> prepareMultipartRequest(requestInfo, body), body.isDeferred(),
+        callback);
+  }
 
-      Request request = prepareMultipartRequest(requestInfo.getHttpMethod(), requestInfo.getUrl(),
-          requestInfo.getHeaders(), body);
+  /**
+   * Enqueues the call of the request built by {@code request}. If the body of the request has not
+   * been converted yet, the request is built in a thread of the dispatcher so the converters do
+   * not run in the calling thread, and their errors are notified to {@code callback}.
+   */
+  private <T> void enqueue(RequestInfo requestInfo, Supplier<Request> request, boolean deferred,
+      ResponseCallback<T> callback) throws ModernfitException {
 
-      okHttpClient.newCall(request).enqueue(toCallback(callback));
+    if (!deferred) {
+      try {
+        enqueue(requestInfo, request.get(), callback);
+      } catch (Exception e) {
+        throw new ModernfitException(e);
+      }
+      return;
+    }
 
-    } catch (Exception e) {
+    try {
+      okHttpClient.dispatcher().executorService().execute(() -> {
+        if (callback.notifyIfCancelled()) {
+          return;
+        }
+        try {
+          enqueue(requestInfo, request.get(), callback);
+        } catch (ModernfitException e) {
+          callback.notifyFailure(e);
+        } catch (RuntimeException e) {
+          callback.notifyFailure(new ModernfitException(e));
+        }
+      });
+    } catch (RejectedExecutionException e) {
       throw new ModernfitException(e);
     }
   }
 
-  private Request prepareRequest(HttpMethod method, String url, Map<String, String> headers,
-      byte[] body, String mediaTypeString) {
+  private <T> void enqueue(RequestInfo requestInfo, Request request,
+      ResponseCallback<T> callback) {
 
-    MediaType mediaType = MediaType.parse(mediaTypeString);
-    RequestBody requestBody = null;
-    if (body != null) {
-      requestBody = RequestBody.create(mediaType, body);
+    Call call = newCall(request, requestInfo);
+    callback.setCancellable(call::cancel);
+    call.enqueue(toCallback(callback, requestInfo));
+  }
+
+  /** Creates the call of {@code request}, bounded by the deadline of the request if any. */
+  private Call newCall(Request request, RequestInfo requestInfo) {
+    Call call = okHttpClient.newCall(request);
+    Deadline deadline = requestInfo.getDeadline();
+    long remaining = deadline == null ? 0 : deadline.timeRemaining(TimeUnit.NANOSECONDS);
+    // A zero timeout means no timeout, the expired requests are dropped by the interceptor.
+    if (remaining > 0) {
+      call.timeout().timeout(remaining, TimeUnit.NANOSECONDS);
     }
-    Request.Builder requestBuilder =
-        new Request.Builder().url(url).method(method.name(), requestBody);
+    return call;
+  }
 
-    if (headers != null) {
-      requestBuilder.headers(Headers.of(headers));
+  private ResponseContent execute(Call call, boolean streaming) throws ModernfitException {
+
+    // Interrupting the thread does not abort a call blocked reading the socket.
+    BlockingCancellation.register(call::cancel);
+    if (streaming) {
+      Response response = null;
+      try {
+        response = call.execute();
+        return toResponseContent(response, true);
+      } catch (IOException e) {
+        if (response != null) {
+          response.close();
+        }
+        throw toModernfitException(call, e);
+      }
+    }
+
+    try (Response response = call.execute()) {
+
+      return toResponseContent(response, false);
+
+    } catch (IOException e) {
+      throw toModernfitException(call, e);
     }
-    return requestBuilder.build();
   }
 
-  private Request prepareMultipartRequest(HttpMethod method, String url,
-      Map<String, String> headers, MultipartBody multipartBody) {
+  private Request prepareRequest(RequestInfo requestInfo, DiscreteBody body) {
+
+    MediaType mediaType = MediaType.parse(body.getContentType());
+    RequestBody requestBody = null;
+    if (body.isStreaming()) {
+      requestBody = new DiscreteRequestBody(mediaType, body);
+    } else if (body.getContent() != null) {
+      requestBody = RequestBody.create(mediaType, body.getContent());
+    }
+    return toRequest(requestInfo, requestBody);
+  }
+
+  private Request prepareMultipartRequest(RequestInfo requestInfo, MultipartBody multipartBody) {
 
     RequestBody requestBody = null;
     // TODO check multipartBody is not empty
@@ -154,30 +248,59 @@ public class ClientOkHttp implements HttpClient {
       multipartBuilder.setType(okhttp3.MultipartBody.FORM);
 
       for (Part part : multipartBody.getParts()) {
+        MediaType mediaType = MediaType.parse(part.getContentType());
         multipartBuilder.addFormDataPart(part.getName(), part.getFileName(),
-            RequestBody.create(MediaType.parse(part.getContentType()), part.getContent()));
+            part.isStreaming()
+                ? new PartRequestBody(mediaType, part)
+                : RequestBody.create(mediaType, part.getContent()));
       }
 
       requestBody = multipartBuilder.build();
     }
-    Request.Builder requestBuilder =
-        new Request.Builder().url(url).method(method.name(), requestBody);
+    return toRequest(requestInfo, requestBody);
+  }
+
+  private static Request toRequest(RequestInfo requestInfo, RequestBody requestBody) {
+
+    Request.Builder requestBuilder = new Request.Builder()
+        .url(requestInfo.getUrl())
+        .method(requestInfo.getHttpMethod().name(), requestBody)
+        .tag(RequestInfo.class, requestInfo);
 
-    if (headers != null) {
-      requestBuilder.headers(Headers.of(headers));
+    if (requestInfo.getHeaders() != null) {
+      requestBuilder.headers(Headers.of(requestInfo.getHeaders()));
     }
     return requestBuilder.build();
   }
 
 
-  private <T> Callback toCallback(ResponseCallback<T> responseCallback) {
+  private <T> Callback toCallback(ResponseCallback<T> responseCallback, RequestInfo requestInfo) {
 
+    boolean streaming = requestInfo.isStreaming();
     return new Callback() {
 
       @Override
       public void onResponse(Call call, Response response) throws IOException {
+        // The calls made from the callback inherit the deadline of the request.
+        try (Deadline.Scope scope = Deadline.attach(requestInfo.getDeadline())) {
+          notifyResponse(response);
+        }
+      }
+
+      private void notifyResponse(Response response) throws IOException {
+        if (streaming) {
+          // The body is only readable while the callback is running.
+          try (ResponseContent responseContent = toResponseContent(response, true)) {
+            responseCallback.notifySuccess(responseContent);
+          } catch (ModernfitException e) {
+            responseCallback.notifyFailure(e);
+          } finally {
+            response.close();
+          }
+          return;
+        }
         try {
-          responseCallback.notifySuccess(toResponseContent(response));
+          responseCallback.notifySuccess(toResponseContent(response, false));
         } catch (ModernfitException e) {
           responseCallback.notifyFailure(e);
         }
@@ -186,13 +309,32 @@ public class ClientOkHttp implements HttpClient {
       @Override
       public void onFailure(Call call, IOException e) {
 
-        responseCallback.notifyFailure(new ModernfitException(e));
+        try (Deadline.Scope scope = Deadline.attach(requestInfo.getDeadline())) {
+          responseCallback.notifyFailure(toModernfitException(call, e));
+        }
       }
     };
   }
 
+  /**
+   * Returns the {@link ModernfitException ModernfitException} thrown while writing a streaming
+   * request body, or wraps {@code e} otherwise.
+   */
+  private static ModernfitException toModernfitException(Call call, IOException e) {
+    if (e.getCause() instanceof ModernfitException) {
+      return (ModernfitException) e.getCause();
+    }
+    RequestInfo requestInfo = call.request().tag(RequestInfo.class);
+    if (requestInfo != null && requestInfo.isDeadlineExpired()) {
+      return new DeadlineExceededException("Deadline exceeded waiting for "
+          + requestInfo.getHttpMethod() + " " + requestInfo.getUrl(), e);
+    }
+    return new ModernfitException(e);
+  }
+
 
-  private ResponseContent toResponseContent(Response response) throws IOException {
+  private ResponseContent toResponseContent(Response response, boolean streaming)
+      throws IOException {
 
     ResponseBody responseBody = response.body();
     MediaType mediaType = responseBody.contentType();
@@ -204,9 +346,153 @@ public class ClientOkHttp implements HttpClient {
       headersMap.put(name, headers.get(name));
     }
 
-    return mediaType == null
-        ? new ResponseContent(response.code(), headersMap, null, null, responseBody.bytes())
-        : new ResponseContent(response.code(), headersMap, mediaType.toString(),
-            mediaType.charset(), responseBody.bytes());
+    String contentType = mediaType == null ? null : mediaType.toString();
+    Charset charset = mediaType == null ? null : mediaType.charset();
+
+    return streaming
+        ? new ResponseContent(
+            response.code(), headersMap, contentType, charset, responseBody.byteStream())
+        : new ResponseContent(
+            response.code(), headersMap, contentType, charset, responseBody.bytes());
+  }
+
+  /**
+   * Applies the {@link TimeoutPolicy TimeoutPolicy} of the request, and drops it if its deadline
+   * has passed while it was waiting to be sent.
+   */
+  private static class TimeoutInterceptor implements Interceptor {
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+
+      RequestInfo requestInfo = chain.request().tag(RequestInfo.class);
+      if (requestInfo == null) {
+        return chain.proceed(chain.request());
+      }
+      if (requestInfo.isDeadlineExpired()) {
+        // OkHttp only propagates IOException, it is unwrapped in toModernfitException.
+        throw new IOException(DeadlineExceededException.beforeSending(requestInfo));
+      }
+      TimeoutPolicy timeoutPolicy = requestInfo.getTimeoutPolicy();
+      if (timeoutPolicy != null && timeoutPolicy.getConnectNanos() > 0) {
+        chain = chain.withConnectTimeout(toMillis(timeoutPolicy.getConnectNanos()),
+            TimeUnit.MILLISECONDS);
+      }
+      if (timeoutPolicy != null && timeoutPolicy.getReadNanos() > 0) {
+        chain = chain.withReadTimeout(toMillis(timeoutPolicy.getReadNanos()),
+            TimeUnit.MILLISECONDS);
+      } else if (requestInfo.isEventStream()) {
+        // The events of a stream can be minutes apart.
+        chain = chain.withReadTimeout(0, TimeUnit.MILLISECONDS);
+      }
+      return chain.proceed(chain.request());
+    }
+
+    private static int toMillis(long nanos) {
+      return (int) Math.max(1, Math.min(Integer.MAX_VALUE, TimeUnit.NANOSECONDS.toMillis(nanos)));
+    }
+  }
+
+  /**
+   * A call cancelled while its socket is being opened is not interrupted by OkHttp, so it would be
+   * sent and wait for the whole response. It is checked again once the connection is ready.
+   *
+   * <p>A streaming body that fails to serialize leaves a partial request in the connection, so the
+   * call is cancelled to close it instead of returning it to the pool.
+   */
+  private static class CanceledInterceptor implements Interceptor {
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+      if (chain.call().isCanceled()) {
+        throw new IOException("Canceled");
+      }
+      try {
+        return chain.proceed(chain.request());
+      } catch (IOException e) {
+        if (e.getCause() instanceof ModernfitException) {
+          chain.call().cancel();
+        }
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * {@link RequestBody RequestBody} that writes a streaming {@link DiscreteBody DiscreteBody}
+   * directly to the connection. When the length is unknown the request is sent with chunked
+   * transfer encoding.
+   */
+  private static class DiscreteRequestBody extends RequestBody {
+
+    private final MediaType mediaType;
+    private final DiscreteBody body;
+
+    DiscreteRequestBody(MediaType mediaType, DiscreteBody body) {
+      this.mediaType = mediaType;
+      this.body = body;
+    }
+
+    @Override
+    public MediaType contentType() {
+      return mediaType;
+    }
+
+    @Override
+    public long contentLength() {
+      return body.getContentLength();
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+      OutputStream outputStream = new FilterOutputStream(sink.outputStream()) {
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+          out.write(b, off, len);
+        }
+
+        @Override
+        public void close() {
+          // The sink is owned by OkHttp.
+        }
+      };
+      try {
+        body.writeTo(outputStream);
+      } catch (ModernfitException e) {
+        // OkHttp only propagates IOException, it is unwrapped in toModernfitException.
+        throw new IOException(e);
+      }
+    }
+  }
+
+  /**
+   * {@link RequestBody RequestBody} that transfers a file backed {@link Part Part} from disk to
+   * the connection. The Content-Length is taken from the file size without reading it.
+   */
+  private static class PartRequestBody extends RequestBody {
+
+    private final MediaType mediaType;
+    private final Part part;
+
+    PartRequestBody(MediaType mediaType, Part part) {
+      this.mediaType = mediaType;
+      this.part = part;
+    }
+
+    @Override
+    public MediaType contentType() {
+      return mediaType;
+    }
+
+    @Override
+    public long contentLength() {
+      return part.getContentLength();
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+      part.writeTo(sink);
+    }
   }
 }
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+/**
+ * Exception thrown, or passed to the callback, when a request is rejected because the server has
+ * reached its estimated concurrency limit and the queue is full, see
+ * {@link AdaptiveConcurrencyHttpClient AdaptiveConcurrencyHttpClient}.
+ */
+public class ConcurrencyLimitExceededException extends ModernfitException {
+
+  private static final long serialVersionUID = 1L;
+
+  public ConcurrencyLimitExceededException(String msg) {
+    super(msg);
+  }
+}
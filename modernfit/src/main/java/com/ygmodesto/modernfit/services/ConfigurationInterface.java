@@ -42,4 +42,28 @@ public interface ConfigurationInterface {
    * ignore this value using {@link com.ygmodesto.modernfit.annotations.Url @Url}.
    */
   void setBaseUrl(String baseUrl);
+
+  /**
+   * Returns the executors that read, convert and notify the asynchronous responses of the class,
+   * or null if they run in the threads of the {@link HttpClient HttpClient}.
+   */
+  ResponseExecutors getResponseExecutors();
+
+  /**
+   * Sets the executors that read, convert and notify the asynchronous responses of the class, see
+   * {@link ResponseExecutors ResponseExecutors}. It applies to the requests made afterwards.
+   */
+  void setResponseExecutors(ResponseExecutors responseExecutors);
+
+  /**
+   * Cancels all the asynchronous requests in flight made through the class. Their callbacks, or
+   * futures, are notified with the cancellation and their responses are not converted.
+   */
+  void cancelAll();
+
+  /**
+   * Cancels the asynchronous requests in flight made through the class that are tagged with
+   * {@code tag}, see {@link com.ygmodesto.modernfit.annotations.Tag @Tag}.
+   */
+  void cancelAll(Object tag);
 }
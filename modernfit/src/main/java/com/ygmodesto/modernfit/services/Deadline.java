@@ -0,0 +1,114 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An instant by which a chain of calls must complete. The deadline attached to the current thread
+ * is inherited by the requests made from it, so a service that receives a request with a deadline
+ * passes the remaining time to the requests it makes:
+ *
+ * <pre><code>
+ * try (Deadline.Scope scope = Deadline.after(2, TimeUnit.SECONDS).attach()) {
+ *   Product product = productRepository.getProduct(barcode);
+ *   Stock stock = stockRepository.getStock(product.getId());
+ * }
+ * </code></pre>
+ *
+ * <p>The request is sent with the time left as its call timeout, combined with the one of
+ * {@link com.ygmodesto.modernfit.annotations.Timeout @Timeout}, and dropped with a
+ * {@link DeadlineExceededException DeadlineExceededException} if it is still waiting to be sent
+ * when the deadline passes. The callbacks of asynchronous requests run with the deadline of the
+ * request attached, so the calls they make inherit it.
+ */
+public final class Deadline {
+
+  private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+  private final long nanoTime;
+
+  private Deadline(long nanoTime) {
+    this.nanoTime = nanoTime;
+  }
+
+  /** Returns a deadline {@code duration} from now. */
+  public static Deadline after(long duration, TimeUnit unit) {
+    return new Deadline(System.nanoTime() + unit.toNanos(duration));
+  }
+
+  /** Returns the deadline attached to the current thread, or null if there is none. */
+  public static Deadline current() {
+    return CURRENT.get();
+  }
+
+  /** Returns the time left, zero if the deadline has passed. */
+  public long timeRemaining(TimeUnit unit) {
+    return unit.convert(Math.max(0, nanoTime - System.nanoTime()), TimeUnit.NANOSECONDS);
+  }
+
+  public boolean isExpired() {
+    return nanoTime - System.nanoTime() <= 0;
+  }
+
+  /** Returns the earliest of this deadline and {@code other}, which can be null. */
+  public Deadline minimum(Deadline other) {
+    return other == null || nanoTime - other.nanoTime <= 0 ? this : other;
+  }
+
+  /**
+   * Attaches this deadline to the current thread until the returned scope is closed. A deadline
+   * can only shrink the one already attached, never extend it.
+   */
+  public Scope attach() {
+    Deadline previous = CURRENT.get();
+    CURRENT.set(minimum(previous));
+    return new Scope(previous);
+  }
+
+  /**
+   * Attaches {@code deadline}, if not null, to the current thread until the returned scope is
+   * closed.
+   */
+  public static Scope attach(Deadline deadline) {
+    return deadline == null ? new Scope(CURRENT.get()) : deadline.attach();
+  }
+
+  @Override
+  public String toString() {
+    return "Deadline [remaining=" + timeRemaining(TimeUnit.MILLISECONDS) + "ms]";
+  }
+
+  /** Restores the deadline of the thread when it is closed. */
+  public static final class Scope implements AutoCloseable {
+
+    private final Deadline previous;
+
+    private Scope(Deadline previous) {
+      this.previous = previous;
+    }
+
+    @Override
+    public void close() {
+      if (previous == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(previous);
+      }
+    }
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+/**
+ * Exception thrown, or passed to the callback, when the {@link Deadline Deadline} of a request has
+ * passed before the request was sent or before its response was received.
+ */
+public class DeadlineExceededException extends ModernfitException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final boolean sent;
+
+  public DeadlineExceededException(String msg) {
+    this(msg, true);
+  }
+
+  public DeadlineExceededException(String msg, Throwable cause) {
+    this(msg, true);
+    initCause(cause);
+  }
+
+  private DeadlineExceededException(String msg, boolean sent) {
+    super(msg);
+    this.sent = sent;
+  }
+
+  /**
+   * Returns false if the request was dropped before it was sent, so the backend never saw it, or
+   * true if it may have been sent.
+   */
+  public boolean isSent() {
+    return sent;
+  }
+
+  /** Returns the exception of a request dropped because it was still waiting at its deadline. */
+  static DeadlineExceededException beforeSending(RequestInfo requestInfo) {
+    return new DeadlineExceededException("Deadline exceeded before sending "
+        + requestInfo.getHttpMethod() + " " + requestInfo.getUrl(), false);
+  }
+}
@@ -16,6 +16,9 @@
 
 package com.ygmodesto.modernfit.services;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 /**
  * This interface must be implemented by all requests other than Multipart.
  */
@@ -31,4 +34,44 @@ public interface DiscreteBody {
    * The body request as a byte array.
    */
   public byte[] getContent();
+
+  /**
+   * Writes the body request to {@code outputStream}, which is not closed. By default it writes
+   * {@link #getContent()}.
+   *
+   * @param outputStream where the body request is written.
+   * @throws IOException if the body can not be written.
+   */
+  public default void writeTo(OutputStream outputStream) throws IOException {
+    byte[] content = getContent();
+    if (content != null) {
+      outputStream.write(content);
+    }
+  }
+
+  /**
+   * Returns true if the body request is written by {@link #writeTo(OutputStream)} without being
+   * held in memory, so {@link #getContent()} should be avoided.
+   */
+  public default boolean isStreaming() {
+    return false;
+  }
+
+  /**
+   * Returns true if the body request is serialized on the first access to its content. The
+   * asynchronous requests of such a body are prepared in a thread of the
+   * {@link HttpClient HttpClient}, so the serialization does not run in the calling thread and its
+   * errors are passed to the callback.
+   */
+  public default boolean isDeferred() {
+    return false;
+  }
+
+  /**
+   * The length of the body request in bytes, or -1 if it is unknown until it is written.
+   */
+  public default long getContentLength() {
+    byte[] content = getContent();
+    return content == null ? 0 : content.length;
+  }
 }
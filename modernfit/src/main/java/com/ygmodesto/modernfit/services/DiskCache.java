@@ -0,0 +1,248 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Size bounded store of the responses of a {@link CachingHttpClient CachingHttpClient}. Each
+ * response is saved in its own file of a directory, which is memory mapped to read it back. When
+ * the size of the files exceeds the maximum, the least recently used responses are removed.
+ *
+ * <p>The files of a previous execution are reused. A directory must not be shared by two
+ * instances.
+ */
+public final class DiskCache {
+
+  private static final String ENTRY_SUFFIX = ".entry";
+  private static final String TEMPORARY_SUFFIX = ".tmp";
+
+  private final File directory;
+  private final long maxSize;
+  private final Lock lock = new ReentrantLock();
+  private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(16, 0.75f, true);
+  private long size;
+
+  /**
+   * Create a cache that stores up to {@code maxSize} bytes of responses in {@code directory}.
+   *
+   * @param directory where the responses are stored, it is created if it does not exist.
+   * @param maxSize the maximum size in bytes of the stored responses.
+   * @throws ModernfitException if the directory can not be created.
+   */
+  public static DiskCache create(File directory, long maxSize) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("maxSize <= 0: " + maxSize);
+    }
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      throw new ModernfitException("Can not create the cache directory " + directory);
+    }
+    DiskCache diskCache = new DiskCache(directory, maxSize);
+    diskCache.load();
+    return diskCache;
+  }
+
+  private DiskCache(File directory, long maxSize) {
+    this.directory = directory;
+    this.maxSize = maxSize;
+  }
+
+  /** Returns the size in bytes of the stored responses. */
+  public long size() {
+    lock.lock();
+    try {
+      return size;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public long getMaxSize() {
+    return maxSize;
+  }
+
+  /** Removes all the stored responses. */
+  public void evictAll() {
+    lock.lock();
+    try {
+      for (String name : index.keySet()) {
+        delete(name);
+      }
+      index.clear();
+      size = 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the entry stored for {@code url}, or null if there is none.
+   */
+  CacheEntry get(String url) {
+    String name = fileName(url);
+    lock.lock();
+    try {
+      if (index.get(name) == null) {
+        return null;
+      }
+      CacheEntry entry = read(new File(directory, name));
+      if (entry == null || !url.equals(entry.getUrl())) {
+        removeFile(name);
+        return null;
+      }
+      return entry;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Stores {@code entry}, replacing the previous entry for its URL. Failures are ignored since
+   * the response can be requested again.
+   */
+  void put(CacheEntry entry) {
+    byte[] bytes = entry.encode();
+    if (bytes.length > maxSize) {
+      remove(entry.getUrl());
+      return;
+    }
+
+    String name = fileName(entry.getUrl());
+    File temporary;
+    try {
+      temporary = File.createTempFile(name, TEMPORARY_SUFFIX, directory);
+      try (FileOutputStream out = new FileOutputStream(temporary)) {
+        FileContents.write(bytes, out.getChannel());
+      }
+    } catch (IOException e) {
+      return;
+    }
+
+    lock.lock();
+    try {
+      File file = new File(directory, name);
+      Long previous = index.remove(name);
+      if (previous != null) {
+        size -= previous;
+        file.delete();
+      }
+      if (temporary.renameTo(file)) {
+        index.put(name, (long) bytes.length);
+        size += bytes.length;
+        trimToSize();
+      } else {
+        temporary.delete();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Removes the entry stored for {@code url}, if any. */
+  void remove(String url) {
+    lock.lock();
+    try {
+      removeFile(fileName(url));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void load() {
+    File[] files = directory.listFiles();
+    if (files == null) {
+      return;
+    }
+    // The last modified time keeps the order of use between executions.
+    Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+    lock.lock();
+    try {
+      for (File file : files) {
+        if (file.getName().endsWith(ENTRY_SUFFIX)) {
+          index.put(file.getName(), file.length());
+          size += file.length();
+        } else if (file.getName().endsWith(TEMPORARY_SUFFIX)) {
+          file.delete();
+        }
+      }
+      trimToSize();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private CacheEntry read(File file) {
+    try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        FileChannel channel = randomAccessFile.getChannel()) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      file.setLastModified(System.currentTimeMillis());
+      return CacheEntry.decode(buffer);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  private void removeFile(String name) {
+    Long length = index.remove(name);
+    if (length != null) {
+      size -= length;
+      delete(name);
+    }
+  }
+
+  private void delete(String name) {
+    new File(directory, name).delete();
+  }
+
+  private void trimToSize() {
+    Iterator<Map.Entry<String, Long>> eldest = index.entrySet().iterator();
+    while (size > maxSize && eldest.hasNext()) {
+      Map.Entry<String, Long> entry = eldest.next();
+      size -= entry.getValue();
+      delete(entry.getKey());
+      eldest.remove();
+    }
+  }
+
+  private static String fileName(String url) {
+    try {
+      byte[] digest =
+          MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+      StringBuilder name = new StringBuilder(digest.length * 2 + ENTRY_SUFFIX.length());
+      for (byte b : digest) {
+        name.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+      }
+      return name.append(ENTRY_SUFFIX).toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new ModernfitException(e);
+    }
+  }
+}
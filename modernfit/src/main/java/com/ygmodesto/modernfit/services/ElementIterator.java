@@ -0,0 +1,94 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import com.ygmodesto.modernfit.converters.ModernfitConverterException;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An {@link Iterator} over the elements of a response body that are decoded one at a time while the
+ * body is read, so a response of any size is iterated in constant memory. The body can be a JSON
+ * array or a sequence of JSON values such as newline-delimited JSON.
+ *
+ * <p>The response is released when the last element is read, if decoding fails or when the
+ * iterator is closed, so an iterator that is not consumed to the end must be closed.
+ *
+ * @param <T> the type of the elements.
+ */
+public abstract class ElementIterator<T> implements Iterator<T>, Closeable {
+
+  private final ResponseContent responseContent;
+  private volatile boolean closed;
+
+  protected ElementIterator(ResponseContent responseContent) {
+    this.responseContent = responseContent;
+  }
+
+  /** Returns true if there is another element to read, without consuming it. */
+  protected abstract boolean hasNextElement() throws IOException;
+
+  /** Decodes the next element of the body. */
+  protected abstract T nextElement() throws IOException;
+
+  @Override
+  public boolean hasNext() throws ModernfitConverterException {
+    if (closed) {
+      return false;
+    }
+    try {
+      if (hasNextElement()) {
+        return true;
+      }
+    } catch (IOException e) {
+      close();
+      throw new ModernfitConverterException(e);
+    }
+    close();
+    return false;
+  }
+
+  @Override
+  public T next() throws ModernfitConverterException {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    try {
+      return nextElement();
+    } catch (IOException | RuntimeException e) {
+      close();
+      throw e instanceof ModernfitException
+          ? (ModernfitException) e
+          : new ModernfitConverterException(e);
+    }
+  }
+
+  /**
+   * Releases the response. The elements not yet read are discarded.
+   *
+   * @throws ModernfitException if the response can not be released.
+   */
+  @Override
+  public void close() throws ModernfitException {
+    if (!closed) {
+      closed = true;
+      responseContent.close();
+    }
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.util.function.Consumer;
+
+/**
+ * Receives the events of a method annotated with
+ * {@link com.ygmodesto.modernfit.annotations.EventStream @EventStream}.
+ *
+ * <pre><code>
+ * pricesRepository.getPrices(new EventCallback&lt;Price&gt;() {
+ *
+ *   &#64;Override
+ *   public void onEvent(Price price) {
+ *     //something
+ *   }
+ * });
+ * </code></pre>
+ *
+ * <p>The callback is notified from the thread that reads the connection, one event at a time. The
+ * stream ends with {@code onComplete} when the server answers with 204 No Content, or with
+ * {@code onFailure} when it answers with an error or an event can not be converted. Once the
+ * callback is cancelled it receives no more events.
+ *
+ * @param <T> the type of the data of the events.
+ */
+public abstract class EventCallback<T> implements Cancellable {
+
+  private volatile Cancellable cancellable;
+  private volatile boolean cancelled = false;
+
+  /**
+   * Returns a callback that passes the events to {@code onEvent}, the failure to
+   * {@code onFailure} and the end of the stream to {@code onComplete}.
+   */
+  public static <T> EventCallback<T> create(final Consumer<? super T> onEvent,
+      final Consumer<? super ModernfitException> onFailure, final Runnable onComplete) {
+    return new EventCallback<T>() {
+
+      @Override
+      public void onEvent(T event) {
+        onEvent.accept(event);
+      }
+
+      @Override
+      public void onFailure(ModernfitException e) {
+        onFailure.accept(e);
+      }
+
+      @Override
+      public void onComplete() {
+        onComplete.run();
+      }
+    };
+  }
+
+  /**
+   * Method called by the stream to register how it can be closed. If the callback has already
+   * been cancelled the stream is closed immediately.
+   */
+  public void setCancellable(Cancellable cancellable) {
+    this.cancellable = cancellable;
+    if (cancelled) {
+      cancellable.cancel();
+    }
+  }
+
+  /** Closes the connection and stops reconnecting. */
+  @Override
+  public void cancel() {
+    cancelled = true;
+    Cancellable current = cancellable;
+    if (current != null) {
+      current.cancel();
+    }
+  }
+
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Method called for each event received.
+   *
+   * @param event the data of the event converted to an object of type T.
+   */
+  public abstract void onEvent(T event);
+
+  /**
+   * Method called when the stream ends because of an error. No more events are received.
+   *
+   * @param e ModernfitException encapsulating the true causing exception.
+   */
+  public void onFailure(ModernfitException e) {}
+
+  /** Method called when the server closes the stream with 204 No Content. */
+  public void onComplete() {}
+}
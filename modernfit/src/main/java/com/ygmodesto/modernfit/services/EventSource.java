@@ -0,0 +1,275 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import com.ygmodesto.modernfit.converters.Converter;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A stream of Server-Sent Events, see
+ * {@link com.ygmodesto.modernfit.annotations.EventStream @EventStream}. It reads the events of a
+ * {@code text/event-stream} response as they arrive and passes them to an
+ * {@link EventCallback EventCallback}.
+ *
+ * <p>When the connection is lost it is opened again after the delay of the last {@code retry}
+ * field, sending the id of the last event in the {@code Last-Event-ID} header. A response with
+ * 204 No Content ends the stream, any other response that is not a successful
+ * {@code text/event-stream} ends it with a failure.
+ *
+ * <p>The connections have no deadline and, unless the method sets a read timeout with
+ * {@link com.ygmodesto.modernfit.annotations.Timeout @Timeout}, they wait for the next event
+ * without time limit. Each connection is a blocking request read in its own thread of
+ * {@link #connections()}, so an open stream does not hold a thread, or a place among the calls
+ * in flight to its host, of the dispatcher of the HTTP client.
+ *
+ * @param <T> the type of the data of the events.
+ */
+final class EventSource<T> implements Cancellable {
+
+  static final long DEFAULT_RETRY_MILLIS = 3000;
+  static final String TEXT_EVENT_STREAM = "text/event-stream";
+
+  /** Sends each connection of the stream. */
+  interface Connector {
+
+    void connect(RequestInfo requestInfo, ResponseCallback<ResponseContent> callback);
+  }
+
+  private final RequestInfo requestInfo;
+  private final Connector connector;
+  private final Converter<ResponseContent, T> converter;
+  private final EventCallback<T> callback;
+  private final AtomicBoolean closed = new AtomicBoolean();
+  private volatile Cancellable current;
+  private volatile String lastEventId;
+  private volatile long retryMillis = DEFAULT_RETRY_MILLIS;
+
+  EventSource(RequestInfo requestInfo, Connector connector,
+      Converter<ResponseContent, T> converter, EventCallback<T> callback) {
+    this.requestInfo = requestInfo;
+    this.connector = connector;
+    this.converter = converter;
+    this.callback = callback;
+  }
+
+  /** Opens the first connection of the stream. */
+  void start() {
+    callback.setCancellable(this);
+    connect();
+  }
+
+  /** Closes the connection, or the pending reconnection, without notifying the callback. */
+  @Override
+  public void cancel() {
+    if (closed.compareAndSet(false, true)) {
+      Cancellable cancellable = current;
+      if (cancellable != null) {
+        cancellable.cancel();
+      }
+    }
+  }
+
+  /** Reads the connections of all the streams, each one in its own daemon thread. */
+  static ResponseExecutors connections() {
+    return Connections.INSTANCE;
+  }
+
+  String getLastEventId() {
+    return lastEventId;
+  }
+
+  long getRetryMillis() {
+    return retryMillis;
+  }
+
+  private void connect() {
+    Connection connection = new Connection();
+    current = connection;
+    if (closed.get()) {
+      return;
+    }
+    RequestInfo.Builder builder = requestInfo.newBuilder()
+        .addHeader("Accept", TEXT_EVENT_STREAM)
+        .addHeader("Cache-Control", "no-cache")
+        .setStreaming(true)
+        .setEventStream(true)
+        .setDeadline(null);
+    String id = lastEventId;
+    if (id != null && !id.isEmpty()) {
+      builder.addHeader("Last-Event-ID", id);
+    }
+    try {
+      connector.connect(builder.build(), connection);
+    } catch (ModernfitException e) {
+      connection.notifyFailure(e);
+    }
+  }
+
+  private void reconnect() {
+    if (closed.get()) {
+      return;
+    }
+    HashedWheelTimer.Timeout timeout =
+        Timers.schedule(this::connect, retryMillis, TimeUnit.MILLISECONDS);
+    current = timeout::cancel;
+    if (closed.get()) {
+      timeout.cancel();
+    }
+  }
+
+  private void complete() {
+    if (closed.compareAndSet(false, true)) {
+      callback.onComplete();
+    }
+  }
+
+  private void fail(ModernfitException e) {
+    if (closed.compareAndSet(false, true)) {
+      callback.onFailure(e);
+    }
+  }
+
+  /**
+   * Reads the events until the end of the response. The lines can end with CR, LF or CRLF, an
+   * empty line dispatches the event, the lines starting with a colon are comments and the
+   * unknown fields are ignored.
+   */
+  private void read(ResponseContent response) throws IOException {
+    BufferedReader reader = new BufferedReader(
+        new InputStreamReader(response.getContentStream(), StandardCharsets.UTF_8));
+    StringBuilder data = new StringBuilder();
+    String line;
+    while ((line = reader.readLine()) != null && !closed.get()) {
+      if (line.isEmpty()) {
+        dispatch(response, data);
+        continue;
+      }
+      int colon = line.indexOf(':');
+      if (colon == 0) {
+        continue;
+      }
+      String field = colon < 0 ? line : line.substring(0, colon);
+      String value = colon < 0 ? "" : line.substring(colon + 1);
+      if (value.startsWith(" ")) {
+        value = value.substring(1);
+      }
+      switch (field) {
+        case "data":
+          data.append(value).append('\n');
+          break;
+        case "id":
+          if (value.indexOf('\0') < 0) {
+            lastEventId = value;
+          }
+          break;
+        case "retry":
+          if (!value.isEmpty() && value.chars().allMatch(Character::isDigit)) {
+            try {
+              retryMillis = Long.parseLong(value);
+            } catch (NumberFormatException e) {
+              // Out of range, the current delay is kept.
+            }
+          }
+          break;
+        default:
+          // The event type is not used, the events are typed by the method.
+          break;
+      }
+    }
+  }
+
+  private void dispatch(ResponseContent response, StringBuilder data) {
+    if (data.length() == 0) {
+      return;
+    }
+    byte[] content =
+        data.substring(0, data.length() - 1).getBytes(StandardCharsets.UTF_8);
+    data.setLength(0);
+    T event = converter.convert(new ResponseContent(response.getCode(), response.getHeaders(),
+        null, StandardCharsets.UTF_8, content));
+    if (!closed.get()) {
+      callback.onEvent(event);
+    }
+  }
+
+  /** The executor of the connections of all the streams. */
+  private static final class Connections {
+
+    private static final ResponseExecutors INSTANCE = ResponseExecutors.builder()
+        .setIoExecutor(Executors.newCachedThreadPool(runnable -> {
+          Thread thread = new Thread(runnable, "modernfit-event-stream");
+          thread.setDaemon(true);
+          return thread;
+        }))
+        .build();
+  }
+
+  /** One connection of the stream, a new one is used for each reconnection. */
+  private final class Connection extends ResponseCallback<ResponseContent> {
+
+    /** Cancelled from outside the stream, by {@link ConfigurationInterface#cancelAll()}. */
+    @Override
+    public void cancel() {
+      super.cancel();
+      fail(new ModernfitException(new IOException("Canceled")));
+    }
+
+    @Override
+    public void notifySuccess(ResponseContent response) {
+      if (isCancelled() || closed.get()) {
+        return;
+      }
+      int code = response.getCode();
+      if (code == 204) {
+        complete();
+        return;
+      }
+      if (code < 200 || code >= 300) {
+        fail(new ModernfitException("Event stream failed with HTTP code " + code));
+        return;
+      }
+      String contentType = response.getContentType();
+      if (contentType == null || !contentType.startsWith(TEXT_EVENT_STREAM)) {
+        fail(new ModernfitException("Event stream with Content-Type " + contentType));
+        return;
+      }
+      try {
+        read(response);
+      } catch (IOException e) {
+        // The connection was lost, it is opened again below.
+      } catch (ModernfitException e) {
+        fail(e);
+      } catch (RuntimeException e) {
+        fail(new ModernfitException(e));
+      }
+      reconnect();
+    }
+
+    @Override
+    public void notifyFailure(ModernfitException e) {
+      if (!isCancelled()) {
+        reconnect();
+      }
+    }
+  }
+}
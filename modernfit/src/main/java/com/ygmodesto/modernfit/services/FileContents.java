@@ -0,0 +1,111 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Utility class to send the content of a file without loading it in memory, shared by
+ * {@link TypedContent TypedContent} and {@link Part Part}.
+ */
+final class FileContents {
+
+  private FileContents() {}
+
+  /**
+   * Reads the whole file in a byte array.
+   *
+   * @param file to read.
+   * @return the content of the file.
+   * @throws ModernfitException if the file can not be read.
+   */
+  static byte[] read(File file) {
+
+    try (FileInputStream inputStream = new FileInputStream(file);
+        FileChannel channel = inputStream.getChannel()) {
+
+      ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+      while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+        // Read until the buffer is full.
+      }
+      return buffer.array();
+    } catch (IOException e) {
+      throw new ModernfitException(e);
+    }
+  }
+
+  /**
+   * Transfers the whole file to {@code target} using {@link FileChannel#transferTo
+   * FileChannel.transferTo}, which avoids copying through the heap when the target allows it.
+   *
+   * @param file to transfer.
+   * @param target where the file is written, it is not closed.
+   * @throws IOException if the file can not be read or written, or if it is truncated while it is
+   *     transferred, since its original size may have been sent as the length of the content.
+   */
+  static void transferTo(File file, WritableByteChannel target) throws IOException {
+
+    try (FileInputStream inputStream = new FileInputStream(file);
+        FileChannel channel = inputStream.getChannel()) {
+
+      long size = channel.size();
+      long position = 0;
+      while (position < size) {
+        long transferred = channel.transferTo(position, size - position, target);
+        if (transferred == 0) {
+          throw new IOException("The file " + file + " was truncated while it was sent, "
+              + position + " of " + size + " bytes were transferred");
+        }
+        position += transferred;
+      }
+    }
+  }
+
+  /**
+   * Transfers the whole file to {@code outputStream}.
+   *
+   * @param file to transfer.
+   * @param outputStream where the file is written, it is not closed.
+   * @throws IOException if the file can not be read or written.
+   */
+  static void transferTo(File file, OutputStream outputStream) throws IOException {
+    // The channel is not closed because it would close outputStream.
+    transferTo(file, Channels.newChannel(outputStream));
+  }
+
+  /**
+   * Writes the whole {@code content} to {@code target}.
+   *
+   * @param content to write.
+   * @param target where the content is written, it is not closed.
+   * @throws IOException if the content can not be written.
+   */
+  static void write(byte[] content, WritableByteChannel target) throws IOException {
+
+    ByteBuffer buffer = ByteBuffer.wrap(content);
+    while (buffer.hasRemaining()) {
+      target.write(buffer);
+    }
+  }
+}
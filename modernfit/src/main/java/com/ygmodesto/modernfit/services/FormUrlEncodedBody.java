@@ -25,9 +25,16 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Body of an HTTP request of type application/x-www-form-urlencoded.
+ *
+ * <p>The values of the fields are converted on the first access to the content, so the
+ * asynchronous requests convert them in a thread of the {@link HttpClient HttpClient} instead of
+ * the calling thread, see {@link #isDeferred()}. The values must not be modified until the
+ * asynchronous request completes.
  */
 public class FormUrlEncodedBody implements DiscreteBody {
 
@@ -35,26 +42,27 @@ public class FormUrlEncodedBody implements DiscreteBody {
   public static final String DEFAULT_CHARSET_VALUE = DEFAULT_CHARSET.displayName();
   private static final String MEDIA_TYPE = "application/x-www-form-urlencoded";
 
-  private Map<String, List<String>> fields;
+  private final Map<String, List<String>> fields;
+  private List<Runnable> conversions;
   private byte[] body;
+  private volatile boolean serialized;
+  private final Lock lock = new ReentrantLock();
 
   private FormUrlEncodedBody(Builder builder) {
 
     this.fields = builder.fields;
-
-    if (builder.fields.isEmpty()) {
-      return;
-    }
-
-    body = FormUrlEncoder.encode(builder.fields).getBytes();
+    this.conversions = builder.conversions;
+    this.serialized = conversions.isEmpty();
   }
 
   public Map<String, List<String>> getFields() {
+    serialize();
     return fields;
   }
 
   @Override
   public byte[] getContent() {
+    serialize();
     return body;
   }
 
@@ -63,6 +71,41 @@ public class FormUrlEncodedBody implements DiscreteBody {
     return MEDIA_TYPE;
   }
 
+  /** Returns true if the values of the fields have not been converted yet. */
+  @Override
+  public boolean isDeferred() {
+    return !serialized;
+  }
+
+  private void serialize() {
+
+    if (serialized) {
+      return;
+    }
+    lock.lock();
+    try {
+      if (serialized) {
+        return;
+      }
+      try {
+        for (Runnable conversion : conversions) {
+          conversion.run();
+        }
+      } catch (RuntimeException e) {
+        // The conversions are run again by the next access.
+        fields.clear();
+        throw e;
+      }
+      conversions = null;
+      if (!fields.isEmpty()) {
+        body = FormUrlEncoder.encode(fields).getBytes();
+      }
+      serialized = true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
   public static Builder builder() {
     return new Builder();
   }
@@ -73,6 +116,7 @@ public class FormUrlEncodedBody implements DiscreteBody {
   public static final class Builder {
 
     private Map<String, List<String>> fields = new HashMap<String, List<String>>();
+    private List<Runnable> conversions = new ArrayList<Runnable>();
 
     /**
      * Add to the builder an iterable amount of values for the field,
@@ -85,22 +129,18 @@ public class FormUrlEncodedBody implements DiscreteBody {
      */
     public <T> Builder addField(
         String field, Iterable<T> values, Converter<T, BodyContent> converter) {
-      try {
-        if (values == null) {
-          return this;
-        }
 
-        // TODO revisar si usar lista de Strings o de byte[]
-        List<String> valuesOfField = getOrCreateList(field);
+      if (values == null) {
+        return this;
+      }
 
+      // TODO revisar si usar lista de Strings o de byte[]
+      return defer(() -> {
+        List<String> valuesOfField = getOrCreateList(field);
         for (T v : values) {
-          valuesOfField.add(new String(converter.convert(v).getContent(), DEFAULT_CHARSET_VALUE));
+          valuesOfField.add(toValue(converter.convert(v)));
         }
-
-        return this;
-      } catch (UnsupportedEncodingException e) {
-        throw new ModernfitException(e);
-      }
+      });
     }
 
     /**
@@ -113,21 +153,17 @@ public class FormUrlEncodedBody implements DiscreteBody {
      * @param converter to convert from type T to BodyContent.
      */
     public <T> Builder addField(String field, T[] values, Converter<T, BodyContent> converter) {
-      try {
-        if (values == null) {
-          return this;
-        }
 
-        List<String> valuesOfField = getOrCreateList(field);
+      if (values == null) {
+        return this;
+      }
 
+      return defer(() -> {
+        List<String> valuesOfField = getOrCreateList(field);
         for (T v : values) {
-          valuesOfField.add(new String(converter.convert(v).getContent(), DEFAULT_CHARSET_VALUE));
+          valuesOfField.add(toValue(converter.convert(v)));
         }
-
-        return this;
-      } catch (UnsupportedEncodingException e) {
-        throw new ModernfitException(e);
-      }
+      });
     }
 
     /**
@@ -140,15 +176,8 @@ public class FormUrlEncodedBody implements DiscreteBody {
      * @param converter to convert from type T to BodyContent.
      */
     public <T> Builder addField(String field, T value, Converter<T, BodyContent> converter) {
-      try {
-        List<String> values = getOrCreateList(field);
-
-        values.add(new String(converter.convert(value).getContent(), DEFAULT_CHARSET_VALUE));
 
-        return this;
-      } catch (UnsupportedEncodingException e) {
-        throw new ModernfitException(e);
-      }
+      return defer(() -> getOrCreateList(field).add(toValue(converter.convert(value))));
     }
 
     
@@ -165,24 +194,17 @@ public class FormUrlEncodedBody implements DiscreteBody {
      */
     public <T> Builder addFieldNotEncoded(
         String field, Iterable<T> values, Converter<T, BodyContent> converter) {
-      try {
-        if (values == null) {
-          return this;
-        }
 
-        List<String> valuesOfField = getOrCreateList(field);
+      if (values == null) {
+        return this;
+      }
 
+      return defer(() -> {
+        List<String> valuesOfField = getOrCreateList(field);
         for (T v : values) {
-          valuesOfField.add(
-              URLEncoder.encode(
-                  new String(converter.convert(v).getContent(), DEFAULT_CHARSET_VALUE),
-                  DEFAULT_CHARSET_VALUE));
+          valuesOfField.add(encode(toValue(converter.convert(v))));
         }
-
-        return this;
-      } catch (UnsupportedEncodingException e) {
-        throw new ModernfitException(e);
-      }
+      });
     }
 
     /**
@@ -198,24 +220,17 @@ public class FormUrlEncodedBody implements DiscreteBody {
      */
     public <T> Builder addFieldNotEncoded(
         String field, T[] values, Converter<T, BodyContent> converter) {
-      try {
-        if (values == null) {
-          return this;
-        }
 
-        List<String> valuesOfField = getOrCreateList(field);
+      if (values == null) {
+        return this;
+      }
 
+      return defer(() -> {
+        List<String> valuesOfField = getOrCreateList(field);
         for (T v : values) {
-          valuesOfField.add(
-              URLEncoder.encode(
-                  new String(converter.convert(v).getContent(), DEFAULT_CHARSET_VALUE),
-                  DEFAULT_CHARSET_VALUE));
+          valuesOfField.add(encode(toValue(converter.convert(v))));
         }
-
-        return this;
-      } catch (UnsupportedEncodingException e) {
-        throw new ModernfitException(e);
-      }
+      });
     }
 
     /**
@@ -231,22 +246,12 @@ public class FormUrlEncodedBody implements DiscreteBody {
      */
     public <T> Builder addFieldNotEncoded(
         String field, T value, Converter<T, BodyContent> converter) {
-      try {
-        if (value == null) {
-          return this;
-        }
-
-        List<String> values = getOrCreateList(field);
-
-        values.add(
-            URLEncoder.encode(
-                new String(converter.convert(value).getContent(), DEFAULT_CHARSET_VALUE),
-                DEFAULT_CHARSET_VALUE));
 
+      if (value == null) {
         return this;
-      } catch (UnsupportedEncodingException e) {
-        throw new ModernfitException(e);
       }
+
+      return defer(() -> getOrCreateList(field).add(encode(toValue(converter.convert(value)))));
     }
 
     /**
@@ -286,24 +291,23 @@ public class FormUrlEncodedBody implements DiscreteBody {
     public <T> Builder addFieldMapNotEncoded(
         Map<String, T> fields, Converter<T, BodyContent> converter) {
 
-      try {
-        if (fields == null) {
-          return this;
-        }
-
-        // TODO el field key aqui se hace URLEncoded y en el addFieldNotEncoded simple no se hace --
-        // que hay que hacer?
-        for (Map.Entry<String, T> field : fields.entrySet()) {
-          addFieldNotEncoded(
-              URLEncoder.encode(field.getKey(), DEFAULT_CHARSET_VALUE),
-              field.getValue(),
-              converter);
-        }
-
+      if (fields == null) {
         return this;
-      } catch (UnsupportedEncodingException e) {
-        throw new ModernfitException(e);
       }
+
+      // TODO el field key aqui se hace URLEncoded y en el addFieldNotEncoded simple no se hace --
+      // que hay que hacer?
+      for (Map.Entry<String, T> field : fields.entrySet()) {
+        addFieldNotEncoded(encode(field.getKey()), field.getValue(), converter);
+      }
+
+      return this;
+    }
+
+    /** Adds a conversion that runs on the first access to the content of the body. */
+    private Builder defer(Runnable conversion) {
+      conversions.add(conversion);
+      return this;
     }
 
     private List<String> getOrCreateList(String field) {
@@ -317,6 +321,22 @@ public class FormUrlEncodedBody implements DiscreteBody {
       return values;
     }
 
+    private static String toValue(BodyContent bodyContent) {
+      try {
+        return new String(bodyContent.getContent(), DEFAULT_CHARSET_VALUE);
+      } catch (UnsupportedEncodingException e) {
+        throw new ModernfitException(e);
+      }
+    }
+
+    private static String encode(String value) {
+      try {
+        return URLEncoder.encode(value, DEFAULT_CHARSET_VALUE);
+      } catch (UnsupportedEncodingException e) {
+        throw new ModernfitException(e);
+      }
+    }
+
     public FormUrlEncodedBody build() {
       return new FormUrlEncodedBody(this);
     }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import com.ygmodesto.modernfit.converters.Converter;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link HttpResponseCallback HttpResponseCallback} that completes a {@link CompletableFuture
+ * CompletableFuture} with the {@link HttpInfo HttpInfo} of the response. It is used by the
+ * generated methods that return {@code CompletableFuture<HttpInfo<T>>} or
+ * {@code CompletionStage<HttpInfo<T>>}.
+ *
+ * <p>Cancelling the future cancels the underlying HTTP request.
+ *
+ * @param <T> the type of return object.
+ */
+public class FutureHttpResponseCallback<T> extends HttpResponseCallback<T> {
+
+  private final CompletableFuture<HttpInfo<T>> future =
+      new FutureResponseCallback.CancellableFuture<HttpInfo<T>>(this);
+
+  /**
+   * Build a callback that converts the response body with {@code converter}.
+   *
+   * @param converter to convert the response body.
+   */
+  public FutureHttpResponseCallback(Converter<ResponseContent, T> converter) {
+    setConverter(converter);
+  }
+
+  public CompletableFuture<HttpInfo<T>> getFuture() {
+    return future;
+  }
+
+  @Override
+  public void onSuccess(HttpInfo<T> t) {
+    future.complete(t);
+  }
+
+  @Override
+  public void onFailure(ModernfitException e) {
+    future.completeExceptionally(e);
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import com.ygmodesto.modernfit.converters.Converter;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link ResponseCallback ResponseCallback} that completes a {@link CompletableFuture
+ * CompletableFuture}. It is used by the generated methods that return {@code CompletableFuture<T>}
+ * or {@code CompletionStage<T>}, so no thread waits while the request is in flight.
+ *
+ * <p>Cancelling the future cancels the underlying HTTP request.
+ *
+ * @param <T> the type of return object.
+ */
+public class FutureResponseCallback<T> extends ResponseCallback<T> {
+
+  private final CompletableFuture<T> future = new CancellableFuture<T>(this);
+
+  /**
+   * Build a callback that converts the response with {@code converter}.
+   *
+   * @param converter to convert the response.
+   */
+  public FutureResponseCallback(Converter<ResponseContent, T> converter) {
+    setConverter(converter);
+  }
+
+  public CompletableFuture<T> getFuture() {
+    return future;
+  }
+
+  @Override
+  public void onSuccess(T t) {
+    future.complete(t);
+  }
+
+  @Override
+  public void onFailure(ModernfitException e) {
+    future.completeExceptionally(e);
+  }
+
+  /**
+   * {@link CompletableFuture CompletableFuture} that cancels the HTTP request of a
+   * {@link ResponseCallback ResponseCallback} when it is cancelled.
+   */
+  static class CancellableFuture<T> extends CompletableFuture<T> {
+
+    private final ResponseCallback<?> callback;
+
+    CancellableFuture(ResponseCallback<?> callback) {
+      this.callback = callback;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      boolean cancelled = super.cancel(mayInterruptIfRunning);
+      if (cancelled) {
+        callback.cancel();
+      }
+      return cancelled;
+    }
+  }
+}
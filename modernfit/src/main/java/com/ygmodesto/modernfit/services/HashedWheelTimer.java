@@ -0,0 +1,190 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Timer that keeps the tasks in a wheel of buckets, one for each tick, so scheduling and
+ * cancelling a task is O(1) and a single thread serves any number of them. The tasks run in the
+ * timer thread up to a tick after their delay, never before.
+ *
+ * <p>New tasks are passed to the timer thread through a lock free queue and only that thread
+ * touches the buckets. The thread parks while there are no tasks.
+ */
+final class HashedWheelTimer {
+
+  private static final Logger LOGGER = Logger.getLogger(HashedWheelTimer.class.getName());
+
+  private final long tickNanos;
+  private final int mask;
+  private final Queue<Timeout>[] wheel;
+  private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger tasks = new AtomicInteger();
+  private final AtomicBoolean started = new AtomicBoolean();
+  private final String threadName;
+  private final long origin = System.nanoTime();
+  private volatile Thread worker;
+  private long tick;
+
+  /**
+   * Create a timer.
+   *
+   * @param tickDuration the resolution of the timer.
+   * @param unit the unit of {@code tickDuration}.
+   * @param ticksPerWheel the number of buckets, rounded up to a power of two.
+   * @param threadName the name of the timer thread, started with the first task.
+   */
+  @SuppressWarnings("unchecked")
+  HashedWheelTimer(long tickDuration, TimeUnit unit, int ticksPerWheel, String threadName) {
+    this.tickNanos = unit.toNanos(tickDuration);
+    int size = Integer.highestOneBit(Math.max(1, ticksPerWheel - 1)) << 1;
+    this.mask = size - 1;
+    this.wheel = new Queue[size];
+    for (int i = 0; i < size; i++) {
+      wheel[i] = new ArrayDeque<>();
+    }
+    this.threadName = threadName;
+  }
+
+  /**
+   * Runs {@code task} after {@code delay}.
+   *
+   * @return a handle to cancel the task.
+   */
+  Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+    Timeout timeout = new Timeout(task, System.nanoTime() - origin + unit.toNanos(delay));
+    // Counted before it is visible to the timer thread, so the count is never negative.
+    boolean idle = tasks.getAndIncrement() == 0;
+    pending.add(timeout);
+    if (idle) {
+      start();
+      LockSupport.unpark(worker);
+    }
+    return timeout;
+  }
+
+  private void start() {
+    if (started.compareAndSet(false, true)) {
+      Thread thread = new Thread(this::run, threadName);
+      thread.setDaemon(true);
+      worker = thread;
+      thread.start();
+    }
+  }
+
+  private void run() {
+    tick = currentTick();
+    for (;;) {
+      if (tasks.get() == 0) {
+        LockSupport.park(this);
+        // No task was waiting, the ticks elapsed while parked can be skipped.
+        tick = currentTick();
+        continue;
+      }
+      long now = currentTick();
+      if (now < tick) {
+        LockSupport.parkNanos(this, (tick * tickNanos) - (System.nanoTime() - origin));
+        continue;
+      }
+      transferPending();
+      for (; tick <= now; tick++) {
+        expire(wheel[(int) (tick & mask)]);
+      }
+    }
+  }
+
+  private long currentTick() {
+    return (System.nanoTime() - origin) / tickNanos;
+  }
+
+  private void transferPending() {
+    Timeout timeout;
+    while ((timeout = pending.poll()) != null) {
+      if (timeout.isCancelled()) {
+        tasks.decrementAndGet();
+        continue;
+      }
+      // Rounded up, so the task never runs before its deadline.
+      long deadlineTick = Math.max(tick, (timeout.deadline + tickNanos - 1) / tickNanos);
+      timeout.rounds = (deadlineTick - tick) / wheel.length;
+      wheel[(int) (deadlineTick & mask)].add(timeout);
+    }
+  }
+
+  private void expire(Queue<Timeout> bucket) {
+    for (Iterator<Timeout> iterator = bucket.iterator(); iterator.hasNext(); ) {
+      Timeout timeout = iterator.next();
+      if (timeout.isCancelled()) {
+        iterator.remove();
+        tasks.decrementAndGet();
+      } else if (timeout.rounds > 0) {
+        timeout.rounds--;
+      } else {
+        iterator.remove();
+        tasks.decrementAndGet();
+        timeout.expire();
+      }
+    }
+  }
+
+  /** A task scheduled in the timer. */
+  static final class Timeout {
+
+    private final Runnable task;
+    private final long deadline;
+    private final AtomicBoolean done = new AtomicBoolean();
+    private long rounds;
+
+    private Timeout(Runnable task, long deadline) {
+      this.task = task;
+      this.deadline = deadline;
+    }
+
+    /**
+     * Prevents the task from running.
+     *
+     * @return false if the task has already run or was cancelled.
+     */
+    boolean cancel() {
+      return done.compareAndSet(false, true);
+    }
+
+    boolean isCancelled() {
+      return done.get();
+    }
+
+    private void expire() {
+      if (done.compareAndSet(false, true)) {
+        try {
+          task.run();
+        } catch (RuntimeException e) {
+          LOGGER.log(Level.WARNING, "Exception in timer task", e);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Defines when a request is hedged by a {@link HedgingHttpClient HedgingHttpClient}. Generated
+ * for the methods annotated with {@link com.ygmodesto.modernfit.annotations.Hedge @Hedge}.
+ */
+public class HedgePolicy {
+
+  private final long delayNanos;
+  private final double percentile;
+  private final int maxHedges;
+
+  private HedgePolicy(Builder builder) {
+    this.delayNanos = builder.delayNanos;
+    this.percentile = builder.percentile;
+    this.maxHedges = builder.maxHedges;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Returns the fixed delay before sending a duplicate, or 0 if the percentile is used. */
+  public long getDelayNanos() {
+    return delayNanos;
+  }
+
+  public double getPercentile() {
+    return percentile;
+  }
+
+  public int getMaxHedges() {
+    return maxHedges;
+  }
+
+  /**
+   * Builder class for {@link HedgePolicy HedgePolicy}.
+   */
+  public static final class Builder {
+
+    private long delayNanos;
+    private double percentile = 95;
+    private int maxHedges = 1;
+
+    /** Sets a fixed delay before sending a duplicate, 0 to use the percentile. */
+    public Builder setDelay(long delay, TimeUnit unit) {
+      if (delay < 0) {
+        throw new IllegalArgumentException("delay can not be negative");
+      }
+      this.delayNanos = unit.toNanos(delay);
+
+      return this;
+    }
+
+    /** Sets the percentile of the latencies used as delay when there is no fixed delay. */
+    public Builder setPercentile(double percentile) {
+      if (percentile <= 0 || percentile >= 100) {
+        throw new IllegalArgumentException("percentile must be between 0 and 100");
+      }
+      this.percentile = percentile;
+
+      return this;
+    }
+
+    /** Sets the maximum number of duplicates sent. */
+    public Builder setMaxHedges(int maxHedges) {
+      if (maxHedges < 1) {
+        throw new IllegalArgumentException("maxHedges must be greater than 0");
+      }
+      this.maxHedges = maxHedges;
+
+      return this;
+    }
+
+    public HedgePolicy build() {
+      return new HedgePolicy(this);
+    }
+  }
+}
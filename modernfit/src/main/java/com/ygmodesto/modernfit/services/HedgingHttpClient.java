@@ -0,0 +1,235 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link HttpClient HttpClient} that reduces the tail latency of idempotent requests by sending a
+ * duplicate when the first attempt has not answered in time, following their
+ * {@link HedgePolicy HedgePolicy}, see {@link RequestInfo#getHedgePolicy()}.
+ *
+ * <p>The first response wins and the attempts still in flight are cancelled. When the policy has
+ * no fixed delay, the client keeps a rolling estimate of the latency of each method and hedges
+ * after the configured percentile. The attempts are executed with the asynchronous methods of
+ * the delegate, so synchronous calls only block the calling thread. Requests with a streaming
+ * response and multipart requests are not hedged.
+ */
+public class HedgingHttpClient implements HttpClient {
+
+  private final HttpClient delegate;
+  private final ConcurrentMap<HedgePolicy, LatencyEstimator> estimators =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Create an instance that hedges the requests executed by {@code delegate}.
+   *
+   * @param delegate the {@link HttpClient HttpClient} that executes the requests.
+   */
+  public static HedgingHttpClient create(HttpClient delegate) {
+    return new HedgingHttpClient(delegate);
+  }
+
+  private HedgingHttpClient(HttpClient delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public ResponseContent callMethod(RequestInfo requestInfo, DiscreteBody body)
+      throws ModernfitException {
+
+    if (!isHedged(requestInfo)) {
+      return delegate.callMethod(requestInfo, body);
+    }
+
+    HedgedCall call = new HedgedCall(requestInfo, body);
+    call.send();
+    try {
+      return call.result.get();
+    } catch (InterruptedException e) {
+      call.cancel();
+      Thread.currentThread().interrupt();
+      throw new ModernfitException(e);
+    } catch (ExecutionException e) {
+      throw e.getCause() instanceof ModernfitException
+          ? (ModernfitException) e.getCause()
+          : new ModernfitException(e.getCause());
+    }
+  }
+
+  @Override
+  public <T> void callMethod(
+      RequestInfo requestInfo, DiscreteBody body, ResponseCallback<T> callback) {
+
+    if (!isHedged(requestInfo)) {
+      delegate.callMethod(requestInfo, body, callback);
+      return;
+    }
+
+    HedgedCall call = new HedgedCall(requestInfo, body);
+    call.result.whenComplete((responseContent, throwable) -> {
+      if (throwable == null) {
+        callback.notifySuccess(responseContent);
+      } else {
+        callback.notifyFailure((ModernfitException) throwable);
+      }
+    });
+    callback.setCancellable(call::cancel);
+    call.send();
+  }
+
+  @Override
+  public ResponseContent callMethod(RequestInfo requestInfo, MultipartBody body)
+      throws ModernfitException {
+    return delegate.callMethod(requestInfo, body);
+  }
+
+  @Override
+  public <T> void callMethod(
+      RequestInfo requestInfo, MultipartBody body, ResponseCallback<T> callback) {
+    delegate.callMethod(requestInfo, body, callback);
+  }
+
+  private static boolean isHedged(RequestInfo requestInfo) {
+    return requestInfo.getHedgePolicy() != null
+        && requestInfo.getHttpMethod().isIdempotent()
+        && !requestInfo.isStreaming();
+  }
+
+  /** A request and its duplicates. */
+  private final class HedgedCall {
+
+    private final RequestInfo requestInfo;
+    private final DiscreteBody body;
+    private final HedgePolicy hedgePolicy;
+    private final LatencyEstimator estimator;
+    private final CompletableFuture<ResponseContent> result = new CompletableFuture<>();
+    private final List<Attempt> attempts = new CopyOnWriteArrayList<>();
+    private final AtomicInteger sent = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final long start = System.nanoTime();
+    private volatile HashedWheelTimer.Timeout nextHedge;
+    private volatile boolean cancelled;
+
+    HedgedCall(RequestInfo requestInfo, DiscreteBody body) {
+      this.requestInfo = requestInfo;
+      this.body = body;
+      this.hedgePolicy = requestInfo.getHedgePolicy();
+      this.estimator = estimators.computeIfAbsent(
+          hedgePolicy, policy -> new LatencyEstimator(policy.getPercentile()));
+    }
+
+    void send() {
+      if (result.isDone() || cancelled) {
+        return;
+      }
+      int attemptNumber = sent.incrementAndGet();
+      if (attemptNumber > hedgePolicy.getMaxHedges() + 1) {
+        sent.decrementAndGet();
+        return;
+      }
+
+      Attempt attempt = new Attempt();
+      attempts.add(attempt);
+      if (attemptNumber <= hedgePolicy.getMaxHedges()) {
+        long delay = hedgePolicy.getDelayNanos() > 0
+            ? hedgePolicy.getDelayNanos()
+            : estimator.percentileNanos();
+        if (delay >= 0) {
+          nextHedge = Timers.schedule(this::send, delay, TimeUnit.NANOSECONDS);
+        }
+      }
+      try {
+        delegate.callMethod(requestInfo, body, attempt);
+      } catch (ModernfitException e) {
+        attempt.notifyFailure(e);
+      }
+    }
+
+    void cancel() {
+      cancelled = true;
+      cancelNextHedge();
+      for (Attempt attempt : attempts) {
+        attempt.cancel();
+      }
+    }
+
+    private void succeed(Attempt winner, ResponseContent responseContent) {
+      if (result.isDone()) {
+        responseContent.close();
+        return;
+      }
+      // Recorded before the caller is released, so its next call already sees the sample. It is
+      // measured from the first attempt, from the send of a winning hedge it would shrink the
+      // estimate and with it the delay of the next hedges.
+      estimator.record(System.nanoTime() - start);
+      if (!result.complete(responseContent)) {
+        responseContent.close();
+        return;
+      }
+      cancelNextHedge();
+      for (Attempt attempt : attempts) {
+        if (attempt != winner) {
+          attempt.cancel();
+        }
+      }
+    }
+
+    private void fail(ModernfitException e) {
+      if (result.isDone() || failed.incrementAndGet() < sent.get()) {
+        return;
+      }
+      // Every attempt sent has failed, send the next duplicate now or give up.
+      cancelNextHedge();
+      if (!cancelled && sent.get() <= hedgePolicy.getMaxHedges()) {
+        send();
+      } else {
+        result.completeExceptionally(
+            cancelled ? new ModernfitException(new IOException("Canceled")) : e);
+      }
+    }
+
+    private void cancelNextHedge() {
+      HashedWheelTimer.Timeout current = nextHedge;
+      if (current != null) {
+        current.cancel();
+      }
+    }
+
+    /** Receives the response of one of the attempts. */
+    private final class Attempt extends ResponseCallback<Void> {
+
+      @Override
+      public void notifySuccess(ResponseContent responseContent) {
+        succeed(this, responseContent);
+      }
+
+      @Override
+      public void notifyFailure(ModernfitException e) {
+        fail(e);
+      }
+    }
+  }
+}
@@ -37,6 +37,9 @@ public interface HttpClient {
    * Performing an HTTP request asynchronously using {@link ResponseCallback
    * ResponseCallback}.
    *
+   * <p>A {@link DiscreteBody#isDeferred() deferred} body may be serialized after this method
+   * returns, so the objects it was built from must not be modified until the callback is notified.
+   *
    * @param <T> the type of the object to expect in the response.
    * @param requestInfo define the URL, headers and http method.
    * @param body defines the request body of the request.
@@ -60,6 +63,9 @@ public interface HttpClient {
    * Performing a multipart HTTP request asynchronously using
    * {@link ResponseCallback ResponseCallback}.
    *
+   * <p>A {@link MultipartBody#isDeferred() deferred} body may be converted after this method
+   * returns, so the objects it was built from must not be modified until the callback is notified.
+   *
    * @param <T> the type of the object to expect in the response.
    * @param requestInfo define the URL, headers and http method.
    * @param body defines the request body of the multipart request.
@@ -28,4 +28,12 @@ public enum HttpMethod {
   OPTIONS,
   TRACE,
   PATCH;
+
+  /**
+   * Returns true if making the same request several times has the same effect as making it once,
+   * so it can be retried safely.
+   */
+  public boolean isIdempotent() {
+    return this != POST && this != PATCH;
+  }
 }
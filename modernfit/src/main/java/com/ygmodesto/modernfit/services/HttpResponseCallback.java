@@ -69,13 +69,10 @@ public class HttpResponseCallback<T> extends ResponseCallback<T> {
    */
   public void notifySuccess(ResponseContent response) {
 
-    try {
-      onSuccess(toHttpInfo(converter, response));
-    } catch (ModernfitException e) {
-      onFailure(e);
-    } catch (Exception e) {
-      onFailure(new ModernfitException(e));
+    if (notifyIfCancelled()) {
+      return;
     }
+    notifyConverted(response, () -> toHttpInfo(converter, response), this::onSuccess);
   }
 
   // TODO revisar si clase anonima de interface
@@ -89,7 +86,7 @@ public class HttpResponseCallback<T> extends ResponseCallback<T> {
 
   protected HttpInfo<T> toHttpInfo(Converter<ResponseContent, T> converter,
       ResponseContent responseContent) {
-    T value = converter.convert(responseContent);
+    T value = responseContent.convert(converter);
     return new HttpInfo<T>(responseContent.getCode(), responseContent.getHeaders(), value);
   }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The asynchronous requests in flight of a generated class, so they can be cancelled together,
+ * see {@link ConfigurationInterface#cancelAll()}.
+ *
+ * <p>The requests are cancelled through their {@link ResponseCallback ResponseCallback}, so the
+ * cancellation reaches every {@link HttpClient HttpClient} decorator on its way to the one that
+ * executes the request, and the responses that arrive later are not converted.
+ */
+final class InFlightCalls {
+
+  private final Set<TrackedCallback> calls = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Registers the request until {@code callback} has been notified.
+   *
+   * @return the callback to pass to the {@link HttpClient HttpClient}.
+   */
+  ResponseCallback<Void> track(RequestInfo requestInfo, ResponseCallback<?> callback) {
+    TrackedCallback trackedCallback = new TrackedCallback(requestInfo, callback);
+    calls.add(trackedCallback);
+    return trackedCallback;
+  }
+
+  /** Unregisters a request that could not be made, returned by {@link #track}. */
+  void untrack(ResponseCallback<Void> trackedCallback) {
+    calls.remove(trackedCallback);
+  }
+
+  /** Cancels the requests tagged with {@code tag}, or all of them if it is null. */
+  void cancelAll(Object tag) {
+    for (TrackedCallback trackedCallback : calls) {
+      if (tag == null || trackedCallback.requestInfo.hasTag(tag)) {
+        trackedCallback.cancel();
+      }
+    }
+  }
+
+  int size() {
+    return calls.size();
+  }
+
+  /** Forwards to the callback of the caller and leaves the set once it is notified. */
+  private final class TrackedCallback extends ResponseCallback<Void> {
+
+    private final RequestInfo requestInfo;
+    private final ResponseCallback<?> callback;
+
+    TrackedCallback(RequestInfo requestInfo, ResponseCallback<?> callback) {
+      this.requestInfo = requestInfo;
+      this.callback = callback;
+    }
+
+    @Override
+    public void setCancellable(Cancellable cancellable) {
+      callback.setCancellable(cancellable);
+    }
+
+    @Override
+    public void cancel() {
+      callback.cancel();
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return callback.isCancelled();
+    }
+
+    @Override
+    public void notifySuccess(ResponseContent response) {
+      // A streamed response is read by the callback, the request is in flight until it returns.
+      try {
+        callback.notifySuccess(response);
+      } finally {
+        calls.remove(this);
+      }
+    }
+
+    @Override
+    public void notifyFailure(ModernfitException e) {
+      calls.remove(this);
+      callback.notifyFailure(e);
+    }
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Estimates a percentile of the latencies of a method from its last {@value #WINDOW} requests. The
+ * percentile is recomputed every {@value #RECOMPUTE_EVERY} requests, so reading it is cheap.
+ */
+final class LatencyEstimator {
+
+  static final int WINDOW = 128;
+  static final int MIN_SAMPLES = 20;
+  static final int RECOMPUTE_EVERY = 16;
+
+  private final double percentile;
+  private final AtomicLongArray samples = new AtomicLongArray(WINDOW);
+  private final AtomicLong count = new AtomicLong();
+  private volatile long estimate = -1;
+
+  LatencyEstimator(double percentile) {
+    this.percentile = percentile;
+  }
+
+  void record(long latencyNanos) {
+    long recorded = count.incrementAndGet();
+    samples.set((int) ((recorded - 1) % WINDOW), latencyNanos);
+    if (recorded >= MIN_SAMPLES
+        && (recorded == MIN_SAMPLES || recorded % RECOMPUTE_EVERY == 0)) {
+      estimate = compute((int) Math.min(recorded, WINDOW));
+    }
+  }
+
+  /** Returns the estimated percentile in nanoseconds, or -1 if there are not enough samples. */
+  long percentileNanos() {
+    return estimate;
+  }
+
+  private long compute(int size) {
+    long[] sorted = new long[size];
+    for (int i = 0; i < size; i++) {
+      sorted[i] = samples.get(i);
+    }
+    Arrays.sort(sorted);
+    int index = (int) Math.ceil(percentile / 100 * size) - 1;
+    return sorted[Math.max(0, Math.min(size - 1, index))];
+  }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * In memory cache of the converted responses of a method, used by the generated methods annotated
+ * with {@link com.ygmodesto.modernfit.annotations.Cacheable @Cacheable}.
+ *
+ * <p>Reads do not take any lock, writes are serialized so the entries and their insertion order
+ * stay consistent. When the cache holds more than the maximum number of entries, the oldest
+ * inserted ones are removed. A stale entry is refreshed by a single background task while it keeps
+ * being returned, and a refresh that completes after the entry was invalidated is discarded.
+ *
+ * @param <T> the type of the cached responses.
+ */
+public final class MethodCache<T> {
+
+  private final long ttlNanos;
+  private final long staleNanos;
+  private final int maxEntries;
+  private final ConcurrentMap<Object, Entry<T>> entries = new ConcurrentHashMap<>();
+  private final Set<Object> insertionOrder = new LinkedHashSet<>();
+  private final Lock lock = new ReentrantLock();
+
+  /**
+   * Create a cache.
+   *
+   * @param <T> the type of the cached responses.
+   * @param ttl the time an entry is fresh.
+   * @param staleWhileRevalidate the time a stale entry is returned while it is refreshed.
+   * @param unit of {@code ttl} and {@code staleWhileRevalidate}.
+   * @param maxEntries the maximum number of entries.
+   */
+  public static <T> MethodCache<T> create(
+      long ttl, long staleWhileRevalidate, TimeUnit unit, int maxEntries) {
+    return new MethodCache<T>(ttl, staleWhileRevalidate, unit, maxEntries);
+  }
+
+  /**
+   * Returns the key for the arguments of a call. Arrays are compared by their content.
+   *
+   * @param arguments of the call.
+   */
+  public static Object key(Object[] arguments) {
+    return new Key(arguments);
+  }
+
+  private MethodCache(long ttl, long staleWhileRevalidate, TimeUnit unit, int maxEntries) {
+    if (ttl <= 0) {
+      throw new IllegalArgumentException("ttl must be greater than 0");
+    }
+    if (staleWhileRevalidate < 0) {
+      throw new IllegalArgumentException("staleWhileRevalidate must not be negative");
+    }
+    if (maxEntries <= 0) {
+      throw new IllegalArgumentException("maxEntries must be greater than 0");
+    }
+    this.ttlNanos = unit.toNanos(ttl);
+    this.staleNanos = unit.toNanos(staleWhileRevalidate);
+    this.maxEntries = maxEntries;
+  }
+
+  /**
+   * Returns the cached response for {@code key}, using {@code loader} to obtain it if there is no
+   * fresh one.
+   *
+   * @param key of the call, see {@link #key(Object[])}.
+   * @param loader makes the request and converts the response.
+   * @return the response.
+   * @throws ModernfitException thrown by {@code loader}.
+   */
+  public T get(Object key, Supplier<T> loader) {
+
+    long now = System.nanoTime();
+    Entry<T> entry = entries.get(key);
+    if (entry != null) {
+      long age = now - entry.loadedAt;
+      if (age < ttlNanos) {
+        return entry.value;
+      }
+      if (age < ttlNanos + staleNanos) {
+        refresh(key, entry, loader);
+        return entry.value;
+      }
+    }
+
+    T value = loader.get();
+    put(key, new Entry<T>(value, now));
+    return value;
+  }
+
+  /** Removes the cached response for {@code key}. */
+  public void invalidate(Object key) {
+    lock.lock();
+    try {
+      entries.remove(key);
+      insertionOrder.remove(key);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Removes all the cached responses. */
+  public void invalidateAll() {
+    lock.lock();
+    try {
+      entries.clear();
+      insertionOrder.clear();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  private void refresh(Object key, Entry<T> entry, Supplier<T> loader) {
+
+    if (!entry.refreshing.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      RefreshExecutor.INSTANCE.execute(() -> {
+        try {
+          long loadedAt = System.nanoTime();
+          replace(key, entry, new Entry<T>(loader.get(), loadedAt));
+        } catch (RuntimeException e) {
+          // The stale response is kept until it expires.
+          entry.refreshing.set(false);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      entry.refreshing.set(false);
+    }
+  }
+
+  private void put(Object key, Entry<T> entry) {
+
+    lock.lock();
+    try {
+      entries.put(key, entry);
+      insertionOrder.add(key);
+      Iterator<Object> eldest = insertionOrder.iterator();
+      while (entries.size() > maxEntries && eldest.hasNext()) {
+        entries.remove(eldest.next());
+        eldest.remove();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Replaces the refreshed entry, unless it was invalidated or replaced in the meantime. */
+  private void replace(Object key, Entry<T> stale, Entry<T> refreshed) {
+
+    lock.lock();
+    try {
+      entries.replace(key, stale, refreshed);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** A cached response. */
+  private static final class Entry<T> {
+
+    private final T value;
+    private final long loadedAt;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    Entry(T value, long loadedAt) {
+      this.value = value;
+      this.loadedAt = loadedAt;
+    }
+  }
+
+  /** The arguments of a call, compared by content. */
+  private static final class Key {
+
+    private final Object[] arguments;
+    private final int hashCode;
+
+    Key(Object[] arguments) {
+      this.arguments = arguments;
+      this.hashCode = Arrays.deepHashCode(arguments);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof Key && Arrays.deepEquals(arguments, ((Key) obj).arguments);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  /** Daemon threads that refresh the stale responses of all the caches. */
+  private static final class RefreshExecutor {
+
+    private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "modernfit-cache-refresh");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+}
@@ -18,25 +18,63 @@ import com.ygmodesto.modernfit.converters.Converter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 /**
  * Multipart type HTTP request body. Composed of several {@link Part Part}.
+ *
+ * <p>The parts that need a converter are converted on the first call to {@link #getParts()}, so
+ * the asynchronous requests convert them in a thread of the {@link HttpClient HttpClient} instead
+ * of the calling thread, see {@link #isDeferred()}. The values of those parts must not be modified
+ * until the asynchronous request completes.
  */
 public class MultipartBody {
 
-  private List<Part> parts;
+  private final List<Supplier<Part>> partSuppliers;
+  private final boolean deferred;
+  private volatile List<Part> parts;
+  private final Lock lock = new ReentrantLock();
 
   private MultipartBody(Builder builder) {
 
-    this.parts = builder.parts;
+    this.partSuppliers = builder.parts;
+    this.deferred = builder.deferred;
   }
 
+  /**
+   * Returns the parts of the body, converting them the first time it is called.
+   *
+   * @throws ModernfitException if a part can not be converted.
+   */
   public List<Part> getParts() {
-    return parts;
+    List<Part> result = parts;
+    if (result == null) {
+      lock.lock();
+      try {
+        result = parts;
+        if (result == null) {
+          result = new ArrayList<>(partSuppliers.size());
+          for (Supplier<Part> part : partSuppliers) {
+            result.add(part.get());
+          }
+          parts = result;
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+    return result;
   }
 
   public boolean isEmpty() {
-    return this.parts.isEmpty();
+    return this.partSuppliers.isEmpty();
+  }
+
+  /** Returns true if some part has to be converted by a converter and has not been yet. */
+  public boolean isDeferred() {
+    return deferred && parts == null;
   }
 
   public static Builder builder() {
@@ -48,7 +86,8 @@ public class MultipartBody {
    */
   public static final class Builder {
 
-    private List<Part> parts = new ArrayList<>();
+    private List<Supplier<Part>> parts = new ArrayList<>();
+    private boolean deferred;
 
     /**
      * Add to the builder a part identified by field. In addition, a converter is passed to convert
@@ -66,8 +105,9 @@ public class MultipartBody {
         return this;
       }
 
-      parts.add(new Part(field,
+      parts.add(() -> new Part(field,
           OneObjectDiscreteBody.<T>builder().addBody(value).addConverter(converter).build()));
+      deferred = true;
 
       return this;
     }
@@ -109,8 +149,8 @@ public class MultipartBody {
       }
 
       String name = typedContent.getName() == null ? field : typedContent.getName();
-      parts.add(new Part(name, typedContent.getFileName(), typedContent.getContentType(),
-          typedContent.getContent()));
+      Part part = new Part(name, typedContent);
+      parts.add(() -> part);
 
       return this;
     }
@@ -131,8 +171,8 @@ public class MultipartBody {
 
       for (TypedContent typedContent : typedContents) {
         String name = typedContent.getName() == null ? field : typedContent.getName();
-        parts.add(new Part(name, typedContent.getFileName(), typedContent.getContentType(),
-            typedContent.getContent()));
+        Part part = new Part(name, typedContent);
+        parts.add(() -> part);
       }
 
       return this;
@@ -154,8 +194,8 @@ public class MultipartBody {
 
       for (TypedContent typedContent : typedContents) {
         String name = typedContent.getName() == null ? field : typedContent.getName();
-        parts.add(new Part(name, typedContent.getFileName(), typedContent.getContentType(),
-            typedContent.getContent()));
+        Part part = new Part(name, typedContent);
+        parts.add(() -> part);
       }
 
       return this;
@@ -17,33 +17,86 @@
 package com.ygmodesto.modernfit.services;
 
 import com.ygmodesto.modernfit.converters.Converter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Represents a discrete body (not Multipart) of an HTTP request for a data type T.
+ *
+ * <p>The body object is serialized on the first access to the content, so the asynchronous
+ * requests serialize it in a thread of the {@link HttpClient HttpClient} instead of the calling
+ * thread, see {@link #isDeferred()}. The body object is serialized as it is at that moment, so it
+ * must not be modified until the asynchronous request completes.
  */
 public class OneObjectDiscreteBody<T> implements DiscreteBody {
 
-  private Converter<T, BodyContent> converter;
-  private String contentType;
-  private byte[] content;
+  private final Converter<T, BodyContent> converter;
+  private final String contentType;
+  private T body;
+  private volatile BodyContent bodyContent;
+  private final Lock lock = new ReentrantLock();
 
   private OneObjectDiscreteBody(Builder<T> builder) {
 
     this.converter = builder.converter;
-    BodyContent bodyContent = this.converter.convert(builder.body);
-    this.contentType =
-        builder.contentType == null ? bodyContent.getContentType() : builder.contentType;
-    this.content = bodyContent.getContent();
+    this.contentType = builder.contentType;
+    this.body = builder.body;
+    if (body == null) {
+      // There is nothing to serialize.
+      this.bodyContent = converter.convert(null);
+    }
   }
 
   @Override
   public byte[] getContent() {
-    return content;
+    return bodyContent().getContent();
+  }
+
+  @Override
+  public void writeTo(OutputStream outputStream) throws IOException {
+    bodyContent().writeTo(outputStream);
+  }
+
+  @Override
+  public boolean isStreaming() {
+    return bodyContent().isStreaming();
+  }
+
+  @Override
+  public long getContentLength() {
+    return bodyContent().getContentLength();
   }
 
   @Override
   public String getContentType() {
-    return contentType;
+    return contentType == null ? bodyContent().getContentType() : contentType;
+  }
+
+  /** Returns true if the body object has not been serialized yet. */
+  @Override
+  public boolean isDeferred() {
+    return bodyContent == null;
+  }
+
+  private BodyContent bodyContent() {
+    BodyContent current = bodyContent;
+    if (current == null) {
+      // A lock rather than a monitor, so a converter does not pin the carrier of a virtual thread.
+      lock.lock();
+      try {
+        current = bodyContent;
+        if (current == null) {
+          current = converter.convert(body);
+          bodyContent = current;
+          body = null;
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+    return current;
   }
 
   public static <T> Builder<T> builder() {
@@ -16,8 +16,14 @@
 
 package com.ygmodesto.modernfit.services;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+
 /**
- * Represents a Part of a Multipart request.
+ * Represents a Part of a Multipart request. The content is held in memory or, when it is built
+ * from a {@link File File}, streamed from disk when the request is sent.
  */
 public class Part {
 
@@ -25,6 +31,7 @@ public class Part {
   private String fileName;
   private String contentType;
   private byte[] content;
+  private File file;
 
   public Part() {}
 
@@ -44,6 +51,23 @@ public class Part {
     this.content = content;
   }
 
+  /**
+   * Build a Part whose content is the file {@code file}. The file is not read until the request
+   * is sent.
+   *
+   * @param name The name of the field in the multipart form corresponding to this part.
+   * @param fileName the fileName of the field in the multipart form corresponding to this part.
+   *        fileName can be null.
+   * @param contentType the content-type in the multipart form corresponding to this part.
+   * @param file the file with the content of this part.
+   */
+  public Part(String name, String fileName, String contentType, File file) {
+    this.name = name;
+    this.fileName = fileName;
+    this.contentType = contentType;
+    this.file = file;
+  }
+
   /**
    * Build a Part from a name and {@link OneObjectDiscreteBody OneObjectDiscreteBody} object.
    *
@@ -63,10 +87,25 @@ public class Part {
    * @param typedContent all fields encapsulated in a {@link TypedContent TypedContent}.
    */
   public Part(TypedContent typedContent) {
-    this.name = typedContent.getName();
+    this(typedContent.getName(), typedContent);
+  }
+
+  /**
+   * Build a Part from a name and a {@link TypedContent TypedContent} object. A file backed
+   * TypedContent is not read.
+   *
+   * @param name The name of the field in the multipart form corresponding to this part.
+   * @param typedContent the rest of fields encapsulated in a {@link TypedContent TypedContent}.
+   */
+  public Part(String name, TypedContent typedContent) {
+    this.name = name;
     this.fileName = typedContent.getFileName();
     this.contentType = typedContent.getContentType();
-    this.content = typedContent.getContent();
+    if (typedContent.isStreaming()) {
+      this.file = typedContent.getFile();
+    } else {
+      this.content = typedContent.getContent();
+    }
   }
 
   public String getName() {
@@ -93,11 +132,69 @@ public class Part {
     this.contentType = contentType;
   }
 
+  /**
+   * Returns the content as a byte array. If the Part is backed by a file the whole file is read,
+   * so prefer {@link #writeTo(OutputStream)} for large files.
+   *
+   * @throws ModernfitException if the file can not be read.
+   */
   public byte[] getContent() {
-    return content;
+    return file == null ? content : FileContents.read(file);
   }
 
   public void setContent(byte[] content) {
     this.content = content;
+    this.file = null;
+  }
+
+  public File getFile() {
+    return file;
+  }
+
+  public void setFile(File file) {
+    this.file = file;
+    this.content = null;
+  }
+
+  /** Returns true if the content is backed by a file and streamed from disk. */
+  public boolean isStreaming() {
+    return file != null;
+  }
+
+  /** Returns the length of the content in bytes, without reading the file if there is one. */
+  public long getContentLength() {
+    if (file != null) {
+      return file.length();
+    }
+    return content == null ? 0 : content.length;
+  }
+
+  /**
+   * Writes the content to {@code outputStream}, which is not closed.
+   *
+   * @param outputStream where the content is written.
+   * @throws IOException if the content can not be written.
+   */
+  public void writeTo(OutputStream outputStream) throws IOException {
+    if (file != null) {
+      FileContents.transferTo(file, outputStream);
+    } else if (content != null) {
+      outputStream.write(content);
+    }
+  }
+
+  /**
+   * Writes the content to {@code channel}, which is not closed. File backed content is transferred
+   * with {@link java.nio.channels.FileChannel#transferTo FileChannel.transferTo}.
+   *
+   * @param channel where the content is written.
+   * @throws IOException if the content can not be written.
+   */
+  public void writeTo(WritableByteChannel channel) throws IOException {
+    if (file != null) {
+      FileContents.transferTo(file, channel);
+    } else if (content != null) {
+      FileContents.write(content, channel);
+    }
   }
 }
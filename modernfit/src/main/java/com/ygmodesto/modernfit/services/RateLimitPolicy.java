@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Defines the rate of the requests in a {@link RateLimitingHttpClient RateLimitingHttpClient}.
+ * Generated for the methods annotated with
+ * {@link com.ygmodesto.modernfit.annotations.RateLimit @RateLimit}, or whose interface is
+ * annotated.
+ */
+public class RateLimitPolicy {
+
+  private final int permits;
+  private final long periodNanos;
+  private final boolean failFast;
+
+  private RateLimitPolicy(Builder builder) {
+    this.permits = builder.permits;
+    this.periodNanos = builder.periodNanos;
+    this.failFast = builder.failFast;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public int getPermits() {
+    return permits;
+  }
+
+  public long getPeriodNanos() {
+    return periodNanos;
+  }
+
+  /** Returns true if the requests over the limit fail instead of waiting. */
+  public boolean isFailFast() {
+    return failFast;
+  }
+
+  /**
+   * Builder class for {@link RateLimitPolicy RateLimitPolicy}.
+   */
+  public static final class Builder {
+
+    private int permits = 1;
+    private long periodNanos = TimeUnit.SECONDS.toNanos(1);
+    private boolean failFast;
+
+    /** Sets the number of requests allowed every {@code period}. */
+    public Builder setRate(int permits, long period, TimeUnit unit) {
+      if (permits <= 0 || period <= 0) {
+        throw new IllegalArgumentException("permits and period must be greater than 0");
+      }
+      this.permits = permits;
+      this.periodNanos = unit.toNanos(period);
+
+      return this;
+    }
+
+    /** Sets if the requests over the limit fail instead of waiting. */
+    public Builder setFailFast(boolean failFast) {
+      this.failFast = failFast;
+
+      return this;
+    }
+
+    public RateLimitPolicy build() {
+      return new RateLimitPolicy(this);
+    }
+  }
+}
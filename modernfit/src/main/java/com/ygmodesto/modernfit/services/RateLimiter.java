@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock free token bucket of a {@link RateLimitPolicy RateLimitPolicy}, implemented as a generic
+ * cell rate algorithm: the bucket is a single theoretical arrival time, advanced with a CAS by
+ * each request, that is at most a full bucket ahead of the clock.
+ */
+final class RateLimiter {
+
+  private final long interval;
+  private final long tolerance;
+  private final long origin = System.nanoTime();
+  private final AtomicLong arrival = new AtomicLong();
+
+  RateLimiter(RateLimitPolicy policy) {
+    this.interval = Math.max(1, policy.getPeriodNanos() / policy.getPermits());
+    this.tolerance = interval * (policy.getPermits() - 1);
+  }
+
+  /**
+   * Reserves a permit.
+   *
+   * @return the nanoseconds to wait before using the permit, zero if it can be used now.
+   */
+  long reserve() {
+    return reserve(Long.MAX_VALUE);
+  }
+
+  /**
+   * Reserves a permit if it can be used within {@code maxWaitNanos}.
+   *
+   * @return the nanoseconds to wait before using the permit, or -1, without reserving it, if the
+   *     wait would be longer than {@code maxWaitNanos}.
+   */
+  long reserve(long maxWaitNanos) {
+    for (;;) {
+      long current = arrival.get();
+      long now = System.nanoTime() - origin;
+      long start = Math.max(current, now);
+      long wait = Math.max(0, start - tolerance - now);
+      if (wait > maxWaitNanos) {
+        return -1;
+      }
+      if (arrival.compareAndSet(current, start + interval)) {
+        return wait;
+      }
+    }
+  }
+
+  /**
+   * Takes a permit if it can be used now.
+   *
+   * @return false, without taking it, if the request has to wait.
+   */
+  boolean tryAcquire() {
+    for (;;) {
+      long current = arrival.get();
+      long now = System.nanoTime() - origin;
+      long start = Math.max(current, now);
+      if (start - tolerance > now) {
+        return false;
+      }
+      if (arrival.compareAndSet(current, start + interval)) {
+        return true;
+      }
+    }
+  }
+}
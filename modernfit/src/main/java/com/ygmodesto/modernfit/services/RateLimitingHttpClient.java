@@ -0,0 +1,172 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link HttpClient HttpClient} that limits the rate of the requests executed by another
+ * HttpClient following their {@link RateLimitPolicy RateLimitPolicy}, see
+ * {@link RequestInfo#getRateLimitPolicy()}.
+ *
+ * <p>There is a token bucket for each policy, which the generated classes create for each
+ * annotated interface or method. A request over the limit waits for its turn, synchronous calls in
+ * the calling thread and asynchronous calls on a timer, so no thread is parked for them. If the
+ * policy is {@link RateLimitPolicy#isFailFast() fail fast} the request fails instead with a
+ * {@link RateLimitExceededException RateLimitExceededException}, thrown by the synchronous methods
+ * and passed to the callback by the asynchronous ones. A request whose turn would come after its
+ * {@link RequestInfo#getDeadline() deadline} fails immediately with a
+ * {@link DeadlineExceededException DeadlineExceededException}, without taking a permit.
+ */
+public class RateLimitingHttpClient implements HttpClient {
+
+  private final HttpClient delegate;
+  private final ConcurrentMap<RateLimitPolicy, RateLimiter> rateLimiters =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Create an instance that limits the rate of the requests executed by {@code delegate}.
+   *
+   * @param delegate the {@link HttpClient HttpClient} that executes the requests.
+   */
+  public static RateLimitingHttpClient create(HttpClient delegate) {
+    return new RateLimitingHttpClient(delegate);
+  }
+
+  private RateLimitingHttpClient(HttpClient delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public ResponseContent callMethod(RequestInfo requestInfo, DiscreteBody body)
+      throws ModernfitException {
+
+    acquire(requestInfo);
+    return delegate.callMethod(requestInfo, body);
+  }
+
+  @Override
+  public <T> void callMethod(
+      RequestInfo requestInfo, DiscreteBody body, ResponseCallback<T> callback) {
+
+    schedule(requestInfo, callback, () -> delegate.callMethod(requestInfo, body, callback));
+  }
+
+  @Override
+  public ResponseContent callMethod(RequestInfo requestInfo, MultipartBody body)
+      throws ModernfitException {
+
+    acquire(requestInfo);
+    return delegate.callMethod(requestInfo, body);
+  }
+
+  @Override
+  public <T> void callMethod(
+      RequestInfo requestInfo, MultipartBody body, ResponseCallback<T> callback) {
+
+    schedule(requestInfo, callback, () -> delegate.callMethod(requestInfo, body, callback));
+  }
+
+  private RateLimiter rateLimiter(RequestInfo requestInfo) {
+    RateLimitPolicy policy = requestInfo.getRateLimitPolicy();
+    return policy == null ? null : rateLimiters.computeIfAbsent(policy, RateLimiter::new);
+  }
+
+  private void acquire(RequestInfo requestInfo) {
+
+    RateLimiter rateLimiter = rateLimiter(requestInfo);
+    if (rateLimiter == null) {
+      return;
+    }
+    if (requestInfo.getRateLimitPolicy().isFailFast()) {
+      if (!rateLimiter.tryAcquire()) {
+        throw exceededException(requestInfo);
+      }
+      return;
+    }
+    long delay = reserve(rateLimiter, requestInfo);
+    if (delay < 0) {
+      throw DeadlineExceededException.beforeSending(requestInfo);
+    }
+    try {
+      TimeUnit.NANOSECONDS.sleep(delay);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ModernfitException(e);
+    }
+  }
+
+  private void schedule(RequestInfo requestInfo, ResponseCallback<?> callback, Runnable call) {
+
+    RateLimiter rateLimiter = rateLimiter(requestInfo);
+    if (rateLimiter == null) {
+      call.run();
+      return;
+    }
+    if (requestInfo.getRateLimitPolicy().isFailFast()) {
+      if (rateLimiter.tryAcquire()) {
+        call.run();
+      } else {
+        callback.notifyFailure(exceededException(requestInfo));
+      }
+      return;
+    }
+    long delay = reserve(rateLimiter, requestInfo);
+    if (delay < 0) {
+      callback.notifyFailure(DeadlineExceededException.beforeSending(requestInfo));
+      return;
+    }
+    if (delay == 0) {
+      call.run();
+      return;
+    }
+    // Installed before the timer can send the call, which then registers its own cancellable.
+    AtomicBoolean pending = new AtomicBoolean(true);
+    callback.setCancellable(() -> {
+      if (pending.compareAndSet(true, false)) {
+        callback.notifyFailure(new ModernfitException(new IOException("Canceled")));
+      }
+    });
+    Timers.schedule(() -> {
+      if (!pending.compareAndSet(true, false)) {
+        return;
+      }
+      try {
+        call.run();
+      } catch (ModernfitException e) {
+        callback.notifyFailure(e);
+      }
+    }, delay, TimeUnit.NANOSECONDS);
+  }
+
+  /** Reserves a permit usable before the deadline of the request, returns -1 if there is none. */
+  private static long reserve(RateLimiter rateLimiter, RequestInfo requestInfo) {
+    Deadline deadline = requestInfo.getDeadline();
+    return deadline == null
+        ? rateLimiter.reserve()
+        : rateLimiter.reserve(deadline.timeRemaining(TimeUnit.NANOSECONDS));
+  }
+
+  private static RateLimitExceededException exceededException(RequestInfo requestInfo) {
+    return new RateLimitExceededException(
+        "Rate limit exceeded for " + requestInfo.getHttpMethod() + " " + requestInfo.getUrl());
+  }
+}
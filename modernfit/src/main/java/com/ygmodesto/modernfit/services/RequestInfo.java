@@ -18,13 +18,16 @@ package com.ygmodesto.modernfit.services;
 
 import com.ygmodesto.modernfit.converters.Converter;
 import java.io.UnsupportedEncodingException;
+import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Saves all the information of a request that is not from the body.
@@ -37,11 +40,33 @@ public class RequestInfo {
   private HttpMethod httpMethod;
   private Map<String, String> headers;
   private String url;
+  private boolean streaming;
+  private boolean eventStream;
+  private boolean singleFlight;
+  private RetryPolicy retryPolicy;
+  private HedgePolicy hedgePolicy;
+  private CircuitBreakerPolicy circuitBreakerPolicy;
+  private BulkheadPolicy bulkheadPolicy;
+  private RateLimitPolicy rateLimitPolicy;
+  private TimeoutPolicy timeoutPolicy;
+  private Deadline deadline;
+  private List<Object> tags;
 
   private RequestInfo(Builder builder) {
 
     this.httpMethod = builder.httpMethod;
     this.headers = builder.headers;
+    this.streaming = builder.streaming;
+    this.eventStream = builder.eventStream;
+    this.singleFlight = builder.singleFlight;
+    this.retryPolicy = builder.retryPolicy;
+    this.hedgePolicy = builder.hedgePolicy;
+    this.circuitBreakerPolicy = builder.circuitBreakerPolicy;
+    this.bulkheadPolicy = builder.bulkheadPolicy;
+    this.rateLimitPolicy = builder.rateLimitPolicy;
+    this.timeoutPolicy = builder.timeoutPolicy;
+    this.deadline = builder.deadline;
+    this.tags = builder.tags;
 
     StringBuilder stringBuilder = new StringBuilder(builder.urlBuilder);
     if ((builder.parameters != null) && (!builder.parameters.isEmpty())) {
@@ -55,6 +80,32 @@ public class RequestInfo {
     return new Builder().setBaseUrl(url);
   }
 
+  /**
+   * Returns a builder initialized with the URL, method, headers and flags of this request, used by
+   * the {@link HttpClient HttpClient} decorators to derive a new request from it.
+   */
+  public Builder newBuilder() {
+    Builder builder = baseUrl(url)
+        .addHttpMethod(httpMethod)
+        .addHeaders(headers)
+        .setStreaming(streaming)
+        .setEventStream(eventStream)
+        .setSingleFlight(singleFlight)
+        .setRetryPolicy(retryPolicy)
+        .setHedgePolicy(hedgePolicy)
+        .setCircuitBreakerPolicy(circuitBreakerPolicy)
+        .setBulkheadPolicy(bulkheadPolicy)
+        .setRateLimitPolicy(rateLimitPolicy)
+        .setTimeoutPolicy(timeoutPolicy)
+        .setDeadline(deadline);
+    if (tags != null) {
+      for (Object tag : tags) {
+        builder.addTag(tag);
+      }
+    }
+    return builder;
+  }
+
   public HttpMethod getHttpMethod() {
     return httpMethod;
   }
@@ -67,6 +118,112 @@ public class RequestInfo {
     return url;
   }
 
+  /**
+   * Returns the scheme and authority of the URL, {@code scheme://host[:port]}, which identifies
+   * the server of the request. Returns the whole URL if it can not be parsed.
+   */
+  public String getOrigin() {
+    try {
+      URI uri = URI.create(url);
+      return uri.getScheme() + "://" + uri.getAuthority();
+    } catch (IllegalArgumentException e) {
+      return url;
+    }
+  }
+
+  /**
+   * Returns true if the response body must be handed to the converter as a stream instead of
+   * being buffered in memory.
+   */
+  public boolean isStreaming() {
+    return streaming;
+  }
+
+  /**
+   * Returns true if the request opens a long-lived stream of Server-Sent Events, which has no
+   * read timeout by default.
+   */
+  public boolean isEventStream() {
+    return eventStream;
+  }
+
+  /**
+   * Returns true if the request can be coalesced with identical requests in flight by a
+   * {@link SingleFlightHttpClient SingleFlightHttpClient}.
+   */
+  public boolean isSingleFlight() {
+    return singleFlight;
+  }
+
+  /**
+   * Returns how the request is retried by a {@link RetryingHttpClient RetryingHttpClient}, or
+   * null if it is not retried.
+   */
+  public RetryPolicy getRetryPolicy() {
+    return retryPolicy;
+  }
+
+  /**
+   * Returns when the request is hedged by a {@link HedgingHttpClient HedgingHttpClient}, or null
+   * if it is not hedged.
+   */
+  public HedgePolicy getHedgePolicy() {
+    return hedgePolicy;
+  }
+
+  /**
+   * Returns when the circuit of the request is opened by a
+   * {@link CircuitBreakerHttpClient CircuitBreakerHttpClient}, or null if it has no circuit.
+   */
+  public CircuitBreakerPolicy getCircuitBreakerPolicy() {
+    return circuitBreakerPolicy;
+  }
+
+  /**
+   * Returns the lane of the request in a {@link BulkheadHttpClient BulkheadHttpClient}, or null if
+   * it is not isolated.
+   */
+  public BulkheadPolicy getBulkheadPolicy() {
+    return bulkheadPolicy;
+  }
+
+  /**
+   * Returns the rate of the request in a {@link RateLimitingHttpClient RateLimitingHttpClient}, or
+   * null if it is not limited.
+   */
+  public RateLimitPolicy getRateLimitPolicy() {
+    return rateLimitPolicy;
+  }
+
+  /** Returns the timeouts of the request, or null to use the ones of the HTTP client. */
+  public TimeoutPolicy getTimeoutPolicy() {
+    return timeoutPolicy;
+  }
+
+  /**
+   * Returns the instant by which the request must complete, or null if it has none. It is the
+   * earliest of the {@link Deadline#current() deadline of the calling thread} and the call timeout
+   * of the {@link #getTimeoutPolicy() TimeoutPolicy}.
+   */
+  public Deadline getDeadline() {
+    return deadline;
+  }
+
+  /** Returns the tags of the request, empty if it has none. */
+  public List<Object> getTags() {
+    return tags == null ? Collections.emptyList() : Collections.unmodifiableList(tags);
+  }
+
+  /** Returns true if the request is tagged with an object equal to {@code tag}. */
+  public boolean hasTag(Object tag) {
+    return tags != null && tags.contains(tag);
+  }
+
+  /** Returns true if the request has a deadline that has passed. */
+  public boolean isDeadlineExpired() {
+    return deadline != null && deadline.isExpired();
+  }
+
   @Override
   public String toString() {
     return "RequestInfo [httpMethod=" + httpMethod + ", headers=" + headers + ", url=" + url + "]";
@@ -81,6 +238,18 @@ public class RequestInfo {
     private HttpMethod httpMethod;
     private Map<String, String> headers = new HashMap<>();
     private Map<String, List<String>> parameters = new HashMap<>();
+    private boolean streaming;
+    private boolean eventStream;
+    private boolean singleFlight;
+    private RetryPolicy retryPolicy;
+    private HedgePolicy hedgePolicy;
+    private CircuitBreakerPolicy circuitBreakerPolicy;
+    private BulkheadPolicy bulkheadPolicy;
+    private RateLimitPolicy rateLimitPolicy;
+    private TimeoutPolicy timeoutPolicy;
+    private Deadline deadline;
+    private boolean deadlineSet;
+    private List<Object> tags;
 
     /**
      * Sets url constant starting part of url.
@@ -147,6 +316,123 @@ public class RequestInfo {
       return this;
     }
 
+    /**
+     * Sets if the response body is read as a stream. Used for methods annotated with
+     * {@link com.ygmodesto.modernfit.annotations.Streaming @Streaming}.
+     */
+    public Builder setStreaming(boolean streaming) {
+      this.streaming = streaming;
+
+      return this;
+    }
+
+    /**
+     * Sets if the request opens a stream of Server-Sent Events. Used for methods annotated with
+     * {@link com.ygmodesto.modernfit.annotations.EventStream @EventStream}.
+     */
+    public Builder setEventStream(boolean eventStream) {
+      this.eventStream = eventStream;
+
+      return this;
+    }
+
+    /**
+     * Sets if the request can be coalesced with identical requests in flight. Used for methods
+     * annotated with {@link com.ygmodesto.modernfit.annotations.SingleFlight @SingleFlight}.
+     */
+    public Builder setSingleFlight(boolean singleFlight) {
+      this.singleFlight = singleFlight;
+
+      return this;
+    }
+
+    /**
+     * Sets how the request is retried. Used for methods annotated with
+     * {@link com.ygmodesto.modernfit.annotations.Retry @Retry}.
+     */
+    public Builder setRetryPolicy(RetryPolicy retryPolicy) {
+      this.retryPolicy = retryPolicy;
+
+      return this;
+    }
+
+    /**
+     * Sets when the request is hedged. Used for methods annotated with
+     * {@link com.ygmodesto.modernfit.annotations.Hedge @Hedge}.
+     */
+    public Builder setHedgePolicy(HedgePolicy hedgePolicy) {
+      this.hedgePolicy = hedgePolicy;
+
+      return this;
+    }
+
+    /**
+     * Sets when the circuit of the request is opened. Used for methods annotated with
+     * {@link com.ygmodesto.modernfit.annotations.CircuitBreaker @CircuitBreaker}.
+     */
+    public Builder setCircuitBreakerPolicy(CircuitBreakerPolicy circuitBreakerPolicy) {
+      this.circuitBreakerPolicy = circuitBreakerPolicy;
+
+      return this;
+    }
+
+    /**
+     * Sets the lane of the request. Used for methods annotated with
+     * {@link com.ygmodesto.modernfit.annotations.Bulkhead @Bulkhead}, or whose interface is.
+     */
+    public Builder setBulkheadPolicy(BulkheadPolicy bulkheadPolicy) {
+      this.bulkheadPolicy = bulkheadPolicy;
+
+      return this;
+    }
+
+    /**
+     * Sets the rate of the request. Used for methods annotated with
+     * {@link com.ygmodesto.modernfit.annotations.RateLimit @RateLimit}, or whose interface is.
+     */
+    public Builder setRateLimitPolicy(RateLimitPolicy rateLimitPolicy) {
+      this.rateLimitPolicy = rateLimitPolicy;
+
+      return this;
+    }
+
+    /**
+     * Sets the timeouts of the request. Used for methods annotated with
+     * {@link com.ygmodesto.modernfit.annotations.Timeout @Timeout}, or whose interface is.
+     */
+    public Builder setTimeoutPolicy(TimeoutPolicy timeoutPolicy) {
+      this.timeoutPolicy = timeoutPolicy;
+
+      return this;
+    }
+
+    /**
+     * Tags the request, so it can be cancelled with the other requests with the same tag. Used for
+     * parameters annotated with {@link com.ygmodesto.modernfit.annotations.Tag @Tag}. A null tag
+     * is ignored.
+     */
+    public Builder addTag(Object tag) {
+      if (tag != null) {
+        if (tags == null) {
+          tags = new ArrayList<>(1);
+        }
+        tags.add(tag);
+      }
+
+      return this;
+    }
+
+    /**
+     * Sets the deadline of the request. By default it is computed when the request is built from
+     * the deadline of the calling thread and the {@link TimeoutPolicy TimeoutPolicy}.
+     */
+    public Builder setDeadline(Deadline deadline) {
+      this.deadline = deadline;
+      this.deadlineSet = true;
+
+      return this;
+    }
+
     /**
      * Add a header for this request. Used for parameters annotated with {@link
      * com.ygmodesto.modernfit.annotations.Header @Header}.
@@ -399,6 +685,13 @@ public class RequestInfo {
       assert httpMethod != null : "httpMethod == null";
       assert urlBuilder != null : "baseUrl == null";
 
+      if (!deadlineSet) {
+        deadline = Deadline.current();
+        if (timeoutPolicy != null && timeoutPolicy.getCallNanos() > 0) {
+          deadline = Deadline.after(timeoutPolicy.getCallNanos(), TimeUnit.NANOSECONDS)
+              .minimum(deadline);
+        }
+      }
       return new RequestInfo(this);
     }
 
@@ -17,8 +17,11 @@
 package com.ygmodesto.modernfit.services;
 
 import com.ygmodesto.modernfit.converters.Converter;
+import java.io.IOException;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 // TODO change the name.
 // TODO es necesario obligar a reescribir los metodos ?
@@ -61,12 +64,27 @@ import java.lang.reflect.Type;
  *  }
  *  </code></pre>
  *
+ * <p>The method can also return the callback as a {@link Cancellable Cancellable} handle. Once the
+ * request is cancelled its response is not converted and {@code onFailure} receives the
+ * cancellation instead.
+ *
+ * <pre>
+ *
+ *  {@code Cancellable updateFoo(@Body FooUpdate fooUpdate,
+ *      ResponseCallback<Foo> responseCallback);}
+ *
+ *  </pre>
+ *
  * @param <T> the type of return object.
  */
-public class ResponseCallback<T> {
+public class ResponseCallback<T> implements Cancellable {
 
   protected Converter<ResponseContent, T> converter;
 
+  private volatile Cancellable cancellable;
+  private volatile boolean cancelled = false;
+  private volatile ResponseExecutors executors;
+
   /**
    * Constructs a new type literal. Derives represented class from type parameter.
    *
@@ -92,11 +110,52 @@ public class ResponseCallback<T> {
     return converter;
   }
 
+  /**
+   * Method called by an {@link HttpClient HttpClient} to register how the request can be
+   * cancelled. If the callback has already been cancelled the request is cancelled immediately.
+   */
+  public void setCancellable(Cancellable cancellable) {
+    this.cancellable = cancellable;
+    if (cancelled) {
+      cancellable.cancel();
+    }
+  }
+
+  /**
+   * Cancels the HTTP request, if the {@link HttpClient HttpClient} supports it. A response that
+   * arrives after the cancellation is not converted.
+   */
+  @Override
+  public void cancel() {
+    cancelled = true;
+    Cancellable current = cancellable;
+    if (current != null) {
+      current.cancel();
+    }
+  }
+
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Sets the executors that convert the response and notify the callback, see
+   * {@link ConfigurationInterface#setResponseExecutors(ResponseExecutors)}.
+   */
+  void setResponseExecutors(ResponseExecutors executors) {
+    this.executors = executors;
+  }
+
   /**
    * Method called by an {@link HttpClient HttpClient} in case of failure of the HTTP request.
    */
   public void notifyFailure(ModernfitException e) {
-    onFailure(e);
+    ResponseExecutors current = executors;
+    if (current == null) {
+      onFailure(e);
+    } else {
+      deliver(current, () -> onFailure(e));
+    }
   }
 
   /**
@@ -104,8 +163,56 @@ public class ResponseCallback<T> {
    */
   public void notifySuccess(ResponseContent response) {
 
+    if (notifyIfCancelled()) {
+      return;
+    }
+    notifyConverted(response, () -> response.convert(converter), this::onSuccess);
+  }
+
+  /**
+   * Converts the response with {@code conversion} and passes the result to {@code onSuccess}, or
+   * the exception thrown to {@link #onFailure(ModernfitException)}. The conversion and the
+   * notification run in the executors of the interface, if any, unless the response is streamed.
+   */
+  protected <V> void notifyConverted(ResponseContent response, Supplier<V> conversion,
+      Consumer<? super V> onSuccess) {
+
+    ResponseExecutors current = response.isStreaming() ? null : executors;
+    if (current == null) {
+      notifyValue(onSuccess, conversion);
+      return;
+    }
+    try {
+      current.convert(() -> {
+        try {
+          V value = conversion.get();
+          deliver(current, () -> notifyValue(onSuccess, () -> value));
+        } catch (ModernfitException e) {
+          deliver(current, () -> onFailure(e));
+        } catch (Exception e) {
+          deliver(current, () -> onFailure(new ModernfitException(e)));
+        }
+      });
+    } catch (ModernfitException rejected) {
+      deliver(current, () -> onFailure(rejected));
+    }
+  }
+
+  /**
+   * Runs {@code notification} in the callback executor. If the executor rejects it, the rejection
+   * is passed to {@link #onFailure(ModernfitException)} in this thread instead.
+   */
+  private void deliver(ResponseExecutors current, Runnable notification) {
+    try {
+      current.deliver(notification);
+    } catch (ModernfitException rejected) {
+      onFailure(rejected);
+    }
+  }
+
+  private <V> void notifyValue(Consumer<? super V> onSuccess, Supplier<V> value) {
     try {
-      onSuccess(converter.convert(response));
+      onSuccess.accept(value.get());
     } catch (ModernfitException e) {
       onFailure(e);
     } catch (Exception e) {
@@ -113,6 +220,20 @@ public class ResponseCallback<T> {
     }
   }
 
+  /**
+   * Notifies the cancellation instead of the response of a cancelled request, so it is not
+   * converted.
+   *
+   * @return true if the request was cancelled.
+   */
+  protected boolean notifyIfCancelled() {
+    if (!isCancelled()) {
+      return false;
+    }
+    notifyFailure(new ModernfitException(new IOException("Canceled")));
+    return true;
+  }
+
   // TODO revisar si clase anonima de interface
   /**
    * Method to be overridden if an object of type T is expected to be received in response.
@@ -16,20 +16,36 @@
 
 package com.ygmodesto.modernfit.services;
 
+import com.ygmodesto.modernfit.converters.Converter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Represents an http response.
+ *
+ * <p>The body can be held in memory as a {@code byte[]} or, for methods annotated with
+ * {@link com.ygmodesto.modernfit.annotations.Streaming @Streaming}, backed by an
+ * {@link InputStream} that is read only once and must be closed after use.
  */
-public class ResponseContent {
+public class ResponseContent implements Closeable {
+
+  private static final int BUFFER_SIZE = 8192;
 
   private int code;
   private Map<String, String> headers;
   private String contentType;
   private Charset charset;
   private byte[] content;
+  private InputStream contentStream;
+  private volatile ConcurrentMap<Converter<ResponseContent, ?>, Conversion> conversions;
 
   /**
    * Build an object ResponseContent from its fields.
@@ -50,6 +66,22 @@ public class ResponseContent {
     this.content = content;
   }
 
+  /**
+   * Build an object ResponseContent whose body is read from a stream.
+   *
+   * @param code HTTP code of the response.
+   * @param headers HTTP headers of the response.
+   * @param contentType HTTP Content-Type of the response.
+   * @param charset of the response.
+   * @param contentStream the stream of the response body, closed by {@link #close()}.
+   */
+  public ResponseContent(int code, Map<String, String> headers, String contentType,
+      Charset charset, InputStream contentStream) {
+
+    this(code, headers, contentType, charset, (byte[]) null);
+    this.contentStream = contentStream;
+  }
+
   public int getCode() {
     return code;
   }
@@ -57,11 +89,64 @@ public class ResponseContent {
   public Map<String, String> getHeaders() {
     return headers;
   }
-  
+
+  /**
+   * Returns the body of the response. If the response is backed by a stream, the stream is fully
+   * read and closed, so prefer {@link #getContentStream()} for large bodies.
+   */
   public byte[] getContent() {
+    if (contentStream != null) {
+      content = readAndClose(contentStream);
+      contentStream = null;
+    }
     return content;
   }
 
+  /**
+   * Returns the body of the response as a stream. A stream backed response can only be consumed
+   * once.
+   */
+  public InputStream getContentStream() {
+    if (contentStream != null) {
+      return contentStream;
+    }
+    return content == null ? null : new ByteArrayInputStream(content);
+  }
+
+  /** Returns true if the body of the response has not been buffered and is read from a stream. */
+  public boolean isStreaming() {
+    return contentStream != null;
+  }
+
+  /**
+   * Converts the response with {@code converter}. If the response is shared by several callers,
+   * see {@link SingleFlightHttpClient SingleFlightHttpClient}, it is converted only once for each
+   * converter and all the callers receive the same object.
+   *
+   * @param <T> the type of the converted object.
+   * @param converter to convert the response.
+   * @return the converted response.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T convert(Converter<ResponseContent, T> converter) {
+    ConcurrentMap<Converter<ResponseContent, ?>, Conversion> current = conversions;
+    if (current == null) {
+      return converter.convert(this);
+    }
+    return (T) current.computeIfAbsent(converter, key -> new Conversion(converter.convert(this)))
+        .value;
+  }
+
+  /**
+   * Marks the response as shared by several callers. A shared response must hold its body in
+   * memory.
+   */
+  void share() {
+    if (conversions == null) {
+      conversions = new ConcurrentHashMap<>();
+    }
+  }
+
   public String getContentType() {
     return contentType;
   }
@@ -71,6 +156,46 @@ public class ResponseContent {
   }
 
   public String getContentAsString() {
-    return new String(content, charset);
+    return new String(getContent(), charset);
+  }
+
+  /**
+   * Releases the stream backing the body of the response, if any.
+   *
+   * @throws ModernfitException if the stream can not be closed.
+   */
+  @Override
+  public void close() throws ModernfitException {
+    if (contentStream != null) {
+      try {
+        contentStream.close();
+      } catch (IOException e) {
+        throw new ModernfitException(e);
+      }
+    }
+  }
+
+  private static byte[] readAndClose(InputStream inputStream) {
+    try (InputStream in = inputStream;
+        ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+      byte[] buffer = new byte[BUFFER_SIZE];
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        out.write(buffer, 0, read);
+      }
+      return out.toByteArray();
+    } catch (IOException e) {
+      throw new ModernfitException(e);
+    }
+  }
+
+  /** Holds a converted response, which may be null. */
+  private static final class Conversion {
+
+    private final Object value;
+
+    Conversion(Object value) {
+      this.value = value;
+    }
   }
 }
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * The executors that take the work of the asynchronous responses of an interface off the threads
+ * of its {@link HttpClient HttpClient}, see
+ * {@link ConfigurationInterface#setResponseExecutors(ResponseExecutors)}.
+ *
+ * <ul>
+ * <li>The I/O executor makes the request and reads its response as a blocking call, instead of
+ * the dispatcher of the client.</li>
+ * <li>The conversion executor converts the response. A bounded {@code ForkJoinPool} lets the
+ * decoding of large bodies scale across the cores, apart from the concurrency of the network.</li>
+ * <li>The callback executor delivers the converted response, or the failure, to the callback.</li>
+ * </ul>
+ *
+ * <p>Each executor is optional, without it the work runs in the thread of the previous step. A
+ * request rejected by the I/O executor fails with a {@link ModernfitException ModernfitException}
+ * caused by the {@link RejectedExecutionException RejectedExecutionException}. A conversion
+ * rejected by its executor passes that failure to the callback, through the callback executor. A
+ * notification rejected by the callback executor is replaced by that failure, which is passed to
+ * the callback in the rejected thread, since no other thread can notify it. The responses of
+ * the methods annotated with {@link com.ygmodesto.modernfit.annotations.Streaming @Streaming}, or
+ * whose elements are decoded one at a time, are converted and delivered in the thread that reads
+ * them, since their body is only readable there.
+ *
+ * <p>The tasks run with the deadline of the request attached, see {@link Deadline Deadline}.
+ */
+public class ResponseExecutors {
+
+  private final Stage io;
+  private final Stage conversion;
+  private final Stage callback;
+
+  private ResponseExecutors(Builder builder) {
+    this.io = Stage.of(builder.ioExecutor);
+    this.conversion = Stage.of(builder.conversionExecutor);
+    this.callback = Stage.of(builder.callbackExecutor);
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Returns the number of requests waiting for a thread of the I/O executor. */
+  public int getIoQueueDepth() {
+    return io == null ? 0 : io.queued.get();
+  }
+
+  /** Returns the number of responses waiting for a thread of the conversion executor. */
+  public int getConversionQueueDepth() {
+    return conversion == null ? 0 : conversion.queued.get();
+  }
+
+  /** Returns the number of notifications waiting for a thread of the callback executor. */
+  public int getCallbackQueueDepth() {
+    return callback == null ? 0 : callback.queued.get();
+  }
+
+  boolean hasIoExecutor() {
+    return io != null;
+  }
+
+  /**
+   * Makes {@code request} as a blocking call in the I/O executor and notifies {@code callback},
+   * which can cancel it before it starts or while it is in flight, see
+   * {@link BlockingCancellation BlockingCancellation}.
+   */
+  void read(RequestInfo requestInfo, Supplier<ResponseContent> request,
+      ResponseCallback<?> callback) {
+
+    BlockingCancellation cancellation = new BlockingCancellation();
+    Read read = new Read(requestInfo, request, callback, cancellation);
+    callback.setCancellable(() -> {
+      cancellation.cancel();
+      read.cancel(true);
+    });
+    try {
+      io.execute(read);
+    } catch (RejectedExecutionException e) {
+      throw new ModernfitException(e);
+    }
+  }
+
+  /**
+   * Runs the conversion of a response in the conversion executor.
+   *
+   * @throws ModernfitException if the conversion executor rejects it.
+   */
+  void convert(Runnable task) {
+    run(conversion, task);
+  }
+
+  /**
+   * Runs the notification of a callback in the callback executor.
+   *
+   * @throws ModernfitException if the callback executor rejects it.
+   */
+  void deliver(Runnable task) {
+    run(callback, task);
+  }
+
+  private static void run(Stage stage, Runnable task) {
+    if (stage == null) {
+      task.run();
+      return;
+    }
+    try {
+      stage.execute(task);
+    } catch (RejectedExecutionException e) {
+      throw new ModernfitException(e);
+    }
+  }
+
+  /**
+   * A blocking request in the I/O executor. A request cancelled before it starts is notified
+   * here, as it never runs.
+   */
+  private static final class Read extends FutureTask<Void> {
+
+    private final ResponseCallback<?> callback;
+    private final AtomicBoolean notified;
+
+    Read(RequestInfo requestInfo, Supplier<ResponseContent> request,
+        ResponseCallback<?> callback, BlockingCancellation cancellation) {
+      this(requestInfo, request, callback, cancellation, new AtomicBoolean());
+    }
+
+    private Read(RequestInfo requestInfo, Supplier<ResponseContent> request,
+        ResponseCallback<?> callback, BlockingCancellation cancellation, AtomicBoolean notified) {
+      super(() -> {
+        if (!notified.compareAndSet(false, true)) {
+          return;
+        }
+        // A streaming body is only readable while the callback is running.
+        try (Deadline.Scope scope = Deadline.attach(requestInfo.getDeadline());
+            BlockingCancellation.Scope cancellationScope = cancellation.attach();
+            ResponseContent responseContent = request.get()) {
+          callback.notifySuccess(responseContent);
+        } catch (ModernfitException e) {
+          callback.notifyFailure(e);
+        } catch (RuntimeException e) {
+          callback.notifyFailure(new ModernfitException(e));
+        }
+      }, null);
+      this.callback = callback;
+      this.notified = notified;
+    }
+
+    @Override
+    protected void done() {
+      if (isCancelled() && notified.compareAndSet(false, true)) {
+        callback.notifyFailure(new ModernfitException(new IOException("Canceled")));
+      }
+    }
+  }
+
+  /** An executor that counts the tasks waiting for a thread. */
+  private static final class Stage implements Executor {
+
+    private final Executor executor;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private Stage(Executor executor) {
+      this.executor = executor;
+    }
+
+    static Stage of(Executor executor) {
+      return executor == null ? null : new Stage(executor);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+      Deadline deadline = Deadline.current();
+      queued.incrementAndGet();
+      try {
+        executor.execute(() -> {
+          queued.decrementAndGet();
+          try (Deadline.Scope scope = Deadline.attach(deadline)) {
+            task.run();
+          }
+        });
+      } catch (RuntimeException e) {
+        queued.decrementAndGet();
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Builder class for {@link ResponseExecutors ResponseExecutors}.
+   */
+  public static final class Builder {
+
+    private Executor ioExecutor;
+    private Executor conversionExecutor;
+    private Executor callbackExecutor;
+
+    /** Sets the executor that makes the requests and reads their responses. */
+    public Builder setIoExecutor(Executor ioExecutor) {
+      this.ioExecutor = ioExecutor;
+
+      return this;
+    }
+
+    /** Sets the executor that converts the responses. */
+    public Builder setConversionExecutor(Executor conversionExecutor) {
+      this.conversionExecutor = conversionExecutor;
+
+      return this;
+    }
+
+    /** Sets the executor that delivers the responses and the failures to the callbacks. */
+    public Builder setCallbackExecutor(Executor callbackExecutor) {
+      this.callbackExecutor = callbackExecutor;
+
+      return this;
+    }
+
+    public ResponseExecutors build() {
+      return new ResponseExecutors(this);
+    }
+  }
+}
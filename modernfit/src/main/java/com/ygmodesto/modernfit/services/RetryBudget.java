@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits the number of retries to a ratio of the requests, so that retrying can not multiply the
+ * load of a server that is already failing.
+ *
+ * <p>Each request deposits {@code ratio} tokens and each retry withdraws one. So that clients with
+ * few requests can also retry, {@code minRetriesPerSecond} tokens are deposited every second. The
+ * balance can not exceed the tokens deposited in ten seconds at that minimum rate, which allows
+ * bursts of retries after a period without failures.
+ */
+public final class RetryBudget {
+
+  private static final long SCALE = 1000;
+  private static final long WINDOW_SECONDS = 10;
+
+  private final long deposit;
+  private final long minPerSecond;
+  private final long capacity;
+  private final AtomicLong balance;
+  private final AtomicLong lastRefill;
+
+  /**
+   * Create a budget.
+   *
+   * @param ratio the number of retries allowed for each request, for example 0.2.
+   * @param minRetriesPerSecond the number of retries allowed every second regardless of the
+   *     number of requests.
+   */
+  public static RetryBudget create(double ratio, int minRetriesPerSecond) {
+    if (ratio < 0 || minRetriesPerSecond < 0) {
+      throw new IllegalArgumentException("ratio and minRetriesPerSecond can not be negative");
+    }
+    return new RetryBudget(ratio, minRetriesPerSecond);
+  }
+
+  /** Create a budget that allows 20% of retries and at least 10 retries per second. */
+  public static RetryBudget create() {
+    return create(0.2, 10);
+  }
+
+  private RetryBudget(double ratio, int minRetriesPerSecond) {
+    this.deposit = (long) (ratio * SCALE);
+    this.minPerSecond = minRetriesPerSecond * SCALE;
+    this.capacity = Math.max(1, minRetriesPerSecond) * WINDOW_SECONDS * SCALE;
+    this.balance = new AtomicLong(minPerSecond * WINDOW_SECONDS);
+    this.lastRefill = new AtomicLong(System.nanoTime());
+  }
+
+  /** Called for each request, before its first attempt. */
+  public void deposit() {
+    add(deposit);
+  }
+
+  /**
+   * Called before each retry.
+   *
+   * @return true if the retry is allowed.
+   */
+  public boolean tryWithdraw() {
+    refill();
+    long current;
+    do {
+      current = balance.get();
+      if (current < SCALE) {
+        return false;
+      }
+    } while (!balance.compareAndSet(current, current - SCALE));
+    return true;
+  }
+
+  /** Returns the number of retries currently allowed. */
+  public int getAvailable() {
+    refill();
+    return (int) (balance.get() / SCALE);
+  }
+
+  private void refill() {
+    long now = System.nanoTime();
+    long last = lastRefill.get();
+    long earned = (long) ((double) (now - last) * minPerSecond / TimeUnit.SECONDS.toNanos(1));
+    if (earned > 0 && lastRefill.compareAndSet(last, now)) {
+      add(earned);
+    }
+  }
+
+  private void add(long amount) {
+    balance.accumulateAndGet(amount, (current, added) -> Math.min(capacity, current + added));
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Defines when and how often a request is retried by a
+ * {@link RetryingHttpClient RetryingHttpClient}. Generated for the methods annotated with
+ * {@link com.ygmodesto.modernfit.annotations.Retry @Retry}.
+ */
+public class RetryPolicy {
+
+  private final int maxAttempts;
+  private final long backoffNanos;
+  private final long maxBackoffNanos;
+  private final List<Class<? extends Throwable>> retryOn;
+  private final Set<Integer> retryOnStatus;
+  private final boolean idempotentOnly;
+
+  private RetryPolicy(Builder builder) {
+    this.maxAttempts = builder.maxAttempts;
+    this.backoffNanos = builder.backoffNanos;
+    this.maxBackoffNanos = builder.maxBackoffNanos;
+    this.retryOn = builder.retryOn;
+    this.retryOnStatus = builder.retryOnStatus;
+    this.idempotentOnly = builder.idempotentOnly;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  /** Returns true if requests with {@code httpMethod} can be retried. */
+  public boolean canRetry(HttpMethod httpMethod) {
+    return !idempotentOnly || httpMethod.isIdempotent();
+  }
+
+  /**
+   * Returns true if {@code throwable}, or any of its causes, is one of the retried exceptions. A
+   * {@link DeadlineExceededException DeadlineExceededException} is never retried, since there is
+   * no time left for another attempt.
+   */
+  public boolean isRetryable(Throwable throwable) {
+    if (throwable instanceof DeadlineExceededException) {
+      return false;
+    }
+    for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+      for (Class<? extends Throwable> retryable : retryOn) {
+        if (retryable.isInstance(cause)) {
+          return true;
+        }
+      }
+      if (cause.getCause() == cause) {
+        break;
+      }
+    }
+    return false;
+  }
+
+  /** Returns true if the responses with the HTTP status {@code code} are retried. */
+  public boolean isRetryable(int code) {
+    return retryOnStatus.contains(code);
+  }
+
+  /**
+   * Returns the time to wait before the attempt number {@code attempt + 1}, random between zero
+   * and the exponential backoff of {@code attempt}.
+   *
+   * @param attempt the number of the attempt that failed, starting at 1.
+   * @return the time in nanoseconds.
+   */
+  public long backoffNanos(int attempt) {
+    long ceiling = backoffNanos;
+    for (int i = 1; i < attempt && ceiling < maxBackoffNanos; i++) {
+      ceiling <<= 1;
+    }
+    ceiling = Math.min(ceiling, maxBackoffNanos);
+    return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+  }
+
+  /**
+   * Builder class for {@link RetryPolicy RetryPolicy}.
+   */
+  public static final class Builder {
+
+    private int maxAttempts = 3;
+    private long backoffNanos = TimeUnit.MILLISECONDS.toNanos(100);
+    private long maxBackoffNanos = TimeUnit.SECONDS.toNanos(10);
+    private List<Class<? extends Throwable>> retryOn = new ArrayList<>();
+    private Set<Integer> retryOnStatus = new HashSet<>();
+    private boolean idempotentOnly = true;
+
+    /** Sets the maximum number of attempts, including the first one. */
+    public Builder setMaxAttempts(int maxAttempts) {
+      if (maxAttempts < 1) {
+        throw new IllegalArgumentException("maxAttempts must be greater than 0");
+      }
+      this.maxAttempts = maxAttempts;
+
+      return this;
+    }
+
+    /** Sets the base and the maximum time between attempts. */
+    public Builder setBackoff(long backoff, long maxBackoff, TimeUnit unit) {
+      this.backoffNanos = unit.toNanos(backoff);
+      this.maxBackoffNanos = unit.toNanos(maxBackoff);
+
+      return this;
+    }
+
+    /** Adds an exception that is retried when it is thrown or is the cause of the failure. */
+    public Builder addRetryOn(Class<? extends Throwable> retryOn) {
+      this.retryOn.add(retryOn);
+
+      return this;
+    }
+
+    /** Adds an HTTP status code whose responses are retried. */
+    public Builder addRetryOnStatus(int code) {
+      this.retryOnStatus.add(code);
+
+      return this;
+    }
+
+    /** Sets if only idempotent HTTP methods are retried. */
+    public Builder setIdempotentOnly(boolean idempotentOnly) {
+      this.idempotentOnly = idempotentOnly;
+
+      return this;
+    }
+
+    public RetryPolicy build() {
+      return new RetryPolicy(this);
+    }
+  }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * {@link HttpClient HttpClient} that retries the failed requests executed by another HttpClient
+ * following their {@link RetryPolicy RetryPolicy}, see {@link RequestInfo#getRetryPolicy()}.
+ *
+ * <p>The generated classes wrap their HttpClient with this one when a method is annotated with
+ * {@link com.ygmodesto.modernfit.annotations.Retry @Retry}. Synchronous calls wait between
+ * attempts in the calling thread, while asynchronous retries are scheduled on a timer so the
+ * threads of the HTTP client are never blocked. All the retries are limited by a
+ * {@link RetryBudget RetryBudget}. The request body is written again on each attempt.
+ *
+ * <p>A request is not retried once its {@link RequestInfo#getDeadline() deadline} is exceeded,
+ * nor when the wait before the next attempt would end after it.
+ */
+public class RetryingHttpClient implements HttpClient {
+
+  private final HttpClient delegate;
+  private final RetryBudget budget;
+
+  /**
+   * Create an instance that retries the requests executed by {@code delegate} with a default
+   * {@link RetryBudget RetryBudget}.
+   *
+   * @param delegate the {@link HttpClient HttpClient} that executes the requests.
+   */
+  public static RetryingHttpClient create(HttpClient delegate) {
+    return new RetryingHttpClient(delegate, RetryBudget.create());
+  }
+
+  /**
+   * Create an instance that retries the requests executed by {@code delegate}.
+   *
+   * @param delegate the {@link HttpClient HttpClient} that executes the requests.
+   * @param budget limits the retries, it can be shared by several clients.
+   */
+  public static RetryingHttpClient create(HttpClient delegate, RetryBudget budget) {
+    return new RetryingHttpClient(delegate, budget);
+  }
+
+  private RetryingHttpClient(HttpClient delegate, RetryBudget budget) {
+    this.delegate = delegate;
+    this.budget = budget;
+  }
+
+  public RetryBudget getBudget() {
+    return budget;
+  }
+
+  @Override
+  public ResponseContent callMethod(RequestInfo requestInfo, DiscreteBody body)
+      throws ModernfitException {
+
+    if (!isRetried(requestInfo)) {
+      return delegate.callMethod(requestInfo, body);
+    }
+    return execute(requestInfo, () -> delegate.callMethod(requestInfo, body));
+  }
+
+  @Override
+  public <T> void callMethod(
+      RequestInfo requestInfo, DiscreteBody body, ResponseCallback<T> callback) {
+
+    if (!isRetried(requestInfo)) {
+      delegate.callMethod(requestInfo, body, callback);
+      return;
+    }
+    budget.deposit();
+    new RetryCallback(requestInfo, callback,
+        retryCallback -> delegate.callMethod(requestInfo, body, retryCallback)).attempt();
+  }
+
+  @Override
+  public ResponseContent callMethod(RequestInfo requestInfo, MultipartBody body)
+      throws ModernfitException {
+
+    if (!isRetried(requestInfo)) {
+      return delegate.callMethod(requestInfo, body);
+    }
+    return execute(requestInfo, () -> delegate.callMethod(requestInfo, body));
+  }
+
+  @Override
+  public <T> void callMethod(
+      RequestInfo requestInfo, MultipartBody body, ResponseCallback<T> callback) {
+
+    if (!isRetried(requestInfo)) {
+      delegate.callMethod(requestInfo, body, callback);
+      return;
+    }
+    budget.deposit();
+    new RetryCallback(requestInfo, callback,
+        retryCallback -> delegate.callMethod(requestInfo, body, retryCallback)).attempt();
+  }
+
+  private static boolean isRetried(RequestInfo requestInfo) {
+    RetryPolicy retryPolicy = requestInfo.getRetryPolicy();
+    return retryPolicy != null
+        && retryPolicy.getMaxAttempts() > 1
+        && retryPolicy.canRetry(requestInfo.getHttpMethod());
+  }
+
+  /** Returns true if a wait of {@code backoffNanos} ends before the deadline of the request. */
+  private static boolean isBeforeDeadline(RequestInfo requestInfo, long backoffNanos) {
+    Deadline deadline = requestInfo.getDeadline();
+    return deadline == null || backoffNanos < deadline.timeRemaining(TimeUnit.NANOSECONDS);
+  }
+
+  private ResponseContent execute(RequestInfo requestInfo, Supplier<ResponseContent> call) {
+
+    RetryPolicy retryPolicy = requestInfo.getRetryPolicy();
+    budget.deposit();
+    for (int attempt = 1; ; attempt++) {
+      ResponseContent responseContent;
+      try {
+        responseContent = call.get();
+      } catch (ModernfitException e) {
+        long backoffNanos = retryPolicy.backoffNanos(attempt);
+        if (attempt >= retryPolicy.getMaxAttempts()
+            || !retryPolicy.isRetryable(e)
+            || !isBeforeDeadline(requestInfo, backoffNanos)
+            || !budget.tryWithdraw()) {
+          throw e;
+        }
+        sleep(backoffNanos);
+        continue;
+      }
+      long backoffNanos = retryPolicy.backoffNanos(attempt);
+      if (attempt >= retryPolicy.getMaxAttempts()
+          || !retryPolicy.isRetryable(responseContent.getCode())
+          || !isBeforeDeadline(requestInfo, backoffNanos)
+          || !budget.tryWithdraw()) {
+        return responseContent;
+      }
+      responseContent.close();
+      sleep(backoffNanos);
+    }
+  }
+
+  private static void sleep(long nanos) {
+    try {
+      TimeUnit.NANOSECONDS.sleep(nanos);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ModernfitException(e);
+    }
+  }
+
+  /**
+   * Receives the result of each attempt and forwards the last one to the callback of the caller.
+   */
+  private final class RetryCallback extends ResponseCallback<Void> {
+
+    private final RequestInfo requestInfo;
+    private final RetryPolicy retryPolicy;
+    private final ResponseCallback<?> callback;
+    private final Consumer<ResponseCallback<Void>> call;
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    RetryCallback(RequestInfo requestInfo, ResponseCallback<?> callback,
+        Consumer<ResponseCallback<Void>> call) {
+      this.requestInfo = requestInfo;
+      this.retryPolicy = requestInfo.getRetryPolicy();
+      this.callback = callback;
+      this.call = call;
+    }
+
+    void attempt() {
+      attempts.incrementAndGet();
+      try {
+        call.accept(this);
+      } catch (ModernfitException e) {
+        notifyFailure(e);
+      }
+    }
+
+    @Override
+    public void setCancellable(Cancellable cancellable) {
+      callback.setCancellable(cancellable);
+    }
+
+    @Override
+    public void notifySuccess(ResponseContent responseContent) {
+      long backoffNanos = retryPolicy.backoffNanos(attempts.get());
+      if (canRetry(backoffNanos) && retryPolicy.isRetryable(responseContent.getCode())
+          && budget.tryWithdraw()) {
+        responseContent.close();
+        scheduleRetry(backoffNanos);
+      } else {
+        callback.notifySuccess(responseContent);
+      }
+    }
+
+    @Override
+    public void notifyFailure(ModernfitException e) {
+      long backoffNanos = retryPolicy.backoffNanos(attempts.get());
+      if (canRetry(backoffNanos) && retryPolicy.isRetryable(e) && budget.tryWithdraw()) {
+        scheduleRetry(backoffNanos);
+      } else {
+        callback.notifyFailure(e);
+      }
+    }
+
+    private boolean canRetry(long backoffNanos) {
+      return attempts.get() < retryPolicy.getMaxAttempts() && !callback.isCancelled()
+          && isBeforeDeadline(requestInfo, backoffNanos);
+    }
+
+    private void scheduleRetry(long backoffNanos) {
+      // The cancellable is installed first, the retry replaces it with the one of its request.
+      AtomicBoolean pending = new AtomicBoolean(true);
+      callback.setCancellable(() -> {
+        if (pending.compareAndSet(true, false)) {
+          callback.notifyFailure(new ModernfitException(new IOException("Canceled")));
+        }
+      });
+      Timers.schedule(() -> {
+        if (pending.compareAndSet(true, false)) {
+          attempt();
+        }
+      }, backoffNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link HttpClient HttpClient} that coalesces identical GET requests in flight. The first
+ * request is executed by another HttpClient and the identical requests made while it is pending
+ * wait for its response instead of being sent. Requests are identical when they have the same
+ * HTTP method, URL and headers.
+ *
+ * <p>Only the requests marked with {@link RequestInfo#isSingleFlight()} are coalesced, the
+ * generated classes wrap their HttpClient with this one when a method is annotated with
+ * {@link com.ygmodesto.modernfit.annotations.SingleFlight @SingleFlight}. The shared
+ * {@link ResponseContent ResponseContent} is converted only once, see
+ * {@link ResponseContent#convert(com.ygmodesto.modernfit.converters.Converter)}.
+ *
+ * <p>A cancelled asynchronous caller is detached from the shared request and notified at once.
+ * The shared request is cancelled when all its callers have been cancelled.
+ */
+public class SingleFlightHttpClient implements HttpClient {
+
+  private final HttpClient delegate;
+  private final ConcurrentMap<String, Flight> flights = new ConcurrentHashMap<>();
+
+  /**
+   * Create an instance that coalesces the requests executed by {@code delegate}.
+   *
+   * @param delegate the {@link HttpClient HttpClient} that executes the requests.
+   */
+  public static SingleFlightHttpClient create(HttpClient delegate) {
+    return new SingleFlightHttpClient(delegate);
+  }
+
+  private SingleFlightHttpClient(HttpClient delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public ResponseContent callMethod(RequestInfo requestInfo, DiscreteBody body)
+      throws ModernfitException {
+
+    if (!isCoalesced(requestInfo)) {
+      return delegate.callMethod(requestInfo, body);
+    }
+
+    Flight flight = new Flight(key(requestInfo));
+    Flight pending = join(flight);
+    if (pending != flight) {
+      return await(pending);
+    }
+
+    try {
+      ResponseContent responseContent = delegate.callMethod(requestInfo, body);
+      responseContent.share();
+      flights.remove(flight.key, flight);
+      flight.response.complete(responseContent);
+      return responseContent;
+    } catch (RuntimeException e) {
+      flights.remove(flight.key, flight);
+      flight.response.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  @Override
+  public <T> void callMethod(
+      RequestInfo requestInfo, DiscreteBody body, ResponseCallback<T> callback) {
+
+    if (!isCoalesced(requestInfo)) {
+      delegate.callMethod(requestInfo, body, callback);
+      return;
+    }
+
+    Flight flight = new Flight(key(requestInfo));
+    Flight pending = join(flight);
+    attach(pending, callback);
+    if (pending != flight) {
+      return;
+    }
+
+    try {
+      delegate.callMethod(requestInfo, body, new ResponseCallback<Void>() {
+
+        @Override
+        public void setCancellable(Cancellable cancellable) {
+          flight.setCancellable(cancellable);
+        }
+
+        @Override
+        public void notifySuccess(ResponseContent responseContent) {
+          responseContent.share();
+          flights.remove(flight.key, flight);
+          flight.response.complete(responseContent);
+        }
+
+        @Override
+        public void notifyFailure(ModernfitException e) {
+          flights.remove(flight.key, flight);
+          flight.response.completeExceptionally(e);
+        }
+      });
+    } catch (RuntimeException e) {
+      flights.remove(flight.key, flight);
+      flight.response.completeExceptionally(e);
+    }
+  }
+
+  @Override
+  public ResponseContent callMethod(RequestInfo requestInfo, MultipartBody body)
+      throws ModernfitException {
+    return delegate.callMethod(requestInfo, body);
+  }
+
+  @Override
+  public <T> void callMethod(
+      RequestInfo requestInfo, MultipartBody body, ResponseCallback<T> callback) {
+    delegate.callMethod(requestInfo, body, callback);
+  }
+
+  private static boolean isCoalesced(RequestInfo requestInfo) {
+    return requestInfo.isSingleFlight()
+        && requestInfo.getHttpMethod() == HttpMethod.GET
+        && !requestInfo.isStreaming();
+  }
+
+  private static String key(RequestInfo requestInfo) {
+    Map<String, String> headers = requestInfo.getHeaders() == null
+        ? new TreeMap<String, String>()
+        : new TreeMap<String, String>(requestInfo.getHeaders());
+    return requestInfo.getHttpMethod() + " " + requestInfo.getUrl() + " " + headers;
+  }
+
+  /**
+   * Joins the caller to the flight in progress with the same key, or to {@code flight} if there
+   * is none and the caller has to execute the request.
+   */
+  private Flight join(Flight flight) {
+    flight.join();
+    while (true) {
+      Flight pending = flights.putIfAbsent(flight.key, flight);
+      if (pending == null) {
+        return flight;
+      }
+      if (pending.join()) {
+        return pending;
+      }
+      // All the callers of the pending flight were cancelled.
+      flights.remove(flight.key, pending);
+    }
+  }
+
+  /**
+   * Notifies {@code callback} of the response of {@code flight}, or of its cancellation as soon as
+   * it is cancelled.
+   */
+  private <T> void attach(Flight flight, ResponseCallback<T> callback) {
+
+    AtomicBoolean detached = new AtomicBoolean();
+    callback.setCancellable(() -> {
+      if (detached.compareAndSet(false, true)) {
+        callback.notifyFailure(new ModernfitException(new IOException("Canceled")));
+        if (flight.leave()) {
+          flights.remove(flight.key, flight);
+        }
+      }
+    });
+    flight.response.whenComplete((responseContent, throwable) -> {
+      if (!detached.compareAndSet(false, true)) {
+        return;
+      }
+      if (throwable == null) {
+        callback.notifySuccess(responseContent);
+      } else {
+        callback.notifyFailure(toModernfitException(throwable));
+      }
+    });
+  }
+
+  private ResponseContent await(Flight flight) {
+    try {
+      return flight.response.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      if (flight.leave()) {
+        flights.remove(flight.key, flight);
+      }
+      throw new ModernfitException(e);
+    } catch (ExecutionException e) {
+      throw toModernfitException(e.getCause());
+    }
+  }
+
+  private static ModernfitException toModernfitException(Throwable throwable) {
+    return throwable instanceof ModernfitException
+        ? (ModernfitException) throwable
+        : new ModernfitException(throwable);
+  }
+
+  /** A shared request and the number of callers waiting for its response. */
+  private static final class Flight {
+
+    private final String key;
+    private final CompletableFuture<ResponseContent> response = new CompletableFuture<>();
+    private int callers;
+    private boolean cancelled;
+    private Cancellable cancellable;
+
+    Flight(String key) {
+      this.key = key;
+    }
+
+    /** Adds a caller, returns false if the request has already been cancelled. */
+    synchronized boolean join() {
+      if (cancelled) {
+        return false;
+      }
+      callers++;
+      return true;
+    }
+
+    /**
+     * Removes a caller and cancels the request if it was the last one.
+     *
+     * @return true if the request was cancelled.
+     */
+    boolean leave() {
+      Cancellable current;
+      synchronized (this) {
+        if (--callers > 0 || response.isDone()) {
+          return false;
+        }
+        cancelled = true;
+        current = cancellable;
+      }
+      if (current != null) {
+        current.cancel();
+      }
+      return true;
+    }
+
+    /** Registers how the request is cancelled, cancelling it if every caller has left. */
+    void setCancellable(Cancellable cancellable) {
+      boolean cancelNow;
+      synchronized (this) {
+        this.cancellable = cancellable;
+        cancelNow = cancelled;
+      }
+      if (cancelNow) {
+        cancellable.cancel();
+      }
+    }
+  }
+}
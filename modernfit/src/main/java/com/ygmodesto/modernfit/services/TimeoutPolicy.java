@@ -0,0 +1,79 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Defines the timeouts of a request. Generated for the methods annotated with
+ * {@link com.ygmodesto.modernfit.annotations.Timeout @Timeout}, or whose interface is annotated.
+ * A zero timeout keeps the one of the {@link HttpClient HttpClient}.
+ */
+public class TimeoutPolicy {
+
+  private final long connectNanos;
+  private final long readNanos;
+  private final long callNanos;
+
+  private TimeoutPolicy(Builder builder) {
+    this.connectNanos = builder.connectNanos;
+    this.readNanos = builder.readNanos;
+    this.callNanos = builder.callNanos;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public long getConnectNanos() {
+    return connectNanos;
+  }
+
+  public long getReadNanos() {
+    return readNanos;
+  }
+
+  public long getCallNanos() {
+    return callNanos;
+  }
+
+  /**
+   * Builder class for {@link TimeoutPolicy TimeoutPolicy}.
+   */
+  public static final class Builder {
+
+    private long connectNanos;
+    private long readNanos;
+    private long callNanos;
+
+    /** Sets the timeouts, zero to keep the ones of the HTTP client. */
+    public Builder setTimeouts(long connect, long read, long call, TimeUnit unit) {
+      if (connect < 0 || read < 0 || call < 0) {
+        throw new IllegalArgumentException("Timeouts must not be negative");
+      }
+      this.connectNanos = unit.toNanos(connect);
+      this.readNanos = unit.toNanos(read);
+      this.callNanos = unit.toNanos(call);
+
+      return this;
+    }
+
+    public TimeoutPolicy build() {
+      return new TimeoutPolicy(this);
+    }
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timer shared by the {@link HttpClient HttpClient} decorators to run delayed tasks, such as
+ * retries, without blocking the threads of the HTTP clients. A single {@link HashedWheelTimer
+ * HashedWheelTimer} with a resolution of 5 milliseconds serves all the tasks, and hands each one
+ * to a pool of daemon threads when it is due. The tasks notify callbacks and send requests, so a
+ * slow one must not hold back the rest.
+ */
+final class Timers {
+
+  private Timers() {}
+
+  /**
+   * Runs {@code task} after {@code delay}, in a thread of the pool of the timer.
+   *
+   * @return a handle whose cancellation prevents the task from running, once it is due it has no
+   *     effect.
+   */
+  static HashedWheelTimer.Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+    return Holder.INSTANCE.schedule(() -> Holder.EXECUTOR.execute(task), delay, unit);
+  }
+
+  private static final class Holder {
+
+    private static final HashedWheelTimer INSTANCE =
+        new HashedWheelTimer(5, TimeUnit.MILLISECONDS, 512, "modernfit-timer");
+
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "modernfit-timer-task");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+}
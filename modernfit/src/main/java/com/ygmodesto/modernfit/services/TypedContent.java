@@ -17,11 +17,17 @@
 package com.ygmodesto.modernfit.services;
 
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 
 /**
  * Class define and customize all the fields of a part of a multipart request.
+ *
+ * <p>A TypedContent created from a {@link File File} or a {@link Path Path} is not loaded in
+ * memory, the file is streamed from disk when the request is sent.
  */
 public class TypedContent {
 
@@ -29,6 +35,7 @@ public class TypedContent {
   private String contentType;
   private String fileName;
   private byte[] content;
+  private File file;
 
   private TypedContent(String name, String contentType, String fileName, byte[] content) {
     this.name = name;
@@ -37,6 +44,16 @@ public class TypedContent {
     this.content = content;
   }
 
+  private TypedContent(String name, String contentType, File file) throws IOException {
+    if (!file.isFile()) {
+      throw new FileNotFoundException(file.getPath());
+    }
+    this.name = name;
+    this.contentType = contentType;
+    this.fileName = file.getName();
+    this.file = file;
+  }
+
   public String getName() {
     return name;
   }
@@ -49,8 +66,61 @@ public class TypedContent {
     return fileName;
   }
 
+  /**
+   * Returns the content as a byte array. If the TypedContent is backed by a file the whole file is
+   * read, so prefer {@link #writeTo(OutputStream)} for large files.
+   *
+   * @throws ModernfitException if the file can not be read.
+   */
   public byte[] getContent() {
-    return content;
+    return file == null ? content : FileContents.read(file);
+  }
+
+  /** Returns the file backing the content, or null if the content is held in memory. */
+  public File getFile() {
+    return file;
+  }
+
+  /** Returns true if the content is backed by a file and streamed from disk. */
+  public boolean isStreaming() {
+    return file != null;
+  }
+
+  /** Returns the length of the content in bytes, without reading the file if there is one. */
+  public long getContentLength() {
+    if (file != null) {
+      return file.length();
+    }
+    return content == null ? 0 : content.length;
+  }
+
+  /**
+   * Writes the content to {@code outputStream}, which is not closed.
+   *
+   * @param outputStream where the content is written.
+   * @throws IOException if the content can not be written.
+   */
+  public void writeTo(OutputStream outputStream) throws IOException {
+    if (file != null) {
+      FileContents.transferTo(file, outputStream);
+    } else if (content != null) {
+      outputStream.write(content);
+    }
+  }
+
+  /**
+   * Writes the content to {@code channel}, which is not closed. File backed content is transferred
+   * with {@link java.nio.channels.FileChannel#transferTo FileChannel.transferTo}.
+   *
+   * @param channel where the content is written.
+   * @throws IOException if the content can not be written.
+   */
+  public void writeTo(WritableByteChannel channel) throws IOException {
+    if (file != null) {
+      FileContents.transferTo(file, channel);
+    } else if (content != null) {
+      FileContents.write(content, channel);
+    }
   }
 
   public static TypedContent create(
@@ -59,7 +129,11 @@ public class TypedContent {
   }
 
   public static TypedContent create(String name, String contentType, File file) throws IOException {
-    return new TypedContent(name, contentType, file.getName(), Files.readAllBytes(file.toPath()));
+    return new TypedContent(name, contentType, file);
+  }
+
+  public static TypedContent create(String name, String contentType, Path path) throws IOException {
+    return new TypedContent(name, contentType, path.toFile());
   }
 
   public static TypedContent create(String contentType, String fileName, byte[] content) {
@@ -67,6 +141,10 @@ public class TypedContent {
   }
 
   public static TypedContent create(String contentType, File file) throws IOException {
-    return new TypedContent(null, contentType, file.getName(), Files.readAllBytes(file.toPath()));
+    return new TypedContent(null, contentType, file);
+  }
+
+  public static TypedContent create(String contentType, Path path) throws IOException {
+    return new TypedContent(null, contentType, path.toFile());
   }
 }
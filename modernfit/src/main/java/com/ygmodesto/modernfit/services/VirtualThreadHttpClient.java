@@ -0,0 +1,159 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * {@link HttpClient HttpClient} that executes the asynchronous requests of another HttpClient as
+ * blocking requests, each one in its own thread of an executor. By default the executor starts a
+ * new virtual thread per request, so the simple synchronous style of the underlying client scales
+ * to many concurrent requests without the limits of a thread pool.
+ *
+ * <p>Synchronous requests are deliberately executed in the calling thread, which waits for the
+ * response anyway, so moving them to a virtual thread would only add a thread hop. To run them in
+ * virtual threads, call the synchronous methods from virtual threads. The request then does not
+ * pin its carrier thread, since Modernfit does not hold any monitor while waiting for the
+ * response.
+ *
+ * <p>Virtual threads require Java 21 or later, {@link #create(HttpClient)} returns the same client
+ * on older JVMs.
+ */
+public class VirtualThreadHttpClient implements HttpClient {
+
+  private final HttpClient delegate;
+  private final ExecutorService executor;
+
+  /**
+   * Create an instance that executes the asynchronous requests of {@code delegate} in virtual
+   * threads, if the JVM supports them.
+   *
+   * @param delegate the {@link HttpClient HttpClient} that executes the requests.
+   * @return the decorated client, or {@code delegate} if virtual threads are not supported.
+   */
+  public static HttpClient create(HttpClient delegate) {
+    return isSupported()
+        ? new VirtualThreadHttpClient(delegate, VirtualThreads.newThreadPerTaskExecutor())
+        : delegate;
+  }
+
+  /**
+   * Create an instance that executes the asynchronous requests of {@code delegate} in the threads
+   * of {@code executor}.
+   *
+   * @param delegate the {@link HttpClient HttpClient} that executes the requests.
+   * @param executor where the requests are executed, one task per request.
+   */
+  public static VirtualThreadHttpClient create(HttpClient delegate, ExecutorService executor) {
+    return new VirtualThreadHttpClient(delegate, executor);
+  }
+
+  /** Returns true if the running JVM supports virtual threads. */
+  public static boolean isSupported() {
+    return VirtualThreads.isSupported();
+  }
+
+  private VirtualThreadHttpClient(HttpClient delegate, ExecutorService executor) {
+    this.delegate = delegate;
+    this.executor = executor;
+  }
+
+  @Override
+  public ResponseContent callMethod(RequestInfo requestInfo, DiscreteBody body)
+      throws ModernfitException {
+    return delegate.callMethod(requestInfo, body);
+  }
+
+  @Override
+  public <T> void callMethod(
+      RequestInfo requestInfo, DiscreteBody body, ResponseCallback<T> callback) {
+    submit(() -> delegate.callMethod(requestInfo, body), callback);
+  }
+
+  @Override
+  public ResponseContent callMethod(RequestInfo requestInfo, MultipartBody body)
+      throws ModernfitException {
+    return delegate.callMethod(requestInfo, body);
+  }
+
+  @Override
+  public <T> void callMethod(
+      RequestInfo requestInfo, MultipartBody body, ResponseCallback<T> callback) {
+    submit(() -> delegate.callMethod(requestInfo, body), callback);
+  }
+
+  private <T> void submit(Supplier<ResponseContent> request, ResponseCallback<T> callback) {
+
+    BlockingCancellation cancellation = new BlockingCancellation();
+    Request task = new Request(request, callback, cancellation);
+    callback.setCancellable(() -> {
+      cancellation.cancel();
+      task.cancel(true);
+    });
+    try {
+      executor.execute(task);
+    } catch (RuntimeException e) {
+      throw new ModernfitException(e);
+    }
+  }
+
+  /**
+   * A blocking request in the executor. A request cancelled before it starts is notified here, as
+   * it never runs.
+   */
+  private static final class Request extends FutureTask<Void> {
+
+    private final ResponseCallback<?> callback;
+    private final AtomicBoolean notified;
+
+    Request(Supplier<ResponseContent> request, ResponseCallback<?> callback,
+        BlockingCancellation cancellation) {
+      this(request, callback, cancellation, new AtomicBoolean());
+    }
+
+    private Request(Supplier<ResponseContent> request, ResponseCallback<?> callback,
+        BlockingCancellation cancellation, AtomicBoolean notified) {
+      super(() -> {
+        if (!notified.compareAndSet(false, true)) {
+          return;
+        }
+        // A streaming body is only readable while the callback is running.
+        try (BlockingCancellation.Scope scope = cancellation.attach();
+            ResponseContent responseContent = request.get()) {
+          callback.notifySuccess(responseContent);
+        } catch (ModernfitException e) {
+          callback.notifyFailure(e);
+        } catch (RuntimeException e) {
+          callback.notifyFailure(new ModernfitException(e));
+        }
+      }, null);
+      this.callback = callback;
+      this.notified = notified;
+    }
+
+    @Override
+    protected void done() {
+      if (isCancelled() && notified.compareAndSet(false, true)) {
+        callback.notifyFailure(new ModernfitException(new IOException("Canceled")));
+      }
+    }
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Utility class to use the virtual threads of Java 21 without requiring it at compile time.
+ *
+ * <p>This is the Java 8 version, which looks the API up by reflection. The multi-release jar
+ * replaces it with a direct implementation when running on Java 21 or later.
+ */
+final class VirtualThreads {
+
+  private static final Method NEW_EXECUTOR = findMethod(
+      "java.util.concurrent.Executors", "newVirtualThreadPerTaskExecutor");
+
+  private VirtualThreads() {}
+
+  /** Returns true if the running JVM supports virtual threads. */
+  static boolean isSupported() {
+    return NEW_EXECUTOR != null;
+  }
+
+  /**
+   * Creates an executor that starts a new virtual thread for each task.
+   *
+   * @throws UnsupportedOperationException if the running JVM does not support virtual threads.
+   */
+  static ExecutorService newThreadPerTaskExecutor() {
+    if (!isSupported()) {
+      throw new UnsupportedOperationException("Virtual threads require Java 21 or later");
+    }
+    try {
+      return (ExecutorService) NEW_EXECUTOR.invoke(null);
+    } catch (ReflectiveOperationException e) {
+      throw new UnsupportedOperationException(e);
+    }
+  }
+
+  private static Method findMethod(String className, String methodName) {
+    try {
+      return Class.forName(className).getMethod(methodName);
+    } catch (ReflectiveOperationException | SecurityException e) {
+      return null;
+    }
+  }
+}
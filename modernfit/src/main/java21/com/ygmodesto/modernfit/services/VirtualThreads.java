@@ -0,0 +1,41 @@
+/*
+ * Copyright 2020 Yago Modesto González Diéguez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ygmodesto.modernfit.services;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Utility class to use the virtual threads of Java 21.
+ *
+ * <p>This is the Java 21 version packaged in the multi-release jar, it replaces the reflective
+ * version used on older JVMs.
+ */
+final class VirtualThreads {
+
+  private VirtualThreads() {}
+
+  /** Returns true if the running JVM supports virtual threads. */
+  static boolean isSupported() {
+    return true;
+  }
+
+  /** Creates an executor that starts a new virtual thread for each task. */
+  static ExecutorService newThreadPerTaskExecutor() {
+    return Executors.newVirtualThreadPerTaskExecutor();
+  }
+}